@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.bench;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.pool.PoolApi;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The Java side cost of one async call: registering the command, building its arguments, the call into the
+ * NativeApi and completing the future. The fake calls back on the calling thread, so nothing is left pending.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiDispatchBenchmark {
+  private PoolApi poolApi;
+  private WalletApi walletApi;
+  private LedgerApi ledgerApi;
+  private Pool pool;
+  private Wallet wallet;
+
+  @Setup
+  public void setup() {
+    IndyNativeApi api = new IndyNativeApi(new FakeNativeApi(null));
+    poolApi = new PoolApi(api);
+    walletApi = new WalletApi(api);
+    ledgerApi = new LedgerApi(api);
+
+    pool = new Pool("bench-pool");
+    pool.setPoolHandle(1);
+    pool.setSandboxFile("/tmp/bench-pool.txn");
+    wallet = new Wallet("bench-wallet");
+    wallet.setWalletHandle(1);
+  }
+
+  @Benchmark
+  public CompletableFuture<GenericResult> createPoolLedgerConfigAsync() {
+    return poolApi.createPoolLedgerConfigAsync(pool);
+  }
+
+  @Benchmark
+  public CompletableFuture<GenericResult> openPoolLedgerAsync() {
+    return poolApi.openPoolLedgerAsync(pool);
+  }
+
+  @Benchmark
+  public CompletableFuture<GenericResult> closePoolLedgerAsync() {
+    return poolApi.closePoolLedgerAsync(pool);
+  }
+
+  @Benchmark
+  public CompletableFuture<GenericResult> openWalletAsync() {
+    return walletApi.openWalletAsync(wallet, null);
+  }
+
+  @Benchmark
+  public CompletableFuture<GenericResult> closeWalletAsync() {
+    return walletApi.closeWalletAsync(wallet);
+  }
+
+  @Benchmark
+  public CompletableFuture<GenericResult> submitRequestAsync() {
+    return ledgerApi.submitRequestAsync(pool, FakeNativeApi.REQUEST_JSON);
+  }
+}
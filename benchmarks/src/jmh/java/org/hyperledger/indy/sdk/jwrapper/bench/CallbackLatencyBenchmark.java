@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.bench;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.pool.PoolApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The round trip of a command whose callback arrives on another thread, as it does with libindy:
+ * from the async call until the caller sees the completed future. Run with -t to add concurrent callers.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CallbackLatencyBenchmark {
+
+  /**
+   * Number of threads the fake calls back on
+   */
+  @Param({"1", "4"})
+  public int callbackThreads;
+
+  private ExecutorService callbackExecutor;
+  private PoolApi poolApi;
+  private LedgerApi ledgerApi;
+  private Pool pool;
+
+  @Setup
+  public void setup() {
+    callbackExecutor = Executors.newFixedThreadPool(callbackThreads, runnable -> {
+      Thread thread = new Thread(runnable, "fake-indy-callback");
+      thread.setDaemon(true);
+      return thread;
+    });
+    IndyNativeApi api = new IndyNativeApi(new FakeNativeApi(callbackExecutor));
+    poolApi = new PoolApi(api);
+    ledgerApi = new LedgerApi(api);
+
+    pool = new Pool("bench-pool");
+    pool.setPoolHandle(1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    callbackExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public GenericResult openPoolLedger() throws Exception {
+    return poolApi.openPoolLedgerAsync(pool).get();
+  }
+
+  @Benchmark
+  public GenericResult submitRequest() throws Exception {
+    return ledgerApi.submitRequestAsync(pool, FakeNativeApi.REQUEST_JSON).get();
+  }
+}
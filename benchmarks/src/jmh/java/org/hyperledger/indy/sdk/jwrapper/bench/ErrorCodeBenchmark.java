@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ErrorCode.valueOf() runs for every completed command, cycling through all known values plus an unknown one
+ *
+ * @version 1.0 17-Oct-2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorCodeBenchmark {
+  private int[] values;
+  private int next;
+
+  @Setup
+  public void setup() {
+    ErrorCode[] codes = ErrorCode.values();
+    values = new int[codes.length + 1];
+    for (int i = 0; i < codes.length; i++) {
+      values[i] = codes[i].value();
+    }
+    values[codes.length] = -1;
+  }
+
+  @Benchmark
+  public ErrorCode valueOfSuccess() {
+    return ErrorCode.valueOf(0);
+  }
+
+  @Benchmark
+  public ErrorCode valueOfMixed() {
+    int value = values[next];
+    next = next + 1 == values.length ? 0 : next + 1;
+    return ErrorCode.valueOf(value);
+  }
+}
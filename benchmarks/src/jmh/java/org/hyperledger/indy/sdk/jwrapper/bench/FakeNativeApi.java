@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.bench;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyCallback;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
+
+import com.sun.jna.Callback;
+
+/**
+ * A Java stand-in for libindy that does no work, it only calls back with Success.
+ * Pool, wallet and ledger functions are modelled, everything else returns CommonInvalidState.
+ * Callbacks run on the calling thread when no executor is given, just like libindy failing a command
+ * synchronously, otherwise they are handed to the executor, like libindy's worker threads do.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class FakeNativeApi implements NativeApi {
+  static final String REPLY_JSON = "{\"op\":\"REPLY\",\"result\":{\"type\":\"105\",\"seqNo\":1,\"data\":null}}";
+  static final String REQUEST_JSON = "{\"reqId\":1,\"identifier\":\"Th7MpTaRZVRYnPiabds81Y\",\"operation\":{\"type\":\"105\",\"dest\":\"Th7MpTaRZVRYnPiabds81Y\"}}";
+
+  private final Executor callbackExecutor;
+  private final AtomicInteger handleCounter = new AtomicInteger();
+
+  /**
+   * @param callbackExecutor the executor completing the callbacks, null to call back on the calling thread
+   */
+  public FakeNativeApi(Executor callbackExecutor) {
+    this.callbackExecutor = callbackExecutor;
+  }
+
+  private int callBack(final Callback cb, final int cmdHandle, final int handle, final String json) {
+    Runnable completion = () -> {
+      if (cb instanceof IndyCallback.HandleReturningCallback) {
+        ((IndyCallback.HandleReturningCallback) cb).callback(cmdHandle, ErrorCode.Success.value(), handle);
+      } else if (cb instanceof IndyCallback.JsonReturningCallback) {
+        ((IndyCallback.JsonReturningCallback) cb).callback(cmdHandle, ErrorCode.Success.value(), json);
+      } else {
+        ((IndyCallback.SimpleCallback) cb).callback(cmdHandle, ErrorCode.Success.value());
+      }
+    };
+    if (null == callbackExecutor) {
+      completion.run();
+    } else {
+      callbackExecutor.execute(completion);
+    }
+    return ErrorCode.Success.value();
+  }
+
+  private static int notModelled() {
+    return ErrorCode.CommonInvalidState.value();
+  }
+
+  // pool.rs
+  @Override
+  public int indy_create_pool_ledger_config(int command_handle, String config_name, String config, Callback cb) {
+    return callBack(cb, command_handle, 0, null);
+  }
+  @Override
+  public int indy_open_pool_ledger(int command_handle, String config_name, String config, Callback cb) {
+    return callBack(cb, command_handle, handleCounter.incrementAndGet(), null);
+  }
+  @Override
+  public int indy_refresh_pool_ledger(int command_handle, int handle, Callback cb) {
+    return callBack(cb, command_handle, 0, null);
+  }
+  @Override
+  public int indy_close_pool_ledger(int command_handle, int handle, Callback cb) {
+    return callBack(cb, command_handle, 0, null);
+  }
+  @Override
+  public int indy_delete_pool_ledger_config(int command_handle, String config_name, Callback cb) {
+    return callBack(cb, command_handle, 0, null);
+  }
+
+  // wallet.rs
+  @Override
+  public int indy_register_wallet_type(int command_handle, String xtype, Callback create, Callback open, Callback set,
+      Callback get, Callback get_not_expired, Callback list, Callback close, Callback delete, Callback free, Callback cb) {
+    return callBack(cb, command_handle, 0, null);
+  }
+  @Override
+  public int indy_create_wallet(int command_handle, String pool_name, String name, String xtype, String config,
+      String credentials, Callback cb) {
+    return callBack(cb, command_handle, 0, null);
+  }
+  @Override
+  public int indy_open_wallet(int command_handle, String name, String runtime_config, String credentials, Callback cb) {
+    return callBack(cb, command_handle, handleCounter.incrementAndGet(), null);
+  }
+  @Override
+  public int indy_close_wallet(int command_handle, int handle, Callback cb) {
+    return callBack(cb, command_handle, 0, null);
+  }
+  @Override
+  public int indy_delete_wallet(int command_handle, String name, String credentials, Callback cb) {
+    return callBack(cb, command_handle, 0, null);
+  }
+
+  // ledger.rs
+  @Override
+  public int indy_sign_and_submit_request(int command_handle, int pool_handle, int wallet_handle, String submitter_did,
+      String request_json, Callback cb) {
+    return callBack(cb, command_handle, 0, REPLY_JSON);
+  }
+  @Override
+  public int indy_submit_request(int command_handle, int pool_handle, String request_json, Callback cb) {
+    return callBack(cb, command_handle, 0, REPLY_JSON);
+  }
+  @Override
+  public int indy_build_get_ddo_request(int command_handle, String submitter_did, String target_did, Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_nym_request(int command_handle, String submitter_did, String target_did, String verkey,
+      String alias, String role, Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_attrib_request(int command_handle, String submitter_did, String target_did, String hash,
+      String raw, String enc, Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_get_attrib_request(int command_handle, String submitter_did, String target_did, String data,
+      Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_get_nym_request(int command_handle, String submitter_did, String target_did, Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_schema_request(int command_handle, String submitter_did, String data, Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_get_schema_request(int command_handle, String submitter_did, String dest, String data,
+      Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_claim_def_txn(int command_handle, String submitter_did, int xref, String signature_type,
+      String data, Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_get_claim_def_txn(int command_handle, String submitter_did, int xref, String signature_type,
+      String origin, Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_node_request(int command_handle, String submitter_did, String target_did, String data,
+      Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+  @Override
+  public int indy_build_get_txn_request(int command_handle, String submitter_did, int data, Callback cb) {
+    return callBack(cb, command_handle, 0, REQUEST_JSON);
+  }
+
+  // signus.rs
+  @Override
+  public int indy_create_and_store_my_did(int command_handle, int wallet_handle, String did_json, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_replace_keys(int command_handle, int wallet_handle, String did, String identity_json, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_store_their_did(int command_handle, int wallet_handle, String identity_json, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_sign(int command_handle, int wallet_handle, String did, String msg, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_verify_signature(int command_handle, int wallet_handle, int pool_handle, String did,
+      String signed_msg, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_encrypt(int command_handle, int wallet_handle, int pool_handle, String myDid, String did, String msg,
+      Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_decrypt(int command_handle, int wallet_handle, String myDid, String did, String encrypted_msg,
+      String nonce, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_sign(int command_handle, int wallet_handle, String did, byte[] msg, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_verify_signature(int command_handle, int wallet_handle, int pool_handle, String did,
+      byte[] signed_msg, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_encrypt(int command_handle, int wallet_handle, int pool_handle, String myDid, String did, byte[] msg,
+      Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_decrypt(int command_handle, int wallet_handle, String myDid, String did, byte[] encrypted_msg,
+      byte[] nonce, Callback cb) {
+    return notModelled();
+  }
+
+  // anoncreds.rs
+  @Override
+  public int indy_issuer_create_and_store_claim_def(int command_handle, int wallet_handle, String issuer_did,
+      String schema_json, String signature_type, boolean create_non_revoc, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_issuer_create_and_store_revoc_reg(int command_handle, int wallet_handle, String issuer_did,
+      int schema_seq_no, int max_claim_num, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_issuer_create_claim(int command_handle, int wallet_handle, String claim_req_json, String claim_json,
+      int revoc_reg_seq_no, int user_revoc_index, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_issuer_revoke_claim(int command_handle, int wallet_handle, int revoc_reg_seq_no, int user_revoc_index,
+      Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_prover_store_claim_offer(int command_handle, int wallet_handle, String claim_offer_json, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_prover_get_claim_offers(int command_handle, int wallet_handle, String filter_json, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_prover_create_master_secret(int command_handle, int wallet_handle, String master_secret_name,
+      Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_prover_create_and_store_claim_req(int command_handle, int wallet_handle, String prover_did,
+      String claim_offer_json, String claim_def_json, String master_secret_name, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_prover_store_claim(int command_handle, int wallet_handle, String claims_json, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_prover_get_claims(int command_handle, int wallet_handle, String filter_json, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_prover_get_claims_for_proof_req(int command_handle, int wallet_handle, String proof_request_json,
+      Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_prover_create_proof(int command_handle, int wallet_handle, String proof_req_json,
+      String requested_claims_json, String schemas_json, String master_secret_name, String claim_defs_json,
+      String revoc_regs_json, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_verifier_verify_proof(int command_handle, String proof_request_json, String proof_json,
+      String schemas_json, String claim_defs_jsons, String revoc_regs_json, Callback cb) {
+    return notModelled();
+  }
+
+  // agent.rs
+  @Override
+  public int indy_agent_connect(int command_handle, int pool_handle, int wallet_handle, String sender_did,
+      String receiver_did, Callback connection_cb, Callback message_cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_agent_listen(int command_handle, String endpoint, Callback listener_cb, Callback connection_cb,
+      Callback message_cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_agent_add_identity(int command_handle, int listener_handle, int pool_handle, int wallet_handle,
+      String did, Callback add_identity_cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_agent_remove_identity(int command_handle, int listener_handle, int wallet_handle, String did,
+      Callback rm_identity_cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_agent_send(int command_handle, int connection_handle, String message, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_agent_close_connection(int command_handle, int connection_handle, Callback cb) {
+    return notModelled();
+  }
+  @Override
+  public int indy_agent_close_listener(int command_handle, int listener_handle, Callback cb) {
+    return notModelled();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.ledger;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reading op, seqNo and result.data of a GET_CLAIM_DEF sized reply, as a full ObjectMapper tree compared with
+ * the streaming LedgerReply. keys is the number of public key entries in the claim definition.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LedgerReplyParsingBenchmark {
+  @Param({"10", "100"})
+  private int keys;
+
+  private ObjectMapper objectMapper;
+  private String replyJson;
+
+  @Setup
+  public void setup() {
+    objectMapper = new ObjectMapper();
+    StringBuilder sb = new StringBuilder("{\"op\":\"REPLY\",\"result\":{\"identifier\":\"GJ1SzoWzavQYfNL9XkaJdrQejfztN4XqdsiV4ct3LXKL\",");
+    sb.append("\"reqId\":1500000000000000000,\"type\":\"108\",\"ref\":1,\"origin\":\"GJ1SzoWzavQYfNL9XkaJdrQejfztN4XqdsiV4ct3LXKL\",");
+    sb.append("\"signature_type\":\"CL\",\"data\":{\"primary\":{\"n\":\"");
+    appendNumber(sb);
+    sb.append("\",\"r\":{");
+    for (int i = 0; i < keys; i++) {
+      sb.append(0 == i ? "" : ",").append("\"attr").append(i).append("\":\"");
+      appendNumber(sb);
+      sb.append('"');
+    }
+    sb.append("}},\"revocation\":null},\"seqNo\":42,\"txnTime\":1500000000}}");
+    replyJson = sb.toString();
+  }
+
+  @Benchmark
+  public Object fullTree() throws IOException {
+    JsonNode reply = objectMapper.readTree(replyJson);
+    if (!"REPLY".equals(reply.path("op").asText())) {
+      return null;
+    }
+    JsonNode result = reply.path("result");
+    return result.path("seqNo").asLong() + result.path("data").toString().length();
+  }
+
+  @Benchmark
+  public Object lazyView() {
+    LedgerReply reply = new LedgerReply(replyJson);
+    if (!reply.isReply()) {
+      return null;
+    }
+    return reply.getSeqNo() + reply.getDataJson().length();
+  }
+
+  /**
+   * The cache and the resolver only ask whether the reply is a REPLY with data
+   */
+  @Benchmark
+  public boolean lazyViewHasData() {
+    LedgerReply reply = new LedgerReply(replyJson);
+    return reply.isReply() && reply.hasData();
+  }
+
+  private static void appendNumber(StringBuilder sb) {
+    // a 2048 bit number has about 617 digits
+    for (int i = 0; i < 617; i++) {
+      sb.append((char) ('0' + i % 10));
+    }
+  }
+}
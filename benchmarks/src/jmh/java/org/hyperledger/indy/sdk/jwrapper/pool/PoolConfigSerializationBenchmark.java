@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.pool;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.PreSerializedJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The ObjectMapper serialization PoolApi did for every create and open of a pool ledger, compared with the
+ * streaming codecs and the pre-serialized JSON it uses now.
+ * Lives in the pool package because the config beans are package private.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoolConfigSerializationBenchmark {
+  private ObjectMapper objectMapper;
+  private OpenPoolLedgerConfig openConfig;
+  private CreatePoolLedgerConfig createConfig;
+  private PreSerializedJson<OpenPoolLedgerConfig> openConfigs;
+  private PreSerializedJson<CreatePoolLedgerConfig> createConfigs;
+
+  @Setup
+  public void setup() throws JsonProcessingException {
+    objectMapper = new ObjectMapper();
+    openConfig = new OpenPoolLedgerConfig();
+    openConfig.setRefreshOnOpen(true);
+    openConfig.setAutoRefreshTime(10);
+    openConfig.setNetworkTimeout(20000);
+    createConfig = new CreatePoolLedgerConfig("/var/lib/indy/sandbox/pool_transactions_genesis");
+
+    // Let the mapper build and cache its serializers before measuring
+    objectMapper.writeValueAsString(openConfig);
+    objectMapper.writeValueAsString(createConfig);
+
+    openConfigs = new PreSerializedJson<OpenPoolLedgerConfig>(OpenPoolLedgerConfig.CODEC, 16);
+    createConfigs = new PreSerializedJson<CreatePoolLedgerConfig>(CreatePoolLedgerConfig.CODEC, 16);
+  }
+
+  @Benchmark
+  public String openPoolLedgerConfig() throws JsonProcessingException {
+    return objectMapper.writeValueAsString(openConfig);
+  }
+
+  @Benchmark
+  public String createPoolLedgerConfig() throws JsonProcessingException {
+    return objectMapper.writeValueAsString(createConfig);
+  }
+
+  @Benchmark
+  public String openPoolLedgerConfigCodec() {
+    return IndyJson.encode(OpenPoolLedgerConfig.CODEC, openConfig);
+  }
+
+  @Benchmark
+  public String createPoolLedgerConfigCodec() {
+    return IndyJson.encode(CreatePoolLedgerConfig.CODEC, createConfig);
+  }
+
+  /**
+   * What PoolApi does on every open: a fresh but equal config is looked up
+   */
+  @Benchmark
+  public String openPoolLedgerConfigPreSerialized() {
+    OpenPoolLedgerConfig config = new OpenPoolLedgerConfig();
+    config.setRefreshOnOpen(true);
+    config.setAutoRefreshTime(10);
+    config.setNetworkTimeout(20000);
+    return openConfigs.encode(config);
+  }
+
+  @Benchmark
+  public String createPoolLedgerConfigPreSerialized() {
+    return createConfigs.encode(new CreatePoolLedgerConfig("/var/lib/indy/sandbox/pool_transactions_genesis"));
+  }
+}
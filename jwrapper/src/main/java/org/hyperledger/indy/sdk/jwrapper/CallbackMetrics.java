@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How long the callbacks of an {@link IndyCommandDispatcher} occupy libindy's callback threads, and how long
+ * completions wait for the completion executor when one is configured. All times are in nanoseconds.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class CallbackMetrics {
+  private final LongAdder callbackCount = new LongAdder();
+  private final LongAdder callbackThreadNanos = new LongAdder();
+  private final LongAccumulator maxCallbackThreadNanos = new LongAccumulator(Math::max, 0);
+  private final LongAdder handOffCount = new LongAdder();
+  private final LongAdder handOffDelayNanos = new LongAdder();
+  private final LongAccumulator maxHandOffDelayNanos = new LongAccumulator(Math::max, 0);
+
+  void recordCallback(long nanos) {
+    callbackCount.increment();
+    callbackThreadNanos.add(nanos);
+    maxCallbackThreadNanos.accumulate(nanos);
+  }
+
+  void recordHandOff(long delayNanos) {
+    handOffCount.increment();
+    handOffDelayNanos.add(delayNanos);
+    maxHandOffDelayNanos.accumulate(delayNanos);
+  }
+
+  /**
+   * @return number of callbacks received from libindy
+   */
+  public long getCallbackCount() {
+    return callbackCount.sum();
+  }
+
+  /**
+   * @return total time spent on libindy's callback threads
+   */
+  public long getCallbackThreadNanos() {
+    return callbackThreadNanos.sum();
+  }
+
+  public long getMaxCallbackThreadNanos() {
+    return maxCallbackThreadNanos.get();
+  }
+
+  public double getAverageCallbackThreadNanos() {
+    long count = callbackCount.sum();
+    return 0 == count ? 0 : (double) callbackThreadNanos.sum() / count;
+  }
+
+  /**
+   * @return number of completions handed to the completion executor
+   */
+  public long getHandOffCount() {
+    return handOffCount.sum();
+  }
+
+  /**
+   * @return average time between the hand off and the completion executor starting to complete the future
+   */
+  public double getAverageHandOffDelayNanos() {
+    long count = handOffCount.sum();
+    return 0 == count ? 0 : (double) handOffDelayNanos.sum() / count;
+  }
+
+  public long getMaxHandOffDelayNanos() {
+    return maxHandOffDelayNanos.get();
+  }
+
+  public void reset() {
+    callbackCount.reset();
+    callbackThreadNanos.reset();
+    maxCallbackThreadNanos.reset();
+    handOffCount.reset();
+    handOffDelayNanos.reset();
+    maxHandOffDelayNanos.reset();
+  }
+}
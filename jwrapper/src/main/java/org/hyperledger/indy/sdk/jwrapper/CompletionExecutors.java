@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executors to complete the futures of the *Async APIs on, see IndyNativeApi.setCompletionExecutor().
+ * Whatever a caller chains onto a future (thenApply, whenComplete, ..) then runs on one of these
+ * threads instead of the libindy thread that delivered the callback.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public final class CompletionExecutors {
+  private static Logger logger = LoggerFactory.getLogger(CompletionExecutors.class);
+
+  private CompletionExecutors() {
+  }
+
+  /**
+   * A fixed pool of daemon threads reserved for completions
+   */
+  public static ExecutorService dedicated(int threads) {
+    final AtomicInteger threadCounter = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "indy-completion-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * The ForkJoinPool common pool, shared with parallel streams and the default async CompletableFuture stages
+   */
+  public static Executor commonPool() {
+    return ForkJoinPool.commonPool();
+  }
+
+  /**
+   * One new virtual thread per completion, so a continuation that blocks costs no platform thread.
+   * Virtual threads need Java 21, on older runtimes the common pool is returned instead.
+   */
+  public static Executor virtualThreads() {
+    if (!VirtualThreads.isSupported()) {
+      logger.warn("Virtual threads are not available on Java {}, completing on the common pool instead",
+          System.getProperty("java.version"));
+      return commonPool();
+    }
+    final ThreadFactory threadFactory = VirtualThreads.factory("indy-completion-virtual-");
+    return runnable -> threadFactory.newThread(runnable).start();
+  }
+
+  /**
+   * @return whether the running JVM supports virtual threads
+   */
+  public static boolean isVirtualThreadsSupported() {
+    return VirtualThreads.isSupported();
+  }
+}
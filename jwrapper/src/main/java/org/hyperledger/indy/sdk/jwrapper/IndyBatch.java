@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pipelines a list of requests through a submit function keeping at most maxInFlight of them outstanding.
+ * A new request is only handed to libindy once an earlier one has called back, nothing ever blocks a thread.
+ * Used by the batch APIs of the ledger and signus wrappers.
+ *
+ * @param <T> the type of the requests
+ * @param <R> the type of result the submit function completes with
+ * @version 1.0 17-Oct-2026
+ */
+public class IndyBatch<T, R extends GenericResult> {
+  private static Logger logger = LoggerFactory.getLogger(IndyBatch.class);
+
+  private final List<T> requests;
+  private final Function<T, CompletableFuture<R>> submitFunction;
+  private final BatchResultListener listener;
+  private final int maxInFlight;
+  private final List<CompletableFuture<R>> results;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger drainRequests = new AtomicInteger();
+  private int nextIndex;
+
+  /**
+   * @param listener receives every result as soon as it completes, may be null
+   */
+  public IndyBatch(List<T> requests, int maxInFlight, Function<T, CompletableFuture<R>> submitFunction,
+      BatchResultListener listener) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be at least 1");
+    }
+    this.requests = requests;
+    this.maxInFlight = maxInFlight;
+    this.submitFunction = submitFunction;
+    this.listener = listener;
+    List<CompletableFuture<R>> futures = new ArrayList<CompletableFuture<R>>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      futures.add(new CompletableFuture<R>());
+    }
+    this.results = Collections.unmodifiableList(futures);
+  }
+
+  /**
+   * Starts submitting and returns one future per request, in the order of the submitted list
+   */
+  public List<CompletableFuture<R>> start() {
+    drain();
+    return results;
+  }
+
+  /**
+   * Submits as many pending requests as the window allows. Only one thread drains at a time,
+   * completions arriving meanwhile (including ones that complete inline) just ask for another pass.
+   */
+  private void drain() {
+    if (drainRequests.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      while (nextIndex < requests.size() && inFlight.get() < maxInFlight) {
+        inFlight.incrementAndGet();
+        submit(nextIndex++);
+      }
+    } while (drainRequests.decrementAndGet() != 0);
+  }
+
+  private void submit(final int index) {
+    CompletableFuture<R> future;
+    try {
+      future = submitFunction.apply(requests.get(index));
+    } catch (RuntimeException e) {
+      future = new CompletableFuture<R>();
+      future.completeExceptionally(e);
+    }
+    future.whenComplete((result, failure) -> {
+      inFlight.decrementAndGet();
+      if (null != failure) {
+        results.get(index).completeExceptionally(failure);
+      } else {
+        results.get(index).complete(result);
+      }
+      if (null != listener) {
+        try {
+          listener.onResult(index, result, failure);
+        } catch (RuntimeException e) {
+          logger.error("BatchResultListener failed for request index: {}", index, e);
+        }
+      }
+      drain();
+    });
+  }
+}
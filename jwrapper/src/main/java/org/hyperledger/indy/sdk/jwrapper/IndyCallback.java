@@ -20,12 +20,12 @@
  */
 package org.hyperledger.indy.sdk.jwrapper;
 
-import java.util.concurrent.CompletableFuture;
-
 import com.sun.jna.Callback;
 
 /**
  * A placeholder class that holds all the various types of callbacks
+ * Only one instance of each callback type exists per {@link IndyCommandDispatcher}, the callbacks
+ * hand over the outcome to the dispatcher which completes the future registered for the cmdHandle
  * @version 1.0 29-Jul-2017
  */
 public class IndyCallback {
@@ -35,17 +35,13 @@ public class IndyCallback {
    * @version 1.0 29-Jul-2017
    */
   public static class SimpleCallback implements Callback {
-    private CompletableFuture<GenericResult> future;
-    private GenericResult iResult;
-    public SimpleCallback(CompletableFuture<GenericResult> future, GenericResult iResult) {
-      this.future = future;
-      this.iResult = iResult;
+    private final IndyCommandDispatcher dispatcher;
+    SimpleCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
     }
     
     public void callback(int cmdHandle, int error) {
-      ErrorCode errorCode = ErrorCode.valueOf(error);
-      iResult.setErrorCode(errorCode);
-      future.complete(iResult);
+      dispatcher.complete(cmdHandle, error, 0, null);
     }
   }
   
@@ -55,18 +51,13 @@ public class IndyCallback {
    * @version 1.0 29-Jul-2017
    */
   public static class HandleReturningCallback implements Callback {
-    private CompletableFuture<GenericResult> future;
-    private GenericResult iResult;
-    public HandleReturningCallback(CompletableFuture<GenericResult> future, GenericResult iResult) {
-      this.future = future;
-      this.iResult = iResult;
+    private final IndyCommandDispatcher dispatcher;
+    HandleReturningCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
     }
     
     public void callback(int cmdHandle, int error, int returnHandle) {
-      ErrorCode errorCode = ErrorCode.valueOf(error);
-      iResult.setErrorCode(errorCode);
-      iResult.setReturnHandle(returnHandle);
-      future.complete(iResult);
+      dispatcher.complete(cmdHandle, error, returnHandle, null);
     }
   }
   
@@ -76,18 +67,13 @@ public class IndyCallback {
    * @version 1.0 29-Jul-2017
    */
   public static class JsonReturningCallback implements Callback {
-    private CompletableFuture<GenericResult> future;
-    private GenericResult iResult;
-    public JsonReturningCallback(CompletableFuture<GenericResult> future, GenericResult iResult) {
-      this.future = future;
-      this.iResult = iResult;
+    private final IndyCommandDispatcher dispatcher;
+    JsonReturningCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
     }
     
     public void callback(int cmdHandle, int error, String returnJson) {
-      ErrorCode errorCode = ErrorCode.valueOf(error);
-      iResult.setErrorCode(errorCode);
-      iResult.setReturnJson(returnJson);
-      future.complete(iResult);
+      dispatcher.complete(cmdHandle, error, 0, returnJson);
     }
   }
 }
@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.jna.Callback;
+
+/**
+ * Routes every callback coming back from the c-callable library to the future that is waiting for it.
+ *
+ * The dispatcher owns exactly one callback instance per callback signature, these are passed to every
+ * native invocation and live as long as the dispatcher does, so JNA only ever builds one native trampoline per signature.
+ * While libindy owes at least one callback, including callbacks of commands that already timed out, the dispatcher
+ * is strongly reachable from a static set, hence its callbacks can never be garbage collected while libindy still
+ * holds a pointer to them, even if the application dropped every reference to its IndyNativeApi.
+ * The pending futures are looked up by the command_handle that was passed to the native call.
+ *
+ * By default a future is completed on the thread libindy calls back on, so every continuation chained to it runs
+ * there too and holds up libindy. With a completion executor set the callback thread only records the outcome
+ * and hands the completion off to the executor.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class IndyCommandDispatcher {
+  private static Logger logger = LoggerFactory.getLogger(IndyCommandDispatcher.class);
+
+  /**
+   * The dispatchers libindy owes callbacks to
+   */
+  private static final Set<IndyCommandDispatcher> awaitingCallbacks = ConcurrentHashMap.newKeySet();
+
+  private final ConcurrentMap<Integer, PendingCommand> pendingCommands = new ConcurrentHashMap<Integer, PendingCommand>();
+  private final AtomicInteger cmdHandleCounter;
+  private final AtomicInteger outstandingCallbacks = new AtomicInteger();
+  private final CallbackMetrics callbackMetrics = new CallbackMetrics();
+  private volatile Executor completionExecutor;
+
+  private final IndyCallback.SimpleCallback simpleCallback = new IndyCallback.SimpleCallback(this);
+  private final IndyCallback.HandleReturningCallback handleReturningCallback = new IndyCallback.HandleReturningCallback(this);
+  private final IndyCallback.JsonReturningCallback jsonReturningCallback = new IndyCallback.JsonReturningCallback(this);
+  private final ConcurrentMap<Class<?>, Callback> extraCallbacks = new ConcurrentHashMap<Class<?>, Callback>();
+
+  public IndyCommandDispatcher(AtomicInteger cmdHandleCounter) {
+    this.cmdHandleCounter = cmdHandleCounter;
+  }
+
+  /**
+   * Allocates a new command handle and registers the future that will be completed once
+   * the callback for that command handle is invoked
+   *
+   * @param future the future to complete from the callback
+   * @param iResult the result instance the callback outcome is recorded into
+   * @return the command handle to pass to the native API
+   */
+  public <R extends GenericResult> int register(CompletableFuture<R> future, R iResult) {
+    return register(future, iResult, null);
+  }
+
+  /**
+   * Same as register(future, iResult) but the command is given a deadline, when the callback has not been
+   * invoked by then the command is deregistered and the future fails with a TimeoutException.
+   * libindy offers no way to abort a command, a late callback for an expired command is simply dropped.
+   *
+   * @param future the future to complete from the callback
+   * @param iResult the result instance the callback outcome is recorded into
+   * @param timeout how long to wait for the callback, null to wait forever
+   * @return the command handle to pass to the native API
+   */
+  @SuppressWarnings("unchecked")
+  public <R extends GenericResult> int register(CompletableFuture<R> future, R iResult, Duration timeout) {
+    final int cmdHandle = cmdHandleCounter.incrementAndGet();
+    iResult.setCmdHandle(cmdHandle);
+    // the future is only ever completed with iResult, which is an R
+    PendingCommand pending = new PendingCommand((CompletableFuture<GenericResult>) (CompletableFuture<?>) future, iResult);
+    pin();
+    pendingCommands.put(Integer.valueOf(cmdHandle), pending);
+    if (null != timeout) {
+      pending.deadline = DeadlineScheduler.INSTANCE.schedule(new Runnable() {
+        @Override
+        public void run() {
+          expire(cmdHandle, timeout);
+        }
+      }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+    return cmdHandle;
+  }
+
+  /**
+   * Removes a pending command without completing it, for a command that was never handed to the native API
+   *
+   * @param cmdHandle the command handle returned by register()
+   * @return true if the command was still pending
+   */
+  public boolean deregister(int cmdHandle) {
+    if (null == pendingCommands.remove(Integer.valueOf(cmdHandle))) {
+      return false;
+    }
+    unpin();
+    return true;
+  }
+
+  /**
+   * Records the value synchronously returned by the native API for a registered command.
+   * A non-zero value means libindy rejected the command and will never invoke the callback,
+   * so the command is deregistered and its future is failed with an {@link IndyException} straight away.
+   *
+   * @param cmdHandle the command handle returned by register()
+   * @param returnValue the value returned by the native API
+   */
+  public void completeReturnValue(int cmdHandle, int returnValue) {
+    if (ErrorCode.Success.value() == returnValue) {
+      return;
+    }
+    unpin();
+    PendingCommand pending = pendingCommands.remove(Integer.valueOf(cmdHandle));
+    if (null == pending) {
+      return;
+    }
+    pending.cancelDeadline();
+    GenericResult iResult = pending.iResult;
+    iResult.setReturnValue(returnValue);
+    iResult.setErrorCode(ErrorCode.valueOf(returnValue));
+    logger.debug("Native API rejected command handle: {}, Returnvalue: {}", cmdHandle, returnValue);
+    pending.future.completeExceptionally(new IndyException(returnValue));
+  }
+
+  /**
+   * @return number of commands that are still awaiting their callback
+   */
+  public int getPendingCount() {
+    return pendingCommands.size();
+  }
+
+  /**
+   * @param completionExecutor the executor futures are completed on, null to complete them on the callback thread
+   * @see org.hyperledger.indy.sdk.jwrapper.CompletionExecutors
+   */
+  public void setCompletionExecutor(Executor completionExecutor) {
+    this.completionExecutor = completionExecutor;
+  }
+  public Executor getCompletionExecutor() {
+    return completionExecutor;
+  }
+
+  public CallbackMetrics getCallbackMetrics() {
+    return callbackMetrics;
+  }
+
+  public IndyCallback.SimpleCallback getSimpleCallback() {
+    return simpleCallback;
+  }
+  public IndyCallback.HandleReturningCallback getHandleReturningCallback() {
+    return handleReturningCallback;
+  }
+  public IndyCallback.JsonReturningCallback getJsonReturningCallback() {
+    return jsonReturningCallback;
+  }
+
+  /**
+   * The callback instance for a signature the dispatcher has no getter for, e.g. one of the signus or anoncreds APIs.
+   * It is created once per dispatcher and, like the callbacks above, is kept reachable as long as the dispatcher is.
+   *
+   * @param type the callback class, used as the key
+   * @param factory creates the callback bound to this dispatcher
+   */
+  public <C extends Callback> C getCallback(Class<C> type, Function<IndyCommandDispatcher, C> factory) {
+    return type.cast(extraCallbacks.computeIfAbsent(type, key -> factory.apply(this)));
+  }
+
+  void complete(int cmdHandle, int error, final int returnHandle, final String returnJson) {
+    complete(cmdHandle, error, iResult -> {
+      iResult.setReturnHandle(returnHandle);
+      iResult.setReturnJson(returnJson);
+    });
+  }
+
+  /**
+   * Completes a registered command from a callback that returns more than a handle or a json. The writer copies
+   * the callback arguments into the result instance that was registered, on the callback thread and only while
+   * the command is still pending, so it may read native memory that is only valid during the callback.
+   *
+   * @param cmdHandle the command handle libindy called back with
+   * @param error the error libindy called back with
+   * @param resultWriter fills in the registered result, not invoked for an unknown or expired command
+   */
+  public void complete(int cmdHandle, int error, Consumer<GenericResult> resultWriter) {
+    long start = System.nanoTime();
+    try {
+      unpin();
+      PendingCommand pending = pendingCommands.remove(Integer.valueOf(cmdHandle));
+      if (null == pending) {
+        logger.warn("Received a callback for unknown command handle: {}, ErrorCode: {}", cmdHandle, error);
+        return;
+      }
+      pending.cancelDeadline();
+      GenericResult iResult = pending.iResult;
+      iResult.setErrorCode(ErrorCode.valueOf(error));
+      if (ErrorCode.Success.value() == error) {
+        resultWriter.accept(iResult);
+      }
+      completeFuture(pending.future, iResult, null);
+    } finally {
+      callbackMetrics.recordCallback(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Completes the future on the completion executor if there is one, on the current thread otherwise
+   */
+  private void completeFuture(final CompletableFuture<GenericResult> future, final GenericResult iResult,
+      final Throwable failure) {
+    Executor executor = completionExecutor;
+    if (null != executor) {
+      final long handOff = System.nanoTime();
+      try {
+        executor.execute(() -> {
+          callbackMetrics.recordHandOff(System.nanoTime() - handOff);
+          completeNow(future, iResult, failure);
+        });
+        return;
+      } catch (RejectedExecutionException e) {
+        logger.warn("Completion executor rejected the completion of command handle: {}, completing it on the calling thread",
+            iResult.getCmdHandle());
+      }
+    }
+    completeNow(future, iResult, failure);
+  }
+
+  private static void completeNow(CompletableFuture<GenericResult> future, GenericResult iResult, Throwable failure) {
+    if (null == failure) {
+      future.complete(iResult);
+    } else {
+      future.completeExceptionally(failure);
+    }
+  }
+
+  /**
+   * Waits for a future returned by one of the *Async APIs, a TimeoutException raised by an expired
+   * deadline is unwrapped so that blocking callers can tell it apart from other failures
+   *
+   * @param future a future returned by one of the *Async APIs
+   * @return the result delivered by the callback
+   */
+  public static <R extends GenericResult> R await(Future<R> future)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof TimeoutException) {
+        throw (TimeoutException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Fails the future with a TimeoutException unless it completes within the timeout, for a future that is made of
+   * several commands or shared with other callers, where the deadline of a single command does not fit
+   *
+   * @param future the future to put a deadline on
+   * @param timeout null to wait forever
+   * @return the same future
+   */
+  public static <T> CompletableFuture<T> withDeadline(final CompletableFuture<T> future, final Duration timeout) {
+    if (null == timeout || future.isDone()) {
+      return future;
+    }
+    final ScheduledFuture<?> deadline = DeadlineScheduler.INSTANCE.schedule(new Runnable() {
+      @Override
+      public void run() {
+        future.completeExceptionally(new TimeoutException("Did not complete within " + timeout));
+      }
+    }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    future.whenComplete((result, failure) -> deadline.cancel(false));
+    return future;
+  }
+
+  /**
+   * Counts a callback libindy will owe, the 0 to 1 transition is re-checked under the lock
+   * so that a concurrent unpin() cannot leave a dispatcher with outstanding callbacks unpinned
+   */
+  private void pin() {
+    if (0 == outstandingCallbacks.getAndIncrement()) {
+      synchronized (this) {
+        if (outstandingCallbacks.get() > 0) {
+          awaitingCallbacks.add(this);
+        }
+      }
+    }
+  }
+
+  private void unpin() {
+    if (0 == outstandingCallbacks.decrementAndGet()) {
+      synchronized (this) {
+        if (0 == outstandingCallbacks.get()) {
+          awaitingCallbacks.remove(this);
+        }
+      }
+    }
+  }
+
+  private void expire(int cmdHandle, Duration timeout) {
+    PendingCommand pending = pendingCommands.remove(Integer.valueOf(cmdHandle));
+    if (null == pending) {
+      return;
+    }
+    logger.warn("Command handle: {} did not complete within {}", cmdHandle, timeout);
+    completeFuture(pending.future, pending.iResult,
+        new TimeoutException("Command handle " + cmdHandle + " did not complete within " + timeout));
+  }
+
+  private static class PendingCommand {
+    private final CompletableFuture<GenericResult> future;
+    private final GenericResult iResult;
+    private volatile ScheduledFuture<?> deadline;
+
+    private PendingCommand(CompletableFuture<GenericResult> future, GenericResult iResult) {
+      this.future = future;
+      this.iResult = iResult;
+    }
+
+    private void cancelDeadline() {
+      ScheduledFuture<?> d = deadline;
+      if (null != d) {
+        d.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * A single daemon thread shared by all dispatchers that fires command deadlines,
+   * it is only started the first time a deadline is requested
+   */
+  private static class DeadlineScheduler {
+    private static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+    private static ScheduledThreadPoolExecutor create() {
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "indy-command-deadline");
+          t.setDaemon(true);
+          return t;
+        }
+      });
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+    }
+  }
+}
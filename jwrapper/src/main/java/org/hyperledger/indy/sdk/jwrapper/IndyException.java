@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+/**
+ * Thrown (or used to fail a future) when the c-callable library reports an error
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class IndyException extends Exception {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The raw error value as returned by the native API
+   */
+  private final int errorValue;
+
+  /**
+   * The mapped Error Code, null when the native API returned a value this wrapper does not know about
+   */
+  private final ErrorCode errorCode;
+
+  public IndyException(int errorValue) {
+    super("Indy command failed with ErrorCode: " + ErrorCode.valueOf(errorValue) + " (" + errorValue + ")");
+    this.errorValue = errorValue;
+    this.errorCode = ErrorCode.valueOf(errorValue);
+  }
+
+  public IndyException(ErrorCode errorCode) {
+    super("Indy command failed with ErrorCode: " + errorCode + " (" + errorCode.value() + ")");
+    this.errorValue = errorCode.value();
+    this.errorCode = errorCode;
+  }
+
+  public int getErrorValue() {
+    return errorValue;
+  }
+  public ErrorCode getErrorCode() {
+    return errorCode;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+/**
+ * The Reactive Streams interfaces exactly as java.util.concurrent.Flow declares them, which only exists from Java 9 on.
+ * They have the same methods and contracts, so adapting a stream of this library to java.util.concurrent.Flow or to
+ * org.reactivestreams is a one line delegation. Named differently so that it does not clash with
+ * java.util.concurrent.* imports.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public final class IndyFlow {
+
+  private IndyFlow() {
+  }
+
+  /**
+   * A producer of items received by Subscribers, strictly in order and only as many as they requested
+   */
+  @FunctionalInterface
+  public static interface Publisher<T> {
+    void subscribe(Subscriber<? super T> subscriber);
+  }
+
+  /**
+   * A receiver of items, the methods are invoked one at a time and never concurrently
+   */
+  public static interface Subscriber<T> {
+    void onSubscribe(Subscription subscription);
+
+    void onNext(T item);
+
+    void onError(Throwable throwable);
+
+    void onComplete();
+  }
+
+  /**
+   * The link between a Publisher and one Subscriber, by which the Subscriber signals demand
+   */
+  public static interface Subscription {
+
+    /**
+     * Adds n items to the demand, a value of n <= 0 fails the subscription with an IllegalArgumentException
+     */
+    void request(long n);
+
+    void cancel();
+  }
+
+  /**
+   * A component that is both a Subscriber and a Publisher
+   */
+  public static interface Processor<T, R> extends Subscriber<T>, Publisher<R> {
+  }
+}
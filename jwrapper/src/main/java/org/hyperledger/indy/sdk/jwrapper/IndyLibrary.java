@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.jna.Native;
+
+/**
+ * One c-callable library, loaded at most once per process no matter how many IndyNativeApi instances use it
+ * or how many threads ask for it at the same time. A native library is a process wide resource, so the
+ * libraries are kept in a static registry keyed by the library name or canonical file path.
+ *
+ * Loading is serialized per library, once loaded the library is handed out with a single volatile read.
+ * A failed load is not remembered, the next request tries again.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+final class IndyLibrary {
+  private static Logger logger = LoggerFactory.getLogger(IndyLibrary.class);
+
+  private static final ConcurrentMap<String, IndyLibrary> libraries = new ConcurrentHashMap<String, IndyLibrary>();
+
+  private final String name;
+  private volatile NativeApi nativeApi;
+
+  private IndyLibrary(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @param name a library name resolved by the OS, e.g. "indy" for libindy.so
+   */
+  static IndyLibrary forName(String name) {
+    return libraries.computeIfAbsent(name, IndyLibrary::new);
+  }
+
+  static IndyLibrary forFile(File file) {
+    String path;
+    try {
+      path = file.getCanonicalPath();
+    } catch (IOException e) {
+      path = file.getAbsolutePath();
+    }
+    return forName(path);
+  }
+
+  String getName() {
+    return name;
+  }
+
+  boolean isLoaded() {
+    return null != nativeApi;
+  }
+
+  /**
+   * @return the loaded library, loading it if this is the first request
+   * @throws UnsatisfiedLinkError when the library cannot be loaded
+   */
+  NativeApi get() {
+    NativeApi api = nativeApi;
+    return null != api ? api : load();
+  }
+
+  private synchronized NativeApi load() {
+    if (null == nativeApi) {
+      long start = System.nanoTime();
+      nativeApi = Native.loadLibrary(name, NativeApi.class);
+      logger.info("Loaded the c-callable library '{}' in {} ms", name, (System.nanoTime() - start) / 1000000);
+    }
+    return nativeApi;
+  }
+}
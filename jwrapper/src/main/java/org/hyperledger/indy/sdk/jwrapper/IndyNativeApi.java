@@ -21,6 +21,7 @@
 package org.hyperledger.indy.sdk.jwrapper;
 
 import java.io.File;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
@@ -29,49 +30,118 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.jna.Callback;
 import com.sun.jna.Library;
-import com.sun.jna.Native;
 
 /**
+ * The entry point to a c-callable library, all Api classes are created from an instance of this class.
+ *
+ * Every instance has its own command handle counter and {@link IndyCommandDispatcher}, so instances are isolated
+ * from each other even when they share a library. The library itself is loaded once per process: either eagerly by
+ * the constructors, at startup by preload(), or on the first native call for instances created with lazy().
  * @version 1.0 27-Jul-2017
  */
 public class IndyNativeApi {
   private static Logger logger = LoggerFactory.getLogger(IndyNativeApi.class);
   
-  private static NativeApi nativeApiInstance = null;
-  private ObjectMapper objectMapper = new ObjectMapper();
-  private static AtomicInteger cmdHandleCounter = new AtomicInteger();
-  
   public static final String DEFAULT_LIB_NAME = "indy";
-  private String libName = null;
 
+  private final IndyLibrary library;
+  private volatile NativeApi nativeApi;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicInteger cmdHandleCounter = new AtomicInteger();
+  private final IndyCommandDispatcher dispatcher = new IndyCommandDispatcher(cmdHandleCounter);
+
+  /**
+   * Uses the library installed at the default location for your OS.
+   * When it cannot be loaded now, loading is retried on the first native call.
+   */
   public IndyNativeApi() {
-    if (null == nativeApiInstance) {
-      try {
-        libName = DEFAULT_LIB_NAME;
-        nativeApiInstance = Native.loadLibrary(DEFAULT_LIB_NAME, NativeApi.class);
-      } catch (UnsatisfiedLinkError ex) {
-        logger.info("The '{}' library is not found at default location for your OS", DEFAULT_LIB_NAME);
-        logger.info("Install the '{}' c-callable native libary for your OS or "
-            + "Use the constructor that allows for specifying the path to the library file ");
-      }
+    this.library = IndyLibrary.forName(DEFAULT_LIB_NAME);
+    try {
+      this.nativeApi = library.get();
+    } catch (UnsatisfiedLinkError ex) {
+      logger.info("The '{}' library is not found at default location for your OS", DEFAULT_LIB_NAME);
+      logger.info("Install the '{}' c-callable native libary for your OS or "
+          + "Use the constructor that allows for specifying the path to the library file ", DEFAULT_LIB_NAME);
     }
   }
   
+  /**
+   * Uses the library in the given file, loading it now unless it was loaded before
+   *
+   * @throws UnsatisfiedLinkError when the library cannot be loaded
+   */
   public IndyNativeApi(File file) {
-    if (null != nativeApiInstance) {
-      if (!libName.equals(file.getName())) {
-        logger.error("Cannot re-initialize the c-callable native library from a different file.");
-        throw new IllegalStateException("Cannot re-initialize the c-callable native library from a different file");
-      }
-      //Else just ignore
-      return;
+    this.library = IndyLibrary.forFile(file);
+    this.nativeApi = library.get();
+  }
+
+  /**
+   * Uses the given implementation of the native API instead of the c-callable library, which is not loaded.
+   * For example a {@link org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi} to load test without a pool.
+   */
+  public IndyNativeApi(NativeApi nativeApi) {
+    if (null == nativeApi) {
+      throw new IllegalArgumentException("nativeApi cannot be null");
     }
-    libName = file.getName();
-    nativeApiInstance = Native.loadLibrary(file.getAbsolutePath(), NativeApi.class);
+    this.library = null;
+    this.nativeApi = nativeApi;
   }
-  
+
+  private IndyNativeApi(IndyLibrary library) {
+    this.library = library;
+  }
+
+  /**
+   * @return an instance using the library installed at the default location, loaded on the first native call
+   */
+  public static IndyNativeApi lazy() {
+    return new IndyNativeApi(IndyLibrary.forName(DEFAULT_LIB_NAME));
+  }
+
+  /**
+   * @return an instance using the library in the given file, loaded on the first native call
+   */
+  public static IndyNativeApi lazy(File file) {
+    return new IndyNativeApi(IndyLibrary.forFile(file));
+  }
+
+  /**
+   * Loads the library installed at the default location, e.g. during startup so that the first
+   * request does not pay for it. Does nothing when it is loaded already.
+   *
+   * @throws UnsatisfiedLinkError when the library cannot be loaded
+   */
+  public static void preload() {
+    IndyLibrary.forName(DEFAULT_LIB_NAME).get();
+  }
+
+  /**
+   * Loads the library in the given file
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.IndyNativeApi#preload()
+   */
+  public static void preload(File file) {
+    IndyLibrary.forFile(file).get();
+  }
+
+  /**
+   * @return the native API, the library is loaded first when this is the first call of a lazy instance
+   * @throws UnsatisfiedLinkError when the library cannot be loaded
+   */
   public NativeApi getNativeApiInstance() {
-    return nativeApiInstance;
+    NativeApi api = nativeApi;
+    if (null == api) {
+      api = library.get();
+      nativeApi = api;
+    }
+    return api;
+  }
+
+  /**
+   * @return the name or path of the library used, null when a NativeApi implementation was given
+   */
+  public String getLibName() {
+    return null == library ? null : library.getName();
   }
   public ObjectMapper getObjectMapper() {
     return objectMapper;
@@ -79,6 +149,19 @@ public class IndyNativeApi {
   public AtomicInteger getCmdHandleCounter() {
     return cmdHandleCounter;
   }
+  public IndyCommandDispatcher getDispatcher() {
+    return dispatcher;
+  }
+
+  /**
+   * Moves the completion of the futures returned by the *Async APIs, and every continuation chained to them,
+   * off libindy's callback threads onto the given executor
+   *
+   * @param completionExecutor e.g. one of {@link CompletionExecutors}, null to complete on the callback threads
+   */
+  public void setCompletionExecutor(Executor completionExecutor) {
+    dispatcher.setCompletionExecutor(completionExecutor);
+  }
 
   public interface NativeApi extends Library {
     // pool.rs
@@ -118,6 +201,11 @@ public class IndyNativeApi {
     public int indy_verify_signature(int command_handle, int wallet_handle, int pool_handle, String did, String signed_msg, Callback cb);
     public int indy_encrypt(int command_handle, int wallet_handle, int pool_handle, String myDid, String did, String msg, Callback cb);
     public int indy_decrypt(int command_handle, int wallet_handle, String myDid, String did, String encrypted_msg, String nonce, Callback cb);
+    // the same functions taking the messages as NUL terminated UTF-8, encoded once by the caller instead of on every call
+    public int indy_sign(int command_handle, int wallet_handle, String did, byte[] msg, Callback cb);
+    public int indy_verify_signature(int command_handle, int wallet_handle, int pool_handle, String did, byte[] signed_msg, Callback cb);
+    public int indy_encrypt(int command_handle, int wallet_handle, int pool_handle, String myDid, String did, byte[] msg, Callback cb);
+    public int indy_decrypt(int command_handle, int wallet_handle, String myDid, String did, byte[] encrypted_msg, byte[] nonce, Callback cb);
     
     // anoncreds.rs
     public int indy_issuer_create_and_store_claim_def(int command_handle, int wallet_handle, String issuer_did, String schema_json, String signature_type, boolean create_non_revoc, Callback cb);
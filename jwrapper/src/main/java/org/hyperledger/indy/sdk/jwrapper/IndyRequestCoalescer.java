@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Lets identical read-only commands that are in flight at the same time share one native call.
+ *
+ * A command is identified by the name of the native function and its canonicalized arguments, see key().
+ * The first caller for a key issues the native call, every caller arriving before it has called back waits for the
+ * same outcome, and with it the same result instance, which must therefore be treated as read-only. A key must
+ * identify the type of result too, commands of different result types never share a key.
+ * Every caller gets a future of its own, cancelling or completing it does not affect the other callers, and its
+ * own timeout. When every caller of a command gave up before it called back, the next caller issues a new one.
+ * Only ever use this for commands without side effects.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class IndyRequestCoalescer {
+  private final ConcurrentMap<Object, Flight<?>> inFlight = new ConcurrentHashMap<Object, Flight<?>>();
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter canonicalWriter;
+
+  private final LongAdder executedCount = new LongAdder();
+  private final LongAdder coalescedCount = new LongAdder();
+
+  /**
+   * For commands whose keys are built without canonicalJson()
+   */
+  public IndyRequestCoalescer() {
+    this(new ObjectMapper());
+  }
+
+  public IndyRequestCoalescer(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+  }
+
+  /**
+   * Runs the command unless one with an equal key is already in flight, in which case its outcome is shared
+   *
+   * @param key identifies the command, see key()
+   * @param command issues the native call, without a deadline of its own as it is shared
+   * @return a future of this caller only
+   */
+  public <R> CompletableFuture<R> execute(Object key, Supplier<CompletableFuture<R>> command) {
+    return execute(key, command, null);
+  }
+
+  /**
+   * Same as execute(key, command) with a deadline for this caller only, other callers sharing the command keep theirs
+   *
+   * @param timeout the returned future fails with a TimeoutException if the command has not completed by then,
+   *                null to wait forever
+   */
+  public <R> CompletableFuture<R> execute(final Object key, Supplier<CompletableFuture<R>> command, Duration timeout) {
+    final Flight<R> flight = new Flight<R>();
+    while (true) {
+      @SuppressWarnings("unchecked")
+      Flight<R> existing = (Flight<R>) inFlight.putIfAbsent(key, flight);
+      if (null == existing) {
+        break;
+      }
+      if (existing.join()) {
+        coalescedCount.increment();
+        return follow(key, existing, timeout);
+      }
+      // every caller of that command gave up, it is left to complete on its own
+      inFlight.remove(key, existing);
+    }
+    executedCount.increment();
+    flight.join();
+
+    CompletableFuture<R> future;
+    try {
+      future = command.get();
+    } catch (RuntimeException e) {
+      future = new CompletableFuture<R>();
+      future.completeExceptionally(e);
+    }
+    future.whenComplete((result, failure) -> {
+      inFlight.remove(key, flight);
+      if (null != failure) {
+        flight.promise.completeExceptionally(
+            failure instanceof CompletionException && null != failure.getCause() ? failure.getCause() : failure);
+      } else {
+        flight.promise.complete(result);
+      }
+    });
+    return follow(key, flight, timeout);
+  }
+
+  private <R> CompletableFuture<R> follow(final Object key, final Flight<R> flight, Duration timeout) {
+    final CompletableFuture<R> own = new CompletableFuture<R>();
+    flight.promise.whenComplete((result, failure) -> {
+      if (null != failure) {
+        own.completeExceptionally(failure);
+      } else {
+        own.complete(result);
+      }
+    });
+    own.whenComplete((result, failure) -> {
+      // completed before the command, i.e. cancelled or timed out
+      if (!flight.promise.isDone() && flight.leave()) {
+        inFlight.remove(key, flight);
+      }
+    });
+    return IndyCommandDispatcher.withDeadline(own, timeout);
+  }
+
+  /**
+   * Builds a key from the native function name and its arguments, the arguments are compared by equals()
+   * so JSON arguments should be passed through canonicalJson() first
+   */
+  public Object key(String function, Object... args) {
+    Object[] key = new Object[args.length + 1];
+    key[0] = function;
+    System.arraycopy(args, 0, key, 1, args.length);
+    return Arrays.asList(key);
+  }
+
+  /**
+   * @return the JSON with all object members sorted by name and insignificant whitespace removed,
+   *         or the input unchanged if it is not valid JSON
+   */
+  public String canonicalJson(String json) {
+    if (null == json) {
+      return null;
+    }
+    try {
+      return canonicalJson(objectMapper.readTree(json));
+    } catch (IOException e) {
+      return json;
+    }
+  }
+
+  /**
+   * @return the JSON with all object members sorted by name
+   */
+  public String canonicalJson(JsonNode node) {
+    try {
+      return canonicalWriter.writeValueAsString(objectMapper.treeToValue(node, Object.class));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot canonicalize json", e);
+    }
+  }
+
+  /**
+   * @return number of commands that were actually handed to the native library
+   */
+  public long getExecutedCount() {
+    return executedCount.sum();
+  }
+  /**
+   * @return number of commands that were served by a command already in flight
+   */
+  public long getCoalescedCount() {
+    return coalescedCount.sum();
+  }
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * A command in flight and the number of callers still waiting for it
+   */
+  private static class Flight<R> {
+    private final CompletableFuture<R> promise = new CompletableFuture<R>();
+    private int waiting;
+    private boolean abandoned;
+
+    /**
+     * @return false when every caller gave up on the command, it must not be joined any more
+     */
+    private synchronized boolean join() {
+      if (abandoned) {
+        return false;
+      }
+      waiting++;
+      return true;
+    }
+
+    /**
+     * @return true when the last waiting caller gave up
+     */
+    private synchronized boolean leave() {
+      if (0 == --waiting) {
+        abandoned = true;
+        return true;
+      }
+      return false;
+    }
+  }
+}
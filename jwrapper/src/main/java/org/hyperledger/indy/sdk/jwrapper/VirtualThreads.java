@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates virtual threads when the runtime has them (Java 21+) and daemon platform threads otherwise.
+ * Thread.ofVirtual() is looked up reflectively so that this library still runs on Java 8, and called once when the
+ * class is loaded: on Java 19 and 20 virtual threads are a preview feature that fails unless it is enabled.
+ * The one place the library looks virtual threads up, see also CompletionExecutors.virtualThreads().
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public final class VirtualThreads {
+  private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+  private static final Method NAME = lookup(classForName("java.lang.Thread$Builder"), "name", String.class, long.class);
+  private static final Method FACTORY = lookup(classForName("java.lang.Thread$Builder"), "factory");
+  private static final boolean SUPPORTED = probe();
+
+  private VirtualThreads() {
+  }
+
+  public static boolean isSupported() {
+    return SUPPORTED;
+  }
+
+  /**
+   * @param prefix the threads are named prefix0, prefix1, ..
+   */
+  public static ThreadFactory factory(final String prefix) {
+    if (isSupported()) {
+      try {
+        return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L));
+      } catch (ReflectiveOperationException e) {
+        // fall through to platform threads
+      }
+    }
+    final AtomicLong threadCounter = new AtomicLong();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + threadCounter.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static boolean probe() {
+    if (null == OF_VIRTUAL || null == NAME || null == FACTORY) {
+      return false;
+    }
+    try {
+      FACTORY.invoke(OF_VIRTUAL.invoke(null));
+      return true;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // UnsupportedOperationException from a preview that is not enabled
+      return false;
+    }
+  }
+
+  private static Class<?> classForName(String name) {
+    try {
+      return Class.forName(name);
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
+  private static Method lookup(Class<?> type, String name, Class<?>... parameterTypes) {
+    if (null == type) {
+      return null;
+    }
+    try {
+      return type.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
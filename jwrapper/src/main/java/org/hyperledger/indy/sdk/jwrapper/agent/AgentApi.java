@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IIndyApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A class that holds all Agent related API's.
+ *
+ * The connections accepted by a listener and the messages received on a connection are published as
+ * {@link org.hyperledger.indy.sdk.jwrapper.IndyFlow.Publisher} streams. libindy's agent thread only ever appends to a
+ * bounded buffer, the subscribers are called on the delivery executor and receive no more than they requested.
+ * A subscriber that falls behind gets the behaviour of the configured {@link OverflowPolicy}, it can neither stall
+ * libindy nor grow the heap without bound. An incoming connection that is dropped that way is closed right away.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class AgentApi implements IIndyApi {
+  private static Logger logger = LoggerFactory.getLogger(AgentApi.class);
+
+  /**
+   * The instances libindy holds stream callbacks of, kept reachable until their last listener and connection is closed
+   */
+  private static final Set<AgentApi> openStreams = ConcurrentHashMap.newKeySet();
+
+  private IndyCommandDispatcher dispatcher;
+  private IndyNativeApi apiInstance;
+  private final AgentStreamConfig config;
+  private final Executor deliveryExecutor;
+
+  private final ConcurrentMap<Integer, BoundedPublisher<AgentConnection>> connectionStreams =
+      new ConcurrentHashMap<Integer, BoundedPublisher<AgentConnection>>();
+  private final ConcurrentMap<Integer, BoundedPublisher<AgentMessage>> messageStreams =
+      new ConcurrentHashMap<Integer, BoundedPublisher<AgentMessage>>();
+  /**
+   * connection handle to the handle of the listener that accepted it
+   */
+  private final ConcurrentMap<Integer, Integer> acceptedConnections = new ConcurrentHashMap<Integer, Integer>();
+  private final AtomicInteger pendingOpens = new AtomicInteger();
+  /**
+   * Streams of handles libindy called back on before listenAsync()/connectAsync() returned them, taken over by
+   * the handle once it is returned and dropped when no open is pending any more. guarded by this
+   */
+  private final Map<Integer, BoundedPublisher<AgentConnection>> unclaimedConnectionStreams =
+      new HashMap<Integer, BoundedPublisher<AgentConnection>>();
+  private final Map<Integer, BoundedPublisher<AgentMessage>> unclaimedMessageStreams =
+      new HashMap<Integer, BoundedPublisher<AgentMessage>>();
+
+  private final AgentCallback.ConnectionCallback connectionCallback = new AgentCallback.ConnectionCallback(this);
+  private final AgentCallback.MessageCallback messageCallback = new AgentCallback.MessageCallback(this);
+
+  public AgentApi(IndyNativeApi apiInstance) {
+    this(apiInstance, new AgentStreamConfig());
+  }
+
+  public AgentApi(IndyNativeApi apiInstance, AgentStreamConfig config) {
+    this.apiInstance = apiInstance;
+    this.dispatcher = apiInstance.getDispatcher();
+    this.config = config;
+    this.deliveryExecutor = null == config.getDeliveryExecutor() ? ForkJoinPool.commonPool() : config.getDeliveryExecutor();
+  }
+
+  /**
+   * A asynchronous listen API, starts listening for incoming connections on the endpoint
+   *
+   * @param endpoint the address to listen on, e.g. 127.0.0.1:9700
+   * @return A future that returns the listener, fails with an IndyException if libindy reports an error
+   */
+  public CompletableFuture<AgentListener> listenAsync(final String endpoint) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+    beginOpen();
+
+    int rc = nativeApi.indy_agent_listen(cmdHandle, endpoint, dispatcher.getHandleReturningCallback(),
+        connectionCallback, messageCallback);
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future.handle((r, failure) -> {
+      try {
+        checkSuccess(r, failure);
+        return new AgentListener(r.getReturnHandle(), endpoint,
+            claimStream(connectionStreams, unclaimedConnectionStreams, r.getReturnHandle()));
+      } finally {
+        endOpen();
+      }
+    });
+  }
+
+  /**
+   * A synchronous listen API
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.agent.AgentApi#listenAsync(String)
+   */
+  public AgentListener listen(String endpoint) throws InterruptedException, ExecutionException {
+    return listenAsync(endpoint).get();
+  }
+
+  /**
+   * A asynchronous connect API, looks up the endpoint of receiverDid and opens a connection to it
+   *
+   * @param pool handle to a already open Pool
+   * @param wallet handle to a already open Wallet that holds the keys of senderDid
+   * @return A future that returns the connection, fails with an IndyException if libindy reports an error
+   */
+  public CompletableFuture<AgentConnection> connectAsync(Pool pool, Wallet wallet, final String senderDid,
+      final String receiverDid) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+    beginOpen();
+
+    int rc = nativeApi.indy_agent_connect(cmdHandle, pool.getPoolHandle(), wallet.getWalletHandle(), senderDid,
+        receiverDid, dispatcher.getHandleReturningCallback(), messageCallback);
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future.handle((r, failure) -> {
+      try {
+        checkSuccess(r, failure);
+        return new AgentConnection(r.getReturnHandle(), senderDid, receiverDid, 0,
+            claimStream(messageStreams, unclaimedMessageStreams, r.getReturnHandle()));
+      } finally {
+        endOpen();
+      }
+    });
+  }
+
+  /**
+   * A synchronous connect API
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.agent.AgentApi#connectAsync(Pool, Wallet, String, String)
+   */
+  public AgentConnection connect(Pool pool, Wallet wallet, String senderDid, String receiverDid)
+      throws InterruptedException, ExecutionException {
+    return connectAsync(pool, wallet, senderDid, receiverDid).get();
+  }
+
+  /**
+   * A asynchronous add identity API, the listener accepts connections to the did from then on
+   *
+   * @param wallet handle to a already open Wallet that holds the keys of did
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> addIdentityAsync(AgentListener listener, Pool pool, Wallet wallet, String did) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_agent_add_identity(cmdHandle, listener.getListenerHandle(), pool.getPoolHandle(),
+        wallet.getWalletHandle(), did, dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult addIdentity(AgentListener listener, Pool pool, Wallet wallet, String did)
+      throws InterruptedException, ExecutionException {
+    return addIdentityAsync(listener, pool, wallet, did).get();
+  }
+
+  /**
+   * A asynchronous remove identity API
+   *
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> removeIdentityAsync(AgentListener listener, Wallet wallet, String did) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_agent_remove_identity(cmdHandle, listener.getListenerHandle(), wallet.getWalletHandle(),
+        did, dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult removeIdentity(AgentListener listener, Wallet wallet, String did)
+      throws InterruptedException, ExecutionException {
+    return removeIdentityAsync(listener, wallet, did).get();
+  }
+
+  /**
+   * A asynchronous send API
+   *
+   * @param connection an open connection
+   * @param message the message, libindy encrypts it for the receiver
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> sendAsync(AgentConnection connection, String message) {
+    return sendAsync(connection.getConnectionHandle(), message);
+  }
+
+  CompletableFuture<GenericResult> sendAsync(int connectionHandle, String message) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_agent_send(cmdHandle, connectionHandle, message, dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult send(AgentConnection connection, String message) throws InterruptedException, ExecutionException {
+    return sendAsync(connection, message).get();
+  }
+
+  /**
+   * A asynchronous close connection API, the message stream of the connection completes once libindy closed it
+   *
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> closeConnectionAsync(AgentConnection connection) {
+    return closeConnectionAsync(connection.getConnectionHandle());
+  }
+
+  CompletableFuture<GenericResult> closeConnectionAsync(final int connectionHandle) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_agent_close_connection(cmdHandle, connectionHandle, dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future.whenComplete((r, failure) -> {
+      if (null == failure && ErrorCode.Success == r.getErrorCode()) {
+        acceptedConnections.remove(Integer.valueOf(connectionHandle));
+        completeMessageStream(connectionHandle);
+        releaseIfIdle();
+      }
+    });
+  }
+
+  public GenericResult closeConnection(AgentConnection connection) throws InterruptedException, ExecutionException {
+    return closeConnectionAsync(connection).get();
+  }
+
+  /**
+   * A asynchronous close listener API. Once libindy closed the listener its connection stream completes,
+   * as do the message streams of the connections it accepted.
+   *
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> closeListenerAsync(final AgentListener listener) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_agent_close_listener(cmdHandle, listener.getListenerHandle(), dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future.whenComplete((r, failure) -> {
+      if (null == failure && ErrorCode.Success == r.getErrorCode()) {
+        onListenerClosed(listener.getListenerHandle());
+      }
+    });
+  }
+
+  public GenericResult closeListener(AgentListener listener) throws InterruptedException, ExecutionException {
+    return closeListenerAsync(listener).get();
+  }
+
+  /**
+   * @return number of listeners and connections whose streams are open
+   */
+  public synchronized int getOpenStreamCount() {
+    return connectionStreams.size() + messageStreams.size() + unclaimedConnectionStreams.size()
+        + unclaimedMessageStreams.size();
+  }
+
+  void onConnection(int listenerHandle, int error, int connectionHandle, String senderDid, String receiverDid) {
+    if (ErrorCode.Success.value() != error) {
+      logger.warn("Listener handle: {} failed to accept a connection, ErrorCode: {}", listenerHandle, ErrorCode.valueOf(error));
+      return;
+    }
+    BoundedPublisher<AgentConnection> stream = callbackStream(connectionStreams, unclaimedConnectionStreams, listenerHandle);
+    if (null == stream) {
+      logger.warn("Listener handle: {} is closed, closing the connection from {}", listenerHandle, senderDid);
+      closeConnectionAsync(connectionHandle);
+      return;
+    }
+    acceptedConnections.put(Integer.valueOf(connectionHandle), Integer.valueOf(listenerHandle));
+    AgentConnection connection = new AgentConnection(connectionHandle, senderDid, receiverDid, listenerHandle,
+        claimStream(messageStreams, unclaimedMessageStreams, connectionHandle));
+    if (!stream.offer(connection)) {
+      logger.warn("Listener handle: {} dropped the connection from {}, closing it", listenerHandle, senderDid);
+      closeConnectionAsync(connectionHandle);
+    }
+  }
+
+  void onMessage(int connectionHandle, int error, String message) {
+    if (ErrorCode.Success.value() != error) {
+      BoundedPublisher<AgentMessage> stream = messageStreams.remove(Integer.valueOf(connectionHandle));
+      if (null == stream) {
+        synchronized (this) {
+          stream = unclaimedMessageStreams.remove(Integer.valueOf(connectionHandle));
+        }
+      }
+      if (null != stream) {
+        stream.fail(new IndyException(error));
+      }
+      acceptedConnections.remove(Integer.valueOf(connectionHandle));
+      releaseIfIdle();
+      return;
+    }
+    BoundedPublisher<AgentMessage> stream = callbackStream(messageStreams, unclaimedMessageStreams, connectionHandle);
+    if (null == stream) {
+      logger.debug("Dropped a message for closed connection handle: {}", connectionHandle);
+      return;
+    }
+    stream.offer(new AgentMessage(connectionHandle, message));
+  }
+
+  /**
+   * A listener or connection event can arrive before the future of listenAsync()/connectAsync() completed,
+   * such events are kept in an unclaimed stream while an open is pending
+   *
+   * @return the stream to publish a callback's event on, null when the handle is closed or unknown
+   */
+  private <T> BoundedPublisher<T> callbackStream(ConcurrentMap<Integer, BoundedPublisher<T>> streams,
+      Map<Integer, BoundedPublisher<T>> unclaimed, int handle) {
+    BoundedPublisher<T> stream = streams.get(Integer.valueOf(handle));
+    if (null != stream) {
+      return stream;
+    }
+    synchronized (this) {
+      stream = streams.get(Integer.valueOf(handle));
+      if (null != stream || 0 == pendingOpens.get()) {
+        return stream;
+      }
+      stream = unclaimed.get(Integer.valueOf(handle));
+      if (null == stream) {
+        stream = newStream();
+        unclaimed.put(Integer.valueOf(handle), stream);
+      }
+      return stream;
+    }
+  }
+
+  /**
+   * @return the stream of a handle libindy just returned, with whatever its callbacks delivered before
+   */
+  private synchronized <T> BoundedPublisher<T> claimStream(ConcurrentMap<Integer, BoundedPublisher<T>> streams,
+      Map<Integer, BoundedPublisher<T>> unclaimed, int handle) {
+    BoundedPublisher<T> stream = unclaimed.remove(Integer.valueOf(handle));
+    if (null == stream) {
+      stream = newStream();
+    }
+    BoundedPublisher<T> existing = streams.putIfAbsent(Integer.valueOf(handle), stream);
+    return null == existing ? stream : existing;
+  }
+
+  private <T> BoundedPublisher<T> newStream() {
+    return new BoundedPublisher<T>(config.getBufferSize(), config.getOverflowPolicy(), deliveryExecutor);
+  }
+
+  private void completeMessageStream(int connectionHandle) {
+    BoundedPublisher<AgentMessage> stream = messageStreams.remove(Integer.valueOf(connectionHandle));
+    if (null != stream) {
+      stream.complete();
+    }
+  }
+
+  private void onListenerClosed(int listenerHandle) {
+    BoundedPublisher<AgentConnection> stream = connectionStreams.remove(Integer.valueOf(listenerHandle));
+    if (null != stream) {
+      stream.complete();
+    }
+    Iterator<Map.Entry<Integer, Integer>> it = acceptedConnections.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Integer, Integer> entry = it.next();
+      if (entry.getValue().intValue() == listenerHandle) {
+        it.remove();
+        completeMessageStream(entry.getKey().intValue());
+      }
+    }
+    releaseIfIdle();
+  }
+
+  private synchronized void beginOpen() {
+    pendingOpens.incrementAndGet();
+    openStreams.add(this);
+  }
+
+  private synchronized void endOpen() {
+    if (0 == pendingOpens.decrementAndGet()) {
+      // left by handles that were closed before they were returned, or by an open that failed
+      for (Map.Entry<Integer, Integer> accepted : acceptedConnections.entrySet()) {
+        if (unclaimedConnectionStreams.containsKey(accepted.getValue())) {
+          closeConnectionAsync(accepted.getKey().intValue());
+        }
+      }
+      unclaimedConnectionStreams.clear();
+      unclaimedMessageStreams.clear();
+    }
+    releaseIfIdle();
+  }
+
+  private synchronized void releaseIfIdle() {
+    if (0 == pendingOpens.get() && connectionStreams.isEmpty() && messageStreams.isEmpty()) {
+      openStreams.remove(this);
+    } else {
+      openStreams.add(this);
+    }
+  }
+
+  private static void checkSuccess(GenericResult r, Throwable failure) {
+    if (null != failure) {
+      throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
+    }
+    if (ErrorCode.Success != r.getErrorCode()) {
+      throw new CompletionException(new IndyException(null == r.getErrorCode() ? ErrorCode.CommonInvalidState : r.getErrorCode()));
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import com.sun.jna.Callback;
+
+/**
+ * The agent callbacks libindy invokes repeatedly, once per incoming connection or message.
+ * Unlike the callbacks in {@link org.hyperledger.indy.sdk.jwrapper.IndyCallback} they are not
+ * keyed by a command handle but by the listener or connection handle the event belongs to.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class AgentCallback {
+
+  /**
+   * Invoked by indy_agent_listen for every incoming connection
+   */
+  public static class ConnectionCallback implements Callback {
+    private final AgentApi agentApi;
+    ConnectionCallback(AgentApi agentApi) {
+      this.agentApi = agentApi;
+    }
+
+    public void callback(int listenerHandle, int error, int connectionHandle, String senderDid, String receiverDid) {
+      agentApi.onConnection(listenerHandle, error, connectionHandle, senderDid, receiverDid);
+    }
+  }
+
+  /**
+   * Invoked by indy_agent_connect and indy_agent_listen for every message received on a connection
+   */
+  public static class MessageCallback implements Callback {
+    private final AgentApi agentApi;
+    MessageCallback(AgentApi agentApi) {
+      this.agentApi = agentApi;
+    }
+
+    public void callback(int connectionHandle, int error, String message) {
+      agentApi.onMessage(connectionHandle, error, message);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import org.hyperledger.indy.sdk.jwrapper.IndyFlow;
+
+/**
+ * An agent connection, either opened by {@link AgentApi#connectAsync} or accepted by an {@link AgentListener}
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class AgentConnection {
+  private final int connectionHandle;
+  private final String senderDid;
+  private final String receiverDid;
+  private final int listenerHandle;
+  private final BoundedPublisher<AgentMessage> messages;
+
+  AgentConnection(int connectionHandle, String senderDid, String receiverDid, int listenerHandle,
+      BoundedPublisher<AgentMessage> messages) {
+    this.connectionHandle = connectionHandle;
+    this.senderDid = senderDid;
+    this.receiverDid = receiverDid;
+    this.listenerHandle = listenerHandle;
+    this.messages = messages;
+  }
+
+  public int getConnectionHandle() {
+    return connectionHandle;
+  }
+  public String getSenderDid() {
+    return senderDid;
+  }
+  public String getReceiverDid() {
+    return receiverDid;
+  }
+
+  /**
+   * @return the handle of the listener that accepted the connection, 0 for a connection opened by connectAsync()
+   */
+  public int getListenerHandle() {
+    return listenerHandle;
+  }
+
+  /**
+   * The messages received on this connection. The stream completes once the connection, or the listener that
+   * accepted it, is closed through the AgentApi, and fails when libindy reports an error for the connection.
+   */
+  public IndyFlow.Publisher<AgentMessage> getMessages() {
+    return messages;
+  }
+
+  /**
+   * @return number of messages discarded because the subscriber did not keep up
+   */
+  public long getDroppedMessageCount() {
+    return messages.getDroppedCount();
+  }
+}
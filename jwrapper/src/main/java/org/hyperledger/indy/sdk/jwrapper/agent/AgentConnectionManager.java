@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hyperledger.indy.sdk.jwrapper.BatchResultListener;
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyBatch;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps agent connections open across sends so that the ledger lookup and handshake of indy_agent_connect
+ * are paid once per sender/receiver DID pair instead of once per message.
+ *
+ * Concurrent sends to a pair that is not connected yet share a single indy_agent_connect call. Every connection
+ * has at most maxInFlightPerConnection indy_agent_send calls outstanding, further messages queue up in order and
+ * are handed to libindy as earlier sends call back, no thread ever blocks. A connection that has not been used for
+ * idleTimeout is closed with indy_agent_close_connection. A failed send retires its connection, the messages still
+ * queued on it move to a new connection of the pair.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class AgentConnectionManager {
+  private static Logger logger = LoggerFactory.getLogger(AgentConnectionManager.class);
+
+  private final AgentApi agentApi;
+  private final Pool pool;
+  private final Wallet wallet;
+  private final int maxInFlightPerConnection;
+  private final long idleTimeoutNanos;
+  private final ScheduledExecutorService scheduler;
+
+  private final ConcurrentMap<String, ManagedConnection> connections = new ConcurrentHashMap<String, ManagedConnection>();
+  /**
+   * Set by shutdown(), no connection is opened afterwards
+   */
+  private volatile boolean shutdown;
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder connectCount = new LongAdder();
+  private final LongAdder connectLatencyNanos = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+  private final LongAdder sentCount = new LongAdder();
+  private final LongAdder failedCount = new LongAdder();
+
+  /**
+   * @param pool handle to a already open Pool, used to look up the endpoints of the receivers
+   * @param wallet handle to a already open Wallet that holds the keys of the senders
+   * @param maxInFlightPerConnection the number of indy_agent_send calls a connection may have outstanding
+   * @param idleTimeout how long an unused connection is kept open
+   */
+  public AgentConnectionManager(AgentApi agentApi, Pool pool, Wallet wallet, int maxInFlightPerConnection,
+      Duration idleTimeout) {
+    if (maxInFlightPerConnection < 1) {
+      throw new IllegalArgumentException("maxInFlightPerConnection must be at least 1");
+    }
+    this.agentApi = agentApi;
+    this.pool = pool;
+    this.wallet = wallet;
+    this.maxInFlightPerConnection = maxInFlightPerConnection;
+    this.idleTimeoutNanos = idleTimeout.toNanos();
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread t = new Thread(runnable, "indy-agent-connection-manager");
+      t.setDaemon(true);
+      return t;
+    });
+    long period = Math.max(1, idleTimeout.toMillis() / 2);
+    scheduler.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Sends the message on the connection of the pair, connecting first if needed
+   *
+   * @return A future that returns a IndyResult once libindy called back for the message,
+   *         fails with an IndyException when the pair could not be connected
+   * @throws IllegalStateException after shutdown()
+   */
+  public CompletableFuture<GenericResult> sendAsync(String senderDid, String receiverDid, String message) {
+    PendingSend send = new PendingSend(message);
+    while (true) {
+      ManagedConnection managed = connectionFor(senderDid, receiverDid);
+      if (managed.enqueue(send)) {
+        return send.future;
+      }
+    }
+  }
+
+  /**
+   * Sends all messages, each on the connection of its pair. Messages to the same pair are sent in list order
+   * with at most maxInFlightPerConnection outstanding, different pairs proceed independently.
+   *
+   * @param listener notified as every message completes, null if not needed
+   * @return one future per message, in the order of the submitted list
+   */
+  public List<CompletableFuture<GenericResult>> sendBatch(List<AgentEnvelope> envelopes, BatchResultListener listener) {
+    // the connections keep their own windows, so the batch hands every message over at once
+    return new IndyBatch<AgentEnvelope, GenericResult>(envelopes, Math.max(1, envelopes.size()),
+        envelope -> sendAsync(envelope.getSenderDid(), envelope.getReceiverDid(), envelope.getMessage()), listener)
+        .start();
+  }
+
+  /**
+   * Sends all messages from senderDid to receiverDid over one connection
+   *
+   * @see #sendBatch(List, BatchResultListener)
+   */
+  public List<CompletableFuture<GenericResult>> sendBatch(final String senderDid, final String receiverDid,
+      List<String> messages, BatchResultListener listener) {
+    return new IndyBatch<String, GenericResult>(messages, Math.max(1, messages.size()),
+        message -> sendAsync(senderDid, receiverDid, message), listener).start();
+  }
+
+  /**
+   * The pooled connection of the pair, e.g. to subscribe to the messages the receiver sends back.
+   * The connection is subject to idle eviction like any other.
+   *
+   * @throws IllegalStateException after shutdown()
+   */
+  public CompletableFuture<AgentConnection> getConnection(String senderDid, String receiverDid) {
+    ManagedConnection managed = connectionFor(senderDid, receiverDid);
+    synchronized (managed) {
+      managed.lastUsedNanos = System.nanoTime();
+    }
+    return managed.connected;
+  }
+
+  /**
+   * Closes all idle connections and stops the eviction thread, connections with sends outstanding are closed
+   * once those called back. Sends submitted afterwards are refused.
+   */
+  public void shutdown() {
+    shutdown = true;
+    scheduler.shutdownNow();
+    for (ManagedConnection managed : connections.values()) {
+      retire(managed);
+    }
+  }
+
+  public int getOpenConnectionCount() {
+    return connections.size();
+  }
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+  public long getMissCount() {
+    return missCount.sum();
+  }
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+  public long getSentCount() {
+    return sentCount.sum();
+  }
+  public long getFailedCount() {
+    return failedCount.sum();
+  }
+  /**
+   * @return the average time indy_agent_connect took to call back, in milliseconds
+   */
+  public double getAverageConnectLatencyMillis() {
+    long connects = connectCount.sum();
+    return 0 == connects ? 0 : connectLatencyNanos.sum() / 1000000.0 / connects;
+  }
+
+  private ManagedConnection connectionFor(String senderDid, String receiverDid) {
+    if (shutdown) {
+      throw new IllegalStateException("AgentConnectionManager is shut down");
+    }
+    String key = senderDid + '\n' + receiverDid;
+    ManagedConnection managed = connections.get(key);
+    if (null != managed) {
+      hitCount.increment();
+      return managed;
+    }
+    ManagedConnection candidate = new ManagedConnection(key, senderDid, receiverDid);
+    managed = connections.putIfAbsent(key, candidate);
+    if (null != managed) {
+      hitCount.increment();
+      return managed;
+    }
+    if (shutdown) {
+      // shutdown() may have retired the connections before this one was added
+      retire(candidate);
+      throw new IllegalStateException("AgentConnectionManager is shut down");
+    }
+    missCount.increment();
+    connect(candidate, senderDid, receiverDid);
+    return candidate;
+  }
+
+  private void connect(final ManagedConnection managed, String senderDid, String receiverDid) {
+    final long start = System.nanoTime();
+    CompletableFuture<AgentConnection> connect;
+    try {
+      connect = agentApi.connectAsync(pool, wallet, senderDid, receiverDid);
+    } catch (RuntimeException e) {
+      connect = new CompletableFuture<AgentConnection>();
+      connect.completeExceptionally(e);
+    }
+    connect.whenComplete((connection, failure) -> {
+      if (null == failure) {
+        connectCount.increment();
+        connectLatencyNanos.add(System.nanoTime() - start);
+        managed.connection = connection;
+        managed.connected.complete(connection);
+        managed.drain();
+        managed.closeIfDrained();
+        return;
+      }
+      logger.warn("Failed to connect {} to {}", senderDid, receiverDid, failure);
+      connections.remove(managed.key, managed);
+      managed.failQueued(failure);
+      managed.connected.completeExceptionally(failure);
+    });
+  }
+
+  private void evictIdle() {
+    try {
+      for (ManagedConnection managed : connections.values()) {
+        synchronized (managed) {
+          if (!managed.connected.isDone() || managed.inFlight > 0 || !managed.queue.isEmpty()
+              || System.nanoTime() - managed.lastUsedNanos < idleTimeoutNanos) {
+            continue;
+          }
+        }
+        evictionCount.increment();
+        retire(managed);
+      }
+    } catch (RuntimeException e) {
+      logger.error("Failed to evict idle agent connections", e);
+    }
+  }
+
+  /**
+   * Takes the connection out of the pool, it is closed as soon as it has no sends outstanding
+   */
+  private void retire(ManagedConnection managed) {
+    synchronized (managed) {
+      managed.retired = true;
+    }
+    connections.remove(managed.key, managed);
+    managed.closeIfDrained();
+  }
+
+  private static class PendingSend {
+    private final String message;
+    private final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+
+    private PendingSend(String message) {
+      this.message = message;
+    }
+  }
+
+  private class ManagedConnection {
+    private final String key;
+    private final String senderDid;
+    private final String receiverDid;
+    private final CompletableFuture<AgentConnection> connected = new CompletableFuture<AgentConnection>();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private volatile AgentConnection connection;
+
+    // guarded by this
+    private final ArrayDeque<PendingSend> queue = new ArrayDeque<PendingSend>();
+    private int inFlight;
+    private boolean retired;
+    private boolean closing;
+    private long lastUsedNanos = System.nanoTime();
+
+    private ManagedConnection(String key, String senderDid, String receiverDid) {
+      this.key = key;
+      this.senderDid = senderDid;
+      this.receiverDid = receiverDid;
+    }
+
+    /**
+     * @return false when the connection was retired meanwhile, the caller has to pick another one
+     */
+    private boolean enqueue(PendingSend send) {
+      synchronized (this) {
+        if (retired) {
+          return false;
+        }
+        queue.add(send);
+        lastUsedNanos = System.nanoTime();
+      }
+      if (connected.isDone()) {
+        drain();
+      }
+      return true;
+    }
+
+    /**
+     * Hands queued messages to libindy while the window allows, only one thread drains at a time
+     */
+    private void drain() {
+      if (drainRequests.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        while (true) {
+          PendingSend send;
+          synchronized (this) {
+            if (null == connection || inFlight >= maxInFlightPerConnection || queue.isEmpty()) {
+              break;
+            }
+            send = queue.poll();
+            inFlight++;
+          }
+          send(send);
+        }
+      } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private void send(final PendingSend send) {
+      CompletableFuture<GenericResult> future;
+      try {
+        future = agentApi.sendAsync(connection, send.message);
+      } catch (RuntimeException e) {
+        future = new CompletableFuture<GenericResult>();
+        future.completeExceptionally(e);
+      }
+      future.whenComplete((result, failure) -> {
+        synchronized (this) {
+          inFlight--;
+          lastUsedNanos = System.nanoTime();
+        }
+        if (null == failure && ErrorCode.Success == result.getErrorCode()) {
+          sentCount.increment();
+        } else {
+          failedCount.increment();
+          logger.warn("Send on connection handle: {} failed, retiring the connection", connection.getConnectionHandle());
+          retire(this);
+          reroute(null != failure ? failure
+              : new IndyException(null == result.getErrorCode() ? ErrorCode.CommonInvalidState : result.getErrorCode()));
+        }
+        if (null != failure) {
+          send.future.completeExceptionally(failure);
+        } else {
+          send.future.complete(result);
+        }
+        drain();
+        closeIfDrained();
+      });
+    }
+
+    /**
+     * Moves the messages still queued on this retired connection to a new connection of the pair,
+     * or fails them once the manager is shut down
+     */
+    private void reroute(Throwable failure) {
+      if (shutdown) {
+        failQueued(failure);
+        return;
+      }
+      List<PendingSend> queued;
+      synchronized (this) {
+        queued = new ArrayList<PendingSend>(queue);
+        queue.clear();
+      }
+      for (PendingSend send : queued) {
+        try {
+          while (!connectionFor(senderDid, receiverDid).enqueue(send)) {
+            // retired meanwhile, pick the next one
+          }
+        } catch (IllegalStateException e) {
+          // shut down meanwhile
+          failedCount.increment();
+          send.future.completeExceptionally(e);
+        }
+      }
+    }
+
+    private void failQueued(Throwable failure) {
+      List<PendingSend> failed;
+      synchronized (this) {
+        retired = true;
+        failed = new ArrayList<PendingSend>(queue);
+        queue.clear();
+      }
+      Throwable cause = failure instanceof CompletionException && null != failure.getCause() ? failure.getCause() : failure;
+      for (PendingSend send : failed) {
+        failedCount.increment();
+        send.future.completeExceptionally(cause);
+      }
+    }
+
+    private void closeIfDrained() {
+      synchronized (this) {
+        if (!retired || closing || null == connection || inFlight > 0 || !queue.isEmpty()) {
+          return;
+        }
+        closing = true;
+      }
+      agentApi.closeConnectionAsync(connection).whenComplete((result, failure) -> {
+        if (null != failure || ErrorCode.Success != result.getErrorCode()) {
+          logger.warn("Failed to close agent connection handle: {}", connection.getConnectionHandle());
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import org.hyperledger.indy.sdk.jwrapper.IndyFlow;
+
+/**
+ * A listener opened by {@link AgentApi#listenAsync(String)}
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class AgentListener {
+  private final int listenerHandle;
+  private final String endpoint;
+  private final BoundedPublisher<AgentConnection> connections;
+
+  AgentListener(int listenerHandle, String endpoint, BoundedPublisher<AgentConnection> connections) {
+    this.listenerHandle = listenerHandle;
+    this.endpoint = endpoint;
+    this.connections = connections;
+  }
+
+  public int getListenerHandle() {
+    return listenerHandle;
+  }
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  /**
+   * The incoming connections, each with its own message stream. Completes once the listener is closed.
+   */
+  public IndyFlow.Publisher<AgentConnection> getConnections() {
+    return connections;
+  }
+
+  /**
+   * @return number of incoming connections discarded because the subscriber did not keep up
+   */
+  public long getDroppedConnectionCount() {
+    return connections.getDroppedCount();
+  }
+}
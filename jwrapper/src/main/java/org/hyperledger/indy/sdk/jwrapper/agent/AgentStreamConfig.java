@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Settings of the connection and message streams of an {@link AgentApi}
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class AgentStreamConfig {
+
+  /**
+   * Maximum number of items a stream holds for its subscriber, items arriving before anybody subscribed count too
+   */
+  private int bufferSize = 256;
+
+  private OverflowPolicy overflowPolicy = OverflowPolicy.FAIL;
+
+  /**
+   * The executor the subscribers are called on, null for the ForkJoinPool common pool.
+   * Subscribers are never called on libindy's agent threads.
+   */
+  private Executor deliveryExecutor;
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+  public void setBufferSize(int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+  public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+  }
+  public Executor getDeliveryExecutor() {
+    return deliveryExecutor;
+  }
+  public void setDeliveryExecutor(Executor deliveryExecutor) {
+    this.deliveryExecutor = deliveryExecutor;
+  }
+}
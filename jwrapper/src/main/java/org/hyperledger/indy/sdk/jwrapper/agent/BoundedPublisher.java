@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hyperledger.indy.sdk.jwrapper.IndyFlow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A publisher fed by libindy's callbacks that never blocks the callback thread. Items are buffered up to a fixed
+ * capacity and handed to the single subscriber on the delivery executor, only as many as it requested.
+ * What happens to items that do not fit any more is decided by the {@link OverflowPolicy}.
+ * Items that arrive before the subscriber subscribes are buffered as well.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public final class BoundedPublisher<T> implements IndyFlow.Publisher<T> {
+  private static Logger logger = LoggerFactory.getLogger(BoundedPublisher.class);
+
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Executor executor;
+  private final ArrayDeque<T> buffer = new ArrayDeque<T>();
+  private final AtomicInteger drainRequests = new AtomicInteger();
+  private final LongAdder droppedCount = new LongAdder();
+  private final IndyFlow.Subscription subscription = new BufferSubscription();
+
+  // guarded by this
+  private IndyFlow.Subscriber<? super T> subscriber;
+  private boolean onSubscribeSignalled;
+  private long demand;
+  private boolean cancelled;
+  private boolean completed;
+  private Throwable error;
+  private boolean terminated;
+
+  BoundedPublisher(int capacity, OverflowPolicy overflowPolicy, Executor executor) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Buffer size must be at least 1");
+    }
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.executor = executor;
+  }
+
+  /**
+   * Only one subscriber is supported, any further subscriber receives onError with an IllegalStateException
+   */
+  @Override
+  public void subscribe(IndyFlow.Subscriber<? super T> subscriber) {
+    if (null == subscriber) {
+      throw new NullPointerException("subscriber");
+    }
+    synchronized (this) {
+      if (null == this.subscriber) {
+        this.subscriber = subscriber;
+        subscriber = null;
+      }
+    }
+    if (null != subscriber) {
+      subscriber.onSubscribe(new IndyFlow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+        @Override
+        public void cancel() {
+        }
+      });
+      subscriber.onError(new IllegalStateException("The stream already has a subscriber"));
+      return;
+    }
+    drain();
+  }
+
+  /**
+   * Called from the native callback, returns at once
+   *
+   * @return false when the item was dropped
+   */
+  boolean offer(T item) {
+    boolean accepted = true;
+    synchronized (this) {
+      if (cancelled || completed || null != error) {
+        accepted = false;
+      } else if (buffer.size() < capacity) {
+        buffer.add(item);
+      } else if (OverflowPolicy.DROP_OLDEST == overflowPolicy) {
+        buffer.poll();
+        buffer.add(item);
+        droppedCount.increment();
+      } else if (OverflowPolicy.DROP_NEWEST == overflowPolicy) {
+        accepted = false;
+      } else {
+        droppedCount.add(buffer.size());
+        buffer.clear();
+        error = new StreamOverflowException(capacity);
+        accepted = false;
+      }
+    }
+    if (!accepted) {
+      droppedCount.increment();
+    }
+    drain();
+    return accepted;
+  }
+
+  /**
+   * Signals onComplete once the subscriber has consumed the buffered items
+   */
+  void complete() {
+    synchronized (this) {
+      if (completed || null != error) {
+        return;
+      }
+      completed = true;
+    }
+    drain();
+  }
+
+  /**
+   * Signals onError right away, discarding the buffered items
+   */
+  void fail(Throwable failure) {
+    synchronized (this) {
+      if (completed || null != error) {
+        return;
+      }
+      error = failure;
+      droppedCount.add(buffer.size());
+      buffer.clear();
+    }
+    drain();
+  }
+
+  /**
+   * @return number of items discarded because the subscriber did not keep up, or was gone
+   */
+  public long getDroppedCount() {
+    return droppedCount.sum();
+  }
+
+  /**
+   * @return number of items waiting for the subscriber to request them
+   */
+  public synchronized int getBufferedCount() {
+    return buffer.size();
+  }
+
+  /**
+   * Runs the delivery loop on the executor unless it is running already, in which case it just loops once more
+   */
+  private void drain() {
+    if (drainRequests.getAndIncrement() != 0) {
+      return;
+    }
+    try {
+      executor.execute(this::deliver);
+    } catch (RejectedExecutionException e) {
+      logger.warn("Delivery executor rejected the stream, delivering on the calling thread");
+      deliver();
+    }
+  }
+
+  private void deliver() {
+    int missed = 1;
+    do {
+      while (deliverOne()) {
+        // keep delivering
+      }
+      missed = drainRequests.addAndGet(-missed);
+    } while (0 != missed);
+  }
+
+  /**
+   * @return false when there is nothing the subscriber may receive now
+   */
+  private boolean deliverOne() {
+    IndyFlow.Subscriber<? super T> s;
+    T item = null;
+    Throwable failure = null;
+    boolean subscribe = false;
+    boolean done = false;
+    synchronized (this) {
+      s = subscriber;
+      if (null == s || terminated) {
+        return false;
+      }
+      if (!onSubscribeSignalled) {
+        onSubscribeSignalled = true;
+        subscribe = true;
+      } else if (cancelled) {
+        terminated = true;
+        droppedCount.add(buffer.size());
+        buffer.clear();
+        return false;
+      } else if (null != error) {
+        terminated = true;
+        failure = error;
+      } else if (demand > 0 && !buffer.isEmpty()) {
+        item = buffer.poll();
+        demand--;
+      } else if (completed && buffer.isEmpty()) {
+        terminated = true;
+        done = true;
+      } else {
+        return false;
+      }
+    }
+    try {
+      if (subscribe) {
+        s.onSubscribe(subscription);
+      } else if (null != failure) {
+        s.onError(failure);
+      } else if (done) {
+        s.onComplete();
+      } else {
+        s.onNext(item);
+      }
+    } catch (RuntimeException e) {
+      logger.error("Subscriber threw, cancelling its subscription", e);
+      subscription.cancel();
+    }
+    return true;
+  }
+
+  private class BufferSubscription implements IndyFlow.Subscription {
+
+    @Override
+    public void request(long n) {
+      synchronized (BoundedPublisher.this) {
+        if (n <= 0) {
+          if (null == error && !terminated) {
+            error = new IllegalArgumentException("Requested " + n + " items, the demand must be positive");
+          }
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (BoundedPublisher.this) {
+        cancelled = true;
+      }
+      drain();
+    }
+  }
+}
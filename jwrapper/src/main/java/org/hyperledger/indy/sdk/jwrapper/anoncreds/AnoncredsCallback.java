@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
+
+import com.sun.jna.Callback;
+
+/**
+ * The callbacks of the anoncreds functions that do not return a single json.
+ * One instance of each exists per {@link IndyCommandDispatcher}, see IndyCommandDispatcher.getCallback().
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class AnoncredsCallback {
+
+  /**
+   * indy_issuer_create_and_store_revoc_reg returns the registry and its uuid
+   */
+  public static class RevocRegCallback implements Callback {
+    private final IndyCommandDispatcher dispatcher;
+    RevocRegCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
+    }
+
+    public void callback(int cmdHandle, int error, final String revocRegJson, final String revocRegUuid) {
+      dispatcher.complete(cmdHandle, error, iResult -> {
+        AnoncredsResult r = (AnoncredsResult) iResult;
+        r.setRevocRegJson(revocRegJson);
+        r.setRevocRegUuid(revocRegUuid);
+      });
+    }
+  }
+
+  /**
+   * indy_issuer_create_claim returns the update of the revocation registry and the claim
+   */
+  public static class ClaimCallback implements Callback {
+    private final IndyCommandDispatcher dispatcher;
+    ClaimCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
+    }
+
+    public void callback(int cmdHandle, int error, final String revocRegUpdateJson, final String claimJson) {
+      dispatcher.complete(cmdHandle, error, iResult -> {
+        AnoncredsResult r = (AnoncredsResult) iResult;
+        r.setRevocRegUpdateJson(revocRegUpdateJson);
+        r.setClaimJson(claimJson);
+      });
+    }
+  }
+
+  /**
+   * indy_verifier_verify_proof returns whether the proof is valid, a Rust bool only defines the lowest byte
+   */
+  public static class VerifyCallback implements Callback {
+    private final IndyCommandDispatcher dispatcher;
+    VerifyCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
+    }
+
+    public void callback(int cmdHandle, int error, final byte valid) {
+      dispatcher.complete(cmdHandle, error, iResult -> ((AnoncredsResult) iResult).setValid(0 != valid));
+    }
+  }
+}
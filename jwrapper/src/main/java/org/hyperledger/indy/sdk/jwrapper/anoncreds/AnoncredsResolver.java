@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerReadCache;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerReply;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Resolves the schemas and claim definitions referenced by claims from the ledger and assembles the
+ * schemas_json and claim_defs_json arguments of indy_prover_create_proof and indy_verifier_verify_proof.
+ *
+ * A schema is read by its sequence number (GET_TXN), a claim definition by schema sequence number and issuer
+ * (GET_CLAIM_DEF). All lookups of one call are issued at once and every distinct definition is requested only
+ * once, so resolving the inputs of a proof takes a single ledger round trip however many claims it uses.
+ * The lookups go through a LedgerReadCache which keeps the definitions, they cannot change on the ledger, and
+ * lets concurrent callers asking for the same definition share the round trip.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class AnoncredsResolver {
+  private static Logger logger = LoggerFactory.getLogger(AnoncredsResolver.class);
+
+  /**
+   * The only signature type libindy supports
+   */
+  public static final String SIGNATURE_TYPE_CL = "CL";
+
+  private static final String SCHEMA_TXN_TYPE = "101";
+
+  private final LedgerReadCache ledgerReadCache;
+  private final ObjectMapper objectMapper;
+  private final String submitterDid;
+
+  /**
+   * @param submitterDid the DID the GET requests are sent as
+   */
+  public AnoncredsResolver(IndyNativeApi apiInstance, LedgerReadCache ledgerReadCache, String submitterDid) {
+    this.ledgerReadCache = ledgerReadCache;
+    this.objectMapper = apiInstance.getObjectMapper();
+    this.submitterDid = submitterDid;
+  }
+
+  /**
+   * Resolves the definitions of all claims a proof uses
+   *
+   * @param revocRegsJson the revocation registries keyed by claim_uuid, null for {}
+   * @return A future that returns the proof inputs, fails with an IndyException when a definition is not on the ledger
+   */
+  public CompletableFuture<ProofInputs> resolveAsync(final Pool pool, Collection<ClaimReference> claims,
+      final String revocRegsJson) {
+    final Map<Integer, CompletableFuture<JsonNode>> schemas = new HashMap<Integer, CompletableFuture<JsonNode>>();
+    final Map<String, CompletableFuture<JsonNode>> claimDefs = new HashMap<String, CompletableFuture<JsonNode>>();
+    final List<ClaimReference> references = new ArrayList<ClaimReference>(claims);
+    for (ClaimReference claim : references) {
+      if (!schemas.containsKey(claim.getSchemaSeqNo())) {
+        schemas.put(claim.getSchemaSeqNo(), schemaNodeAsync(pool, claim.getSchemaSeqNo()));
+      }
+      String claimDefKey = claimDefKey(claim.getSchemaSeqNo(), claim.getIssuerDid());
+      if (!claimDefs.containsKey(claimDefKey)) {
+        claimDefs.put(claimDefKey, claimDefNodeAsync(pool, claim.getSchemaSeqNo(), claim.getIssuerDid()));
+      }
+    }
+
+    List<CompletableFuture<JsonNode>> all = new ArrayList<CompletableFuture<JsonNode>>(schemas.values());
+    all.addAll(claimDefs.values());
+    return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[all.size()])).thenApply(done -> {
+      ObjectNode schemasJson = objectMapper.createObjectNode();
+      ObjectNode claimDefsJson = objectMapper.createObjectNode();
+      for (ClaimReference claim : references) {
+        schemasJson.set(claim.getClaimUuid(), schemas.get(claim.getSchemaSeqNo()).join());
+        claimDefsJson.set(claim.getClaimUuid(), claimDefs.get(claimDefKey(claim.getSchemaSeqNo(), claim.getIssuerDid())).join());
+      }
+      return new ProofInputs(schemasJson.toString(), claimDefsJson.toString(), null == revocRegsJson ? "{}" : revocRegsJson);
+    });
+  }
+
+  /**
+   * Starts loading a schema and claim definition into the cache without waiting for them, e.g. as soon as a proof
+   * request naming them arrives. A failure is only logged, it is reported again by the resolve it would affect.
+   */
+  public void prefetch(Pool pool, int schemaSeqNo, String issuerDid) {
+    CompletableFuture<JsonNode> schema = schemaNodeAsync(pool, schemaSeqNo);
+    CompletableFuture<JsonNode> claimDef = null == issuerDid ? schema : claimDefNodeAsync(pool, schemaSeqNo, issuerDid);
+    schema.runAfterBoth(claimDef, () -> {}).exceptionally(failure -> {
+      logger.debug("Prefetch of schema {} failed: {}", schemaSeqNo, failure.getMessage());
+      return null;
+    });
+  }
+
+  /**
+   * @return A future that returns the schema as indy_prover_create_proof expects it, {"seqNo":..,"data":{..}}
+   */
+  public CompletableFuture<String> getSchemaAsync(Pool pool, int schemaSeqNo) {
+    return schemaNodeAsync(pool, schemaSeqNo).thenApply(JsonNode::toString);
+  }
+
+  /**
+   * @return A future that returns the claim definition as indy_prover_create_proof expects it,
+   *         {"ref":..,"signature_type":..,"origin":..,"data":{..}}
+   */
+  public CompletableFuture<String> getClaimDefAsync(Pool pool, int schemaSeqNo, String issuerDid) {
+    return claimDefNodeAsync(pool, schemaSeqNo, issuerDid).thenApply(JsonNode::toString);
+  }
+
+  private CompletableFuture<JsonNode> schemaNodeAsync(Pool pool, final int schemaSeqNo) {
+    return ledgerReadCache.getTxn(pool, submitterDid, schemaSeqNo).thenApply(reply -> {
+      JsonNode txn = replyData(reply, "schema " + schemaSeqNo);
+      JsonNode type = txn.get("type");
+      if (null != type && !SCHEMA_TXN_TYPE.equals(type.asText())) {
+        logger.warn("Transaction {} is not a schema but of type {}", schemaSeqNo, type.asText());
+        throw new CompletionException(new IndyException(ErrorCode.CommonInvalidState));
+      }
+      ObjectNode schema = objectMapper.createObjectNode();
+      schema.put("seqNo", schemaSeqNo);
+      schema.set("data", parsed(txn.path("data"), "schema " + schemaSeqNo));
+      return schema;
+    });
+  }
+
+  private CompletableFuture<JsonNode> claimDefNodeAsync(Pool pool, final int schemaSeqNo, final String issuerDid) {
+    return ledgerReadCache.getClaimDef(pool, submitterDid, schemaSeqNo, SIGNATURE_TYPE_CL, issuerDid).thenApply(reply -> {
+      ObjectNode claimDef = objectMapper.createObjectNode();
+      claimDef.put("ref", schemaSeqNo);
+      claimDef.put("signature_type", SIGNATURE_TYPE_CL);
+      claimDef.put("origin", issuerDid);
+      claimDef.set("data", replyData(reply, "claim definition " + schemaSeqNo + " of " + issuerDid));
+      return claimDef;
+    });
+  }
+
+  /**
+   * @return result.data of a positive ledger reply, parsed when the ledger returned it as a json string
+   */
+  private JsonNode replyData(GenericResult result, String what) {
+    if (ErrorCode.Success != result.getErrorCode()) {
+      throw new CompletionException(new IndyException(null == result.getErrorCode() ? ErrorCode.CommonInvalidState : result.getErrorCode()));
+    }
+    LedgerReply reply = LedgerReply.of(result);
+    if (null == reply || !reply.isWellFormed()) {
+      logger.warn("Unparsable ledger reply for {}", what);
+      throw new CompletionException(new IndyException(ErrorCode.CommonInvalidStructure));
+    }
+    if (!reply.isReply()) {
+      logger.warn("Ledger rejected the request for {}: {}", what, reply.getReason());
+      throw new CompletionException(new IndyException(ErrorCode.LedgerInvalidTransaction));
+    }
+    return parsed(reply.getDataJson(), what);
+  }
+
+  private JsonNode parsed(String dataJson, String what) {
+    JsonNode data;
+    try {
+      data = null == dataJson ? null : objectMapper.readTree(dataJson);
+    } catch (IOException e) {
+      logger.warn("Unparsable data on the ledger for {}", what);
+      throw new CompletionException(new IndyException(ErrorCode.CommonInvalidStructure));
+    }
+    return nonEmpty(data, what);
+  }
+
+  private JsonNode parsed(JsonNode data, String what) {
+    return data.isTextual() ? parsed(data.textValue(), what) : nonEmpty(data, what);
+  }
+
+  private JsonNode nonEmpty(JsonNode data, String what) {
+    if (null == data || !data.isObject() || 0 == data.size()) {
+      logger.warn("No {} on the ledger", what);
+      throw new CompletionException(new IndyException(ErrorCode.CommonInvalidState));
+    }
+    return data;
+  }
+
+  private static String claimDefKey(int schemaSeqNo, String issuerDid) {
+    return schemaSeqNo + "\u0000" + issuerDid;
+  }
+}
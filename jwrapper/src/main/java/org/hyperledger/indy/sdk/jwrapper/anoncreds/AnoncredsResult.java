@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+
+/**
+ * The outcome of an anoncreds command that does not return a single json, only the fields the command returns are set
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class AnoncredsResult extends GenericResult {
+  private String revocRegJson;
+
+  private String revocRegUuid;
+
+  private String revocRegUpdateJson;
+
+  private String claimJson;
+
+  /**
+   * Where the claim was registered for revocation, null for a claim that cannot be revoked
+   */
+  private RevocationIndex revocationIndex;
+
+  private boolean valid;
+
+  public String getRevocRegJson() {
+    return revocRegJson;
+  }
+  public void setRevocRegJson(String revocRegJson) {
+    this.revocRegJson = revocRegJson;
+  }
+  public String getRevocRegUuid() {
+    return revocRegUuid;
+  }
+  public void setRevocRegUuid(String revocRegUuid) {
+    this.revocRegUuid = revocRegUuid;
+  }
+  public String getRevocRegUpdateJson() {
+    return revocRegUpdateJson;
+  }
+  public void setRevocRegUpdateJson(String revocRegUpdateJson) {
+    this.revocRegUpdateJson = revocRegUpdateJson;
+  }
+  public String getClaimJson() {
+    return claimJson;
+  }
+  public void setClaimJson(String claimJson) {
+    this.claimJson = claimJson;
+  }
+  public RevocationIndex getRevocationIndex() {
+    return revocationIndex;
+  }
+  public void setRevocationIndex(RevocationIndex revocationIndex) {
+    this.revocationIndex = revocationIndex;
+  }
+  public boolean isValid() {
+    return valid;
+  }
+  public void setValid(boolean valid) {
+    this.valid = valid;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.io.IOException;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The filter json of getClaims and getClaimOffers, i.e. {"issuer_did":..,"schema_seq_no":..}.
+ * Fields that are null are left out, a filter without fields matches everything.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class ClaimFilter {
+  public static final ClaimFilter ALL = new ClaimFilter(null, null);
+
+  public static final JsonCodec<ClaimFilter> CODEC = new JsonCodec<ClaimFilter>() {
+    @Override
+    public void write(JsonGenerator generator, ClaimFilter value) throws IOException {
+      generator.writeStartObject();
+      if (null != value.issuerDid) {
+        generator.writeStringField("issuer_did", value.issuerDid);
+      }
+      if (null != value.schemaSeqNo) {
+        generator.writeNumberField("schema_seq_no", value.schemaSeqNo);
+      }
+      generator.writeEndObject();
+    }
+
+    @Override
+    public ClaimFilter read(JsonParser parser) throws IOException {
+      String issuerDid = null;
+      Integer schemaSeqNo = null;
+      String name;
+      while (null != (name = IndyJson.nextMember(parser))) {
+        JsonToken token = parser.getCurrentToken();
+        if ("issuer_did".equals(name) && JsonToken.VALUE_NULL != token) {
+          issuerDid = parser.getValueAsString();
+        } else if ("schema_seq_no".equals(name) && JsonToken.VALUE_NULL != token) {
+          schemaSeqNo = parser.getValueAsInt();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return new ClaimFilter(issuerDid, schemaSeqNo);
+    }
+  };
+
+  private final String issuerDid;
+
+  private final Integer schemaSeqNo;
+
+  public ClaimFilter(String issuerDid, Integer schemaSeqNo) {
+    this.issuerDid = issuerDid;
+    this.schemaSeqNo = schemaSeqNo;
+  }
+
+  public String getIssuerDid() {
+    return issuerDid;
+  }
+  public Integer getSchemaSeqNo() {
+    return schemaSeqNo;
+  }
+
+  @Override
+  public String toString() {
+    return "ClaimFilter [issuerDid=" + issuerDid + ", schemaSeqNo=" + schemaSeqNo + "]";
+  }
+}
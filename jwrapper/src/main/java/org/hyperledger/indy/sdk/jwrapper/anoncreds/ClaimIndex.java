@@ -0,0 +1,540 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * An in-memory index of the claims in the provers' wallets, answering indy_prover_get_claims filters and
+ * indy_prover_get_claims_for_proof_req matching without scanning the wallet, see ProverApi.setClaimIndex().
+ *
+ * The claims of a wallet are read once with indy_prover_get_claims on first use and indexed by schema_seq_no,
+ * issuer DID and attribute name. After a successful indy_prover_store_claim through the ProverApi the claims of
+ * the stored claim's schema and issuer are read again and merged in, libindy cannot delete claims so the index
+ * only ever grows. A filter on anything but issuer_did and schema_seq_no, or a predicate other than GE, is passed
+ * on to libindy. Call invalidate() when the wallet was changed behind the ProverApi's back.
+ *
+ * An index is kept per wallet name and handle, as libindy hands the handle of a closed wallet out again.
+ * Created with a WalletApi, the index of a wallet closed through it is dropped, otherwise call invalidate()
+ * when closing the wallet.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class ClaimIndex {
+  private static Logger logger = LoggerFactory.getLogger(ClaimIndex.class);
+
+  private static final List<String> FILTER_FIELDS = Arrays.asList("schema_seq_no", "issuer_did");
+  private static final List<String> ATTR_FIELDS = Arrays.asList("name", "schema_seq_no", "issuer_did");
+  private static final List<String> PREDICATE_FIELDS = Arrays.asList("attr_name", "p_type", "value", "schema_seq_no", "issuer_did");
+
+  private final ProverApi proverApi;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * The index of every wallet keyed by name and handle, a future as concurrent first uses share one load
+   */
+  private final ConcurrentMap<String, CompletableFuture<Snapshot>> wallets = new ConcurrentHashMap<String, CompletableFuture<Snapshot>>();
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder coalescedCount = new LongAdder();
+  private final LongAdder fallbackCount = new LongAdder();
+  private final LongAdder refreshCount = new LongAdder();
+
+  public ClaimIndex(IndyNativeApi apiInstance, ProverApi proverApi) {
+    this.proverApi = proverApi;
+    this.objectMapper = apiInstance.getObjectMapper();
+  }
+
+  /**
+   * @param walletApi the index of a wallet closed through it is dropped
+   */
+  public ClaimIndex(IndyNativeApi apiInstance, ProverApi proverApi, WalletApi walletApi) {
+    this(apiInstance, proverApi);
+    walletApi.addCloseListener(this::invalidate);
+  }
+
+  /**
+   * Answers a get claims filter from the index
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#getClaimsAsync(Wallet, String)
+   */
+  public CompletableFuture<GenericResult> getClaimsAsync(final Wallet wallet, final String filterJson) {
+    final JsonNode filter = tree(filterJson);
+    if (null == filter || !isIndexableFilter(filter)) {
+      fallbackCount.increment();
+      return proverApi.getClaimsNativeAsync(wallet, filterJson);
+    }
+    return snapshot(wallet).thenApply(snapshot -> {
+      List<IndexedClaim> claims = new ArrayList<IndexedClaim>();
+      for (IndexedClaim claim : snapshot.candidates(filter.get("schema_seq_no"), filter.get("issuer_did"))) {
+        if (claim.matches(filter)) {
+          claims.add(claim);
+        }
+      }
+      return result(IndyJson.encodeList(IndexedClaim.CODEC, claims));
+    });
+  }
+
+  /**
+   * Matches a proof request against the index
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#getClaimsForProofReqAsync(Wallet, String)
+   */
+  public CompletableFuture<GenericResult> getClaimsForProofReqAsync(final Wallet wallet, final String proofRequestJson) {
+    final JsonNode proofRequest = tree(proofRequestJson);
+    if (null == proofRequest || !isIndexableProofRequest(proofRequest)) {
+      fallbackCount.increment();
+      return proverApi.getClaimsForProofReqNativeAsync(wallet, proofRequestJson);
+    }
+    return snapshot(wallet).thenApply(snapshot -> {
+      Map<String, List<IndexedClaim>> attrs = new LinkedHashMap<String, List<IndexedClaim>>();
+      Iterator<Map.Entry<String, JsonNode>> requestedAttrs = proofRequest.path("requested_attrs").fields();
+      while (requestedAttrs.hasNext()) {
+        Map.Entry<String, JsonNode> requested = requestedAttrs.next();
+        List<IndexedClaim> candidates = new ArrayList<IndexedClaim>();
+        for (IndexedClaim claim : snapshot.withAttribute(requested.getValue().path("name").asText())) {
+          if (claim.matches(requested.getValue())) {
+            candidates.add(claim);
+          }
+        }
+        attrs.put(requested.getKey(), candidates);
+      }
+      Map<String, List<IndexedClaim>> predicates = new LinkedHashMap<String, List<IndexedClaim>>();
+      Iterator<Map.Entry<String, JsonNode>> requestedPredicates = proofRequest.path("requested_predicates").fields();
+      while (requestedPredicates.hasNext()) {
+        Map.Entry<String, JsonNode> requested = requestedPredicates.next();
+        List<IndexedClaim> candidates = new ArrayList<IndexedClaim>();
+        String attrName = requested.getValue().path("attr_name").asText();
+        for (IndexedClaim claim : snapshot.withAttribute(attrName)) {
+          if (claim.matches(requested.getValue()) && claim.satisfies(attrName, requested.getValue().path("value"))) {
+            candidates.add(claim);
+          }
+        }
+        predicates.put(requested.getKey(), candidates);
+      }
+      return result(matchesJson(attrs, predicates));
+    });
+  }
+
+  /**
+   * Drops the index of a wallet, the next query reads its claims again
+   */
+  public void invalidate(Wallet wallet) {
+    wallets.remove(walletKey(wallet));
+  }
+
+  public void invalidateAll() {
+    wallets.clear();
+  }
+
+  /**
+   * @return number of claims indexed for the wallet, -1 when the wallet is not indexed (yet)
+   */
+  public int getSize(Wallet wallet) {
+    CompletableFuture<Snapshot> snapshot = wallets.get(walletKey(wallet));
+    return null == snapshot || !snapshot.isDone() || snapshot.isCompletedExceptionally() ? -1 : snapshot.join().claims.size();
+  }
+  /**
+   * @return number of queries answered from an index that was already read
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+  /**
+   * @return number of times all claims of a wallet were read
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+  /**
+   * @return number of queries that waited for a read of the wallet's claims already in progress
+   */
+  public long getCoalescedCount() {
+    return coalescedCount.sum();
+  }
+  /**
+   * @return number of queries passed on to libindy as the index cannot answer them
+   */
+  public long getFallbackCount() {
+    return fallbackCount.sum();
+  }
+  /**
+   * @return number of times the claims of a schema and issuer were read again after a claim was stored
+   */
+  public long getRefreshCount() {
+    return refreshCount.sum();
+  }
+
+  /**
+   * Called by the ProverApi once indy_prover_store_claim succeeded, reads the claims of the stored claim's
+   * schema and issuer and merges them into the index. Never fails, the wallet's index is dropped instead.
+   */
+  CompletableFuture<Void> claimStored(final Wallet wallet, String claimsJson) {
+    final String walletKey = walletKey(wallet);
+    final CompletableFuture<Snapshot> indexed = wallets.get(walletKey);
+    if (null == indexed) {
+      return CompletableFuture.completedFuture(null);
+    }
+    // the stored claim names its schema and issuer like a claim_info does
+    ClaimReference claim = decode(ClaimReference.CODEC, claimsJson);
+    if (null == claim || null == claim.getIssuerDid()) {
+      wallets.remove(walletKey, indexed);
+      return CompletableFuture.completedFuture(null);
+    }
+    final String filterJson = IndyJson.encode(ClaimFilter.CODEC,
+        new ClaimFilter(claim.getIssuerDid(), claim.getSchemaSeqNo()));
+
+    refreshCount.increment();
+    final CompletableFuture<Void> done = new CompletableFuture<Void>();
+    indexed.thenCompose(loaded -> proverApi.getClaimsNativeAsync(wallet, filterJson)).whenComplete((claims, failure) -> {
+      List<IndexedClaim> refreshed = null == failure ? parse(claims) : null;
+      if (null == refreshed) {
+        logger.warn("Could not refresh the claim index of wallet: {}, dropping it", wallet.getWalletName());
+        wallets.remove(walletKey, indexed);
+      } else {
+        merge(walletKey, refreshed);
+      }
+      done.complete(null);
+    });
+    return done;
+  }
+
+  /**
+   * @return the wallet's index, read from the wallet unless it is indexed already or being read by another caller
+   */
+  private CompletableFuture<Snapshot> snapshot(final Wallet wallet) {
+    final String walletKey = walletKey(wallet);
+    final CompletableFuture<Snapshot> loading = new CompletableFuture<Snapshot>();
+    CompletableFuture<Snapshot> indexed = wallets.putIfAbsent(walletKey, loading);
+    if (null != indexed) {
+      if (indexed.isDone()) {
+        hitCount.increment();
+      } else {
+        coalescedCount.increment();
+      }
+      return indexed;
+    }
+    missCount.increment();
+    proverApi.getClaimsNativeAsync(wallet, "{}").whenComplete((claims, failure) -> {
+      List<IndexedClaim> loaded = null == failure ? parse(claims) : null;
+      if (null == loaded) {
+        // a failed read is not kept, the next query tries again
+        wallets.remove(walletKey, loading);
+        loading.completeExceptionally(null != failure ? failure : new IndyException(
+            null == claims.getErrorCode() || ErrorCode.Success == claims.getErrorCode() ? ErrorCode.CommonInvalidStructure : claims.getErrorCode()));
+      } else {
+        loading.complete(new Snapshot(loaded));
+      }
+    });
+    return loading;
+  }
+
+  /**
+   * Replaces the wallet's snapshot by one that also holds the given claims, unless the index was dropped meanwhile
+   */
+  private void merge(String walletKey, List<IndexedClaim> claims) {
+    while (true) {
+      CompletableFuture<Snapshot> indexed = wallets.get(walletKey);
+      if (null == indexed || !indexed.isDone() || indexed.isCompletedExceptionally()) {
+        return;
+      }
+      Snapshot current = indexed.join();
+      Map<String, IndexedClaim> merged = new LinkedHashMap<String, IndexedClaim>(current.claims);
+      for (IndexedClaim claim : claims) {
+        merged.put(claim.claimUuid, claim);
+      }
+      if (wallets.replace(walletKey, indexed, CompletableFuture.completedFuture(new Snapshot(merged.values())))) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the claims of a get claims result, null when the call failed or the result cannot be parsed
+   */
+  private List<IndexedClaim> parse(GenericResult claims) {
+    if (ErrorCode.Success != claims.getErrorCode()) {
+      return null;
+    }
+    try {
+      return null == claims.getReturnJson() ? null : IndyJson.decodeList(IndexedClaim.CODEC, claims.getReturnJson());
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the get claims for proof request result, {"attrs":{"attr1_uuid":[claim_info,..]},"predicates":{..}}
+   */
+  private static String matchesJson(Map<String, List<IndexedClaim>> attrs, Map<String, List<IndexedClaim>> predicates) {
+    StringWriter writer = new StringWriter(256);
+    try (JsonGenerator generator = IndyJson.getFactory().createGenerator(writer)) {
+      generator.writeStartObject();
+      writeMatches(generator, "attrs", attrs);
+      writeMatches(generator, "predicates", predicates);
+      generator.writeEndObject();
+    } catch (IOException e) {
+      // a StringWriter does not fail
+      throw new IllegalStateException("Cannot write claims", e);
+    }
+    return writer.toString();
+  }
+
+  private static void writeMatches(JsonGenerator generator, String name, Map<String, List<IndexedClaim>> matches)
+      throws IOException {
+    generator.writeObjectFieldStart(name);
+    for (Map.Entry<String, List<IndexedClaim>> requested : matches.entrySet()) {
+      generator.writeArrayFieldStart(requested.getKey());
+      for (IndexedClaim claim : requested.getValue()) {
+        IndexedClaim.CODEC.write(generator, claim);
+      }
+      generator.writeEndArray();
+    }
+    generator.writeEndObject();
+  }
+
+  private static <T> T decode(JsonCodec<T> codec, String json) {
+    try {
+      return null == json ? null : IndyJson.decode(codec, json);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static String walletKey(Wallet wallet) {
+    return wallet.getWalletHandle() + "\u0000" + wallet.getWalletName();
+  }
+
+  private JsonNode tree(String json) {
+    try {
+      return null == json ? null : objectMapper.readTree(json);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return whether a filter only restricts schema_seq_no and issuer_did
+   */
+  private static boolean isIndexableFilter(JsonNode filter) {
+    return filter.isObject() && hasOnly(filter, FILTER_FIELDS);
+  }
+
+  /**
+   * @return whether the requested attributes and predicates only restrict schema_seq_no and issuer_did
+   *         and all predicates are GE
+   */
+  private static boolean isIndexableProofRequest(JsonNode proofRequest) {
+    for (JsonNode requested : proofRequest.path("requested_attrs")) {
+      if (!requested.isObject() || !hasOnly(requested, ATTR_FIELDS)) {
+        return false;
+      }
+    }
+    for (JsonNode requested : proofRequest.path("requested_predicates")) {
+      if (!requested.isObject() || !hasOnly(requested, PREDICATE_FIELDS)
+          || !"GE".equals(requested.path("p_type").asText()) || !requested.path("value").canConvertToLong()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean hasOnly(JsonNode node, List<String> fields) {
+    Iterator<String> names = node.fieldNames();
+    while (names.hasNext()) {
+      if (!fields.contains(names.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static GenericResult result(String json) {
+    GenericResult result = new GenericResult();
+    result.setErrorCode(ErrorCode.Success);
+    result.setReturnJson(json);
+    return result;
+  }
+
+  /**
+   * The claims of one wallet, never modified once built
+   */
+  private static class Snapshot {
+    private final Map<String, IndexedClaim> claims = new LinkedHashMap<String, IndexedClaim>();
+    private final Map<Integer, List<IndexedClaim>> bySchema = new HashMap<Integer, List<IndexedClaim>>();
+    private final Map<String, List<IndexedClaim>> byIssuer = new HashMap<String, List<IndexedClaim>>();
+    private final Map<String, List<IndexedClaim>> byAttribute = new HashMap<String, List<IndexedClaim>>();
+
+    private Snapshot(Collection<IndexedClaim> indexed) {
+      for (IndexedClaim claim : indexed) {
+        claims.put(claim.claimUuid, claim);
+        add(bySchema, claim.schemaSeqNo, claim);
+        add(byIssuer, claim.issuerDid, claim);
+        for (String name : claim.attrs.keySet()) {
+          add(byAttribute, name, claim);
+        }
+      }
+    }
+
+    private Collection<IndexedClaim> candidates(JsonNode schemaSeqNo, JsonNode issuerDid) {
+      if (null != schemaSeqNo) {
+        return orEmpty(bySchema.get(schemaSeqNo.asInt()));
+      }
+      if (null != issuerDid) {
+        return orEmpty(byIssuer.get(issuerDid.asText()));
+      }
+      return claims.values();
+    }
+
+    private Collection<IndexedClaim> withAttribute(String name) {
+      return orEmpty(byAttribute.get(name));
+    }
+
+    private static <K> void add(Map<K, List<IndexedClaim>> index, K key, IndexedClaim claim) {
+      List<IndexedClaim> claims = index.get(key);
+      if (null == claims) {
+        claims = new ArrayList<IndexedClaim>(2);
+        index.put(key, claims);
+      }
+      claims.add(claim);
+    }
+
+    private static Collection<IndexedClaim> orEmpty(List<IndexedClaim> claims) {
+      return null == claims ? Collections.<IndexedClaim>emptyList() : claims;
+    }
+  }
+
+  /**
+   * A claim_info as returned by indy_prover_get_claims, {"claim_uuid":..,"attrs":{..},"schema_seq_no":..,"issuer_did":..}
+   */
+  private static class IndexedClaim {
+    private static final JsonCodec<IndexedClaim> CODEC = new JsonCodec<IndexedClaim>() {
+      @Override
+      public void write(JsonGenerator generator, IndexedClaim value) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("claim_uuid", value.claimUuid);
+        generator.writeObjectFieldStart("attrs");
+        for (Map.Entry<String, String> attr : value.attrs.entrySet()) {
+          generator.writeStringField(attr.getKey(), attr.getValue());
+        }
+        generator.writeEndObject();
+        generator.writeNumberField("schema_seq_no", value.schemaSeqNo);
+        generator.writeStringField("issuer_did", value.issuerDid);
+        generator.writeEndObject();
+      }
+
+      @Override
+      public IndexedClaim read(JsonParser parser) throws IOException {
+        String claimUuid = null;
+        Map<String, String> attrs = new LinkedHashMap<String, String>();
+        int schemaSeqNo = 0;
+        String issuerDid = null;
+        String name;
+        while (null != (name = IndyJson.nextMember(parser))) {
+          if ("claim_uuid".equals(name)) {
+            claimUuid = parser.getValueAsString();
+          } else if ("attrs".equals(name) && JsonToken.START_OBJECT == parser.getCurrentToken()) {
+            String attrName;
+            while (null != (attrName = IndyJson.nextMember(parser))) {
+              attrs.put(attrName, IndyJson.valueAsString(parser));
+            }
+          } else if ("schema_seq_no".equals(name)) {
+            schemaSeqNo = parser.getValueAsInt();
+          } else if ("issuer_did".equals(name)) {
+            issuerDid = parser.getValueAsString();
+          } else {
+            parser.skipChildren();
+          }
+        }
+        return new IndexedClaim(claimUuid, attrs, schemaSeqNo, issuerDid);
+      }
+    };
+
+    private final String claimUuid;
+    private final Map<String, String> attrs;
+    private final int schemaSeqNo;
+    private final String issuerDid;
+
+    private IndexedClaim(String claimUuid, Map<String, String> attrs, int schemaSeqNo, String issuerDid) {
+      this.claimUuid = claimUuid;
+      this.attrs = attrs;
+      this.schemaSeqNo = schemaSeqNo;
+      this.issuerDid = issuerDid;
+    }
+
+    /**
+     * @return whether the claim meets the schema_seq_no and issuer_did restrictions of a filter or requested attribute
+     */
+    private boolean matches(JsonNode restrictions) {
+      JsonNode schema = restrictions.get("schema_seq_no");
+      if (null != schema && !schema.isNull() && schema.asInt() != schemaSeqNo) {
+        return false;
+      }
+      JsonNode issuer = restrictions.get("issuer_did");
+      return null == issuer || issuer.isNull() || issuer.asText().equals(issuerDid);
+    }
+
+    /**
+     * @return whether the attribute's value, as an integer, is greater than or equal to the predicate's value
+     */
+    private boolean satisfies(String attrName, JsonNode value) {
+      String attr = attrs.get(attrName);
+      try {
+        return null != attr && new BigInteger(attr).compareTo(BigInteger.valueOf(value.asLong())) >= 0;
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+/**
+ * A claim to issue through {@link IssuerApi#issueBatch}, the prover's claim request and the claim's values
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class ClaimIssuance {
+  private final String claimReqJson;
+
+  private final String claimJson;
+
+  /**
+   * @param claimJson the attribute values, e.g. {"name":["Alex","1139481716457488690172217916278103335"]}
+   */
+  public ClaimIssuance(String claimReqJson, String claimJson) {
+    this.claimReqJson = claimReqJson;
+    this.claimJson = claimJson;
+  }
+
+  public String getClaimReqJson() {
+    return claimReqJson;
+  }
+  public String getClaimJson() {
+    return claimJson;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.io.IOException;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * A claim offer of an issuer, i.e. {"issuer_did":..,"schema_seq_no":..}, as stored with storeClaimOffer and
+ * returned by getClaimOffers, see IndyJson.decodeList() for reading the latter.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class ClaimOffer {
+  public static final JsonCodec<ClaimOffer> CODEC = new JsonCodec<ClaimOffer>() {
+    @Override
+    public void write(JsonGenerator generator, ClaimOffer value) throws IOException {
+      generator.writeStartObject();
+      generator.writeStringField("issuer_did", value.issuerDid);
+      generator.writeNumberField("schema_seq_no", value.schemaSeqNo);
+      generator.writeEndObject();
+    }
+
+    @Override
+    public ClaimOffer read(JsonParser parser) throws IOException {
+      String issuerDid = null;
+      int schemaSeqNo = 0;
+      String name;
+      while (null != (name = IndyJson.nextMember(parser))) {
+        if ("issuer_did".equals(name)) {
+          issuerDid = parser.getValueAsString();
+        } else if ("schema_seq_no".equals(name)) {
+          schemaSeqNo = parser.getValueAsInt();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return new ClaimOffer(issuerDid, schemaSeqNo);
+    }
+  };
+
+  private final String issuerDid;
+
+  private final int schemaSeqNo;
+
+  public ClaimOffer(String issuerDid, int schemaSeqNo) {
+    this.issuerDid = issuerDid;
+    this.schemaSeqNo = schemaSeqNo;
+  }
+
+  public String getIssuerDid() {
+    return issuerDid;
+  }
+  public int getSchemaSeqNo() {
+    return schemaSeqNo;
+  }
+
+  @Override
+  public String toString() {
+    return "ClaimOffer [issuerDid=" + issuerDid + ", schemaSeqNo=" + schemaSeqNo + "]";
+  }
+}
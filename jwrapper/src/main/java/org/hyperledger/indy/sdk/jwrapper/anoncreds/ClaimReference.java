@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.io.IOException;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * A claim of the prover's wallet as it is referenced by a proof, i.e. its claim_uuid together with the schema
+ * and the issuer whose ledger definitions are needed to build or verify the proof. The codec reads the claim_info
+ * of getClaims and getClaimsForProofReq, {"claim_uuid":..,"attrs":{..},"schema_seq_no":..,"issuer_did":..},
+ * skipping the attributes.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class ClaimReference {
+  public static final JsonCodec<ClaimReference> CODEC = new JsonCodec<ClaimReference>() {
+    @Override
+    public void write(JsonGenerator generator, ClaimReference value) throws IOException {
+      generator.writeStartObject();
+      generator.writeStringField("claim_uuid", value.claimUuid);
+      generator.writeNumberField("schema_seq_no", value.schemaSeqNo);
+      generator.writeStringField("issuer_did", value.issuerDid);
+      generator.writeEndObject();
+    }
+
+    @Override
+    public ClaimReference read(JsonParser parser) throws IOException {
+      String claimUuid = null;
+      int schemaSeqNo = 0;
+      String issuerDid = null;
+      String name;
+      while (null != (name = IndyJson.nextMember(parser))) {
+        if ("claim_uuid".equals(name)) {
+          claimUuid = parser.getValueAsString();
+        } else if ("schema_seq_no".equals(name)) {
+          schemaSeqNo = parser.getValueAsInt();
+        } else if ("issuer_did".equals(name)) {
+          issuerDid = parser.getValueAsString();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return new ClaimReference(claimUuid, schemaSeqNo, issuerDid);
+    }
+  };
+
+  private final String claimUuid;
+
+  private final int schemaSeqNo;
+
+  private final String issuerDid;
+
+  public ClaimReference(String claimUuid, int schemaSeqNo, String issuerDid) {
+    this.claimUuid = claimUuid;
+    this.schemaSeqNo = schemaSeqNo;
+    this.issuerDid = issuerDid;
+  }
+
+  public String getClaimUuid() {
+    return claimUuid;
+  }
+  public int getSchemaSeqNo() {
+    return schemaSeqNo;
+  }
+  public String getIssuerDid() {
+    return issuerDid;
+  }
+
+  @Override
+  public String toString() {
+    return "ClaimReference [claimUuid=" + claimUuid + ", schemaSeqNo=" + schemaSeqNo + ", issuerDid=" + issuerDid + "]";
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The claims of the prover's wallet matching a proof request as returned by getClaimsForProofReq, i.e.
+ * {"attrs":{"attr1_uuid":[claim_info,..]},"predicates":{"predicate1_uuid":[claim_info,..]}}, every claim_info
+ * read as a ClaimReference. Writing leaves the claims' attributes out.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class ClaimsForProofRequest {
+  public static final JsonCodec<ClaimsForProofRequest> CODEC = new JsonCodec<ClaimsForProofRequest>() {
+    @Override
+    public void write(JsonGenerator generator, ClaimsForProofRequest value) throws IOException {
+      generator.writeStartObject();
+      writeSection(generator, "attrs", value.attrs);
+      writeSection(generator, "predicates", value.predicates);
+      generator.writeEndObject();
+    }
+
+    @Override
+    public ClaimsForProofRequest read(JsonParser parser) throws IOException {
+      Map<String, List<ClaimReference>> attrs = Collections.emptyMap();
+      Map<String, List<ClaimReference>> predicates = Collections.emptyMap();
+      String name;
+      while (null != (name = IndyJson.nextMember(parser))) {
+        if ("attrs".equals(name)) {
+          attrs = readSection(parser);
+        } else if ("predicates".equals(name)) {
+          predicates = readSection(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return new ClaimsForProofRequest(attrs, predicates);
+    }
+
+    private void writeSection(JsonGenerator generator, String name, Map<String, List<ClaimReference>> section)
+        throws IOException {
+      generator.writeObjectFieldStart(name);
+      for (Map.Entry<String, List<ClaimReference>> requested : section.entrySet()) {
+        generator.writeArrayFieldStart(requested.getKey());
+        for (ClaimReference claim : requested.getValue()) {
+          ClaimReference.CODEC.write(generator, claim);
+        }
+        generator.writeEndArray();
+      }
+      generator.writeEndObject();
+    }
+
+    private Map<String, List<ClaimReference>> readSection(JsonParser parser) throws IOException {
+      if (JsonToken.START_OBJECT != parser.getCurrentToken()) {
+        throw new JsonParseException(parser, "Expected the claims keyed by uuid");
+      }
+      Map<String, List<ClaimReference>> section = new LinkedHashMap<String, List<ClaimReference>>();
+      String uuid;
+      while (null != (uuid = IndyJson.nextMember(parser))) {
+        if (JsonToken.START_ARRAY != parser.getCurrentToken()) {
+          throw new JsonParseException(parser, "Expected the claims of " + uuid);
+        }
+        List<ClaimReference> claims = new ArrayList<ClaimReference>(2);
+        while (JsonToken.END_ARRAY != parser.nextToken()) {
+          claims.add(ClaimReference.CODEC.read(parser));
+        }
+        section.put(uuid, claims);
+      }
+      return section;
+    }
+  };
+
+  private final Map<String, List<ClaimReference>> attrs;
+
+  private final Map<String, List<ClaimReference>> predicates;
+
+  /**
+   * @param attrs the matching claims keyed by the requested attribute's uuid
+   * @param predicates the matching claims keyed by the requested predicate's uuid
+   */
+  public ClaimsForProofRequest(Map<String, List<ClaimReference>> attrs, Map<String, List<ClaimReference>> predicates) {
+    this.attrs = attrs;
+    this.predicates = predicates;
+  }
+
+  public Map<String, List<ClaimReference>> getAttrs() {
+    return attrs;
+  }
+  public Map<String, List<ClaimReference>> getPredicates() {
+    return predicates;
+  }
+
+  @Override
+  public String toString() {
+    return "ClaimsForProofRequest [attrs=" + attrs + ", predicates=" + predicates + "]";
+  }
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hyperledger.indy.sdk.jwrapper.BatchResultListener;
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IIndyApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyBatch;
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A class that holds all Issuer related API's of anoncreds.
+ *
+ * Besides the plain wrappers of the native functions it issues revocable claims without the caller managing
+ * revocation registries, see issueClaimAsync(): per wallet, issuer and schema the user_revoc_index is taken from
+ * the counter of the current {@link RevocationRegistry}. Once few indices are left the next registry is created
+ * and published in the background, claims are moved over to it when the current one is full, so issuing never
+ * runs into AnoncredsRevocationRegistryFullError. issueBatch() and revokeBatch() pipeline the native calls
+ * keeping at most maxInFlight outstanding.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class IssuerApi implements IIndyApi {
+  private static Logger logger = LoggerFactory.getLogger(IssuerApi.class);
+
+  /**
+   * What libindy takes as revoc_reg_seq_no and user_revoc_index for a claim that cannot be revoked
+   */
+  public static final int NOT_REVOCABLE = -1;
+
+  private IndyCommandDispatcher dispatcher;
+  private IndyNativeApi apiInstance;
+  private RevocationConfig revocationConfig;
+
+  private final ConcurrentMap<String, RegistryLane> lanes = new ConcurrentHashMap<String, RegistryLane>();
+  private final LongAdder registriesCreated = new LongAdder();
+
+  /**
+   * Claims issued through issueClaimAsync() cannot be revoked
+   */
+  public IssuerApi(IndyNativeApi apiInstance) {
+    this.apiInstance = apiInstance;
+    this.dispatcher = apiInstance.getDispatcher();
+  }
+
+  /**
+   * Claims issued through issueClaimAsync() are registered in revocation registries created as needed
+   */
+  public IssuerApi(IndyNativeApi apiInstance, RevocationConfig revocationConfig) {
+    this(apiInstance);
+    if (null == revocationConfig.getPublisher()) {
+      throw new IllegalArgumentException("RevocationConfig needs a RevocationRegistryPublisher");
+    }
+    if (revocationConfig.getMaxClaimNum() < 1) {
+      throw new IllegalArgumentException("maxClaimNum must be at least 1");
+    }
+    this.revocationConfig = revocationConfig;
+  }
+
+  /**
+   * A asynchronous create and store claim definition API
+   *
+   * @param schemaJson the schema, {"seqNo":..,"data":{"name":..,"version":..,"keys":[..]}}
+   * @param signatureType signature type (only CL supported now), null for the default
+   * @param createNonRevoc whether to create the keys needed for revocation
+   * @return A future that returns a IndyResult which will also contain the claim definition json
+   */
+  public CompletableFuture<GenericResult> createAndStoreClaimDefAsync(Wallet wallet, String issuerDid,
+      String schemaJson, String signatureType, boolean createNonRevoc) {
+    return createAndStoreClaimDefAsync(wallet, issuerDid, schemaJson, signatureType, createNonRevoc, null);
+  }
+
+  /**
+   * A asynchronous create and store claim definition API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.IssuerApi#createAndStoreClaimDefAsync(Wallet, String, String, String, boolean)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> createAndStoreClaimDefAsync(Wallet wallet, String issuerDid,
+      String schemaJson, String signatureType, boolean createNonRevoc, Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_issuer_create_and_store_claim_def(cmdHandle, wallet.getWalletHandle(), issuerDid,
+        schemaJson, signatureType, createNonRevoc, dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult createAndStoreClaimDef(Wallet wallet, String issuerDid, String schemaJson, String signatureType,
+      boolean createNonRevoc) throws InterruptedException, ExecutionException {
+    return createAndStoreClaimDefAsync(wallet, issuerDid, schemaJson, signatureType, createNonRevoc).get();
+  }
+
+  /**
+   * A synchronous create and store claim definition API that gives up after the given timeout
+   */
+  public GenericResult createAndStoreClaimDef(Wallet wallet, String issuerDid, String schemaJson, String signatureType,
+      boolean createNonRevoc, Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(
+        createAndStoreClaimDefAsync(wallet, issuerDid, schemaJson, signatureType, createNonRevoc, timeout));
+  }
+
+  /**
+   * A asynchronous create and store revocation registry API
+   *
+   * @return A future that returns a AnoncredsResult holding the revocation registry json and its uuid
+   */
+  public CompletableFuture<AnoncredsResult> createAndStoreRevocRegAsync(Wallet wallet, String issuerDid,
+      int schemaSeqNo, int maxClaimNum) {
+    return createAndStoreRevocRegAsync(wallet, issuerDid, schemaSeqNo, maxClaimNum, null);
+  }
+
+  /**
+   * A asynchronous create and store revocation registry API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.IssuerApi#createAndStoreRevocRegAsync(Wallet, String, int, int)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<AnoncredsResult> createAndStoreRevocRegAsync(Wallet wallet, String issuerDid,
+      int schemaSeqNo, int maxClaimNum, Duration timeout) {
+    final CompletableFuture<AnoncredsResult> future = new CompletableFuture<AnoncredsResult>();
+    AnoncredsResult iResult = new AnoncredsResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_issuer_create_and_store_revoc_reg(cmdHandle, wallet.getWalletHandle(), issuerDid,
+        schemaSeqNo, maxClaimNum,
+        dispatcher.getCallback(AnoncredsCallback.RevocRegCallback.class, AnoncredsCallback.RevocRegCallback::new));
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public AnoncredsResult createAndStoreRevocReg(Wallet wallet, String issuerDid, int schemaSeqNo, int maxClaimNum)
+      throws InterruptedException, ExecutionException {
+    return createAndStoreRevocRegAsync(wallet, issuerDid, schemaSeqNo, maxClaimNum).get();
+  }
+
+  /**
+   * A synchronous create and store revocation registry API that gives up after the given timeout
+   */
+  public AnoncredsResult createAndStoreRevocReg(Wallet wallet, String issuerDid, int schemaSeqNo, int maxClaimNum,
+      Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(
+        createAndStoreRevocRegAsync(wallet, issuerDid, schemaSeqNo, maxClaimNum, timeout));
+  }
+
+  /**
+   * A asynchronous create claim API, the caller chooses the revocation registry and index
+   *
+   * @param revocRegSeqNo the registry to register the claim in, NOT_REVOCABLE for a claim that cannot be revoked
+   * @param userRevocIndex the index of the claim in the registry, NOT_REVOCABLE for a claim that cannot be revoked
+   * @return A future that returns a AnoncredsResult holding the revocation registry update and the claim json
+   */
+  public CompletableFuture<AnoncredsResult> createClaimAsync(Wallet wallet, String claimReqJson, String claimJson,
+      int revocRegSeqNo, int userRevocIndex) {
+    return createClaimAsync(wallet, claimReqJson, claimJson, revocRegSeqNo, userRevocIndex, null);
+  }
+
+  /**
+   * A asynchronous create claim API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.IssuerApi#createClaimAsync(Wallet, String, String, int, int)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<AnoncredsResult> createClaimAsync(Wallet wallet, String claimReqJson, String claimJson,
+      int revocRegSeqNo, int userRevocIndex, Duration timeout) {
+    final CompletableFuture<AnoncredsResult> future = new CompletableFuture<AnoncredsResult>();
+    AnoncredsResult iResult = new AnoncredsResult();
+    if (NOT_REVOCABLE != revocRegSeqNo) {
+      iResult.setRevocationIndex(new RevocationIndex(revocRegSeqNo, userRevocIndex));
+    }
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_issuer_create_claim(cmdHandle, wallet.getWalletHandle(), claimReqJson, claimJson,
+        revocRegSeqNo, userRevocIndex,
+        dispatcher.getCallback(AnoncredsCallback.ClaimCallback.class, AnoncredsCallback.ClaimCallback::new));
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public AnoncredsResult createClaim(Wallet wallet, String claimReqJson, String claimJson, int revocRegSeqNo,
+      int userRevocIndex) throws InterruptedException, ExecutionException {
+    return createClaimAsync(wallet, claimReqJson, claimJson, revocRegSeqNo, userRevocIndex).get();
+  }
+
+  /**
+   * A synchronous create claim API that gives up after the given timeout
+   */
+  public AnoncredsResult createClaim(Wallet wallet, String claimReqJson, String claimJson, int revocRegSeqNo,
+      int userRevocIndex, Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(
+        createClaimAsync(wallet, claimReqJson, claimJson, revocRegSeqNo, userRevocIndex, timeout));
+  }
+
+  /**
+   * A asynchronous revoke claim API
+   *
+   * @return A future that returns a IndyResult which will also contain the revocation registry update json
+   */
+  public CompletableFuture<GenericResult> revokeClaimAsync(Wallet wallet, int revocRegSeqNo, int userRevocIndex) {
+    return revokeClaimAsync(wallet, revocRegSeqNo, userRevocIndex, null);
+  }
+
+  /**
+   * A asynchronous revoke claim API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.IssuerApi#revokeClaimAsync(Wallet, int, int)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> revokeClaimAsync(Wallet wallet, int revocRegSeqNo, int userRevocIndex,
+      Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_issuer_revoke_claim(cmdHandle, wallet.getWalletHandle(), revocRegSeqNo, userRevocIndex,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public CompletableFuture<GenericResult> revokeClaimAsync(Wallet wallet, RevocationIndex revocationIndex) {
+    return revokeClaimAsync(wallet, revocationIndex, null);
+  }
+
+  public CompletableFuture<GenericResult> revokeClaimAsync(Wallet wallet, RevocationIndex revocationIndex,
+      Duration timeout) {
+    return revokeClaimAsync(wallet, revocationIndex.getRevocRegSeqNo(), revocationIndex.getUserRevocIndex(), timeout);
+  }
+
+  public GenericResult revokeClaim(Wallet wallet, int revocRegSeqNo, int userRevocIndex)
+      throws InterruptedException, ExecutionException {
+    return revokeClaimAsync(wallet, revocRegSeqNo, userRevocIndex).get();
+  }
+
+  /**
+   * A synchronous revoke claim API that gives up after the given timeout
+   */
+  public GenericResult revokeClaim(Wallet wallet, int revocRegSeqNo, int userRevocIndex, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(revokeClaimAsync(wallet, revocRegSeqNo, userRevocIndex, timeout));
+  }
+
+  /**
+   * Issues a claim, registering it in the current revocation registry of the issuer and schema when this
+   * IssuerApi was created with a RevocationConfig
+   *
+   * @return A future that returns a AnoncredsResult holding the revocation registry update, the claim json and
+   *         the RevocationIndex to revoke the claim with later on
+   */
+  public CompletableFuture<AnoncredsResult> issueClaimAsync(Wallet wallet, String issuerDid, int schemaSeqNo,
+      String claimReqJson, String claimJson) {
+    return issueClaimAsync(wallet, issuerDid, schemaSeqNo, claimReqJson, claimJson, null);
+  }
+
+  /**
+   * Issues a claim with a deadline on the whole of it, including waiting for a new revocation registry
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.IssuerApi#issueClaimAsync(Wallet, String, int, String, String)
+   * @param timeout the returned future fails with a TimeoutException if the claim is not issued by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<AnoncredsResult> issueClaimAsync(final Wallet wallet, String issuerDid, int schemaSeqNo,
+      final String claimReqJson, final String claimJson, Duration timeout) {
+    if (null == revocationConfig) {
+      return createClaimAsync(wallet, claimReqJson, claimJson, NOT_REVOCABLE, NOT_REVOCABLE, timeout);
+    }
+    final RegistryLane lane = lane(wallet, issuerDid, schemaSeqNo);
+    CompletableFuture<AnoncredsResult> issued = lane.allocate().thenCompose(index -> createClaimAsync(wallet,
+        claimReqJson, claimJson, index.getRevocRegSeqNo(), index.getUserRevocIndex()).whenComplete((claim, failure) -> {
+          // a claim libindy refused leaves its index unused, one that timed out may still be created
+          if (null == failure ? ErrorCode.Success != claim.getErrorCode() : !(failure instanceof TimeoutException)) {
+            lane.release(index);
+          }
+        }));
+    return IndyCommandDispatcher.withDeadline(issued, timeout);
+  }
+
+  public AnoncredsResult issueClaim(Wallet wallet, String issuerDid, int schemaSeqNo, String claimReqJson,
+      String claimJson) throws InterruptedException, ExecutionException {
+    return issueClaimAsync(wallet, issuerDid, schemaSeqNo, claimReqJson, claimJson).get();
+  }
+
+  /**
+   * A synchronous issue claim API that gives up after the given timeout
+   */
+  public AnoncredsResult issueClaim(Wallet wallet, String issuerDid, int schemaSeqNo, String claimReqJson,
+      String claimJson, Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(
+        issueClaimAsync(wallet, issuerDid, schemaSeqNo, claimReqJson, claimJson, timeout));
+  }
+
+  /**
+   * Issues many claims of one issuer and schema keeping up to maxInFlight of them outstanding in libindy
+   *
+   * @param listener receives every result as soon as it completes, may be null
+   * @return one future per claim, in the order of the claims
+   */
+  public List<CompletableFuture<AnoncredsResult>> issueBatch(final Wallet wallet, final String issuerDid,
+      final int schemaSeqNo, List<ClaimIssuance> claims, int maxInFlight, BatchResultListener listener) {
+    return new IndyBatch<ClaimIssuance, AnoncredsResult>(claims, maxInFlight,
+        claim -> issueClaimAsync(wallet, issuerDid, schemaSeqNo, claim.getClaimReqJson(), claim.getClaimJson()),
+        listener).start();
+  }
+
+  /**
+   * Revokes many claims keeping up to maxInFlight of them outstanding in libindy
+   *
+   * @param listener receives every result as soon as it completes, may be null
+   * @return one future per claim, each returning the revocation registry update json, in the order of the indices
+   */
+  public List<CompletableFuture<GenericResult>> revokeBatch(final Wallet wallet, List<RevocationIndex> revocationIndices,
+      int maxInFlight, BatchResultListener listener) {
+    return new IndyBatch<RevocationIndex, GenericResult>(revocationIndices, maxInFlight,
+        index -> revokeClaimAsync(wallet, index), listener).start();
+  }
+
+  /**
+   * Continues issuing into a registry that was created earlier, e.g. by a previous run of the issuer,
+   * instead of creating a new one on the next issueClaimAsync()
+   */
+  public void registerRevocationRegistry(Wallet wallet, String issuerDid, int schemaSeqNo, RevocationRegistry registry) {
+    lane(wallet, issuerDid, schemaSeqNo).setCurrent(registry);
+  }
+
+  /**
+   * @return the registry claims of the issuer and schema currently go to, null when none was created yet
+   */
+  public RevocationRegistry getRevocationRegistry(Wallet wallet, String issuerDid, int schemaSeqNo) {
+    RegistryLane lane = lanes.get(laneKey(wallet, issuerDid, schemaSeqNo));
+    return null == lane ? null : lane.getCurrent();
+  }
+
+  /**
+   * @return number of revocation registries created by issueClaimAsync()
+   */
+  public long getRegistriesCreated() {
+    return registriesCreated.sum();
+  }
+
+  private RegistryLane lane(Wallet wallet, String issuerDid, int schemaSeqNo) {
+    if (null == revocationConfig) {
+      throw new IllegalStateException("Revocation registries are only managed by an IssuerApi created with a RevocationConfig");
+    }
+    return lanes.computeIfAbsent(laneKey(wallet, issuerDid, schemaSeqNo),
+        key -> new RegistryLane(wallet, issuerDid, schemaSeqNo));
+  }
+
+  private static String laneKey(Wallet wallet, String issuerDid, int schemaSeqNo) {
+    return wallet.getWalletHandle() + "\u0000" + issuerDid + "\u0000" + schemaSeqNo;
+  }
+
+  /**
+   * The registries of one wallet, issuer and schema: the one claims are issued into and the one being prepared.
+   * Indices are taken from the current registry without the lane lock, moving on to the next registry holds it.
+   */
+  private class RegistryLane {
+    private final Wallet wallet;
+    private final String issuerDid;
+    private final int schemaSeqNo;
+
+    private RevocationRegistry current;
+    private CompletableFuture<RevocationRegistry> next;
+
+    private RegistryLane(Wallet wallet, String issuerDid, int schemaSeqNo) {
+      this.wallet = wallet;
+      this.issuerDid = issuerDid;
+      this.schemaSeqNo = schemaSeqNo;
+    }
+
+    private synchronized RevocationRegistry getCurrent() {
+      return current;
+    }
+    private synchronized void setCurrent(RevocationRegistry registry) {
+      current = registry;
+    }
+
+    /**
+     * Takes an index of the current registry, only waits when the registry is full and its successor not ready yet
+     */
+    private CompletableFuture<RevocationIndex> allocate() {
+      final RevocationRegistry registry = getCurrent();
+      if (null != registry) {
+        int index = registry.allocate();
+        if (index > 0) {
+          if (registry.getRemaining() <= revocationConfig.getPreCreateRemaining()) {
+            prepareNext(registry);
+          }
+          return CompletableFuture.completedFuture(new RevocationIndex(registry.getRevocRegSeqNo(), index));
+        }
+      }
+      final CompletableFuture<RevocationRegistry> successor = prepareNext(registry);
+      return successor.thenCompose(created -> {
+        advance(registry, successor, created);
+        return allocate();
+      });
+    }
+
+    /**
+     * Hands an index back to its registry, an index of a registry the lane has moved on from stays unused
+     */
+    private void release(RevocationIndex index) {
+      RevocationRegistry registry = getCurrent();
+      if (null != registry && registry.getRevocRegSeqNo() == index.getRevocRegSeqNo()) {
+        registry.release(index.getUserRevocIndex());
+      }
+    }
+
+    /**
+     * @param seen the registry the caller found (nearly) full, null when there was none
+     * @return the registry being prepared, its creation is started unless it is already running. When the lane
+     *         has moved on from the registry the caller saw, the current registry instead of creating another one.
+     */
+    private CompletableFuture<RevocationRegistry> prepareNext(RevocationRegistry seen) {
+      final CompletableFuture<RevocationRegistry> created;
+      synchronized (this) {
+        if (current != seen) {
+          return CompletableFuture.completedFuture(current);
+        }
+        if (null != next) {
+          return next;
+        }
+        created = new CompletableFuture<RevocationRegistry>();
+        next = created;
+      }
+      create().whenComplete((registry, failure) -> {
+        if (null != failure) {
+          logger.warn("Creating a revocation registry of {} for schema {} failed", issuerDid, schemaSeqNo, failure);
+          synchronized (this) {
+            if (next == created) {
+              next = null;
+            }
+          }
+          created.completeExceptionally(failure);
+        } else {
+          created.complete(registry);
+        }
+      });
+      return created;
+    }
+
+    /**
+     * Makes the prepared registry the current one unless another caller did so already
+     */
+    private synchronized void advance(RevocationRegistry seen, CompletableFuture<RevocationRegistry> successor,
+        RevocationRegistry created) {
+      if (current == seen) {
+        current = created;
+        logger.info("Issuing claims of {} for schema {} into revocation registry {}", issuerDid, schemaSeqNo,
+            created.getRevocRegSeqNo());
+      }
+      if (next == successor) {
+        next = null;
+      }
+    }
+
+    private CompletableFuture<RevocationRegistry> create() {
+      final int maxClaimNum = revocationConfig.getMaxClaimNum();
+      return createAndStoreRevocRegAsync(wallet, issuerDid, schemaSeqNo, maxClaimNum).thenCompose(revocReg -> {
+        if (ErrorCode.Success != revocReg.getErrorCode()) {
+          throw new CompletionException(new IndyException(null == revocReg.getErrorCode() ? ErrorCode.CommonInvalidState : revocReg.getErrorCode()));
+        }
+        return revocationConfig.getPublisher().publish(wallet, issuerDid, schemaSeqNo, revocReg)
+            .thenApply(revocRegSeqNo -> {
+              registriesCreated.increment();
+              return new RevocationRegistry(revocRegSeqNo, revocReg.getRevocRegUuid(), maxClaimNum, 0);
+            });
+      });
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+/**
+ * The ledger definitions indy_prover_create_proof and indy_verifier_verify_proof need, each a json object
+ * keyed by claim_uuid, e.g. schemas_json {"claim_uuid":{"seqNo":..,"data":{..}}}
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class ProofInputs {
+  private final String schemasJson;
+
+  private final String claimDefsJson;
+
+  private final String revocRegsJson;
+
+  public ProofInputs(String schemasJson, String claimDefsJson, String revocRegsJson) {
+    this.schemasJson = schemasJson;
+    this.claimDefsJson = claimDefsJson;
+    this.revocRegsJson = revocRegsJson;
+  }
+
+  public String getSchemasJson() {
+    return schemasJson;
+  }
+  public String getClaimDefsJson() {
+    return claimDefsJson;
+  }
+  /**
+   * @return the revocation registries, {} unless they were supplied by the caller
+   */
+  public String getRevocRegsJson() {
+    return revocRegsJson;
+  }
+}
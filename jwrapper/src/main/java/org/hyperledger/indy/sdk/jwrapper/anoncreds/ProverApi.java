@@ -0,0 +1,787 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IIndyApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A class that holds all Prover related API's of anoncreds.
+ *
+ * Besides the plain wrappers of the native functions it builds a proof in one pipeline, see
+ * createProofAsync(Wallet, Pool, String, String, String): the claims matching the proof request are looked up
+ * in the wallet while the schemas and claim definitions named by the proof request are already being fetched,
+ * then every definition the chosen claims need is resolved concurrently through an {@link AnoncredsResolver}
+ * and handed to indy_prover_create_proof. With a {@link ClaimIndex} set, the wallet lookups are answered in memory.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class ProverApi implements IIndyApi {
+  private static Logger logger = LoggerFactory.getLogger(ProverApi.class);
+
+  private ObjectMapper objectMapper;
+  private IndyCommandDispatcher dispatcher;
+  private IndyNativeApi apiInstance;
+  private AnoncredsResolver resolver;
+  private ClaimIndex claimIndex;
+
+  /**
+   * Only the plain wrappers can be used, the proof pipeline needs a resolver
+   */
+  public ProverApi(IndyNativeApi apiInstance) {
+    this(apiInstance, null);
+  }
+
+  public ProverApi(IndyNativeApi apiInstance, AnoncredsResolver resolver) {
+    this.apiInstance = apiInstance;
+    this.objectMapper = apiInstance.getObjectMapper();
+    this.dispatcher = apiInstance.getDispatcher();
+    this.resolver = resolver;
+  }
+
+  public ClaimIndex getClaimIndex() {
+    return claimIndex;
+  }
+  /**
+   * Opts in to answering getClaimsAsync() and getClaimsForProofReqAsync(), and with them the proof pipeline,
+   * from an in-memory index of the wallet's claims instead of scanning the wallet on every call.
+   * Claims stored through this ProverApi are added to the index. Pass null to switch the index off again.
+   */
+  public void setClaimIndex(ClaimIndex claimIndex) {
+    this.claimIndex = claimIndex;
+  }
+
+  /**
+   * A asynchronous store claim offer API
+   *
+   * @param claimOfferJson e.g. {"issuer_did":..,"schema_seq_no":..}
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> storeClaimOfferAsync(Wallet wallet, String claimOfferJson) {
+    return storeClaimOfferAsync(wallet, claimOfferJson, (Duration) null);
+  }
+
+  /**
+   * A asynchronous store claim offer API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#storeClaimOfferAsync(Wallet, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> storeClaimOfferAsync(Wallet wallet, String claimOfferJson, Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_prover_store_claim_offer(cmdHandle, wallet.getWalletHandle(), claimOfferJson,
+        dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult storeClaimOffer(Wallet wallet, String claimOfferJson) throws InterruptedException, ExecutionException {
+    return storeClaimOfferAsync(wallet, claimOfferJson).get();
+  }
+
+  /**
+   * A synchronous store claim offer API that gives up after the given timeout
+   */
+  public GenericResult storeClaimOffer(Wallet wallet, String claimOfferJson, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(storeClaimOfferAsync(wallet, claimOfferJson, timeout));
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#storeClaimOfferAsync(Wallet, String)
+   */
+  public CompletableFuture<GenericResult> storeClaimOfferAsync(Wallet wallet, ClaimOffer claimOffer) {
+    return storeClaimOfferAsync(wallet, claimOffer, null);
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#storeClaimOfferAsync(Wallet, String, Duration)
+   */
+  public CompletableFuture<GenericResult> storeClaimOfferAsync(Wallet wallet, ClaimOffer claimOffer, Duration timeout) {
+    return storeClaimOfferAsync(wallet, IndyJson.encode(ClaimOffer.CODEC, claimOffer), timeout);
+  }
+
+  public GenericResult storeClaimOffer(Wallet wallet, ClaimOffer claimOffer) throws InterruptedException, ExecutionException {
+    return storeClaimOfferAsync(wallet, claimOffer).get();
+  }
+
+  public GenericResult storeClaimOffer(Wallet wallet, ClaimOffer claimOffer, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(storeClaimOfferAsync(wallet, claimOffer, timeout));
+  }
+
+  /**
+   * A asynchronous get claim offers API
+   *
+   * @param filterJson e.g. {"issuer_did":..,"schema_seq_no":..}, pass {} for all offers
+   * @return A future that returns a IndyResult which will also contain the claim offers json array,
+   *         see ClaimOffer.CODEC for reading it
+   */
+  public CompletableFuture<GenericResult> getClaimOffersAsync(Wallet wallet, String filterJson) {
+    return getClaimOffersAsync(wallet, filterJson, (Duration) null);
+  }
+
+  /**
+   * A asynchronous get claim offers API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#getClaimOffersAsync(Wallet, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> getClaimOffersAsync(Wallet wallet, String filterJson, Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_prover_get_claim_offers(cmdHandle, wallet.getWalletHandle(), filterJson,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult getClaimOffers(Wallet wallet, String filterJson) throws InterruptedException, ExecutionException {
+    return getClaimOffersAsync(wallet, filterJson).get();
+  }
+
+  /**
+   * A synchronous get claim offers API that gives up after the given timeout
+   */
+  public GenericResult getClaimOffers(Wallet wallet, String filterJson, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(getClaimOffersAsync(wallet, filterJson, timeout));
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#getClaimOffersAsync(Wallet, String)
+   */
+  public CompletableFuture<GenericResult> getClaimOffersAsync(Wallet wallet, ClaimFilter filter) {
+    return getClaimOffersAsync(wallet, filter, null);
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#getClaimOffersAsync(Wallet, String, Duration)
+   */
+  public CompletableFuture<GenericResult> getClaimOffersAsync(Wallet wallet, ClaimFilter filter, Duration timeout) {
+    return getClaimOffersAsync(wallet, IndyJson.encode(ClaimFilter.CODEC, filter), timeout);
+  }
+
+  public GenericResult getClaimOffers(Wallet wallet, ClaimFilter filter) throws InterruptedException, ExecutionException {
+    return getClaimOffersAsync(wallet, filter).get();
+  }
+
+  public GenericResult getClaimOffers(Wallet wallet, ClaimFilter filter, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(getClaimOffersAsync(wallet, filter, timeout));
+  }
+
+  /**
+   * A asynchronous create master secret API
+   *
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> createMasterSecretAsync(Wallet wallet, String masterSecretName) {
+    return createMasterSecretAsync(wallet, masterSecretName, null);
+  }
+
+  /**
+   * A asynchronous create master secret API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#createMasterSecretAsync(Wallet, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> createMasterSecretAsync(Wallet wallet, String masterSecretName,
+      Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_prover_create_master_secret(cmdHandle, wallet.getWalletHandle(), masterSecretName,
+        dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult createMasterSecret(Wallet wallet, String masterSecretName) throws InterruptedException, ExecutionException {
+    return createMasterSecretAsync(wallet, masterSecretName).get();
+  }
+
+  /**
+   * A synchronous create master secret API that gives up after the given timeout
+   */
+  public GenericResult createMasterSecret(Wallet wallet, String masterSecretName, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(createMasterSecretAsync(wallet, masterSecretName, timeout));
+  }
+
+  /**
+   * A asynchronous create and store claim request API
+   *
+   * @param claimOfferJson the claim offer the request answers
+   * @param claimDefJson the claim definition of the offer's issuer and schema, see AnoncredsResolver.getClaimDefAsync()
+   * @return A future that returns a IndyResult which will also contain the claim request json
+   */
+  public CompletableFuture<GenericResult> createAndStoreClaimReqAsync(Wallet wallet, String proverDid,
+      String claimOfferJson, String claimDefJson, String masterSecretName) {
+    return createAndStoreClaimReqAsync(wallet, proverDid, claimOfferJson, claimDefJson, masterSecretName, null);
+  }
+
+  /**
+   * A asynchronous create and store claim request API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#createAndStoreClaimReqAsync(Wallet, String, String, String, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> createAndStoreClaimReqAsync(Wallet wallet, String proverDid,
+      String claimOfferJson, String claimDefJson, String masterSecretName, Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_prover_create_and_store_claim_req(cmdHandle, wallet.getWalletHandle(), proverDid,
+        claimOfferJson, claimDefJson, masterSecretName, dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult createAndStoreClaimReq(Wallet wallet, String proverDid, String claimOfferJson,
+      String claimDefJson, String masterSecretName) throws InterruptedException, ExecutionException {
+    return createAndStoreClaimReqAsync(wallet, proverDid, claimOfferJson, claimDefJson, masterSecretName).get();
+  }
+
+  /**
+   * A synchronous create and store claim request API that gives up after the given timeout
+   */
+  public GenericResult createAndStoreClaimReq(Wallet wallet, String proverDid, String claimOfferJson,
+      String claimDefJson, String masterSecretName, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(
+        createAndStoreClaimReqAsync(wallet, proverDid, claimOfferJson, claimDefJson, masterSecretName, timeout));
+  }
+
+  /**
+   * A asynchronous store claim API
+   *
+   * @param claimsJson the claim as returned by the issuer
+   * @return A future that returns a IndyResult, with a ClaimIndex set it completes once the index holds the claim
+   */
+  public CompletableFuture<GenericResult> storeClaimAsync(Wallet wallet, String claimsJson) {
+    return storeClaimAsync(wallet, claimsJson, null);
+  }
+
+  /**
+   * A asynchronous store claim API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#storeClaimAsync(Wallet, String)
+   * @param timeout the returned future fails with a TimeoutException if the claim is not stored (and indexed) by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> storeClaimAsync(final Wallet wallet, final String claimsJson,
+      Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_prover_store_claim(cmdHandle, wallet.getWalletHandle(), claimsJson,
+        dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+
+    final ClaimIndex index = claimIndex;
+    if (null == index) {
+      return future;
+    }
+    CompletableFuture<GenericResult> indexed = future.thenCompose(result -> ErrorCode.Success != result.getErrorCode()
+        ? future : index.claimStored(wallet, claimsJson).thenApply(stored -> result));
+    return IndyCommandDispatcher.withDeadline(indexed, timeout);
+  }
+
+  public GenericResult storeClaim(Wallet wallet, String claimsJson) throws InterruptedException, ExecutionException {
+    return storeClaimAsync(wallet, claimsJson).get();
+  }
+
+  /**
+   * A synchronous store claim API that gives up after the given timeout
+   */
+  public GenericResult storeClaim(Wallet wallet, String claimsJson, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(storeClaimAsync(wallet, claimsJson, timeout));
+  }
+
+  /**
+   * A asynchronous get claims API
+   *
+   * @param filterJson e.g. {"issuer_did":..,"schema_seq_no":..}, pass {} for all claims
+   * @return A future that returns a IndyResult which will also contain the claims json array
+   */
+  public CompletableFuture<GenericResult> getClaimsAsync(Wallet wallet, String filterJson) {
+    return getClaimsAsync(wallet, filterJson, (Duration) null);
+  }
+
+  /**
+   * A asynchronous get claims API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#getClaimsAsync(Wallet, String)
+   * @param timeout the returned future fails with a TimeoutException if the claims are not found by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> getClaimsAsync(Wallet wallet, String filterJson, Duration timeout) {
+    if (null != claimIndex) {
+      // the index answers every query with a future of its own, so the deadline cannot fail other callers
+      return IndyCommandDispatcher.withDeadline(claimIndex.getClaimsAsync(wallet, filterJson), timeout);
+    }
+    return getClaimsNativeAsync(wallet, filterJson, timeout);
+  }
+
+  /**
+   * indy_prover_get_claims, bypassing the ClaimIndex
+   */
+  CompletableFuture<GenericResult> getClaimsNativeAsync(Wallet wallet, String filterJson) {
+    return getClaimsNativeAsync(wallet, filterJson, null);
+  }
+
+  private CompletableFuture<GenericResult> getClaimsNativeAsync(Wallet wallet, String filterJson, Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_prover_get_claims(cmdHandle, wallet.getWalletHandle(), filterJson,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult getClaims(Wallet wallet, String filterJson) throws InterruptedException, ExecutionException {
+    return getClaimsAsync(wallet, filterJson).get();
+  }
+
+  /**
+   * A synchronous get claims API that gives up after the given timeout
+   */
+  public GenericResult getClaims(Wallet wallet, String filterJson, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(getClaimsAsync(wallet, filterJson, timeout));
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#getClaimsAsync(Wallet, String)
+   */
+  public CompletableFuture<GenericResult> getClaimsAsync(Wallet wallet, ClaimFilter filter) {
+    return getClaimsAsync(wallet, filter, null);
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#getClaimsAsync(Wallet, String, Duration)
+   */
+  public CompletableFuture<GenericResult> getClaimsAsync(Wallet wallet, ClaimFilter filter, Duration timeout) {
+    return getClaimsAsync(wallet, IndyJson.encode(ClaimFilter.CODEC, filter), timeout);
+  }
+
+  public GenericResult getClaims(Wallet wallet, ClaimFilter filter) throws InterruptedException, ExecutionException {
+    return getClaimsAsync(wallet, filter).get();
+  }
+
+  public GenericResult getClaims(Wallet wallet, ClaimFilter filter, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(getClaimsAsync(wallet, filter, timeout));
+  }
+
+  /**
+   * A asynchronous get claims for proof request API
+   *
+   * @return A future that returns a IndyResult which will also contain the matching claims json,
+   *         {"attrs":{"attr_uuid":[claim_info,..]},"predicates":{"predicate_uuid":[claim_info,..]}}
+   */
+  public CompletableFuture<GenericResult> getClaimsForProofReqAsync(Wallet wallet, String proofRequestJson) {
+    return getClaimsForProofReqAsync(wallet, proofRequestJson, null);
+  }
+
+  /**
+   * A asynchronous get claims for proof request API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#getClaimsForProofReqAsync(Wallet, String)
+   * @param timeout the returned future fails with a TimeoutException if the claims are not matched by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> getClaimsForProofReqAsync(Wallet wallet, String proofRequestJson,
+      Duration timeout) {
+    if (null != claimIndex) {
+      // the index answers every query with a future of its own, so the deadline cannot fail other callers
+      return IndyCommandDispatcher.withDeadline(claimIndex.getClaimsForProofReqAsync(wallet, proofRequestJson),
+          timeout);
+    }
+    return getClaimsForProofReqNativeAsync(wallet, proofRequestJson, timeout);
+  }
+
+  /**
+   * indy_prover_get_claims_for_proof_req, bypassing the ClaimIndex
+   */
+  CompletableFuture<GenericResult> getClaimsForProofReqNativeAsync(Wallet wallet, String proofRequestJson) {
+    return getClaimsForProofReqNativeAsync(wallet, proofRequestJson, null);
+  }
+
+  private CompletableFuture<GenericResult> getClaimsForProofReqNativeAsync(Wallet wallet, String proofRequestJson,
+      Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_prover_get_claims_for_proof_req(cmdHandle, wallet.getWalletHandle(), proofRequestJson,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult getClaimsForProofReq(Wallet wallet, String proofRequestJson)
+      throws InterruptedException, ExecutionException {
+    return getClaimsForProofReqAsync(wallet, proofRequestJson).get();
+  }
+
+  /**
+   * A synchronous get claims for proof request API that gives up after the given timeout
+   */
+  public GenericResult getClaimsForProofReq(Wallet wallet, String proofRequestJson, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(getClaimsForProofReqAsync(wallet, proofRequestJson, timeout));
+  }
+
+  /**
+   * A asynchronous create proof API, the caller supplies all ledger definitions
+   *
+   * @param requestedClaimsJson {"self_attested_attributes":{..},"requested_attrs":{"attr_uuid":[claim_uuid,revealed]},
+   *                            "requested_predicates":{"predicate_uuid":claim_uuid}}
+   * @param schemasJson the schemas keyed by claim_uuid
+   * @param claimDefsJson the claim definitions keyed by claim_uuid
+   * @param revocRegsJson the revocation registries keyed by claim_uuid
+   * @return A future that returns a IndyResult which will also contain the proof json
+   */
+  public CompletableFuture<GenericResult> createProofAsync(Wallet wallet, String proofReqJson,
+      String requestedClaimsJson, String schemasJson, String masterSecretName, String claimDefsJson,
+      String revocRegsJson) {
+    return createProofAsync(wallet, proofReqJson, requestedClaimsJson, schemasJson, masterSecretName, claimDefsJson,
+        revocRegsJson, null);
+  }
+
+  /**
+   * A asynchronous create proof API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#createProofAsync(Wallet, String, String, String, String, String, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> createProofAsync(Wallet wallet, String proofReqJson,
+      String requestedClaimsJson, String schemasJson, String masterSecretName, String claimDefsJson,
+      String revocRegsJson, Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_prover_create_proof(cmdHandle, wallet.getWalletHandle(), proofReqJson,
+        requestedClaimsJson, schemasJson, masterSecretName, claimDefsJson, revocRegsJson,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult createProof(Wallet wallet, String proofReqJson, String requestedClaimsJson, String schemasJson,
+      String masterSecretName, String claimDefsJson, String revocRegsJson) throws InterruptedException, ExecutionException {
+    return createProofAsync(wallet, proofReqJson, requestedClaimsJson, schemasJson, masterSecretName, claimDefsJson,
+        revocRegsJson).get();
+  }
+
+  /**
+   * A synchronous create proof API that gives up after the given timeout
+   */
+  public GenericResult createProof(Wallet wallet, String proofReqJson, String requestedClaimsJson, String schemasJson,
+      String masterSecretName, String claimDefsJson, String revocRegsJson, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(createProofAsync(wallet, proofReqJson, requestedClaimsJson, schemasJson,
+        masterSecretName, claimDefsJson, revocRegsJson, timeout));
+  }
+
+  /**
+   * Creates a proof, looking up the schemas and claim definitions of the requested claims on the ledger
+   *
+   * @param requestedClaimsJson the claims chosen by the caller, see createProofAsync(Wallet, String, String, String, String, String, String)
+   * @return A future that returns a IndyResult which will also contain the proof json, fails with an IndyException
+   *         when a definition cannot be resolved or a requested claim does not match the proof request
+   */
+  public CompletableFuture<GenericResult> createProofAsync(Wallet wallet, Pool pool, String proofRequestJson,
+      String requestedClaimsJson, String masterSecretName) {
+    return createProofAsync(wallet, pool, proofRequestJson, requestedClaimsJson, masterSecretName, (Duration) null);
+  }
+
+  /**
+   * Creates a proof from the caller's requested claims with a deadline on the whole pipeline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#createProofAsync(Wallet, Pool, String, String, String)
+   * @param timeout the returned future fails with a TimeoutException if the proof is not created by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> createProofAsync(final Wallet wallet, final Pool pool,
+      final String proofRequestJson, final String requestedClaimsJson, final String masterSecretName,
+      Duration timeout) {
+    prefetch(pool, proofRequestJson);
+    CompletableFuture<GenericResult> proof = getClaimsForProofReqAsync(wallet, proofRequestJson).thenCompose(claims -> {
+      Map<String, ClaimReference> available = claimReferences(matches(checked(claims).getReturnJson()));
+      Map<String, ClaimReference> requested = new LinkedHashMap<String, ClaimReference>();
+      for (String claimUuid : requestedClaimUuids(requestedClaimsJson)) {
+        ClaimReference claim = available.get(claimUuid);
+        if (null == claim) {
+          logger.warn("Requested claim {} does not match the proof request", claimUuid);
+          throw new CompletionException(new IndyException(ErrorCode.CommonInvalidStructure));
+        }
+        requested.put(claimUuid, claim);
+      }
+      return createProofAsync(wallet, pool, proofRequestJson, requestedClaimsJson, masterSecretName, requested);
+    });
+    return IndyCommandDispatcher.withDeadline(proof, timeout);
+  }
+
+  /**
+   * Creates a proof revealing every requested attribute, using the first matching claim of the wallet for each
+   * requested attribute and predicate
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#createProofAsync(Wallet, Pool, String, String, String)
+   */
+  public CompletableFuture<GenericResult> createProofAsync(Wallet wallet, Pool pool, String proofRequestJson,
+      String masterSecretName) {
+    return createProofAsync(wallet, pool, proofRequestJson, masterSecretName, (Duration) null);
+  }
+
+  /**
+   * Creates a proof revealing every requested attribute with a deadline on the whole pipeline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.ProverApi#createProofAsync(Wallet, Pool, String, String)
+   * @param timeout the returned future fails with a TimeoutException if the proof is not created by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> createProofAsync(final Wallet wallet, final Pool pool,
+      final String proofRequestJson, final String masterSecretName, Duration timeout) {
+    prefetch(pool, proofRequestJson);
+    CompletableFuture<GenericResult> proof = getClaimsForProofReqAsync(wallet, proofRequestJson).thenCompose(claims -> {
+      ClaimsForProofRequest matches = matches(checked(claims).getReturnJson());
+      Map<String, ClaimReference> requested = new LinkedHashMap<String, ClaimReference>();
+      ObjectNode requestedClaims = objectMapper.createObjectNode();
+      requestedClaims.putObject("self_attested_attributes");
+      ObjectNode requestedAttrs = requestedClaims.putObject("requested_attrs");
+      ObjectNode requestedPredicates = requestedClaims.putObject("requested_predicates");
+      for (Map.Entry<String, List<ClaimReference>> attr : matches.getAttrs().entrySet()) {
+        ClaimReference claim = first(attr.getValue());
+        if (null != claim) {
+          requestedAttrs.putArray(attr.getKey()).add(claim.getClaimUuid()).add(true);
+          requested.put(claim.getClaimUuid(), claim);
+        }
+      }
+      for (Map.Entry<String, List<ClaimReference>> predicate : matches.getPredicates().entrySet()) {
+        ClaimReference claim = first(predicate.getValue());
+        if (null != claim) {
+          requestedPredicates.put(predicate.getKey(), claim.getClaimUuid());
+          requested.put(claim.getClaimUuid(), claim);
+        }
+      }
+      return createProofAsync(wallet, pool, proofRequestJson, requestedClaims.toString(), masterSecretName, requested);
+    });
+    return IndyCommandDispatcher.withDeadline(proof, timeout);
+  }
+
+  public GenericResult createProof(Wallet wallet, Pool pool, String proofRequestJson, String masterSecretName)
+      throws InterruptedException, ExecutionException {
+    return createProofAsync(wallet, pool, proofRequestJson, masterSecretName).get();
+  }
+
+  /**
+   * A synchronous create proof API that gives up after the given timeout
+   */
+  public GenericResult createProof(Wallet wallet, Pool pool, String proofRequestJson, String masterSecretName,
+      Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(createProofAsync(wallet, pool, proofRequestJson, masterSecretName, timeout));
+  }
+
+  public GenericResult createProof(Wallet wallet, Pool pool, String proofRequestJson, String requestedClaimsJson,
+      String masterSecretName) throws InterruptedException, ExecutionException {
+    return createProofAsync(wallet, pool, proofRequestJson, requestedClaimsJson, masterSecretName).get();
+  }
+
+  /**
+   * A synchronous create proof API that gives up after the given timeout
+   */
+  public GenericResult createProof(Wallet wallet, Pool pool, String proofRequestJson, String requestedClaimsJson,
+      String masterSecretName, Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(
+        createProofAsync(wallet, pool, proofRequestJson, requestedClaimsJson, masterSecretName, timeout));
+  }
+
+  private CompletableFuture<GenericResult> createProofAsync(final Wallet wallet, Pool pool,
+      final String proofRequestJson, final String requestedClaimsJson, final String masterSecretName,
+      Map<String, ClaimReference> requested) {
+    return resolver().resolveAsync(pool, requested.values(), null)
+        .thenCompose(inputs -> createProofAsync(wallet, proofRequestJson, requestedClaimsJson, inputs.getSchemasJson(),
+            masterSecretName, inputs.getClaimDefsJson(), inputs.getRevocRegsJson()));
+  }
+
+  /**
+   * Starts fetching the definitions a proof request names in its restrictions, so they are on their way while
+   * the wallet is searched for matching claims
+   */
+  private void prefetch(Pool pool, String proofRequestJson) {
+    JsonNode proofRequest;
+    try {
+      proofRequest = objectMapper.readTree(proofRequestJson);
+    } catch (IOException e) {
+      return;
+    }
+    if (null == proofRequest) {
+      return;
+    }
+    for (String section : new String[] { "requested_attrs", "requested_predicates" }) {
+      for (JsonNode requested : proofRequest.path(section)) {
+        JsonNode schemaSeqNo = requested.get("schema_seq_no");
+        if (null != schemaSeqNo && schemaSeqNo.canConvertToInt()) {
+          JsonNode issuerDid = requested.get("issuer_did");
+          resolver().prefetch(pool, schemaSeqNo.asInt(), null == issuerDid ? null : issuerDid.asText());
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the result of a get claims for proof request
+   */
+  private static ClaimsForProofRequest matches(String claimsForProofReqJson) {
+    try {
+      if (null != claimsForProofReqJson) {
+        return IndyJson.decode(ClaimsForProofRequest.CODEC, claimsForProofReqJson);
+      }
+    } catch (IOException e) {
+      logger.warn("Unparsable claims for proof request: {}", e.getMessage());
+    }
+    throw new CompletionException(new IndyException(ErrorCode.CommonInvalidStructure));
+  }
+
+  /**
+   * @return the claims of a get claims for proof request result keyed by claim_uuid
+   */
+  private static Map<String, ClaimReference> claimReferences(ClaimsForProofRequest matches) {
+    Map<String, ClaimReference> claims = new LinkedHashMap<String, ClaimReference>();
+    for (Map<String, List<ClaimReference>> section : Arrays.asList(matches.getAttrs(), matches.getPredicates())) {
+      for (List<ClaimReference> candidates : section.values()) {
+        for (ClaimReference claim : candidates) {
+          claims.put(claim.getClaimUuid(), claim);
+        }
+      }
+    }
+    return claims;
+  }
+
+  /**
+   * @return the claim_uuids a requested claims json refers to, each once
+   */
+  private Set<String> requestedClaimUuids(String requestedClaimsJson) {
+    JsonNode requestedClaims = tree(requestedClaimsJson);
+    Set<String> claimUuids = new LinkedHashSet<String>();
+    for (JsonNode attr : requestedClaims.path("requested_attrs")) {
+      claimUuids.add(attr.path(0).asText());
+    }
+    for (JsonNode predicate : requestedClaims.path("requested_predicates")) {
+      claimUuids.add(predicate.asText());
+    }
+    return claimUuids;
+  }
+
+  private static ClaimReference first(List<ClaimReference> candidates) {
+    return candidates.isEmpty() ? null : candidates.get(0);
+  }
+
+  private JsonNode tree(String json) {
+    JsonNode node = null;
+    try {
+      node = objectMapper.readTree(json);
+    } catch (IOException e) {
+      logger.warn("Unparsable json: {}", e.getMessage());
+    }
+    if (null == node) {
+      throw new CompletionException(new IndyException(ErrorCode.CommonInvalidStructure));
+    }
+    return node;
+  }
+
+  private static GenericResult checked(GenericResult result) {
+    if (ErrorCode.Success != result.getErrorCode()) {
+      throw new CompletionException(new IndyException(null == result.getErrorCode() ? ErrorCode.CommonInvalidState : result.getErrorCode()));
+    }
+    return result;
+  }
+
+  private AnoncredsResolver resolver() {
+    if (null == resolver) {
+      throw new IllegalStateException("Resolving ledger definitions needs a ProverApi created with an AnoncredsResolver");
+    }
+    return resolver;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+/**
+ * Settings of the revocation registries an {@link IssuerApi} creates while issuing claims
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class RevocationConfig {
+
+  /**
+   * Publishes every registry created, required
+   */
+  private RevocationRegistryPublisher publisher;
+
+  /**
+   * Number of claims a registry holds
+   */
+  private int maxClaimNum = 1000;
+
+  /**
+   * The next registry is created once no more than this many indices of the current one are left,
+   * so it is usually ready before the current one is full
+   */
+  private int preCreateRemaining = 100;
+
+  public RevocationConfig() {
+    super();
+  }
+
+  public RevocationConfig(RevocationRegistryPublisher publisher) {
+    this.publisher = publisher;
+  }
+
+  public RevocationRegistryPublisher getPublisher() {
+    return publisher;
+  }
+  public void setPublisher(RevocationRegistryPublisher publisher) {
+    this.publisher = publisher;
+  }
+  public int getMaxClaimNum() {
+    return maxClaimNum;
+  }
+  public void setMaxClaimNum(int maxClaimNum) {
+    this.maxClaimNum = maxClaimNum;
+  }
+  public int getPreCreateRemaining() {
+    return preCreateRemaining;
+  }
+  public void setPreCreateRemaining(int preCreateRemaining) {
+    this.preCreateRemaining = preCreateRemaining;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A revocation registry of the issuer's wallet and the user_revoc_index counter handing out its slots.
+ * Indices run from 1 to maxClaimNum and are allocated with a compare-and-set, never twice and without locking,
+ * except for indices handed back with release() as no claim was created for them.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class RevocationRegistry {
+  private final int revocRegSeqNo;
+
+  private final String revocRegUuid;
+
+  private final int maxClaimNum;
+
+  private final AtomicInteger issuedCount;
+
+  /**
+   * Indices that were allocated but never used, handed out again before the counter moves on
+   */
+  private final Queue<Integer> released = new ConcurrentLinkedQueue<Integer>();
+
+  /**
+   * @param revocRegUuid the uuid libindy returned when creating the registry, may be null
+   * @param issuedCount number of indices already used, e.g. when resuming a registry after a restart
+   */
+  public RevocationRegistry(int revocRegSeqNo, String revocRegUuid, int maxClaimNum, int issuedCount) {
+    this.revocRegSeqNo = revocRegSeqNo;
+    this.revocRegUuid = revocRegUuid;
+    this.maxClaimNum = maxClaimNum;
+    this.issuedCount = new AtomicInteger(issuedCount);
+  }
+
+  /**
+   * @return the next free user_revoc_index, -1 when the registry is full
+   */
+  public int allocate() {
+    Integer reused = released.poll();
+    if (null != reused) {
+      return reused.intValue();
+    }
+    while (true) {
+      int issued = issuedCount.get();
+      if (issued >= maxClaimNum) {
+        return -1;
+      }
+      if (issuedCount.compareAndSet(issued, issued + 1)) {
+        return issued + 1;
+      }
+    }
+  }
+
+  /**
+   * Hands back an index no claim was created for, e.g. because libindy refused the claim
+   *
+   * @param userRevocIndex an index returned by allocate()
+   */
+  public void release(int userRevocIndex) {
+    if (userRevocIndex < 1 || userRevocIndex > Math.min(issuedCount.get(), maxClaimNum)) {
+      throw new IllegalArgumentException("Index " + userRevocIndex + " was not allocated from " + this);
+    }
+    released.offer(Integer.valueOf(userRevocIndex));
+  }
+
+  public int getRevocRegSeqNo() {
+    return revocRegSeqNo;
+  }
+  public String getRevocRegUuid() {
+    return revocRegUuid;
+  }
+  public int getMaxClaimNum() {
+    return maxClaimNum;
+  }
+  public int getIssuedCount() {
+    return Math.min(issuedCount.get(), maxClaimNum) - released.size();
+  }
+  public int getRemaining() {
+    return maxClaimNum - getIssuedCount();
+  }
+
+  @Override
+  public String toString() {
+    return "RevocationRegistry [revocRegSeqNo=" + revocRegSeqNo + ", issued=" + getIssuedCount() + "/" + maxClaimNum + "]";
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+
+/**
+ * Makes a revocation registry just created in the issuer's wallet known to provers and verifiers,
+ * typically by writing it to the ledger, and tells the sequence number claims are issued against
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public interface RevocationRegistryPublisher {
+
+  /**
+   * @param revocReg the registry as returned by indy_issuer_create_and_store_revoc_reg
+   * @return A future that returns the revoc_reg_seq_no to pass to indy_issuer_create_claim
+   */
+  CompletableFuture<Integer> publish(Wallet wallet, String issuerDid, int schemaSeqNo, AnoncredsResult revocReg);
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IIndyApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyRequestCoalescer;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * A class that holds the Verifier API of anoncreds.
+ *
+ * indy_verifier_verify_proof needs no wallet, so any number of proofs can be verified side by side.
+ * verifyAsync() keeps up to maxConcurrent of them in libindy at a time and queues the rest, and remembers the
+ * outcome of every proof it verified keyed by a SHA-256 digest of its inputs: a proof presented again, e.g. on a
+ * retry, is answered without verifying it again, and identical proofs arriving while one is being verified share
+ * that verification. The outcomes handed out are shared, callers must not modify them.
+ *
+ * verifyAsync(Pool, String, String) takes the schemas and claim definitions from the ledger through an
+ * {@link AnoncredsResolver}, a burst of proofs against the same schema thereby shares one lookup.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class VerifierApi implements IIndyApi {
+  private static Logger logger = LoggerFactory.getLogger(VerifierApi.class);
+
+  private IndyCommandDispatcher dispatcher;
+  private IndyNativeApi apiInstance;
+  private AnoncredsResolver resolver;
+  private VerifierConfig config;
+
+  private final LinkedHashMap<String, CacheEntry> results;
+  private final IndyRequestCoalescer verifying = new IndyRequestCoalescer();
+
+  private final AtomicInteger drainRequests = new AtomicInteger();
+  // guarded by queue
+  private final ArrayDeque<PendingVerification> queue = new ArrayDeque<PendingVerification>();
+  private int inFlight;
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  public VerifierApi(IndyNativeApi apiInstance) {
+    this(apiInstance, null, new VerifierConfig());
+  }
+
+  /**
+   * @param resolver resolves the ledger definitions for verifyAsync(Pool, String, String), may be null
+   */
+  public VerifierApi(IndyNativeApi apiInstance, AnoncredsResolver resolver, VerifierConfig config) {
+    if (config.getMaxConcurrent() < 1) {
+      throw new IllegalArgumentException("maxConcurrent must be at least 1");
+    }
+    this.apiInstance = apiInstance;
+    this.dispatcher = apiInstance.getDispatcher();
+    this.resolver = resolver;
+    this.config = config;
+    final int maxEntries = config.getMaxCachedResults();
+    this.results = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+        if (size() > maxEntries) {
+          evictionCount.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * A asynchronous verify proof API, calls libindy right away and bypasses the queue and the cache
+   *
+   * @param schemasJson the schemas keyed by claim_uuid
+   * @param claimDefsJsons the claim definitions keyed by claim_uuid
+   * @param revocRegsJson the revocation registries keyed by claim_uuid
+   * @return A future that returns a AnoncredsResult, isValid() tells whether the proof is valid
+   */
+  public CompletableFuture<AnoncredsResult> verifyProofAsync(String proofRequestJson, String proofJson,
+      String schemasJson, String claimDefsJsons, String revocRegsJson) {
+    return verifyProofAsync(proofRequestJson, proofJson, schemasJson, claimDefsJsons, revocRegsJson, null);
+  }
+
+  /**
+   * A asynchronous verify proof API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.VerifierApi#verifyProofAsync(String, String, String, String, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<AnoncredsResult> verifyProofAsync(String proofRequestJson, String proofJson,
+      String schemasJson, String claimDefsJsons, String revocRegsJson, Duration timeout) {
+    final CompletableFuture<AnoncredsResult> future = new CompletableFuture<AnoncredsResult>();
+    AnoncredsResult iResult = new AnoncredsResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_verifier_verify_proof(cmdHandle, proofRequestJson, proofJson, schemasJson, claimDefsJsons,
+        revocRegsJson, dispatcher.getCallback(AnoncredsCallback.VerifyCallback.class, AnoncredsCallback.VerifyCallback::new));
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public AnoncredsResult verifyProof(String proofRequestJson, String proofJson, String schemasJson,
+      String claimDefsJsons, String revocRegsJson) throws InterruptedException, ExecutionException {
+    return verifyProofAsync(proofRequestJson, proofJson, schemasJson, claimDefsJsons, revocRegsJson).get();
+  }
+
+  /**
+   * A synchronous verify proof API that gives up after the given timeout
+   */
+  public AnoncredsResult verifyProof(String proofRequestJson, String proofJson, String schemasJson,
+      String claimDefsJsons, String revocRegsJson, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(
+        verifyProofAsync(proofRequestJson, proofJson, schemasJson, claimDefsJsons, revocRegsJson, timeout));
+  }
+
+  /**
+   * Verifies a proof through the queue and the cache, the caller supplies all ledger definitions
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.VerifierApi#verifyProofAsync(String, String, String, String, String)
+   */
+  public CompletableFuture<AnoncredsResult> verifyAsync(String proofRequestJson, String proofJson,
+      String schemasJson, String claimDefsJsons, String revocRegsJson) {
+    return verifyAsync(proofRequestJson, proofJson, schemasJson, claimDefsJsons, revocRegsJson, null);
+  }
+
+  /**
+   * Verifies a proof through the queue and the cache with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.VerifierApi#verifyAsync(String, String, String, String, String)
+   * @param timeout the returned future fails with a TimeoutException if the proof is not verified by then, the
+   *                verification itself goes on for other callers of the same proof, null to wait forever
+   */
+  public CompletableFuture<AnoncredsResult> verifyAsync(final String proofRequestJson, final String proofJson,
+      final String schemasJson, final String claimDefsJsons, final String revocRegsJson, Duration timeout) {
+    String key = digest("", proofRequestJson, proofJson, schemasJson, claimDefsJsons, revocRegsJson);
+    return verify(key, () -> CompletableFuture.completedFuture(
+        new ProofInputs(schemasJson, claimDefsJsons, revocRegsJson)), proofRequestJson, proofJson, timeout);
+  }
+
+  /**
+   * Verifies a proof through the queue and the cache, the schemas and claim definitions the proof names are
+   * looked up on the ledger
+   *
+   * @return A future that returns a AnoncredsResult, isValid() tells whether the proof is valid, fails with an
+   *         IndyException when the proof cannot be parsed or a definition it names is not on the ledger
+   */
+  public CompletableFuture<AnoncredsResult> verifyAsync(Pool pool, String proofRequestJson, String proofJson) {
+    return verifyAsync(pool, proofRequestJson, proofJson, null);
+  }
+
+  /**
+   * Verifies a proof looking up its definitions on the ledger with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.anoncreds.VerifierApi#verifyAsync(Pool, String, String)
+   * @param timeout the returned future fails with a TimeoutException if the proof is not verified by then, the
+   *                verification itself goes on for other callers of the same proof, null to wait forever
+   */
+  public CompletableFuture<AnoncredsResult> verifyAsync(final Pool pool, final String proofRequestJson,
+      final String proofJson, Duration timeout) {
+    if (null == resolver) {
+      throw new IllegalStateException("Resolving ledger definitions needs a VerifierApi created with an AnoncredsResolver");
+    }
+    String key = digest(pool.getPoolName(), proofRequestJson, proofJson);
+    return verify(key, () -> resolver.resolveAsync(pool, claimReferences(proofJson), null),
+        proofRequestJson, proofJson, timeout);
+  }
+
+  public AnoncredsResult verify(Pool pool, String proofRequestJson, String proofJson)
+      throws InterruptedException, ExecutionException {
+    return verifyAsync(pool, proofRequestJson, proofJson).get();
+  }
+
+  /**
+   * Verifies a proof looking up its definitions on the ledger, gives up after the given timeout
+   */
+  public AnoncredsResult verify(Pool pool, String proofRequestJson, String proofJson, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(verifyAsync(pool, proofRequestJson, proofJson, timeout));
+  }
+
+  /**
+   * Drops every remembered verification outcome
+   */
+  public void invalidateAll() {
+    synchronized (results) {
+      results.clear();
+    }
+  }
+
+  public int getCachedCount() {
+    synchronized (results) {
+      return results.size();
+    }
+  }
+  public int getQueuedCount() {
+    synchronized (queue) {
+      return queue.size();
+    }
+  }
+  public int getInFlightCount() {
+    synchronized (queue) {
+      return inFlight;
+    }
+  }
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+  public long getMissCount() {
+    return verifying.getExecutedCount();
+  }
+  /**
+   * @return number of proofs that were answered by a verification of the same proof already in progress
+   */
+  public long getCoalescedCount() {
+    return verifying.getCoalescedCount();
+  }
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  /**
+   * @return the remembered outcome, or the outcome of the verification of the same proof already in progress
+   *         or of a new one, through a future of the caller's own so that the caller's deadline cannot fail the others
+   */
+  private CompletableFuture<AnoncredsResult> verify(final String key,
+      final Supplier<CompletableFuture<ProofInputs>> inputs, final String proofRequestJson, final String proofJson,
+      Duration timeout) {
+    synchronized (results) {
+      CacheEntry entry = results.get(key);
+      if (null != entry) {
+        if (entry.expiresAt - System.nanoTime() > 0) {
+          hitCount.increment();
+          return CompletableFuture.completedFuture(entry.result);
+        }
+        results.remove(key);
+      }
+    }
+
+    return verifying.execute(key, () -> inputs.get()
+        .thenCompose(proofInputs -> enqueue(proofRequestJson, proofJson, proofInputs))
+        .whenComplete((result, failure) -> {
+          if (null == failure && ErrorCode.Success == result.getErrorCode()) {
+            Duration ttl = config.getResultTimeToLive();
+            long expiresAt = null == ttl ? System.nanoTime() + Long.MAX_VALUE / 2 : System.nanoTime() + ttl.toNanos();
+            synchronized (results) {
+              results.put(key, new CacheEntry(result, expiresAt));
+            }
+          }
+        }), timeout);
+  }
+
+  private CompletableFuture<AnoncredsResult> enqueue(String proofRequestJson, String proofJson, ProofInputs inputs) {
+    PendingVerification pending = new PendingVerification(proofRequestJson, proofJson, inputs);
+    synchronized (queue) {
+      queue.add(pending);
+    }
+    drain();
+    return pending.future;
+  }
+
+  /**
+   * Hands queued proofs to libindy while fewer than maxConcurrent are outstanding, only one thread drains at a time
+   */
+  private void drain() {
+    if (drainRequests.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      while (true) {
+        PendingVerification pending;
+        synchronized (queue) {
+          if (inFlight >= config.getMaxConcurrent() || queue.isEmpty()) {
+            break;
+          }
+          pending = queue.poll();
+          inFlight++;
+        }
+        submit(pending);
+      }
+    } while (drainRequests.decrementAndGet() != 0);
+  }
+
+  private void submit(final PendingVerification pending) {
+    CompletableFuture<AnoncredsResult> future;
+    try {
+      future = verifyProofAsync(pending.proofRequestJson, pending.proofJson, pending.inputs.getSchemasJson(),
+          pending.inputs.getClaimDefsJson(), pending.inputs.getRevocRegsJson());
+    } catch (RuntimeException e) {
+      future = new CompletableFuture<AnoncredsResult>();
+      future.completeExceptionally(e);
+    }
+    future.whenComplete((result, failure) -> {
+      synchronized (queue) {
+        inFlight--;
+      }
+      if (null != failure) {
+        pending.future.completeExceptionally(failure);
+      } else {
+        pending.future.complete(result);
+      }
+      drain();
+    });
+  }
+
+  /**
+   * @return the claims a proof is built from, proofs: {"claim_uuid":{"schema_seq_no":..,"issuer_did":..,..}}
+   */
+  private static List<ClaimReference> claimReferences(String proofJson) {
+    if (null != proofJson) {
+      // streamed, the proofs themselves are skipped rather than built into a tree
+      try (JsonParser parser = IndyJson.getFactory().createParser(proofJson)) {
+        if (IndyJson.moveTo(parser, "proofs") && JsonToken.START_OBJECT == parser.getCurrentToken()) {
+          List<ClaimReference> claims = new ArrayList<ClaimReference>();
+          String claimUuid;
+          while (null != (claimUuid = IndyJson.nextMember(parser))) {
+            ClaimReference claim = ClaimReference.CODEC.read(parser);
+            claims.add(new ClaimReference(claimUuid, claim.getSchemaSeqNo(), claim.getIssuerDid()));
+          }
+          return claims;
+        }
+      } catch (IOException e) {
+        logger.warn("Unparsable proof json: {}", e.getMessage());
+      }
+    }
+    throw new CompletionException(new IndyException(ErrorCode.CommonInvalidStructure));
+  }
+
+  /**
+   * @return the Base64 encoded SHA-256 of the parts, each part is terminated by a NUL so that moving text from
+   *         one part to the next changes the digest
+   */
+  private static String digest(String... parts) {
+    MessageDigest sha256;
+    try {
+      sha256 = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+    for (String part : parts) {
+      if (null != part) {
+        sha256.update(part.getBytes(StandardCharsets.UTF_8));
+      }
+      sha256.update((byte) 0);
+    }
+    return Base64.getEncoder().encodeToString(sha256.digest());
+  }
+
+  private static class PendingVerification {
+    private final String proofRequestJson;
+    private final String proofJson;
+    private final ProofInputs inputs;
+    private final CompletableFuture<AnoncredsResult> future = new CompletableFuture<AnoncredsResult>();
+
+    private PendingVerification(String proofRequestJson, String proofJson, ProofInputs inputs) {
+      this.proofRequestJson = proofRequestJson;
+      this.proofJson = proofJson;
+      this.inputs = inputs;
+    }
+  }
+
+  private static class CacheEntry {
+    private final AnoncredsResult result;
+    private final long expiresAt;
+
+    private CacheEntry(AnoncredsResult result, long expiresAt) {
+      this.result = result;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
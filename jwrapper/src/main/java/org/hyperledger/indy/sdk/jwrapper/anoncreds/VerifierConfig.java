@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link VerifierApi}
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class VerifierConfig {
+
+  /**
+   * Maximum number of proofs handed to libindy at the same time, further proofs wait in a queue
+   */
+  private int maxConcurrent = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Maximum number of verification outcomes kept, the least recently used is evicted first
+   */
+  private int maxCachedResults = 10000;
+
+  /**
+   * How long a verification outcome is kept, null keeps it until it is evicted or invalidated
+   */
+  private Duration resultTimeToLive = Duration.ofMinutes(10);
+
+  public int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+  public void setMaxConcurrent(int maxConcurrent) {
+    this.maxConcurrent = maxConcurrent;
+  }
+  public int getMaxCachedResults() {
+    return maxCachedResults;
+  }
+  public void setMaxCachedResults(int maxCachedResults) {
+    this.maxCachedResults = maxCachedResults;
+  }
+  public Duration getResultTimeToLive() {
+    return resultTimeToLive;
+  }
+  public void setResultTimeToLive(Duration resultTimeToLive) {
+    this.resultTimeToLive = resultTimeToLive;
+  }
+}
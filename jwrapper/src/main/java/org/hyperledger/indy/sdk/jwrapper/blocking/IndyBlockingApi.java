@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.blocking;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.UncheckedIndyException;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.pool.PoolApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.PoolStatus;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi;
+import org.hyperledger.indy.sdk.jwrapper.wallet.WalletStatus;
+
+/**
+ * A blocking facade over the Pool, Wallet and Ledger APIs meant to be called from many (virtual) threads.
+ * Every method parks the calling thread until libindy calls back and either returns the result or throws:
+ * <ul>
+ * <li>{@link UncheckedIndyException} when libindy reports an error, instead of returning null</li>
+ * <li>{@link CompletionException} with a TimeoutException as cause when the default timeout expires</li>
+ * <li>{@link CancellationException} when the waiting thread is interrupted, the interrupt flag stays set</li>
+ * </ul>
+ * Waiting happens in CompletableFuture.get() and never inside a synchronized block, so a virtual thread
+ * unmounts from its carrier while libindy works. An interrupted wait does not abort the libindy command,
+ * it still runs to completion and its result is dropped.
+ *
+ * @see org.hyperledger.indy.sdk.jwrapper.blocking.IndyScope
+ * @see org.hyperledger.indy.sdk.jwrapper.blocking.ThreadPerRequestRunner
+ * @version 1.0 17-Oct-2026
+ */
+public class IndyBlockingApi {
+  private final PoolApi poolApi;
+  private final WalletApi walletApi;
+  private final LedgerApi ledgerApi;
+  private final Duration timeout;
+
+  public IndyBlockingApi(IndyNativeApi apiInstance) {
+    this(apiInstance, null);
+  }
+
+  /**
+   * @param timeout applied to every pool, wallet and submit command, null to wait as long as libindy takes
+   */
+  public IndyBlockingApi(IndyNativeApi apiInstance, Duration timeout) {
+    this(new PoolApi(apiInstance), new WalletApi(apiInstance), new LedgerApi(apiInstance), timeout);
+  }
+
+  /**
+   * Wraps existing API instances, e.g. a LedgerApi that has a read cache or request coalescer configured
+   */
+  public IndyBlockingApi(PoolApi poolApi, WalletApi walletApi, LedgerApi ledgerApi, Duration timeout) {
+    this.poolApi = poolApi;
+    this.walletApi = walletApi;
+    this.ledgerApi = ledgerApi;
+    this.timeout = timeout;
+  }
+
+  public Pool createPoolLedgerConfig(Pool pool) {
+    await(null == timeout ? poolApi.createPoolLedgerConfigAsync(pool) : poolApi.createPoolLedgerConfigAsync(pool, timeout));
+    pool.setStatus(PoolStatus.CREATED);
+    return pool;
+  }
+
+  public Pool openPoolLedger(Pool pool) {
+    GenericResult r = await(null == timeout ? poolApi.openPoolLedgerAsync(pool) : poolApi.openPoolLedgerAsync(pool, timeout));
+    pool.setPoolHandle(r.getReturnHandle());
+    pool.setStatus(PoolStatus.OPEN);
+    return pool;
+  }
+
+  public void refreshPoolLedger(Pool pool) {
+    await(null == timeout ? poolApi.refreshPoolLedgerAsync(pool) : poolApi.refreshPoolLedgerAsync(pool, timeout));
+  }
+
+  public Pool closePoolLedger(Pool pool) {
+    await(null == timeout ? poolApi.closePoolLedgerAsync(pool) : poolApi.closePoolLedgerAsync(pool, timeout));
+    pool.setStatus(PoolStatus.CLOSED);
+    return pool;
+  }
+
+  public void deletePoolLedger(String poolName) {
+    await(null == timeout ? poolApi.deletePoolLedgerAsync(poolName) : poolApi.deletePoolLedgerAsync(poolName, timeout));
+  }
+
+  public Wallet createWallet(Pool pool, Wallet wallet, String walletCredentialsJson) {
+    await(null == timeout ? walletApi.createWalletAsync(pool, wallet, walletCredentialsJson)
+        : walletApi.createWalletAsync(pool, wallet, walletCredentialsJson, timeout));
+    wallet.setStatus(WalletStatus.CREATED);
+    return wallet;
+  }
+
+  public Wallet openWallet(Wallet wallet, String walletCredentialsJson) {
+    GenericResult r = await(null == timeout ? walletApi.openWalletAsync(wallet, walletCredentialsJson)
+        : walletApi.openWalletAsync(wallet, walletCredentialsJson, timeout));
+    wallet.setWalletHandle(r.getReturnHandle());
+    wallet.setStatus(WalletStatus.OPEN);
+    return wallet;
+  }
+
+  public Wallet closeWallet(Wallet wallet) {
+    await(null == timeout ? walletApi.closeWalletAsync(wallet) : walletApi.closeWalletAsync(wallet, timeout));
+    wallet.setStatus(WalletStatus.CLOSED);
+    return wallet;
+  }
+
+  public void deleteWallet(String walletName, String walletCredentialsJson) {
+    await(null == timeout ? walletApi.deleteWalletAsync(walletName, walletCredentialsJson)
+        : walletApi.deleteWalletAsync(walletName, walletCredentialsJson, timeout));
+  }
+
+  /**
+   * @return the reply json of the pool
+   */
+  public String signAndSubmitRequest(Pool pool, Wallet wallet, String submitterDid, String requestJson) {
+    return await(null == timeout ? ledgerApi.signAndSubmitRequestAsync(pool, wallet, submitterDid, requestJson)
+        : ledgerApi.signAndSubmitRequestAsync(pool, wallet, submitterDid, requestJson, timeout)).getReturnJson();
+  }
+
+  /**
+   * @return the reply json of the pool
+   */
+  public String submitRequest(Pool pool, String requestJson) {
+    return await(null == timeout ? ledgerApi.submitRequestAsync(pool, requestJson)
+        : ledgerApi.submitRequestAsync(pool, requestJson, timeout)).getReturnJson();
+  }
+
+  /**
+   * Submits the requests through {@link LedgerApi#submitBatch(Pool, List, int)} and waits for all of them.
+   * The default timeout does not apply, the window of maxInFlight already bounds the load on the pool.
+   *
+   * @return the reply jsons, in the order of the submitted list
+   * @throws UncheckedIndyException for the first request (in list order) that failed
+   */
+  public List<String> submitBatch(Pool pool, List<String> requestJsons, int maxInFlight) {
+    return awaitAll(ledgerApi.submitBatch(pool, requestJsons, maxInFlight));
+  }
+
+  /**
+   * @see #submitBatch(Pool, List, int)
+   */
+  public List<String> signAndSubmitBatch(Pool pool, Wallet wallet, String submitterDid, List<String> requestJsons,
+      int maxInFlight) {
+    return awaitAll(ledgerApi.signAndSubmitBatch(pool, wallet, submitterDid, requestJsons, maxInFlight));
+  }
+
+  public String buildGetDdoRequest(String submitterDid, String targetDid) {
+    return await(ledgerApi.buildGetDdoRequestAsync(submitterDid, targetDid)).getReturnJson();
+  }
+
+  public String buildNymRequest(String submitterDid, String targetDid, String verkey, String alias, String role) {
+    return await(ledgerApi.buildNymRequestAsync(submitterDid, targetDid, verkey, alias, role)).getReturnJson();
+  }
+
+  public String buildAttribRequest(String submitterDid, String targetDid, String hash, String raw, String enc) {
+    return await(ledgerApi.buildAttribRequestAsync(submitterDid, targetDid, hash, raw, enc)).getReturnJson();
+  }
+
+  public String buildGetAttribRequest(String submitterDid, String targetDid, String data) {
+    return await(ledgerApi.buildGetAttribRequestAsync(submitterDid, targetDid, data)).getReturnJson();
+  }
+
+  public String buildGetNymRequest(String submitterDid, String targetDid) {
+    return await(ledgerApi.buildGetNymRequestAsync(submitterDid, targetDid)).getReturnJson();
+  }
+
+  public String buildSchemaRequest(String submitterDid, String data) {
+    return await(ledgerApi.buildSchemaRequestAsync(submitterDid, data)).getReturnJson();
+  }
+
+  public String buildGetSchemaRequest(String submitterDid, String dest, String data) {
+    return await(ledgerApi.buildGetSchemaRequestAsync(submitterDid, dest, data)).getReturnJson();
+  }
+
+  public String buildClaimDefTxn(String submitterDid, int xref, String signatureType, String data) {
+    return await(ledgerApi.buildClaimDefTxnAsync(submitterDid, xref, signatureType, data)).getReturnJson();
+  }
+
+  public String buildGetClaimDefTxn(String submitterDid, int xref, String signatureType, String origin) {
+    return await(ledgerApi.buildGetClaimDefTxnAsync(submitterDid, xref, signatureType, origin)).getReturnJson();
+  }
+
+  public String buildNodeRequest(String submitterDid, String targetDid, String data) {
+    return await(ledgerApi.buildNodeRequestAsync(submitterDid, targetDid, data)).getReturnJson();
+  }
+
+  public String buildGetTxnRequest(String submitterDid, int data) {
+    return await(ledgerApi.buildGetTxnRequestAsync(submitterDid, data)).getReturnJson();
+  }
+
+  public PoolApi getPoolApi() {
+    return poolApi;
+  }
+  public WalletApi getWalletApi() {
+    return walletApi;
+  }
+  public LedgerApi getLedgerApi() {
+    return ledgerApi;
+  }
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Waits for a future returned by one of the *Async APIs and translates every outcome other than success
+   * into the unchecked exceptions described on this class
+   *
+   * @return the result, its ErrorCode is always Success
+   */
+  public static GenericResult await(Future<GenericResult> future) {
+    GenericResult r;
+    try {
+      r = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      CancellationException cancelled = new CancellationException("Interrupted while waiting for libindy");
+      cancelled.initCause(e);
+      throw cancelled;
+    } catch (ExecutionException e) {
+      throw unchecked(e.getCause());
+    }
+    if (ErrorCode.Success != r.getErrorCode()) {
+      throw new UncheckedIndyException(null == r.getErrorCode() ? ErrorCode.CommonInvalidState : r.getErrorCode());
+    }
+    return r;
+  }
+
+  private static List<String> awaitAll(List<CompletableFuture<GenericResult>> futures) {
+    List<String> replies = new ArrayList<String>(futures.size());
+    for (CompletableFuture<GenericResult> future : futures) {
+      replies.add(await(future).getReturnJson());
+    }
+    return replies;
+  }
+
+  static RuntimeException unchecked(Throwable failure) {
+    if (failure instanceof IndyException) {
+      return new UncheckedIndyException((IndyException) failure);
+    }
+    if (failure instanceof RuntimeException) {
+      return (RuntimeException) failure;
+    }
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    return new CompletionException(failure);
+  }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.blocking;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.hyperledger.indy.sdk.jwrapper.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a group of blocking calls on threads of their own and treats them as one unit of work, in the style of
+ * StructuredTaskScope.ShutdownOnFailure (which does not exist on the Java versions this library supports):
+ * <pre>
+ * try (IndyScope scope = new IndyScope()) {
+ *   IndyScope.Subtask&lt;Pool&gt; pool = scope.fork(() -&gt; indy.openPoolLedger(myPool));
+ *   IndyScope.Subtask&lt;Wallet&gt; issuer = scope.fork(() -&gt; indy.openWallet(issuerWallet, credentials));
+ *   IndyScope.Subtask&lt;Wallet&gt; prover = scope.fork(() -&gt; indy.openWallet(proverWallet, credentials));
+ *   scope.join();
+ *   ... pool.get(), issuer.get(), prover.get()
+ * }
+ * </pre>
+ * The first subtask to fail cancels the others by interrupting them, join() then rethrows that failure.
+ * close() cancels whatever is still running and waits for it, no thread forked in a scope outlives the scope.
+ * Subtasks run on virtual threads when the runtime has them and on daemon platform threads otherwise.
+ *
+ * Cancelling only interrupts the waiting thread, libindy has no way to abort a command that is already running.
+ * A wallet that finished opening after its subtask got cancelled stays open; a subtask that needs to undo
+ * such work should catch the CancellationException thrown by IndyBlockingApi and clean up itself.
+ * fork() and join() must be called by the thread that created the scope.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class IndyScope implements AutoCloseable {
+  private static Logger logger = LoggerFactory.getLogger(IndyScope.class);
+
+  private static final AtomicInteger scopeCounter = new AtomicInteger();
+
+  public enum State {
+    RUNNING, SUCCESS, FAILED, CANCELLED
+  }
+
+  private final Thread owner = Thread.currentThread();
+  private final ThreadFactory threadFactory;
+  private final List<Subtask<?>> subtasks = new ArrayList<Subtask<?>>();
+
+  private int running;
+  private Throwable failure;
+  private boolean shutdown;
+  private boolean closed;
+
+  public IndyScope() {
+    this("indy-scope-" + scopeCounter.incrementAndGet());
+  }
+
+  /**
+   * @param name used as prefix of the subtask thread names
+   */
+  public IndyScope(String name) {
+    this.threadFactory = VirtualThreads.factory(name + "-");
+  }
+
+  /**
+   * Starts the task on a new thread. Once the scope has been shut down, by a failure or by close(),
+   * the task is not started and its subtask is CANCELLED right away.
+   */
+  public <T> Subtask<T> fork(Callable<? extends T> task) {
+    ensureOwner();
+    Subtask<T> subtask = new Subtask<T>(task);
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Scope is closed");
+      }
+      subtasks.add(subtask);
+      if (shutdown) {
+        subtask.finish(State.CANCELLED, null, null);
+        return subtask;
+      }
+      running++;
+    }
+    Thread thread = threadFactory.newThread(subtask);
+    subtask.thread = thread;
+    thread.start();
+    return subtask;
+  }
+
+  /**
+   * Waits until every subtask has completed or one of them failed
+   *
+   * @throws RuntimeException the failure of the first subtask that failed, checked exceptions are wrapped
+   *         in a CompletionException
+   * @throws CancellationException when the calling thread is interrupted, the subtasks are cancelled then
+   */
+  public void join() {
+    try {
+      joinUntil(0);
+    } catch (TimeoutException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Like {@link #join()} but cancels the subtasks when they have not all completed within the timeout
+   */
+  public void join(Duration timeout) throws TimeoutException {
+    joinUntil(System.nanoTime() + Math.max(1, timeout.toNanos()));
+  }
+
+  private void joinUntil(long deadline) throws TimeoutException {
+    ensureOwner();
+    Throwable firstFailure;
+    synchronized (this) {
+      try {
+        while (running > 0 && null == failure) {
+          if (0 == deadline) {
+            wait();
+          } else {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+              shutdown();
+              throw new TimeoutException("Scope did not complete within the timeout");
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+          }
+        }
+      } catch (InterruptedException e) {
+        shutdown();
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Interrupted while joining the scope");
+      }
+      firstFailure = failure;
+    }
+    if (null != firstFailure) {
+      shutdown();
+      throw IndyBlockingApi.unchecked(firstFailure);
+    }
+  }
+
+  /**
+   * Cancels every subtask that is still running and prevents new ones from starting. Does not wait.
+   */
+  public void shutdown() {
+    List<Subtask<?>> toCancel;
+    synchronized (this) {
+      if (shutdown) {
+        return;
+      }
+      shutdown = true;
+      toCancel = new ArrayList<Subtask<?>>(subtasks);
+    }
+    for (Subtask<?> subtask : toCancel) {
+      subtask.cancel();
+    }
+  }
+
+  /**
+   * Cancels whatever is still running and waits for all subtask threads to finish
+   */
+  @Override
+  public void close() {
+    ensureOwner();
+    shutdown();
+    boolean interrupted = false;
+    synchronized (this) {
+      closed = true;
+      while (running > 0) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private synchronized void onFinished(Subtask<?> subtask) {
+    running--;
+    if (State.FAILED == subtask.state && null == failure && !shutdown) {
+      failure = subtask.exception;
+    }
+    notifyAll();
+  }
+
+  private void ensureOwner() {
+    if (Thread.currentThread() != owner) {
+      throw new IllegalStateException("Only the thread that created the scope may fork, join or close it");
+    }
+  }
+
+  /**
+   * A task forked in a scope, its result is available once the scope has been joined
+   */
+  public final class Subtask<T> implements Supplier<T>, Runnable {
+    private final Callable<? extends T> task;
+    private volatile Thread thread;
+    private volatile State state = State.RUNNING;
+    private T result;
+    private Throwable exception;
+
+    private Subtask(Callable<? extends T> task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      T value = null;
+      Throwable thrown = null;
+      try {
+        if (State.RUNNING == state) {
+          value = task.call();
+        }
+      } catch (Throwable t) {
+        thrown = t;
+      }
+      synchronized (IndyScope.this) {
+        if (State.RUNNING == state) {
+          if (null != thrown) {
+            finish(shutdown ? State.CANCELLED : State.FAILED, null, thrown);
+          } else {
+            finish(State.SUCCESS, value, null);
+          }
+        }
+        onFinished(this);
+      }
+      if (State.FAILED == state) {
+        logger.debug("Subtask failed, cancelling the scope", thrown);
+        shutdown();
+      }
+    }
+
+    private void finish(State state, T result, Throwable exception) {
+      this.result = result;
+      this.exception = exception;
+      this.state = state;
+    }
+
+    private void cancel() {
+      synchronized (IndyScope.this) {
+        if (State.RUNNING != state) {
+          return;
+        }
+        finish(State.CANCELLED, null, null);
+      }
+      Thread t = thread;
+      if (null != t) {
+        t.interrupt();
+      }
+    }
+
+    public State state() {
+      return state;
+    }
+
+    /**
+     * @return the result of a subtask that completed successfully
+     * @throws IllegalStateException when the subtask has not completed successfully
+     */
+    @Override
+    public T get() {
+      synchronized (IndyScope.this) {
+        if (State.SUCCESS != state) {
+          throw new IllegalStateException("Subtask is " + state);
+        }
+        return result;
+      }
+    }
+
+    /**
+     * @return the failure of a subtask that FAILED, null otherwise
+     */
+    public Throwable exception() {
+      synchronized (IndyScope.this) {
+        return State.FAILED == state ? exception : null;
+      }
+    }
+  }
+}
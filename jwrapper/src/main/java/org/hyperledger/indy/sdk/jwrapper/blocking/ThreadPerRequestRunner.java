@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.blocking;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hyperledger.indy.sdk.jwrapper.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs every request on a thread of its own, meant for tens of thousands of concurrent blocking calls through
+ * {@link IndyBlockingApi} on virtual threads. Each request is measured from submit() until it returns, so the
+ * effect of the concurrency level on latency can be read off the runner while it works.
+ *
+ * On a runtime without virtual threads every request costs a platform thread, configure maxConcurrent then.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class ThreadPerRequestRunner {
+  private static Logger logger = LoggerFactory.getLogger(ThreadPerRequestRunner.class);
+
+  private final ThreadFactory threadFactory;
+  private final Semaphore permits;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAccumulator peakInFlight = new LongAccumulator(Math::max, 0);
+  private final LongAdder completedCount = new LongAdder();
+  private final LongAdder failedCount = new LongAdder();
+  private final LongAdder latencyNanos = new LongAdder();
+  private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+  /**
+   * A runner without a bound on the number of concurrent requests
+   */
+  public ThreadPerRequestRunner() {
+    this(0);
+  }
+
+  /**
+   * @param maxConcurrent the number of requests that may run at once, 0 for no bound.
+   *        submit() blocks while that many requests are running.
+   */
+  public ThreadPerRequestRunner(int maxConcurrent) {
+    if (maxConcurrent < 0) {
+      throw new IllegalArgumentException("maxConcurrent cannot be negative");
+    }
+    this.permits = 0 == maxConcurrent ? null : new Semaphore(maxConcurrent);
+    this.threadFactory = VirtualThreads.factory("indy-request-");
+    if (!VirtualThreads.isSupported()) {
+      logger.warn("Virtual threads are not available on Java {}, every request will use a platform thread",
+          System.getProperty("java.version"));
+    }
+  }
+
+  /**
+   * Starts the request on a new thread
+   *
+   * @return completes with the value of the request, or exceptionally with what it threw
+   * @throws CancellationException when interrupted while waiting for a permit
+   */
+  public <T> CompletableFuture<T> submit(final Callable<? extends T> request) {
+    acquire();
+    final CompletableFuture<T> future = new CompletableFuture<T>();
+    final long start = System.nanoTime();
+    peakInFlight.accumulate(inFlight.incrementAndGet());
+    Runnable runnable = () -> {
+      T value = null;
+      Throwable failure = null;
+      try {
+        value = request.call();
+      } catch (Throwable t) {
+        failure = t;
+      }
+      long nanos = System.nanoTime() - start;
+      latencyNanos.add(nanos);
+      maxLatencyNanos.accumulate(nanos);
+      (null == failure ? completedCount : failedCount).increment();
+      inFlight.decrementAndGet();
+      release();
+      if (null == failure) {
+        future.complete(value);
+      } else {
+        future.completeExceptionally(failure);
+      }
+    };
+    try {
+      threadFactory.newThread(runnable).start();
+    } catch (RuntimeException | Error e) {
+      inFlight.decrementAndGet();
+      release();
+      throw e;
+    }
+    return future;
+  }
+
+  private void acquire() {
+    if (null == permits) {
+      return;
+    }
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for a request permit");
+    }
+  }
+
+  private void release() {
+    if (null != permits) {
+      permits.release();
+    }
+  }
+
+  public boolean isVirtual() {
+    return VirtualThreads.isSupported();
+  }
+
+  /**
+   * @return number of requests currently running
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * @return the highest number of requests that ran at once
+   */
+  public long getPeakInFlight() {
+    return peakInFlight.get();
+  }
+
+  public long getCompletedCount() {
+    return completedCount.sum();
+  }
+  public long getFailedCount() {
+    return failedCount.sum();
+  }
+
+  /**
+   * @return average time from submit() until the request returned, including the time the thread waited to run
+   */
+  public double getAverageLatencyNanos() {
+    long count = completedCount.sum() + failedCount.sum();
+    return 0 == count ? 0 : (double) latencyNanos.sum() / count;
+  }
+
+  public long getMaxLatencyNanos() {
+    return maxLatencyNanos.get();
+  }
+
+  public void resetMetrics() {
+    peakInFlight.reset();
+    completedCount.reset();
+    failedCount.reset();
+    latencyNanos.reset();
+    maxLatencyNanos.reset();
+  }
+}
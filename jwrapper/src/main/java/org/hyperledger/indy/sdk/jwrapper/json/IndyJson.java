@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.json;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Encodes and decodes the JSON payloads exchanged with libindy through {@link JsonCodec}s, and reads single fields
+ * out of a JSON without building a tree of it: the parser walks down the given path and skips everything else.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public final class IndyJson {
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private IndyJson() {
+  }
+
+  /**
+   * @return the factory the codecs' generators and parsers are created with
+   */
+  public static JsonFactory getFactory() {
+    return FACTORY;
+  }
+
+  public static <T> String encode(JsonCodec<T> codec, T value) {
+    StringWriter writer = new StringWriter(128);
+    try (JsonGenerator generator = FACTORY.createGenerator(writer)) {
+      codec.write(generator, value);
+    } catch (IOException e) {
+      // a StringWriter does not fail, only a codec writing invalid JSON does
+      throw new IllegalArgumentException("Cannot encode " + value, e);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Encodes the values as a json array
+   */
+  public static <T> String encodeList(JsonCodec<T> codec, Collection<? extends T> values) {
+    StringWriter writer = new StringWriter(128 * (1 + values.size()));
+    try (JsonGenerator generator = FACTORY.createGenerator(writer)) {
+      generator.writeStartArray();
+      for (T value : values) {
+        codec.write(generator, value);
+      }
+      generator.writeEndArray();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot encode " + values, e);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * @throws IOException when the json cannot be parsed or is empty
+   */
+  public static <T> T decode(JsonCodec<T> codec, String json) throws IOException {
+    try (JsonParser parser = FACTORY.createParser(json)) {
+      if (null == parser.nextToken()) {
+        throw new JsonParseException(parser, "No content");
+      }
+      return codec.read(parser);
+    }
+  }
+
+  /**
+   * Decodes a json array whose elements are all of the codec's type
+   */
+  public static <T> List<T> decodeList(JsonCodec<T> codec, String json) throws IOException {
+    try (JsonParser parser = FACTORY.createParser(json)) {
+      if (JsonToken.START_ARRAY != parser.nextToken()) {
+        throw new JsonParseException(parser, "Expected an array");
+      }
+      List<T> values = new ArrayList<T>();
+      while (JsonToken.END_ARRAY != parser.nextToken()) {
+        values.add(codec.read(parser));
+      }
+      return values;
+    }
+  }
+
+  /**
+   * Advances a codec reading an object to the value of its next member, e.g.
+   * while (null != (name = IndyJson.nextMember(parser))) { .. }
+   *
+   * @return the member's name, null at the end of the object
+   * @throws JsonParseException when the value is not an object or the input ends inside it
+   */
+  public static String nextMember(JsonParser parser) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (JsonToken.END_OBJECT == token) {
+      return null;
+    }
+    if (JsonToken.FIELD_NAME != token) {
+      throw new JsonParseException(parser, "Expected an object member");
+    }
+    String name = parser.getCurrentName();
+    parser.nextToken();
+    return name;
+  }
+
+  /**
+   * Reads the value at a path of object member names, e.g. readValue(reply, "result", "data")
+   *
+   * @return the text of a scalar, the JSON of an object or array, null when the path does not exist or leads to null
+   */
+  public static String readValue(String json, String... path) throws IOException {
+    try (JsonParser parser = FACTORY.createParser(json)) {
+      if (!moveTo(parser, path)) {
+        return null;
+      }
+      return valueAsString(parser);
+    }
+  }
+
+  /**
+   * Advances a parser positioned before the root value to the value at the path
+   *
+   * @return false when the path does not exist
+   */
+  public static boolean moveTo(JsonParser parser, String... path) throws IOException {
+    JsonToken token = parser.nextToken();
+    for (String name : path) {
+      if (JsonToken.START_OBJECT != token) {
+        return false;
+      }
+      token = null;
+      while (JsonToken.END_OBJECT != parser.nextToken()) {
+        if (name.equals(parser.getCurrentName())) {
+          token = parser.nextToken();
+          break;
+        }
+        parser.nextToken();
+        parser.skipChildren();
+      }
+      if (null == token) {
+        return false;
+      }
+    }
+    return null != token;
+  }
+
+  /**
+   * @return the text of the scalar the parser is on, the JSON of the object or array it is on, null for null
+   */
+  public static String valueAsString(JsonParser parser) throws IOException {
+    JsonToken token = parser.getCurrentToken();
+    if (null == token || JsonToken.VALUE_NULL == token) {
+      return null;
+    }
+    if (token.isScalarValue()) {
+      return parser.getText();
+    }
+    StringWriter writer = new StringWriter(256);
+    try (JsonGenerator generator = FACTORY.createGenerator(writer)) {
+      generator.copyCurrentStructure(parser);
+    }
+    return writer.toString();
+  }
+}
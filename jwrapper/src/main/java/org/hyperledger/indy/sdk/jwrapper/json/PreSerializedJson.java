@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.json;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the JSON of values that are encoded over and over, e.g. the config of a pool ledger that is opened
+ * again on every reconnect. Values are compared by equals() and must not change once handed in.
+ * Once maxEntries distinct values were seen further values are encoded on every call.
+ *
+ * @param <T> the type of the payload
+ * @version 1.0 17-Oct-2026
+ */
+public class PreSerializedJson<T> {
+  private final JsonCodec<T> codec;
+  private final int maxEntries;
+  private final ConcurrentMap<T, String> encoded = new ConcurrentHashMap<T, String>();
+
+  public PreSerializedJson(JsonCodec<T> codec, int maxEntries) {
+    this.codec = codec;
+    this.maxEntries = maxEntries;
+  }
+
+  public String encode(T value) {
+    String json = encoded.get(value);
+    if (null == json) {
+      json = IndyJson.encode(codec, value);
+      if (encoded.size() < maxEntries) {
+        encoded.putIfAbsent(value, json);
+      }
+    }
+    return json;
+  }
+
+  public int getSize() {
+    return encoded.size();
+  }
+}
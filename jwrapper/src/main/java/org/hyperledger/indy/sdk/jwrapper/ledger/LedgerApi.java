@@ -0,0 +1,665 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.ledger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.hyperledger.indy.sdk.jwrapper.BatchResultListener;
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IIndyApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyBatch;
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyRequestCoalescer;
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A class that holds all Ledger related API's, i.e. the request builders and the submission of requests
+ *
+ * The GET_NYM, GET_ATTRIB and GET_SCHEMA builders can optionally be served in Java without crossing into
+ * the native library, see LedgerApi(IndyNativeApi, boolean)
+ * @version 1.0 17-Oct-2026
+ */
+public class LedgerApi implements IIndyApi {
+  private static Logger logger = LoggerFactory.getLogger(LedgerApi.class);
+
+  /**
+   * Operation types of the requests that only read from the ledger: GET_TXN, GET_ATTR, GET_NYM, GET_SCHEMA,
+   * GET_CLAIM_DEF and GET_DDO
+   */
+  private static final Set<String> READ_OPERATION_TYPES = new HashSet<String>(Arrays.asList("3", "104", "105", "107", "108", "120"));
+
+  private ObjectMapper objectMapper;
+  private IndyCommandDispatcher dispatcher;
+  private IndyNativeApi apiInstance;
+  private LedgerRequestBuilder localRequestBuilder;
+  private IndyRequestCoalescer requestCoalescer;
+
+  public LedgerApi(IndyNativeApi apiInstance) {
+    this(apiInstance, false);
+  }
+
+  /**
+   * @param apiInstance the native api to use
+   * @param buildReadRequestsLocally when true the GET_NYM, GET_ATTRIB and GET_SCHEMA requests are built in Java,
+   *                                 the JSON produced is laid out exactly like the one libindy produces
+   */
+  public LedgerApi(IndyNativeApi apiInstance, boolean buildReadRequestsLocally) {
+    this.apiInstance = apiInstance;
+    this.objectMapper = apiInstance.getObjectMapper();
+    this.dispatcher = apiInstance.getDispatcher();
+    if (buildReadRequestsLocally) {
+      this.localRequestBuilder = new LedgerRequestBuilder(apiInstance.getObjectMapper());
+    }
+  }
+
+  public IndyRequestCoalescer getRequestCoalescer() {
+    return requestCoalescer;
+  }
+  /**
+   * Opts in to coalescing of read requests, identical read requests (ignoring reqId and signature) submitted to
+   * the same pool while one of them is still in flight share one indy_submit_request call and its reply.
+   * Write requests are never coalesced. Pass null to switch coalescing off again.
+   */
+  public void setRequestCoalescer(IndyRequestCoalescer requestCoalescer) {
+    this.requestCoalescer = requestCoalescer;
+  }
+
+  /**
+   * A asynchronous sign and submit request API, signs the request with the submitter's key and sends it to the pool
+   *
+   * @param pool handle to a already open Pool
+   * @param wallet handle to a already open Wallet holding the submitter's keys
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param requestJson Request data json
+   * @return A future that returns a IndyResult which will also contain the reply json,
+   *         see LedgerReply.of() for reading it without parsing all of it
+   */
+  public CompletableFuture<GenericResult> signAndSubmitRequestAsync(Pool pool, Wallet wallet, String submitterDid,
+      String requestJson) {
+    return signAndSubmitRequestAsync(pool, wallet, submitterDid, requestJson, null);
+  }
+
+  /**
+   * A asynchronous sign and submit request API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#signAndSubmitRequestAsync(Pool, Wallet, String, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> signAndSubmitRequestAsync(Pool pool, Wallet wallet, String submitterDid,
+      String requestJson, Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new LedgerResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_sign_and_submit_request(cmdHandle, pool.getPoolHandle(), wallet.getWalletHandle(),
+        submitterDid, requestJson, dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * A synchronous sign and submit request API
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#signAndSubmitRequestAsync(Pool, Wallet, String, String)
+   */
+  public GenericResult signAndSubmitRequest(Pool pool, Wallet wallet, String submitterDid, String requestJson)
+      throws InterruptedException, ExecutionException {
+    return signAndSubmitRequestAsync(pool, wallet, submitterDid, requestJson).get();
+  }
+
+  /**
+   * A synchronous sign and submit request API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#signAndSubmitRequestAsync(Pool, Wallet, String, String, Duration)
+   */
+  public GenericResult signAndSubmitRequest(Pool pool, Wallet wallet, String submitterDid, String requestJson,
+      Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(signAndSubmitRequestAsync(pool, wallet, submitterDid, requestJson, timeout));
+  }
+
+  /**
+   * A asynchronous submit request API, sends a request that is already signed (or needs no signature) to the pool
+   *
+   * @param pool handle to a already open Pool
+   * @param requestJson Request data json
+   * @return A future that returns a IndyResult which will also contain the reply json,
+   *         see LedgerReply.of() for reading it without parsing all of it
+   */
+  public CompletableFuture<GenericResult> submitRequestAsync(Pool pool, String requestJson) {
+    return submitRequestAsync(pool, requestJson, null);
+  }
+
+  /**
+   * A asynchronous submit request API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#submitRequestAsync(Pool, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> submitRequestAsync(final Pool pool, final String requestJson,
+      final Duration timeout) {
+    IndyRequestCoalescer coalescer = requestCoalescer;
+    if (null != coalescer) {
+      Object key = readRequestKey(coalescer, pool, requestJson);
+      if (null != key) {
+        // the deadline is the caller's own, the shared native call has none
+        return coalescer.execute(key, () -> submitRequestNative(pool, requestJson, null), timeout);
+      }
+    }
+    return submitRequestNative(pool, requestJson, timeout);
+  }
+
+  private CompletableFuture<GenericResult> submitRequestNative(Pool pool, String requestJson, Duration timeout) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new LedgerResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
+
+    int rc = nativeApi.indy_submit_request(cmdHandle, pool.getPoolHandle(), requestJson,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * A synchronous submit request API
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#submitRequestAsync(Pool, String)
+   */
+  public GenericResult submitRequest(Pool pool, String requestJson) throws InterruptedException, ExecutionException {
+    return submitRequestAsync(pool, requestJson).get();
+  }
+
+  /**
+   * A synchronous submit request API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#submitRequestAsync(Pool, String, Duration)
+   */
+  public GenericResult submitRequest(Pool pool, String requestJson, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(submitRequestAsync(pool, requestJson, timeout));
+  }
+
+  /**
+   * Submits many requests to one pool, keeping at most maxInFlight of them outstanding in libindy at any time
+   *
+   * @param pool handle to a already open Pool
+   * @param requestJsons the requests to submit
+   * @param maxInFlight the maximum number of requests handed to libindy that have not called back yet
+   * @return one future per request, in the order of requestJsons
+   */
+  public List<CompletableFuture<GenericResult>> submitBatch(Pool pool, List<String> requestJsons, int maxInFlight) {
+    return submitBatch(pool, requestJsons, maxInFlight, null, null);
+  }
+
+  /**
+   * Submits many requests to one pool, keeping at most maxInFlight of them outstanding in libindy at any time
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#submitBatch(Pool, List, int)
+   * @param timeout deadline applied to every single request, null to wait forever
+   * @param listener receives every result as soon as it completes, may be null
+   */
+  public List<CompletableFuture<GenericResult>> submitBatch(final Pool pool, List<String> requestJsons, int maxInFlight,
+      final Duration timeout, BatchResultListener listener) {
+    return new IndyBatch<String, GenericResult>(requestJsons, maxInFlight,
+        requestJson -> submitRequestAsync(pool, requestJson, timeout), listener).start();
+  }
+
+  /**
+   * Signs and submits many requests to one pool, keeping at most maxInFlight of them outstanding in libindy at any time
+   *
+   * @param pool handle to a already open Pool
+   * @param wallet handle to a already open Wallet holding the submitter's keys
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param requestJsons the requests to sign and submit
+   * @param maxInFlight the maximum number of requests handed to libindy that have not called back yet
+   * @return one future per request, in the order of requestJsons
+   */
+  public List<CompletableFuture<GenericResult>> signAndSubmitBatch(Pool pool, Wallet wallet, String submitterDid,
+      List<String> requestJsons, int maxInFlight) {
+    return signAndSubmitBatch(pool, wallet, submitterDid, requestJsons, maxInFlight, null, null);
+  }
+
+  /**
+   * Signs and submits many requests to one pool, keeping at most maxInFlight of them outstanding in libindy at any time
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#signAndSubmitBatch(Pool, Wallet, String, List, int)
+   * @param timeout deadline applied to every single request, null to wait forever
+   * @param listener receives every result as soon as it completes, may be null
+   */
+  public List<CompletableFuture<GenericResult>> signAndSubmitBatch(final Pool pool, final Wallet wallet,
+      final String submitterDid, List<String> requestJsons, int maxInFlight, final Duration timeout,
+      BatchResultListener listener) {
+    return new IndyBatch<String, GenericResult>(requestJsons, maxInFlight,
+        requestJson -> signAndSubmitRequestAsync(pool, wallet, submitterDid, requestJson, timeout), listener).start();
+  }
+
+  /**
+   * Builds a GET_DDO request
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param targetDid Id of Identity stored in secured Wallet
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildGetDdoRequestAsync(String submitterDid, String targetDid) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_get_ddo_request(cmdHandle, submitterDid, targetDid,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetDdoRequestAsync(String, String)
+   */
+  public GenericResult buildGetDdoRequest(String submitterDid, String targetDid)
+      throws InterruptedException, ExecutionException {
+    return buildGetDdoRequestAsync(submitterDid, targetDid).get();
+  }
+
+  /**
+   * Builds a NYM request
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param targetDid Id of Identity stored in secured Wallet
+   * @param verkey verification key
+   * @param alias alias, may be null
+   * @param role Role of a user NYM record, may be null
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildNymRequestAsync(String submitterDid, String targetDid, String verkey,
+      String alias, String role) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_nym_request(cmdHandle, submitterDid, targetDid, verkey, alias, role,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildNymRequestAsync(String, String, String, String, String)
+   */
+  public GenericResult buildNymRequest(String submitterDid, String targetDid, String verkey, String alias, String role)
+      throws InterruptedException, ExecutionException {
+    return buildNymRequestAsync(submitterDid, targetDid, verkey, alias, role).get();
+  }
+
+  /**
+   * Builds an ATTRIB request, only one of hash, raw or enc is expected
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param targetDid Id of Identity stored in secured Wallet
+   * @param hash Hash of attribute data, may be null
+   * @param raw represented as json, where key is attribute name and value is it's value, may be null
+   * @param enc Encrypted attribute data, may be null
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildAttribRequestAsync(String submitterDid, String targetDid, String hash,
+      String raw, String enc) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_attrib_request(cmdHandle, submitterDid, targetDid, hash, raw, enc,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildAttribRequestAsync(String, String, String, String, String)
+   */
+  public GenericResult buildAttribRequest(String submitterDid, String targetDid, String hash, String raw, String enc)
+      throws InterruptedException, ExecutionException {
+    return buildAttribRequestAsync(submitterDid, targetDid, hash, raw, enc).get();
+  }
+
+  /**
+   * Builds a GET_ATTRIB request, served in Java when the LedgerApi was created to build read requests locally
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param targetDid Id of Identity stored in secured Wallet
+   * @param data name of the attribute to get
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildGetAttribRequestAsync(String submitterDid, String targetDid,
+      String data) {
+    if (null != localRequestBuilder) {
+      try {
+        return buildLocally(localRequestBuilder.buildGetAttribRequest(submitterDid, targetDid, data));
+      } catch (IllegalArgumentException e) {
+        return buildLocallyFailed(e);
+      }
+    }
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_get_attrib_request(cmdHandle, submitterDid, targetDid, data,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetAttribRequestAsync(String, String, String)
+   */
+  public GenericResult buildGetAttribRequest(String submitterDid, String targetDid, String data)
+      throws InterruptedException, ExecutionException {
+    return buildGetAttribRequestAsync(submitterDid, targetDid, data).get();
+  }
+
+  /**
+   * Builds a GET_NYM request, served in Java when the LedgerApi was created to build read requests locally
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param targetDid Id of Identity stored in secured Wallet
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildGetNymRequestAsync(String submitterDid, String targetDid) {
+    if (null != localRequestBuilder) {
+      try {
+        return buildLocally(localRequestBuilder.buildGetNymRequest(submitterDid, targetDid));
+      } catch (IllegalArgumentException e) {
+        return buildLocallyFailed(e);
+      }
+    }
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_get_nym_request(cmdHandle, submitterDid, targetDid,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetNymRequestAsync(String, String)
+   */
+  public GenericResult buildGetNymRequest(String submitterDid, String targetDid)
+      throws InterruptedException, ExecutionException {
+    return buildGetNymRequestAsync(submitterDid, targetDid).get();
+  }
+
+  /**
+   * Builds a SCHEMA request
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param data name, version, type, attr_names (ip, port, keys)
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildSchemaRequestAsync(String submitterDid, String data) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_schema_request(cmdHandle, submitterDid, data,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildSchemaRequestAsync(String, String)
+   */
+  public GenericResult buildSchemaRequest(String submitterDid, String data)
+      throws InterruptedException, ExecutionException {
+    return buildSchemaRequestAsync(submitterDid, data).get();
+  }
+
+  /**
+   * Builds a GET_SCHEMA request, served in Java when the LedgerApi was created to build read requests locally
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param dest Id of the Identity that created the schema
+   * @param data name, version
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildGetSchemaRequestAsync(String submitterDid, String dest, String data) {
+    if (null != localRequestBuilder) {
+      try {
+        return buildLocally(localRequestBuilder.buildGetSchemaRequest(submitterDid, dest, data));
+      } catch (IllegalArgumentException e) {
+        return buildLocallyFailed(e);
+      }
+    }
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_get_schema_request(cmdHandle, submitterDid, dest, data,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetSchemaRequestAsync(String, String, String)
+   */
+  public GenericResult buildGetSchemaRequest(String submitterDid, String dest, String data)
+      throws InterruptedException, ExecutionException {
+    return buildGetSchemaRequestAsync(submitterDid, dest, data).get();
+  }
+
+  /**
+   * Builds a CLAIM_DEF request
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param xref Seq. number of schema
+   * @param signatureType signature type (only CL supported now)
+   * @param data components of a key in json: N, R, S, Z
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildClaimDefTxnAsync(String submitterDid, int xref, String signatureType,
+      String data) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_claim_def_txn(cmdHandle, submitterDid, xref, signatureType, data,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildClaimDefTxnAsync(String, int, String, String)
+   */
+  public GenericResult buildClaimDefTxn(String submitterDid, int xref, String signatureType, String data)
+      throws InterruptedException, ExecutionException {
+    return buildClaimDefTxnAsync(submitterDid, xref, signatureType, data).get();
+  }
+
+  /**
+   * Builds a GET_CLAIM_DEF request
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param xref Seq. number of schema
+   * @param signatureType signature type (only CL supported now)
+   * @param origin issuer did
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildGetClaimDefTxnAsync(String submitterDid, int xref,
+      String signatureType, String origin) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_get_claim_def_txn(cmdHandle, submitterDid, xref, signatureType, origin,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetClaimDefTxnAsync(String, int, String, String)
+   */
+  public GenericResult buildGetClaimDefTxn(String submitterDid, int xref, String signatureType, String origin)
+      throws InterruptedException, ExecutionException {
+    return buildGetClaimDefTxnAsync(submitterDid, xref, signatureType, origin).get();
+  }
+
+  /**
+   * Builds a NODE request
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param targetDid Id of Identity stored in secured Wallet
+   * @param data id of a target NYM record
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildNodeRequestAsync(String submitterDid, String targetDid, String data) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_node_request(cmdHandle, submitterDid, targetDid, data,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildNodeRequestAsync(String, String, String)
+   */
+  public GenericResult buildNodeRequest(String submitterDid, String targetDid, String data)
+      throws InterruptedException, ExecutionException {
+    return buildNodeRequestAsync(submitterDid, targetDid, data).get();
+  }
+
+  /**
+   * Builds a GET_TXN request
+   *
+   * @param submitterDid Id of Identity stored in secured Wallet
+   * @param data seq_no of transaction in ledger
+   * @return A future that returns a IndyResult which will also contain the request json
+   */
+  public CompletableFuture<GenericResult> buildGetTxnRequestAsync(String submitterDid, int data) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_build_get_txn_request(cmdHandle, submitterDid, data,
+        dispatcher.getJsonReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetTxnRequestAsync(String, int)
+   */
+  public GenericResult buildGetTxnRequest(String submitterDid, int data)
+      throws InterruptedException, ExecutionException {
+    return buildGetTxnRequestAsync(submitterDid, data).get();
+  }
+
+  /**
+   * @return the coalescing key of a read request, null when the request writes to the ledger or cannot be parsed
+   */
+  private Object readRequestKey(IndyRequestCoalescer coalescer, Pool pool, String requestJson) {
+    if (null == requestJson) {
+      return null;
+    }
+    JsonNode request;
+    try {
+      // only reads are coalesced, writes are never parsed as a tree
+      if (!READ_OPERATION_TYPES.contains(IndyJson.readValue(requestJson, "operation", "type"))) {
+        return null;
+      }
+      request = objectMapper.readTree(requestJson);
+    } catch (IOException e) {
+      return null;
+    }
+    ((ObjectNode) request).remove("reqId");
+    ((ObjectNode) request).remove("signature");
+    return coalescer.key("indy_submit_request", Integer.valueOf(pool.getPoolHandle()), coalescer.canonicalJson(request));
+  }
+
+  private static CompletableFuture<GenericResult> buildLocally(String requestJson) {
+    GenericResult iResult = new GenericResult();
+    iResult.setErrorCode(ErrorCode.Success);
+    iResult.setReturnJson(requestJson);
+    return CompletableFuture.completedFuture(iResult);
+  }
+
+  /**
+   * Mirrors what libindy does with parameters it cannot use, the command is rejected with CommonInvalidStructure
+   * and, like any command the native API rejects, the future fails with an IndyException
+   */
+  private static CompletableFuture<GenericResult> buildLocallyFailed(IllegalArgumentException e) {
+    logger.error("Failed to build request locally: {}", e.getMessage());
+    CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    future.completeExceptionally(new IndyException(ErrorCode.CommonInvalidStructure));
+    return future;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.ledger;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a {@link LedgerReadCache}
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class LedgerCacheConfig {
+
+  /**
+   * Maximum number of replies kept, the least recently used reply is evicted first
+   */
+  private int maxEntries = 10000;
+
+  /**
+   * How long a reply stays valid per request type, a null value keeps the reply until it is evicted or invalidated.
+   * Schemas, claim definitions and transactions cannot change on the ledger, hence they are kept indefinitely by default.
+   */
+  private final Map<LedgerReadType, Duration> timeToLive = new EnumMap<LedgerReadType, Duration>(LedgerReadType.class);
+
+  public LedgerCacheConfig() {
+    super();
+    timeToLive.put(LedgerReadType.GET_NYM, Duration.ofMinutes(5));
+    timeToLive.put(LedgerReadType.GET_ATTRIB, Duration.ofMinutes(5));
+    timeToLive.put(LedgerReadType.GET_SCHEMA, null);
+    timeToLive.put(LedgerReadType.GET_CLAIM_DEF, null);
+    timeToLive.put(LedgerReadType.GET_TXN, null);
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+  public void setMaxEntries(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  public Duration getTimeToLive(LedgerReadType type) {
+    return timeToLive.get(type);
+  }
+  public void setTimeToLive(LedgerReadType type, Duration ttl) {
+    timeToLive.put(type, ttl);
+  }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.ledger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyRequestCoalescer;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A read-through cache in front of the ledger read path, i.e. build GET request + indy_submit_request.
+ *
+ * Replies are keyed by request type, pool name and target, the submitter is not part of the key as it does not
+ * influence the reply. Only successful REPLY answers are cached, concurrent misses for the same key share a single
+ * ledger round trip. The GenericResult instances handed out are shared, callers must not modify them.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class LedgerReadCache {
+  private static Logger logger = LoggerFactory.getLogger(LedgerReadCache.class);
+
+  private final LedgerApi ledgerApi;
+  private final ObjectMapper objectMapper;
+  private final LedgerCacheConfig config;
+
+  private final LinkedHashMap<CacheKey, CacheEntry> entries;
+  private final IndyRequestCoalescer loading;
+  /**
+   * The generation of the load in progress per key, guarded by entries. An invalidate removes the key so that the
+   * load, which may already hold the reply from before a write, does not put it back into the cache, and so that
+   * the next miss starts a new load rather than joining that one.
+   */
+  private final Map<CacheKey, Long> loadGenerations = new HashMap<CacheKey, Long>();
+  private long lastLoadGeneration;
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  public LedgerReadCache(IndyNativeApi apiInstance, LedgerApi ledgerApi) {
+    this(apiInstance, ledgerApi, new LedgerCacheConfig());
+  }
+
+  public LedgerReadCache(IndyNativeApi apiInstance, LedgerApi ledgerApi, LedgerCacheConfig config) {
+    this.ledgerApi = ledgerApi;
+    this.objectMapper = apiInstance.getObjectMapper();
+    this.loading = new IndyRequestCoalescer(objectMapper);
+    this.config = config;
+    final int maxEntries = config.getMaxEntries();
+    this.entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+        if (size() > maxEntries) {
+          evictionCount.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Resolves a NYM through the cache
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetNymRequestAsync(String, String)
+   */
+  public CompletableFuture<GenericResult> getNym(final Pool pool, final String submitterDid, final String targetDid) {
+    return get(new CacheKey(LedgerReadType.GET_NYM, pool.getPoolName(), targetDid), pool,
+        () -> ledgerApi.buildGetNymRequestAsync(submitterDid, targetDid));
+  }
+
+  /**
+   * Resolves an attribute through the cache
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetAttribRequestAsync(String, String, String)
+   */
+  public CompletableFuture<GenericResult> getAttrib(final Pool pool, final String submitterDid, final String targetDid,
+      final String data) {
+    return get(new CacheKey(LedgerReadType.GET_ATTRIB, pool.getPoolName(), targetDid + '\u0000' + data), pool,
+        () -> ledgerApi.buildGetAttribRequestAsync(submitterDid, targetDid, data));
+  }
+
+  /**
+   * Resolves a schema through the cache
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetSchemaRequestAsync(String, String, String)
+   */
+  public CompletableFuture<GenericResult> getSchema(final Pool pool, final String submitterDid, final String dest,
+      final String data) {
+    return get(new CacheKey(LedgerReadType.GET_SCHEMA, pool.getPoolName(), dest + '\u0000' + data), pool,
+        () -> ledgerApi.buildGetSchemaRequestAsync(submitterDid, dest, data));
+  }
+
+  /**
+   * Resolves a claim definition through the cache
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetClaimDefTxnAsync(String, int, String, String)
+   */
+  public CompletableFuture<GenericResult> getClaimDef(final Pool pool, final String submitterDid, final int xref,
+      final String signatureType, final String origin) {
+    return get(new CacheKey(LedgerReadType.GET_CLAIM_DEF, pool.getPoolName(), origin + '\u0000' + xref + '\u0000' + signatureType),
+        pool, () -> ledgerApi.buildGetClaimDefTxnAsync(submitterDid, xref, signatureType, origin));
+  }
+
+  /**
+   * Resolves a transaction by its sequence number through the cache, e.g. a schema referenced by schema_seq_no
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#buildGetTxnRequestAsync(String, int)
+   */
+  public CompletableFuture<GenericResult> getTxn(final Pool pool, final String submitterDid, final int seqNo) {
+    return get(new CacheKey(LedgerReadType.GET_TXN, pool.getPoolName(), Integer.toString(seqNo)), pool,
+        () -> ledgerApi.buildGetTxnRequestAsync(submitterDid, seqNo));
+  }
+
+  /**
+   * Drops every cached reply of the given type for the given target DID of a pool, e.g. after writing a new NYM
+   */
+  public void invalidate(LedgerReadType type, Pool pool, String targetDid) {
+    synchronized (entries) {
+      removeMatching(entries.keySet().iterator(), type, pool.getPoolName(), targetDid);
+      removeMatching(loadGenerations.keySet().iterator(), type, pool.getPoolName(), targetDid);
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+      loadGenerations.clear();
+    }
+  }
+
+  public int getSize() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+  public long getMissCount() {
+    return missCount.sum();
+  }
+  /**
+   * @return number of misses that were served by a ledger round trip already in progress for the same key
+   */
+  public long getCoalescedCount() {
+    return loading.getCoalescedCount();
+  }
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  private CompletableFuture<GenericResult> get(final CacheKey key, final Pool pool,
+      Supplier<CompletableFuture<GenericResult>> requestBuilder) {
+    Long generation;
+    synchronized (entries) {
+      CacheEntry entry = entries.get(key);
+      if (null != entry) {
+        if (entry.expiresAt - System.nanoTime() > 0) {
+          hitCount.increment();
+          return CompletableFuture.completedFuture(entry.result);
+        }
+        entries.remove(key);
+      }
+      generation = loadGenerations.get(key);
+      if (null == generation) {
+        generation = Long.valueOf(++lastLoadGeneration);
+        loadGenerations.put(key, generation);
+      }
+    }
+
+    // a miss after an invalidate does not join a load that started before it
+    final Long loadGeneration = generation;
+    return loading.execute(Arrays.asList(key, loadGeneration), () -> load(key, loadGeneration, pool, requestBuilder));
+  }
+
+  private CompletableFuture<GenericResult> load(final CacheKey key, final Long generation, final Pool pool,
+      Supplier<CompletableFuture<GenericResult>> requestBuilder) {
+    missCount.increment();
+    return requestBuilder.get().thenCompose(request -> {
+      if (ErrorCode.Success != request.getErrorCode()) {
+        return CompletableFuture.completedFuture(request);
+      }
+      return ledgerApi.submitRequestAsync(pool, request.getReturnJson());
+    }).whenComplete((result, failure) -> {
+      boolean cacheable = null == failure && isCacheable(key.type, result);
+      Duration ttl = config.getTimeToLive(key.type);
+      long expiresAt = null == ttl ? System.nanoTime() + Long.MAX_VALUE / 2 : System.nanoTime() + ttl.toNanos();
+      synchronized (entries) {
+        // not cached when the key was invalidated while the reply was on its way
+        if (loadGenerations.remove(key, generation) && cacheable) {
+          entries.put(key, new CacheEntry(result, expiresAt));
+        }
+      }
+    });
+  }
+
+  private static void removeMatching(Iterator<CacheKey> it, LedgerReadType type, String poolName, String targetDid) {
+    while (it.hasNext()) {
+      CacheKey key = it.next();
+      if (key.type == type && key.poolName.equals(poolName)
+          && (key.target.equals(targetDid) || key.target.startsWith(targetDid + '\u0000'))) {
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Only positive ledger answers are cached, for schemas, claim definitions and transactions which are kept indefinitely
+   * an answer without data (i.e. not yet on the ledger) is not cached either
+   */
+  private boolean isCacheable(LedgerReadType type, GenericResult result) {
+    if (ErrorCode.Success != result.getErrorCode() || null == result.getReturnJson()) {
+      return false;
+    }
+    LedgerReply reply = LedgerReply.of(result);
+    if (!reply.isWellFormed()) {
+      logger.warn("Not caching unparsable ledger reply for {}", type);
+      return false;
+    }
+    if (!reply.isReply()) {
+      return false;
+    }
+    return null != config.getTimeToLive(type) || reply.hasData();
+  }
+
+  private static class CacheEntry {
+    private final GenericResult result;
+    private final long expiresAt;
+
+    private CacheEntry(GenericResult result, long expiresAt) {
+      this.result = result;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private static class CacheKey {
+    private final LedgerReadType type;
+    private final String poolName;
+    private final String target;
+    private final int hash;
+
+    private CacheKey(LedgerReadType type, String poolName, String target) {
+      this.type = type;
+      this.poolName = poolName;
+      this.target = target;
+      this.hash = 31 * (31 * type.hashCode() + poolName.hashCode()) + target.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) obj;
+      return type == other.type && poolName.equals(other.poolName) && target.equals(other.target);
+    }
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.ledger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * A view of the reply json of indy_submit_request that parses on demand, i.e.
+ * {"op":"REPLY","result":{"type":..,"seqNo":..,"txnTime":..,"data":..,..},..} or {"op":"REJECT","reason":..,..}.
+ *
+ * The first access streams once over the envelope and the result object, keeping op, reason, type, seqNo and
+ * txnTime and only the position of result.data, everything else is skipped without building a tree. result.data
+ * is cut out of the raw reply when asked for, and unwrapped when the ledger sent it as a json string (e.g. GET_NYM).
+ * The raw reply is kept as is for passing it on, its UTF-8 bytes are encoded once when first asked for.
+ *
+ * Instances are immutable and can be shared between threads.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public final class LedgerReply {
+  public static final String OP_REPLY = "REPLY";
+
+  private final String raw;
+
+  private volatile Scan scan;
+
+  private volatile byte[] rawBytes;
+
+  public LedgerReply(String raw) {
+    if (null == raw) {
+      throw new IllegalArgumentException("A ledger reply cannot be null");
+    }
+    this.raw = raw;
+  }
+
+  /**
+   * @return the view of the reply of a ledger submission, the same (already scanned) view on every call when the
+   *         result came from the LedgerApi, null when the result carries no json
+   */
+  public static LedgerReply of(GenericResult result) {
+    if (result instanceof LedgerResult) {
+      return ((LedgerResult) result).getReply();
+    }
+    return null == result.getReturnJson() ? null : new LedgerReply(result.getReturnJson());
+  }
+
+  public String getRaw() {
+    return raw;
+  }
+
+  /**
+   * @return the raw reply as UTF-8, the array is shared and must not be modified
+   */
+  public byte[] getRawBytes() {
+    byte[] bytes = rawBytes;
+    if (null == bytes) {
+      bytes = raw.getBytes(StandardCharsets.UTF_8);
+      rawBytes = bytes;
+    }
+    return bytes;
+  }
+
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(getRawBytes());
+  }
+
+  /**
+   * @return false when the reply is not a json object, all other accessors then return null or false
+   */
+  public boolean isWellFormed() {
+    return scan().wellFormed;
+  }
+
+  /**
+   * @return true when the ledger processed the request, i.e. op is REPLY (and not REJECT or REQNACK)
+   */
+  public boolean isReply() {
+    return OP_REPLY.equals(scan().op);
+  }
+
+  public String getOp() {
+    return scan().op;
+  }
+
+  /**
+   * @return why the ledger rejected the request, null for a REPLY
+   */
+  public String getReason() {
+    return scan().reason;
+  }
+
+  /**
+   * @return result.type, the transaction type the reply answers e.g. 105 for GET_NYM
+   */
+  public String getType() {
+    return scan().type;
+  }
+
+  /**
+   * @return result.seqNo, null when the reply has none
+   */
+  public Long getSeqNo() {
+    return scan().seqNo;
+  }
+
+  /**
+   * @return result.txnTime, null when the reply has none
+   */
+  public Long getTxnTime() {
+    return scan().txnTime;
+  }
+
+  /**
+   * @return true when result.data is neither missing, null, empty nor an empty object or array,
+   *         i.e. the requested item exists on the ledger
+   */
+  public boolean hasData() {
+    Scan s = scan();
+    return null != s.dataText ? !s.dataText.isEmpty() : s.dataEnd > s.dataStart && !s.dataEmpty;
+  }
+
+  /**
+   * @return result.data as json, unwrapped when the ledger sent it as a json string, null when there is none
+   */
+  public String getDataJson() {
+    Scan s = scan();
+    if (null != s.dataText) {
+      return s.dataText;
+    }
+    return s.dataEnd > s.dataStart ? raw.substring(s.dataStart, s.dataEnd) : null;
+  }
+
+  /**
+   * Reads one value of result.data, e.g. readData("verkey") of a GET_NYM reply
+   *
+   * @return see IndyJson.readValue(), null when the reply has no data
+   * @throws IOException when the data is not json
+   */
+  public String readData(String... path) throws IOException {
+    String data = getDataJson();
+    return null == data ? null : IndyJson.readValue(data, path);
+  }
+
+  /**
+   * Decodes result.data, e.g. readData(NymData.CODEC) of a GET_NYM reply
+   *
+   * @return null when the reply has no data
+   * @throws IOException when the data is not what the codec reads
+   */
+  public <T> T readData(JsonCodec<T> codec) throws IOException {
+    return hasData() ? IndyJson.decode(codec, getDataJson()) : null;
+  }
+
+  @Override
+  public String toString() {
+    return raw;
+  }
+
+  private Scan scan() {
+    Scan s = scan;
+    if (null == s) {
+      // a race scans twice, the outcome is the same
+      s = new Scan();
+      try (JsonParser parser = IndyJson.getFactory().createParser(raw)) {
+        s.read(parser);
+      } catch (IOException e) {
+        s = new Scan();
+      }
+      scan = s;
+    }
+    return s;
+  }
+
+  private static class Scan {
+    private boolean wellFormed;
+    private String op;
+    private String reason;
+    private String type;
+    private Long seqNo;
+    private Long txnTime;
+    /**
+     * result.data when it is a scalar, e.g. a json string
+     */
+    private String dataText;
+    /**
+     * The position of result.data in the raw reply when it is an object or array
+     */
+    private int dataStart;
+    private int dataEnd;
+    private boolean dataEmpty;
+
+    private void read(JsonParser parser) throws IOException {
+      if (JsonToken.START_OBJECT != parser.nextToken()) {
+        return;
+      }
+      while (JsonToken.END_OBJECT != parser.nextToken()) {
+        String name = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+        if ("op".equals(name) && token.isScalarValue()) {
+          op = parser.getText();
+        } else if ("reason".equals(name) && token.isScalarValue()) {
+          reason = parser.getText();
+        } else if ("result".equals(name) && JsonToken.START_OBJECT == token) {
+          readResult(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      wellFormed = true;
+    }
+
+    private void readResult(JsonParser parser) throws IOException {
+      while (JsonToken.END_OBJECT != parser.nextToken()) {
+        String name = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+        if ("type".equals(name) && token.isScalarValue()) {
+          type = parser.getText();
+        } else if ("seqNo".equals(name) && token.isNumeric()) {
+          seqNo = parser.getLongValue();
+        } else if ("txnTime".equals(name) && token.isNumeric()) {
+          txnTime = parser.getLongValue();
+        } else if ("data".equals(name)) {
+          if (token.isStructStart()) {
+            dataStart = (int) parser.getTokenLocation().getCharOffset();
+            dataEmpty = true;
+            while (!parser.nextToken().isStructEnd()) {
+              dataEmpty = false;
+              parser.skipChildren();
+            }
+            dataEnd = (int) parser.getCurrentLocation().getCharOffset();
+          } else if (JsonToken.VALUE_NULL != token) {
+            dataText = parser.getText();
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+  }
+}
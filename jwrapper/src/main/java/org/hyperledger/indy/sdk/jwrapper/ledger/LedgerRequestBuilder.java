@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.ledger;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Builds the read request JSONs in Java, producing exactly the layout ledger.rs produces,
+ * i.e. {"reqId":..,"identifier":..,"operation":{"type":..,..}} with the same field order and escaping.
+ * The constant parts of every request are kept as templates so building a request is a couple of appends.
+ *
+ * Like libindy the reqId is derived from the current time in nanoseconds, it is additionally kept strictly
+ * increasing so that two requests built within the same clock tick never share a reqId.
+ * Unlike libindy the DIDs are not base58 validated, the ledger will reject a request with a malformed DID.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+class LedgerRequestBuilder {
+  static final String GET_ATTRIB = "104";
+  static final String GET_NYM = "105";
+  static final String GET_SCHEMA = "107";
+
+  private static final String REQ_ID_PREFIX = "{\"reqId\":";
+  private static final String IDENTIFIER_PREFIX = ",\"identifier\":\"";
+  private static final String OPERATION_PREFIX = "\",\"operation\":{\"type\":\"";
+  private static final String DEST_PREFIX = "\",\"dest\":\"";
+  private static final String RAW_PREFIX = "\",\"raw\":\"";
+  private static final String DATA_NAME_PREFIX = "\",\"data\":{\"name\":\"";
+  private static final String DATA_VERSION_PREFIX = "\",\"version\":\"";
+  private static final String OPERATION_SUFFIX = "\"}}";
+  private static final String DATA_SUFFIX = "\"}}}";
+
+  private final ObjectMapper objectMapper;
+  private final AtomicLong lastReqId = new AtomicLong();
+
+  LedgerRequestBuilder(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  String buildGetNymRequest(String submitterDid, String targetDid) {
+    StringBuilder sb = startRequest(submitterDid, GET_NYM);
+    sb.append(DEST_PREFIX);
+    appendEscaped(sb, required(targetDid));
+    return sb.append(OPERATION_SUFFIX).toString();
+  }
+
+  String buildGetAttribRequest(String submitterDid, String targetDid, String data) {
+    StringBuilder sb = startRequest(submitterDid, GET_ATTRIB);
+    sb.append(DEST_PREFIX);
+    appendEscaped(sb, required(targetDid));
+    sb.append(RAW_PREFIX);
+    appendEscaped(sb, required(data));
+    return sb.append(OPERATION_SUFFIX).toString();
+  }
+
+  /**
+   * @param data a json of the form {"name":..,"version":..} as expected by indy_build_get_schema_request
+   * @throws IllegalArgumentException when data cannot be parsed or lacks name or version
+   */
+  String buildGetSchemaRequest(String submitterDid, String dest, String data) {
+    JsonNode dataNode;
+    try {
+      dataNode = objectMapper.readTree(required(data));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid GET_SCHEMA data json", e);
+    }
+    JsonNode name = dataNode.get("name");
+    JsonNode version = dataNode.get("version");
+    if (null == name || !name.isTextual() || null == version || !version.isTextual()) {
+      throw new IllegalArgumentException("GET_SCHEMA data json must contain name and version");
+    }
+
+    StringBuilder sb = startRequest(submitterDid, GET_SCHEMA);
+    sb.append(DEST_PREFIX);
+    appendEscaped(sb, required(dest));
+    sb.append(DATA_NAME_PREFIX);
+    appendEscaped(sb, name.textValue());
+    sb.append(DATA_VERSION_PREFIX);
+    appendEscaped(sb, version.textValue());
+    return sb.append(DATA_SUFFIX).toString();
+  }
+
+  long nextReqId() {
+    long now = System.currentTimeMillis() * 1000000L + Math.floorMod(System.nanoTime(), 1000000L);
+    while (true) {
+      long last = lastReqId.get();
+      long next = now > last ? now : last + 1;
+      if (lastReqId.compareAndSet(last, next)) {
+        return next;
+      }
+    }
+  }
+
+  private StringBuilder startRequest(String submitterDid, String type) {
+    StringBuilder sb = new StringBuilder(256);
+    sb.append(REQ_ID_PREFIX).append(nextReqId()).append(IDENTIFIER_PREFIX);
+    appendEscaped(sb, required(submitterDid));
+    return sb.append(OPERATION_PREFIX).append(type);
+  }
+
+  private static void appendEscaped(StringBuilder sb, String value) {
+    sb.append(JsonStringEncoder.getInstance().quoteAsString(value));
+  }
+
+  private static String required(String value) {
+    if (null == value) {
+      throw new IllegalArgumentException("Request parameters cannot be null");
+    }
+    return value;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.ledger;
+
+import java.io.IOException;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * The result.data of a GET_NYM reply, i.e. {"dest":..,"identifier":..,"role":..,"verkey":..}, see
+ * LedgerReply.readData(JsonCodec). Fields that are null are left out when writing.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class NymData {
+  public static final JsonCodec<NymData> CODEC = new JsonCodec<NymData>() {
+    @Override
+    public void write(JsonGenerator generator, NymData value) throws IOException {
+      generator.writeStartObject();
+      writeOptional(generator, "dest", value.dest);
+      writeOptional(generator, "identifier", value.identifier);
+      writeOptional(generator, "role", value.role);
+      writeOptional(generator, "verkey", value.verkey);
+      generator.writeEndObject();
+    }
+
+    @Override
+    public NymData read(JsonParser parser) throws IOException {
+      String dest = null;
+      String identifier = null;
+      String role = null;
+      String verkey = null;
+      String name;
+      while (null != (name = IndyJson.nextMember(parser))) {
+        if ("dest".equals(name)) {
+          dest = parser.getValueAsString();
+        } else if ("identifier".equals(name)) {
+          identifier = parser.getValueAsString();
+        } else if ("role".equals(name)) {
+          role = parser.getValueAsString();
+        } else if ("verkey".equals(name)) {
+          verkey = parser.getValueAsString();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return new NymData(dest, identifier, role, verkey);
+    }
+
+    private void writeOptional(JsonGenerator generator, String name, String value) throws IOException {
+      if (null != value) {
+        generator.writeStringField(name, value);
+      }
+    }
+  };
+
+  private final String dest;
+
+  private final String identifier;
+
+  private final String role;
+
+  private final String verkey;
+
+  /**
+   * @param dest the DID the NYM is about
+   * @param identifier the DID that wrote the NYM
+   * @param role the DID's role, null for none
+   * @param verkey the DID's verkey, abbreviated when it starts with a '~'
+   */
+  public NymData(String dest, String identifier, String role, String verkey) {
+    this.dest = dest;
+    this.identifier = identifier;
+    this.role = role;
+    this.verkey = verkey;
+  }
+
+  public String getDest() {
+    return dest;
+  }
+  public String getIdentifier() {
+    return identifier;
+  }
+  public String getRole() {
+    return role;
+  }
+  public String getVerkey() {
+    return verkey;
+  }
+
+  @Override
+  public String toString() {
+    return "NymData [dest=" + dest + ", identifier=" + identifier + ", role=" + role + ", verkey=" + verkey + "]";
+  }
+}
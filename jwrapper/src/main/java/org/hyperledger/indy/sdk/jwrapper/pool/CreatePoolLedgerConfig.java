@@ -20,7 +20,15 @@
  */
 package org.hyperledger.indy.sdk.jwrapper.pool;
 
+import java.io.IOException;
+import java.util.Objects;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 
 /**
  * A POJO used as config param for the createPoolLedger method
@@ -28,6 +36,31 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  * @version 1.0 27-Jul-2017
  */
 class CreatePoolLedgerConfig {
+  /**
+   * Writes and reads the same JSON the ObjectMapper did for this bean
+   */
+  static final JsonCodec<CreatePoolLedgerConfig> CODEC = new JsonCodec<CreatePoolLedgerConfig>() {
+    @Override
+    public void write(JsonGenerator generator, CreatePoolLedgerConfig value) throws IOException {
+      generator.writeStartObject();
+      generator.writeStringField("genesis_txn", value.genesisFilePath);
+      generator.writeEndObject();
+    }
+
+    @Override
+    public CreatePoolLedgerConfig read(JsonParser parser) throws IOException {
+      CreatePoolLedgerConfig config = new CreatePoolLedgerConfig();
+      String name;
+      while (null != (name = IndyJson.nextMember(parser))) {
+        if ("genesis_txn".equals(name)) {
+          config.genesisFilePath = parser.getValueAsString();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return config;
+    }
+  };
 
   @JsonProperty("genesis_txn")
   private String genesisFilePath;
@@ -51,4 +84,15 @@ class CreatePoolLedgerConfig {
   public void setGenesisFilePath(String genesisFilePath) {
     this.genesisFilePath = genesisFilePath;
   }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(genesisFilePath);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof CreatePoolLedgerConfig
+        && Objects.equals(genesisFilePath, ((CreatePoolLedgerConfig) obj).genesisFilePath);
+  }
 }
@@ -20,10 +20,50 @@
  */
 package org.hyperledger.indy.sdk.jwrapper.pool;
 
+import java.io.IOException;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
 /**
  * @version 1.0 28-Jul-2017
  */
 class OpenPoolLedgerConfig {
+  /**
+   * Writes and reads the same JSON the ObjectMapper did for this bean
+   */
+  static final JsonCodec<OpenPoolLedgerConfig> CODEC = new JsonCodec<OpenPoolLedgerConfig>() {
+    @Override
+    public void write(JsonGenerator generator, OpenPoolLedgerConfig value) throws IOException {
+      generator.writeStartObject();
+      generator.writeBooleanField("refreshOnOpen", value.refreshOnOpen);
+      generator.writeNumberField("autoRefreshTime", value.autoRefreshTime);
+      generator.writeNumberField("networkTimeout", value.networkTimeout);
+      generator.writeEndObject();
+    }
+
+    @Override
+    public OpenPoolLedgerConfig read(JsonParser parser) throws IOException {
+      OpenPoolLedgerConfig config = new OpenPoolLedgerConfig();
+      String name;
+      while (null != (name = IndyJson.nextMember(parser))) {
+        if ("refreshOnOpen".equals(name)) {
+          config.refreshOnOpen = parser.getValueAsBoolean();
+        } else if ("autoRefreshTime".equals(name)) {
+          config.autoRefreshTime = parser.getValueAsInt();
+        } else if ("networkTimeout".equals(name)) {
+          config.networkTimeout = parser.getValueAsInt();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return config;
+    }
+  };
+
   private boolean refreshOnOpen;
   private int autoRefreshTime;
   private int networkTimeout;
@@ -46,4 +86,19 @@ class OpenPoolLedgerConfig {
   public void setNetworkTimeout(int networkTimeout) {
     this.networkTimeout = networkTimeout;
   }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Boolean.hashCode(refreshOnOpen) + autoRefreshTime) + networkTimeout;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof OpenPoolLedgerConfig)) {
+      return false;
+    }
+    OpenPoolLedgerConfig other = (OpenPoolLedgerConfig) obj;
+    return refreshOnOpen == other.refreshOnOpen && autoRefreshTime == other.autoRefreshTime
+        && networkTimeout == other.networkTimeout;
+  }
 }
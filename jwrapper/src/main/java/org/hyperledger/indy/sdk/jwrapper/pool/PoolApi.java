@@ -20,39 +20,43 @@
  */
 package org.hyperledger.indy.sdk.jwrapper.pool;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeoutException;
 
 import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
 import org.hyperledger.indy.sdk.jwrapper.IIndyApi;
-import org.hyperledger.indy.sdk.jwrapper.IndyCallback;
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
 import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
 import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
 import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.json.PreSerializedJson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sun.jna.Callback;
-
 /**
  * A class that holds all Pool related API's
  * @version 1.0 28-Jul-2017
  */
 public class PoolApi implements IIndyApi {
   private static Logger logger = LoggerFactory.getLogger(PoolApi.class);
-  
-  private ObjectMapper objectMapper;
-  private AtomicInteger cmdHandleCounter;
-  private NativeApi nativeApiInstance;
+
+  /**
+   * Pools are opened with the same few configs again and again (e.g. on every reconnect), so their JSON is kept
+   */
+  private static final int MAX_PRE_SERIALIZED_CONFIGS = 64;
+
+  private final PreSerializedJson<CreatePoolLedgerConfig> createConfigs =
+      new PreSerializedJson<CreatePoolLedgerConfig>(CreatePoolLedgerConfig.CODEC, MAX_PRE_SERIALIZED_CONFIGS);
+  private final PreSerializedJson<OpenPoolLedgerConfig> openConfigs =
+      new PreSerializedJson<OpenPoolLedgerConfig>(OpenPoolLedgerConfig.CODEC, MAX_PRE_SERIALIZED_CONFIGS);
+  private IndyCommandDispatcher dispatcher;
+  private IndyNativeApi apiInstance;
 
   public PoolApi(IndyNativeApi apiInstance) {
-    this.nativeApiInstance = apiInstance.getNativeApiInstance();
-    this.objectMapper = apiInstance.getObjectMapper();
-    this.cmdHandleCounter = apiInstance.getCmdHandleCounter();
+    this.apiInstance = apiInstance;
+    this.dispatcher = apiInstance.getDispatcher();
   }
 
   /**
@@ -63,27 +67,33 @@ public class PoolApi implements IIndyApi {
    *                        If file doesn't exists default one will be created.
    * @return A future that returns a IndyResult
    */
-  public Future<GenericResult> createPoolLedgerConfigAsync(Pool pool) {
+  public CompletableFuture<GenericResult> createPoolLedgerConfigAsync(Pool pool) {
+    return createPoolLedgerConfigAsync(pool, null);
+  }
+
+  /**
+   * A asynchronous create pool ledger config API with a deadline
+   *
+   * @param pool handle to a unused Pool instance
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> createPoolLedgerConfigAsync(Pool pool, Duration timeout) {
     final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
     GenericResult iResult = new GenericResult();
     
-    int cmdHandle = cmdHandleCounter.incrementAndGet();
     String configJson = null;
 
     if (null != pool.getSandboxFile()) {
-      CreatePoolLedgerConfig config = new CreatePoolLedgerConfig(pool.getSandboxFile());
-      try {
-        configJson = objectMapper.writeValueAsString(config);
-      } catch (JsonProcessingException e) {
-        future.completeExceptionally(e);
-        return future;
-      }
+      configJson = createConfigs.encode(new CreatePoolLedgerConfig(pool.getSandboxFile()));
     }
     
-    Callback callback = new IndyCallback.SimpleCallback(future, iResult);
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
     
-    int rc = nativeApiInstance.indy_create_pool_ledger_config(cmdHandle, pool.getPoolName(), configJson, callback);
-    iResult.setReturnValue(rc);
+    int rc = nativeApi.indy_create_pool_ledger_config(cmdHandle, pool.getPoolName(), configJson, dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
     return future;
   }
   
@@ -96,9 +106,20 @@ public class PoolApi implements IIndyApi {
    * @return A PoolHandle a Pool Instance
    */
   public Pool createPoolLedgerConfig(Pool pool) throws InterruptedException, ExecutionException {
-    final Future<GenericResult> future = createPoolLedgerConfigAsync(pool);
-    GenericResult r = future.get();
-    
+    return onPoolLedgerConfigCreated(pool, createPoolLedgerConfigAsync(pool).get());
+  }
+
+  /**
+   * A synchronous create pool ledger config API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.pool.PoolApi#createPoolLedgerConfigAsync(Pool, Duration)
+   */
+  public Pool createPoolLedgerConfig(Pool pool, Duration timeout) 
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return onPoolLedgerConfigCreated(pool, IndyCommandDispatcher.await(createPoolLedgerConfigAsync(pool, timeout)));
+  }
+
+  private Pool onPoolLedgerConfigCreated(Pool pool, GenericResult r) {
     if (r.getErrorCode().equals(ErrorCode.Success)) {
       pool.setStatus(PoolStatus.CREATED);
       return pool;
@@ -113,28 +134,33 @@ public class PoolApi implements IIndyApi {
    * @param pool handle to a already created Pool
    * @return A future that returns a IndyResult which will also contain pool handle
    */
-  public Future<GenericResult> openPoolLedgerAsync(Pool pool) {
+  public CompletableFuture<GenericResult> openPoolLedgerAsync(Pool pool) {
+    return openPoolLedgerAsync(pool, null);
+  }
+
+  /**
+   * A asynchronous open pool ledger API with a deadline
+   * @param pool handle to a already created Pool
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   * @return A future that returns a IndyResult which will also contain pool handle
+   */
+  public CompletableFuture<GenericResult> openPoolLedgerAsync(Pool pool, Duration timeout) {
     final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
     GenericResult iResult = new GenericResult();
     
-    int cmdHandle = cmdHandleCounter.incrementAndGet();
     OpenPoolLedgerConfig config = new OpenPoolLedgerConfig();
     config.setRefreshOnOpen(pool.isRefreshOnOpen());
     config.setAutoRefreshTime(pool.getAutoRefreshTime());
     config.setNetworkTimeout(pool.getNetworkTimeout());
- 
-    String configJson = null;
-    try {
-      configJson = objectMapper.writeValueAsString(config);
-    } catch (JsonProcessingException e) {
-      future.completeExceptionally(e);
-      return future;
-    }
+    String configJson = openConfigs.encode(config);
    
-    Callback callback = new IndyCallback.HandleReturningCallback(future, iResult);
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
  
-    int rc = nativeApiInstance.indy_open_pool_ledger(cmdHandle, pool.getPoolName(), configJson, callback);
-    iResult.setReturnValue(rc);
+    int rc = nativeApi.indy_open_pool_ledger(cmdHandle, pool.getPoolName(), configJson,
+        dispatcher.getHandleReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
     return future;
   }
   
@@ -144,10 +170,20 @@ public class PoolApi implements IIndyApi {
    * @return A PoolHandle Instance with settings the Pool was created with.
    */
   public Pool openPoolLedger(Pool pool) throws InterruptedException, ExecutionException {
-    
-    final Future<GenericResult> future = openPoolLedgerAsync(pool);
-    GenericResult r = future.get();
-    
+    return onPoolLedgerOpened(pool, openPoolLedgerAsync(pool).get());
+  }
+
+  /**
+   * A synchronous open pool ledger API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.pool.PoolApi#openPoolLedgerAsync(Pool, Duration)
+   */
+  public Pool openPoolLedger(Pool pool, Duration timeout) 
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return onPoolLedgerOpened(pool, IndyCommandDispatcher.await(openPoolLedgerAsync(pool, timeout)));
+  }
+
+  private Pool onPoolLedgerOpened(Pool pool, GenericResult r) {
     if (r.getErrorCode().equals(ErrorCode.Success)) {
       pool.setPoolHandle(r.getReturnHandle());
       pool.setStatus(PoolStatus.OPEN);
@@ -164,16 +200,26 @@ public class PoolApi implements IIndyApi {
    * @param pool pool handle returned by openPoolLedger()
    * @return A future that returns a IndyResult
    */
-  public Future<GenericResult> refreshPoolLedgerAsync(Pool pool) {
+  public CompletableFuture<GenericResult> refreshPoolLedgerAsync(Pool pool) {
+    return refreshPoolLedgerAsync(pool, null);
+  }
+
+  /**
+   * A asynchronous refresh pool ledger API with a deadline
+   * @param pool pool handle returned by openPoolLedger()
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> refreshPoolLedgerAsync(Pool pool, Duration timeout) {
     final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
     GenericResult iResult = new GenericResult();
     
-    int cmdHandle = cmdHandleCounter.incrementAndGet();
-   
-    Callback callback = new IndyCallback.SimpleCallback(future, iResult);
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
  
-    int rc = nativeApiInstance.indy_refresh_pool_ledger(cmdHandle, pool.getPoolHandle(), callback);
-    iResult.setReturnValue(rc);
+    int rc = nativeApi.indy_refresh_pool_ledger(cmdHandle, pool.getPoolHandle(), dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
     return future;
   }
   
@@ -183,8 +229,17 @@ public class PoolApi implements IIndyApi {
    * @return A IndyResult instance
    */
   public GenericResult refreshPoolLedger(Pool pool) throws InterruptedException, ExecutionException {
-    final Future<GenericResult> future = refreshPoolLedgerAsync(pool);
-    return future.get();
+    return refreshPoolLedgerAsync(pool).get();
+  }
+
+  /**
+   * A synchronous refresh pool ledger API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.pool.PoolApi#refreshPoolLedgerAsync(Pool, Duration)
+   */
+  public GenericResult refreshPoolLedger(Pool pool, Duration timeout) 
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(refreshPoolLedgerAsync(pool, timeout));
   }
   
   /**
@@ -192,16 +247,26 @@ public class PoolApi implements IIndyApi {
    * @param pool pool handle returned by openPoolLedger()
    * @return A future that returns a IndyResult
    */
-  public Future<GenericResult> closePoolLedgerAsync(Pool pool) {
+  public CompletableFuture<GenericResult> closePoolLedgerAsync(Pool pool) {
+    return closePoolLedgerAsync(pool, null);
+  }
+
+  /**
+   * A asynchronous close pool ledger API with a deadline
+   * @param pool pool handle returned by openPoolLedger()
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> closePoolLedgerAsync(Pool pool, Duration timeout) {
     final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
     GenericResult iResult = new GenericResult();
     
-    int cmdHandle = cmdHandleCounter.incrementAndGet();
-   
-    Callback callback = new IndyCallback.SimpleCallback(future, iResult);
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
  
-    int rc = nativeApiInstance.indy_close_pool_ledger(cmdHandle, pool.getPoolHandle(), callback);
-    iResult.setReturnValue(rc);
+    int rc = nativeApi.indy_close_pool_ledger(cmdHandle, pool.getPoolHandle(), dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
     return future;
   }
   
@@ -211,9 +276,20 @@ public class PoolApi implements IIndyApi {
    * @return A PoolHandle Instance with settings the Pool was created with.
    */
   public Pool closePoolLedger(Pool pool) throws InterruptedException, ExecutionException {
-    final Future<GenericResult> future = closePoolLedgerAsync(pool);
-    GenericResult r = future.get();
+    return onPoolLedgerClosed(pool, closePoolLedgerAsync(pool).get());
+  }
+
+  /**
+   * A synchronous close pool ledger API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.pool.PoolApi#closePoolLedgerAsync(Pool, Duration)
+   */
+  public Pool closePoolLedger(Pool pool, Duration timeout) 
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return onPoolLedgerClosed(pool, IndyCommandDispatcher.await(closePoolLedgerAsync(pool, timeout)));
+  }
 
+  private Pool onPoolLedgerClosed(Pool pool, GenericResult r) {
     if (r.getErrorCode().equals(ErrorCode.Success)) {
       pool.setStatus(PoolStatus.CLOSED);
     } else {
@@ -229,16 +305,26 @@ public class PoolApi implements IIndyApi {
    * @param poolName Name of the pool ledger configuration to delete
    * @return A future that returns a IndyResult
    */
-  public Future<GenericResult> deletePoolLedgerAsync(String poolName) {
+  public CompletableFuture<GenericResult> deletePoolLedgerAsync(String poolName) {
+    return deletePoolLedgerAsync(poolName, null);
+  }
+
+  /**
+   * A asynchronous delete pool ledger API with a deadline
+   * @param poolName Name of the pool ledger configuration to delete
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> deletePoolLedgerAsync(String poolName, Duration timeout) {
     final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
     GenericResult iResult = new GenericResult();
     
-    int cmdHandle = cmdHandleCounter.incrementAndGet();
-   
-    Callback callback = new IndyCallback.SimpleCallback(future, iResult);
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
  
-    int rc = nativeApiInstance.indy_delete_pool_ledger_config(cmdHandle, poolName, callback);
-    iResult.setReturnValue(rc);
+    int rc = nativeApi.indy_delete_pool_ledger_config(cmdHandle, poolName, dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
     return future;
   }
   
@@ -248,7 +334,16 @@ public class PoolApi implements IIndyApi {
    * @return A IndyResult instance
    */
   public GenericResult deletePoolLedger(String poolName) throws InterruptedException, ExecutionException {
-    final Future<GenericResult> future = deletePoolLedgerAsync(poolName);
-    return future.get();
+    return deletePoolLedgerAsync(poolName).get();
+  }
+
+  /**
+   * A synchronous delete pool ledger API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.pool.PoolApi#deletePoolLedgerAsync(String, Duration)
+   */
+  public GenericResult deletePoolLedger(String poolName, Duration timeout) 
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(deletePoolLedgerAsync(poolName, timeout));
   }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.pool;
+
+/**
+ * Health statistics of one pool handle owned by a {@link PoolManager}, derived from the outcome of the callbacks
+ * of the requests routed to it. Latency and error rate are exponentially weighted moving averages.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class PoolHealth {
+  private static final double ALPHA = 0.2;
+
+  private double averageLatencyMillis;
+  private double errorRate;
+  private int consecutiveFailures;
+  private long requestCount;
+  private long failureCount;
+  private long lastRefreshMillis;
+
+  synchronized void recordSuccess(long latencyNanos) {
+    double latencyMillis = latencyNanos / 1000000.0;
+    averageLatencyMillis = 0 == requestCount ? latencyMillis : averageLatencyMillis + ALPHA * (latencyMillis - averageLatencyMillis);
+    errorRate = errorRate * (1 - ALPHA);
+    consecutiveFailures = 0;
+    requestCount++;
+  }
+
+  synchronized void recordFailure(long latencyNanos) {
+    double latencyMillis = latencyNanos / 1000000.0;
+    averageLatencyMillis = 0 == requestCount ? latencyMillis : averageLatencyMillis + ALPHA * (latencyMillis - averageLatencyMillis);
+    errorRate = errorRate * (1 - ALPHA) + ALPHA;
+    consecutiveFailures++;
+    requestCount++;
+    failureCount++;
+  }
+
+  synchronized void recordRefresh() {
+    lastRefreshMillis = System.currentTimeMillis();
+  }
+
+  synchronized void reset() {
+    averageLatencyMillis = 0;
+    errorRate = 0;
+    consecutiveFailures = 0;
+  }
+
+  /**
+   * @return the routing score, lower is better: the average latency penalized by the error rate
+   */
+  synchronized double score() {
+    return (averageLatencyMillis + 1) * (1 + 10 * errorRate);
+  }
+
+  public synchronized double getAverageLatencyMillis() {
+    return averageLatencyMillis;
+  }
+  public synchronized double getErrorRate() {
+    return errorRate;
+  }
+  public synchronized int getConsecutiveFailures() {
+    return consecutiveFailures;
+  }
+  public synchronized long getRequestCount() {
+    return requestCount;
+  }
+  public synchronized long getFailureCount() {
+    return failureCount;
+  }
+  /**
+   * @return when the pool ledger was last opened or refreshed successfully, 0 if never,
+   *         the PoolManager skips a periodic refresh that would follow it too closely
+   */
+  public synchronized long getLastRefreshMillis() {
+    return lastRefreshMillis;
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.pool;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Owns a set of open pool handles that serve the same ledger and routes ledger submissions to the best of them.
+ *
+ * Every pool is refreshed periodically by a background thread, the health of every handle is tracked from the
+ * outcome of the requests routed to it and a handle that the pool reports as terminated or that keeps failing is
+ * taken out of the rotation and reopened in the background with an exponential backoff. Callers never block on
+ * any of this, a submission only ever goes to a handle that is currently open.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class PoolManager {
+  private static Logger logger = LoggerFactory.getLogger(PoolManager.class);
+
+  private static final long MAX_REOPEN_DELAY_MILLIS = 60000;
+
+  private final PoolApi poolApi;
+  private final LedgerApi ledgerApi;
+  private final ScheduledExecutorService scheduler;
+  private final List<ManagedPool> pools = new CopyOnWriteArrayList<ManagedPool>();
+  /**
+   * Set by shutdown(), guarded by this, a handle opened afterwards is closed straight away
+   */
+  private boolean shutdown;
+
+  /**
+   * How often every pool ledger is refreshed with indy_refresh_pool_ledger, null disables refreshing
+   */
+  private Duration refreshInterval = Duration.ofMinutes(10);
+
+  /**
+   * Deadline for every routed request, null to wait forever
+   */
+  private Duration requestTimeout;
+
+  /**
+   * Number of failures in a row after which a handle is considered broken and reopened
+   */
+  private int failureThreshold = 3;
+
+  public PoolManager(PoolApi poolApi, LedgerApi ledgerApi) {
+    this(poolApi, ledgerApi, Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread t = new Thread(runnable, "indy-pool-manager");
+      t.setDaemon(true);
+      return t;
+    }));
+  }
+
+  public PoolManager(PoolApi poolApi, LedgerApi ledgerApi, ScheduledExecutorService scheduler) {
+    this.poolApi = poolApi;
+    this.ledgerApi = ledgerApi;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Takes ownership of a pool whose ledger config has been created, the pool is opened in the background
+   * and joins the rotation as soon as it is open
+   *
+   * @param pool a created Pool
+   * @return the health statistics that will be tracked for this pool
+   */
+  public PoolHealth addPool(Pool pool) {
+    ManagedPool managed = new ManagedPool(pool);
+    pools.add(managed);
+    open(managed);
+    if (null != refreshInterval) {
+      long millis = refreshInterval.toMillis();
+      managed.refreshTask = scheduler.scheduleWithFixedDelay(() -> refresh(managed), millis, millis, TimeUnit.MILLISECONDS);
+    }
+    return managed.health;
+  }
+
+  /**
+   * Routes a request to the best open pool
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#submitRequestAsync(Pool, String, Duration)
+   */
+  public CompletableFuture<GenericResult> submitRequestAsync(String requestJson) {
+    ManagedPool managed = selectPool();
+    if (null == managed) {
+      return noPoolAvailable();
+    }
+    long start = System.nanoTime();
+    return track(managed, start, ledgerApi.submitRequestAsync(managed.pool, requestJson, requestTimeout));
+  }
+
+  /**
+   * Routes a request to be signed and submitted to the best open pool
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi#signAndSubmitRequestAsync(Pool, Wallet, String, String, Duration)
+   */
+  public CompletableFuture<GenericResult> signAndSubmitRequestAsync(Wallet wallet, String submitterDid, String requestJson) {
+    ManagedPool managed = selectPool();
+    if (null == managed) {
+      return noPoolAvailable();
+    }
+    long start = System.nanoTime();
+    return track(managed, start,
+        ledgerApi.signAndSubmitRequestAsync(managed.pool, wallet, submitterDid, requestJson, requestTimeout));
+  }
+
+  /**
+   * @return the open pool with the best latency and error rate, or null if no pool is open right now
+   */
+  public Pool getBestPool() {
+    ManagedPool managed = selectPool();
+    return null == managed ? null : managed.pool;
+  }
+
+  /**
+   * @return the open pools, in the order they were added
+   */
+  public List<Pool> getOpenPools() {
+    List<Pool> open = new ArrayList<Pool>();
+    for (ManagedPool managed : pools) {
+      if (PoolStatus.OPEN == managed.state) {
+        open.add(managed.pool);
+      }
+    }
+    return open;
+  }
+
+  /**
+   * Stops the background work and closes all pool handles, including those of opens still in progress
+   */
+  public synchronized void shutdown() {
+    shutdown = true;
+    for (ManagedPool managed : pools) {
+      if (null != managed.refreshTask) {
+        managed.refreshTask.cancel(false);
+      }
+      if (PoolStatus.OPEN == managed.state) {
+        managed.state = PoolStatus.CLOSED;
+        poolApi.closePoolLedgerAsync(managed.pool);
+      }
+    }
+    pools.clear();
+    scheduler.shutdownNow();
+  }
+
+  public Duration getRefreshInterval() {
+    return refreshInterval;
+  }
+  public void setRefreshInterval(Duration refreshInterval) {
+    this.refreshInterval = refreshInterval;
+  }
+
+  public Duration getRequestTimeout() {
+    return requestTimeout;
+  }
+  public void setRequestTimeout(Duration requestTimeout) {
+    this.requestTimeout = requestTimeout;
+  }
+
+  public int getFailureThreshold() {
+    return failureThreshold;
+  }
+  public void setFailureThreshold(int failureThreshold) {
+    this.failureThreshold = failureThreshold;
+  }
+
+  private ManagedPool selectPool() {
+    ManagedPool best = null;
+    double bestScore = Double.MAX_VALUE;
+    for (ManagedPool managed : pools) {
+      if (PoolStatus.OPEN != managed.state) {
+        continue;
+      }
+      double score = managed.health.score();
+      if (score < bestScore) {
+        best = managed;
+        bestScore = score;
+      }
+    }
+    return best;
+  }
+
+  private CompletableFuture<GenericResult> track(final ManagedPool managed, final long start,
+      CompletableFuture<GenericResult> future) {
+    // the caller sees the outcome only once it has been counted
+    return future.whenComplete((result, failure) -> {
+      long latency = System.nanoTime() - start;
+      ErrorCode errorCode = null != result ? result.getErrorCode() : null;
+      Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+      if (cause instanceof IndyException) {
+        errorCode = ((IndyException) cause).getErrorCode();
+      }
+      // a request refused before it reached the pool says nothing about the pool's health
+      if (!isPoolFailure(errorCode) && !(cause instanceof TimeoutException)) {
+        managed.health.recordSuccess(latency);
+        return;
+      }
+      managed.health.recordFailure(latency);
+      if (ErrorCode.PoolLedgerTerminated == errorCode || ErrorCode.PoolLedgerInvalidPoolHandle == errorCode
+          || managed.health.getConsecutiveFailures() >= failureThreshold) {
+        markFailed(managed);
+      }
+    });
+  }
+
+  /**
+   * Errors that say something about the state of the pool rather than about the request that was sent
+   */
+  private static boolean isPoolFailure(ErrorCode errorCode) {
+    return ErrorCode.PoolLedgerTerminated == errorCode || ErrorCode.PoolLedgerInvalidPoolHandle == errorCode
+        || ErrorCode.LedgerNoConsensusError == errorCode || ErrorCode.CommonIOError == errorCode;
+  }
+
+  private void refresh(final ManagedPool managed) {
+    if (PoolStatus.OPEN != managed.state) {
+      return;
+    }
+    // a pool (re)opened since the last tick has just read the ledger
+    Duration interval = refreshInterval;
+    long sinceRefresh = System.currentTimeMillis() - managed.health.getLastRefreshMillis();
+    if (null != interval && sinceRefresh < interval.toMillis() / 2) {
+      return;
+    }
+    poolApi.refreshPoolLedgerAsync(managed.pool, requestTimeout).whenComplete((result, failure) -> {
+      if (null == failure && ErrorCode.Success == result.getErrorCode()) {
+        managed.health.recordRefresh();
+      } else {
+        logger.warn("Failed to refresh pool ledger: {}", managed.pool.getPoolName());
+      }
+    });
+  }
+
+  private synchronized void markFailed(final ManagedPool managed) {
+    if (PoolStatus.OPEN != managed.state) {
+      return;
+    }
+    logger.warn("Taking pool: {} out of rotation, it will be reopened", managed.pool.getPoolName());
+    managed.state = PoolStatus.CLOSED;
+    poolApi.closePoolLedgerAsync(managed.pool).whenComplete((result, failure) -> open(managed));
+  }
+
+  private void open(final ManagedPool managed) {
+    if (!pools.contains(managed)) {
+      return;
+    }
+    poolApi.openPoolLedgerAsync(managed.pool, requestTimeout).whenComplete((result, failure) -> {
+      if (null == failure && ErrorCode.Success == result.getErrorCode()) {
+        opened(managed, result.getReturnHandle());
+        return;
+      }
+      long delay = Math.min(MAX_REOPEN_DELAY_MILLIS, 1000L << Math.min(16, managed.reopenAttempts++));
+      logger.warn("Failed to open pool: {}, retrying in {} ms", managed.pool.getPoolName(), delay);
+      if (!scheduler.isShutdown()) {
+        scheduler.schedule(() -> open(managed), delay, TimeUnit.MILLISECONDS);
+      }
+    });
+  }
+
+  private synchronized void opened(ManagedPool managed, int poolHandle) {
+    managed.pool.setPoolHandle(poolHandle);
+    managed.pool.setStatus(PoolStatus.OPEN);
+    if (shutdown) {
+      logger.info("Closing pool: {} handle: {} opened after shutdown", managed.pool.getPoolName(), poolHandle);
+      poolApi.closePoolLedgerAsync(managed.pool);
+      return;
+    }
+    managed.health.reset();
+    managed.health.recordRefresh();
+    managed.reopenAttempts = 0;
+    managed.state = PoolStatus.OPEN;
+    logger.info("Pool: {} is open with handle: {}", managed.pool.getPoolName(), poolHandle);
+  }
+
+  private static CompletableFuture<GenericResult> noPoolAvailable() {
+    CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    future.completeExceptionally(new IllegalStateException("No open pool is available"));
+    return future;
+  }
+
+  private static class ManagedPool {
+    private final Pool pool;
+    private final PoolHealth health = new PoolHealth();
+    private volatile PoolStatus state = PoolStatus.CREATED;
+    private volatile int reopenAttempts;
+    private ScheduledFuture<?> refreshTask;
+
+    private ManagedPool(Pool pool) {
+      this.pool = pool;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.signus;
+
+import java.io.IOException;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * The identity json of createAndStoreMyDid, replaceKeys and storeTheirDid, i.e. {"did":..,"verkey":..,"seed":..,
+ * "crypto_type":..}. Fields that are null are left out, so new IdentityInfo(null, null, null, null) is the {} of
+ * a random DID.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class IdentityInfo {
+  public static final JsonCodec<IdentityInfo> CODEC = new JsonCodec<IdentityInfo>() {
+    @Override
+    public void write(JsonGenerator generator, IdentityInfo value) throws IOException {
+      generator.writeStartObject();
+      writeOptional(generator, "did", value.did);
+      writeOptional(generator, "verkey", value.verkey);
+      writeOptional(generator, "seed", value.seed);
+      writeOptional(generator, "crypto_type", value.cryptoType);
+      generator.writeEndObject();
+    }
+
+    @Override
+    public IdentityInfo read(JsonParser parser) throws IOException {
+      String did = null;
+      String verkey = null;
+      String seed = null;
+      String cryptoType = null;
+      String name;
+      while (null != (name = IndyJson.nextMember(parser))) {
+        if ("did".equals(name)) {
+          did = parser.getValueAsString();
+        } else if ("verkey".equals(name)) {
+          verkey = parser.getValueAsString();
+        } else if ("seed".equals(name)) {
+          seed = parser.getValueAsString();
+        } else if ("crypto_type".equals(name)) {
+          cryptoType = parser.getValueAsString();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return new IdentityInfo(did, verkey, seed, cryptoType);
+    }
+
+    private void writeOptional(JsonGenerator generator, String name, String value) throws IOException {
+      if (null != value) {
+        generator.writeStringField(name, value);
+      }
+    }
+  };
+
+  private final String did;
+
+  private final String verkey;
+
+  private final String seed;
+
+  private final String cryptoType;
+
+  public IdentityInfo(String did, String verkey, String seed, String cryptoType) {
+    this.did = did;
+    this.verkey = verkey;
+    this.seed = seed;
+    this.cryptoType = cryptoType;
+  }
+
+  /**
+   * @return the identity of a DID of another party to be stored with storeTheirDid
+   */
+  public static IdentityInfo their(String did, String verkey) {
+    return new IdentityInfo(did, verkey, null, null);
+  }
+
+  /**
+   * @return the identity of a DID of this party whose keys are derived from seed, for createAndStoreMyDid
+   */
+  public static IdentityInfo fromSeed(String seed) {
+    return new IdentityInfo(null, null, seed, null);
+  }
+
+  public String getDid() {
+    return did;
+  }
+  public String getVerkey() {
+    return verkey;
+  }
+  public String getSeed() {
+    return seed;
+  }
+  public String getCryptoType() {
+    return cryptoType;
+  }
+
+  @Override
+  public String toString() {
+    // the seed is secret
+    return "IdentityInfo [did=" + did + ", verkey=" + verkey + ", cryptoType=" + cryptoType + "]";
+  }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.signus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.hyperledger.indy.sdk.jwrapper.BatchResultListener;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IIndyApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyBatch;
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+
+/**
+ * A class that holds all Signus related API's.
+ *
+ * Messages are passed to and returned from libindy as UTF-8 bytes. A byte[] that already ends with a NUL byte,
+ * as returned by encode(), is handed to libindy as is, so a message that is signed or verified repeatedly is
+ * encoded once instead of on every call. The bulk methods keep up to maxInFlight commands outstanding in libindy
+ * and return one future per message, in the order of the messages.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class SignusApi implements IIndyApi {
+
+  private IndyCommandDispatcher dispatcher;
+  private IndyNativeApi apiInstance;
+
+  public SignusApi(IndyNativeApi apiInstance) {
+    this.apiInstance = apiInstance;
+    this.dispatcher = apiInstance.getDispatcher();
+  }
+
+  /**
+   * A asynchronous create and store my DID API
+   *
+   * @param wallet handle to a already open Wallet
+   * @param didJson Identity information as json, e.g. {"did":..,"seed":..,"crypto_type":..}, pass {} for a random DID
+   * @return A future that returns a SignusResult holding the did, verkey and pk
+   */
+  public CompletableFuture<SignusResult> createAndStoreMyDidAsync(Wallet wallet, String didJson) {
+    final CompletableFuture<SignusResult> future = new CompletableFuture<SignusResult>();
+    SignusResult iResult = new SignusResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_create_and_store_my_did(cmdHandle, wallet.getWalletHandle(), didJson,
+        dispatcher.getCallback(SignusCallback.DidCallback.class, SignusCallback.DidCallback::new));
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public SignusResult createAndStoreMyDid(Wallet wallet, String didJson) throws InterruptedException, ExecutionException {
+    return createAndStoreMyDidAsync(wallet, didJson).get();
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.signus.SignusApi#createAndStoreMyDidAsync(Wallet, String)
+   */
+  public CompletableFuture<SignusResult> createAndStoreMyDidAsync(Wallet wallet, IdentityInfo identity) {
+    return createAndStoreMyDidAsync(wallet, IndyJson.encode(IdentityInfo.CODEC, identity));
+  }
+
+  public SignusResult createAndStoreMyDid(Wallet wallet, IdentityInfo identity)
+      throws InterruptedException, ExecutionException {
+    return createAndStoreMyDidAsync(wallet, identity).get();
+  }
+
+  /**
+   * A asynchronous replace keys API
+   *
+   * @param identityJson e.g. {"seed":..,"crypto_type":..}
+   * @return A future that returns a SignusResult holding the new verkey and pk
+   */
+  public CompletableFuture<SignusResult> replaceKeysAsync(Wallet wallet, String did, String identityJson) {
+    final CompletableFuture<SignusResult> future = new CompletableFuture<SignusResult>();
+    SignusResult iResult = new SignusResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_replace_keys(cmdHandle, wallet.getWalletHandle(), did, identityJson,
+        dispatcher.getCallback(SignusCallback.KeysCallback.class, SignusCallback.KeysCallback::new));
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public SignusResult replaceKeys(Wallet wallet, String did, String identityJson)
+      throws InterruptedException, ExecutionException {
+    return replaceKeysAsync(wallet, did, identityJson).get();
+  }
+
+  /**
+   * A asynchronous store their DID API
+   *
+   * @param identityJson e.g. {"did":..,"verkey":..,"crypto_type":..}
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> storeTheirDidAsync(Wallet wallet, String identityJson) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_store_their_did(cmdHandle, wallet.getWalletHandle(), identityJson, dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public GenericResult storeTheirDid(Wallet wallet, String identityJson) throws InterruptedException, ExecutionException {
+    return storeTheirDidAsync(wallet, identityJson).get();
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.signus.SignusApi#storeTheirDidAsync(Wallet, String)
+   */
+  public CompletableFuture<GenericResult> storeTheirDidAsync(Wallet wallet, IdentityInfo identity) {
+    return storeTheirDidAsync(wallet, IndyJson.encode(IdentityInfo.CODEC, identity));
+  }
+
+  public GenericResult storeTheirDid(Wallet wallet, IdentityInfo identity) throws InterruptedException, ExecutionException {
+    return storeTheirDidAsync(wallet, identity).get();
+  }
+
+  /**
+   * A asynchronous sign API
+   *
+   * @param wallet handle to a already open Wallet holding the keys of did
+   * @param message the message as UTF-8, see encode()
+   * @return A future that returns a SignusResult whose message is the signed message
+   */
+  public CompletableFuture<SignusResult> signAsync(Wallet wallet, String did, byte[] message) {
+    final CompletableFuture<SignusResult> future = new CompletableFuture<SignusResult>();
+    SignusResult iResult = new SignusResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_sign(cmdHandle, wallet.getWalletHandle(), did, terminated(message),
+        dispatcher.getCallback(SignusCallback.MessageCallback.class, SignusCallback.MessageCallback::new));
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public CompletableFuture<SignusResult> signAsync(Wallet wallet, String did, ByteBuffer message) {
+    return signAsync(wallet, did, encode(message));
+  }
+
+  public CompletableFuture<SignusResult> signAsync(Wallet wallet, String did, String message) {
+    return signAsync(wallet, did, encode(message));
+  }
+
+  public SignusResult sign(Wallet wallet, String did, byte[] message) throws InterruptedException, ExecutionException {
+    return signAsync(wallet, did, message).get();
+  }
+
+  /**
+   * A asynchronous verify signature API. When the wallet does not know the verkey of did, libindy looks it up
+   * on the ledger through the pool.
+   *
+   * @param signedMessage the signed message as UTF-8, see encode()
+   * @return A future that returns a SignusResult, isValid() tells whether the signature is valid
+   */
+  public CompletableFuture<SignusResult> verifySignatureAsync(Wallet wallet, Pool pool, String did, byte[] signedMessage) {
+    final CompletableFuture<SignusResult> future = new CompletableFuture<SignusResult>();
+    SignusResult iResult = new SignusResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_verify_signature(cmdHandle, wallet.getWalletHandle(), pool.getPoolHandle(), did,
+        terminated(signedMessage), dispatcher.getCallback(SignusCallback.VerifyCallback.class, SignusCallback.VerifyCallback::new));
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public CompletableFuture<SignusResult> verifySignatureAsync(Wallet wallet, Pool pool, String did, ByteBuffer signedMessage) {
+    return verifySignatureAsync(wallet, pool, did, encode(signedMessage));
+  }
+
+  public CompletableFuture<SignusResult> verifySignatureAsync(Wallet wallet, Pool pool, String did, String signedMessage) {
+    return verifySignatureAsync(wallet, pool, did, encode(signedMessage));
+  }
+
+  public SignusResult verifySignature(Wallet wallet, Pool pool, String did, byte[] signedMessage)
+      throws InterruptedException, ExecutionException {
+    return verifySignatureAsync(wallet, pool, did, signedMessage).get();
+  }
+
+  /**
+   * A asynchronous encrypt API, encrypts the message from myDid for did
+   *
+   * @param message the message as UTF-8, see encode()
+   * @return A future that returns a SignusResult holding the encrypted message and the nonce
+   */
+  public CompletableFuture<SignusResult> encryptAsync(Wallet wallet, Pool pool, String myDid, String did, byte[] message) {
+    final CompletableFuture<SignusResult> future = new CompletableFuture<SignusResult>();
+    SignusResult iResult = new SignusResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_encrypt(cmdHandle, wallet.getWalletHandle(), pool.getPoolHandle(), myDid, did,
+        terminated(message), dispatcher.getCallback(SignusCallback.EncryptCallback.class, SignusCallback.EncryptCallback::new));
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public SignusResult encrypt(Wallet wallet, Pool pool, String myDid, String did, byte[] message)
+      throws InterruptedException, ExecutionException {
+    return encryptAsync(wallet, pool, myDid, did, message).get();
+  }
+
+  /**
+   * A asynchronous decrypt API, decrypts a message did encrypted for myDid
+   *
+   * @param encryptedMessage and nonce as returned by encrypt
+   * @return A future that returns a SignusResult whose message is the decrypted message
+   */
+  public CompletableFuture<SignusResult> decryptAsync(Wallet wallet, String myDid, String did, byte[] encryptedMessage,
+      byte[] nonce) {
+    final CompletableFuture<SignusResult> future = new CompletableFuture<SignusResult>();
+    SignusResult iResult = new SignusResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_decrypt(cmdHandle, wallet.getWalletHandle(), myDid, did, terminated(encryptedMessage),
+        terminated(nonce), dispatcher.getCallback(SignusCallback.MessageCallback.class, SignusCallback.MessageCallback::new));
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    return future;
+  }
+
+  public SignusResult decrypt(Wallet wallet, String myDid, String did, byte[] encryptedMessage, byte[] nonce)
+      throws InterruptedException, ExecutionException {
+    return decryptAsync(wallet, myDid, did, encryptedMessage, nonce).get();
+  }
+
+  /**
+   * Signs many messages, keeping at most maxInFlight of them outstanding in libindy at any time
+   *
+   * @param messages the messages as UTF-8, see encode()
+   * @param maxInFlight the maximum number of sign commands handed to libindy that have not called back yet
+   * @return one future per message, in the order of messages
+   */
+  public List<CompletableFuture<SignusResult>> signAll(Wallet wallet, String did, List<byte[]> messages, int maxInFlight) {
+    return signAll(wallet, did, messages, maxInFlight, null);
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.signus.SignusApi#signAll(Wallet, String, List, int)
+   * @param listener receives every result as soon as it completes, may be null
+   */
+  public List<CompletableFuture<SignusResult>> signAll(final Wallet wallet, final String did, List<byte[]> messages,
+      int maxInFlight, BatchResultListener listener) {
+    return new IndyBatch<byte[], SignusResult>(messages, maxInFlight,
+        message -> signAsync(wallet, did, message), listener).start();
+  }
+
+  /**
+   * Signs many messages spreading them round robin over several handles of wallets that all hold the keys of did
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.signus.SignusApi#signAll(Wallet, String, List, int)
+   */
+  public List<CompletableFuture<SignusResult>> signAll(final List<Wallet> wallets, final String did,
+      final List<byte[]> messages, int maxInFlight, BatchResultListener listener) {
+    if (wallets.isEmpty()) {
+      throw new IllegalArgumentException("At least one wallet is needed");
+    }
+    return new IndyBatch<Integer, SignusResult>(indexes(messages.size()), maxInFlight,
+        index -> signAsync(wallets.get(index.intValue() % wallets.size()), did, messages.get(index.intValue())), listener).start();
+  }
+
+  /**
+   * Verifies many signed messages of one DID, keeping at most maxInFlight of them outstanding in libindy at any time
+   *
+   * @param signedMessages the signed messages as UTF-8, see encode()
+   * @param maxInFlight the maximum number of verify commands handed to libindy that have not called back yet
+   * @return one future per message, in the order of signedMessages
+   */
+  public List<CompletableFuture<SignusResult>> verifyAll(Wallet wallet, Pool pool, String did, List<byte[]> signedMessages,
+      int maxInFlight) {
+    return verifyAll(wallet, pool, did, signedMessages, maxInFlight, null);
+  }
+
+  /**
+   * @see org.hyperledger.indy.sdk.jwrapper.signus.SignusApi#verifyAll(Wallet, Pool, String, List, int)
+   * @param listener receives every result as soon as it completes, may be null
+   */
+  public List<CompletableFuture<SignusResult>> verifyAll(final Wallet wallet, final Pool pool, final String did,
+      List<byte[]> signedMessages, int maxInFlight, BatchResultListener listener) {
+    return new IndyBatch<byte[], SignusResult>(signedMessages, maxInFlight,
+        message -> verifySignatureAsync(wallet, pool, did, message), listener).start();
+  }
+
+  /**
+   * Encodes a message once so that it can be passed to any of the byte[] methods without being copied again
+   *
+   * @return the UTF-8 bytes followed by a NUL byte
+   */
+  public static byte[] encode(String message) {
+    return terminated(message.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Copies the remaining bytes of the buffer, which must hold UTF-8, without moving its position
+   *
+   * @return the bytes followed by a NUL byte
+   */
+  public static byte[] encode(ByteBuffer message) {
+    ByteBuffer source = message.duplicate();
+    byte[] bytes = new byte[source.remaining() + 1];
+    source.get(bytes, 0, bytes.length - 1);
+    return bytes;
+  }
+
+  /**
+   * libindy takes C strings, a message that is not terminated yet is copied once with a NUL appended
+   */
+  private static byte[] terminated(byte[] message) {
+    if (null == message || (message.length > 0 && 0 == message[message.length - 1])) {
+      return message;
+    }
+    return Arrays.copyOf(message, message.length + 1);
+  }
+
+  private static List<Integer> indexes(int count) {
+    List<Integer> indexes = new ArrayList<Integer>(count);
+    for (int i = 0; i < count; i++) {
+      indexes.add(Integer.valueOf(i));
+    }
+    return indexes;
+  }
+}
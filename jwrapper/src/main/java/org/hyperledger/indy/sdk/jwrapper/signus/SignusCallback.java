@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.signus;
+
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
+
+import com.sun.jna.Callback;
+import com.sun.jna.Pointer;
+
+/**
+ * The callbacks of the signus functions. The messages are taken as a Pointer and copied out as bytes,
+ * JNA would otherwise decode them into a String on libindy's callback thread.
+ * One instance of each exists per {@link IndyCommandDispatcher}, see IndyCommandDispatcher.getCallback().
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class SignusCallback {
+
+  /**
+   * indy_create_and_store_my_did returns the did, its verkey and its public key
+   */
+  public static class DidCallback implements Callback {
+    private final IndyCommandDispatcher dispatcher;
+    DidCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
+    }
+
+    public void callback(int cmdHandle, int error, final String did, final String verkey, final String pk) {
+      dispatcher.complete(cmdHandle, error, iResult -> {
+        SignusResult r = (SignusResult) iResult;
+        r.setDid(did);
+        r.setVerkey(verkey);
+        r.setPk(pk);
+      });
+    }
+  }
+
+  /**
+   * indy_replace_keys returns the new verkey and public key
+   */
+  public static class KeysCallback implements Callback {
+    private final IndyCommandDispatcher dispatcher;
+    KeysCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
+    }
+
+    public void callback(int cmdHandle, int error, final String verkey, final String pk) {
+      dispatcher.complete(cmdHandle, error, iResult -> {
+        SignusResult r = (SignusResult) iResult;
+        r.setVerkey(verkey);
+        r.setPk(pk);
+      });
+    }
+  }
+
+  /**
+   * indy_sign and indy_decrypt return a message
+   */
+  public static class MessageCallback implements Callback {
+    private final IndyCommandDispatcher dispatcher;
+    MessageCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
+    }
+
+    public void callback(int cmdHandle, int error, final Pointer message) {
+      dispatcher.complete(cmdHandle, error, iResult -> ((SignusResult) iResult).setMessage(bytes(message)));
+    }
+  }
+
+  /**
+   * indy_encrypt returns the encrypted message and the nonce used
+   */
+  public static class EncryptCallback implements Callback {
+    private final IndyCommandDispatcher dispatcher;
+    EncryptCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
+    }
+
+    public void callback(int cmdHandle, int error, final Pointer encryptedMessage, final Pointer nonce) {
+      dispatcher.complete(cmdHandle, error, iResult -> {
+        SignusResult r = (SignusResult) iResult;
+        r.setMessage(bytes(encryptedMessage));
+        r.setNonce(bytes(nonce));
+      });
+    }
+  }
+
+  /**
+   * indy_verify_signature returns whether the signature is valid, a Rust bool only defines the lowest byte
+   */
+  public static class VerifyCallback implements Callback {
+    private final IndyCommandDispatcher dispatcher;
+    VerifyCallback(IndyCommandDispatcher dispatcher) {
+      this.dispatcher = dispatcher;
+    }
+
+    public void callback(int cmdHandle, int error, final byte valid) {
+      dispatcher.complete(cmdHandle, error, iResult -> ((SignusResult) iResult).setValid(0 != valid));
+    }
+  }
+
+  /**
+   * Copies a NUL terminated string out of native memory without decoding it
+   */
+  static byte[] bytes(Pointer p) {
+    if (null == p) {
+      return null;
+    }
+    return p.getByteArray(0, (int) p.indexOf(0, (byte) 0));
+  }
+}
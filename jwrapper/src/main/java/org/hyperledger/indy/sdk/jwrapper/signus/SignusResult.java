@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.signus;
+
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+
+/**
+ * The outcome of a signus command, only the fields the command returns are set
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class SignusResult extends GenericResult {
+  private String did;
+
+  private String verkey;
+
+  private String pk;
+
+  /**
+   * The signed, encrypted or decrypted message as UTF-8, without a terminating NUL
+   */
+  private byte[] message;
+
+  private byte[] nonce;
+
+  private boolean valid;
+
+  public String getDid() {
+    return did;
+  }
+  public void setDid(String did) {
+    this.did = did;
+  }
+  public String getVerkey() {
+    return verkey;
+  }
+  public void setVerkey(String verkey) {
+    this.verkey = verkey;
+  }
+  public String getPk() {
+    return pk;
+  }
+  public void setPk(String pk) {
+    this.pk = pk;
+  }
+  public byte[] getMessage() {
+    return message;
+  }
+  public void setMessage(byte[] message) {
+    this.message = message;
+  }
+  public byte[] getNonce() {
+    return nonce;
+  }
+  public void setNonce(byte[] nonce) {
+    this.nonce = nonce;
+  }
+  public boolean isValid() {
+    return valid;
+  }
+  public void setValid(boolean valid) {
+    this.valid = valid;
+  }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.signus;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hyperledger.indy.sdk.jwrapper.BatchResultListener;
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyBatch;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyRequestCoalescer;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerReply;
+import org.hyperledger.indy.sdk.jwrapper.ledger.NymData;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Makes sure the verkey of a counterparty is in the wallet before indy_verify_signature or indy_encrypt run,
+ * so that libindy verifies and encrypts locally instead of resolving the verkey on the ledger every time.
+ *
+ * On the first use of a DID with a wallet its NYM is read from the ledger and stored in the wallet through
+ * indy_store_their_did. The wallet, by name and handle, and DID are then remembered for timeToLive, after that the
+ * NYM is read and stored again so that a key rotation is picked up. Concurrent misses for the same wallet and DID
+ * share a single ledger round trip through an {@link IndyRequestCoalescer}. Call invalidate() when a DID is known to
+ * have rotated its key.
+ * Note that libindy itself also refreshes a stored DID from the ledger once the wallet's freshness_time passed.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class VerkeyCache {
+  private static Logger logger = LoggerFactory.getLogger(VerkeyCache.class);
+
+  private final SignusApi signusApi;
+  private final LedgerApi ledgerApi;
+  private final String submitterDid;
+  private final long timeToLiveNanos;
+
+  private final LinkedHashMap<CacheKey, CacheEntry> entries;
+  /**
+   * Storing the same verkey twice is harmless, so resolving it qualifies for coalescing
+   */
+  private final IndyRequestCoalescer loading = new IndyRequestCoalescer();
+  /**
+   * The generation of the resolution in progress per key, guarded by entries. An invalidate removes the key so that
+   * the resolution, which may already hold the verkey from before the rotation, does not put it back into the cache,
+   * and so that the next miss starts a new resolution rather than joining that one.
+   */
+  private final Map<CacheKey, Long> loadGenerations = new HashMap<CacheKey, Long>();
+  private long lastLoadGeneration;
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * @param submitterDid the DID the GET_NYM requests are sent as
+   * @param maxEntries the number of wallet and DID pairs remembered, the least recently used is evicted first
+   * @param timeToLive how long a stored verkey is trusted before it is read from the ledger again
+   */
+  public VerkeyCache(SignusApi signusApi, LedgerApi ledgerApi, String submitterDid, final int maxEntries,
+      Duration timeToLive) {
+    this.signusApi = signusApi;
+    this.ledgerApi = ledgerApi;
+    this.submitterDid = submitterDid;
+    this.timeToLiveNanos = timeToLive.toNanos();
+    this.entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+        if (size() > maxEntries) {
+          evictionCount.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Verifies the signature once the verkey of did is in the wallet
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.signus.SignusApi#verifySignatureAsync(Wallet, Pool, String, byte[])
+   */
+  public CompletableFuture<SignusResult> verifySignatureAsync(final Wallet wallet, final Pool pool, final String did,
+      final byte[] signedMessage) {
+    return resolveVerkeyAsync(wallet, pool, did)
+        .thenCompose(verkey -> signusApi.verifySignatureAsync(wallet, pool, did, signedMessage));
+  }
+
+  /**
+   * Verifies many signed messages of one DID, the verkey is resolved at most once
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.signus.SignusApi#verifyAll(Wallet, Pool, String, List, int, BatchResultListener)
+   */
+  public List<CompletableFuture<SignusResult>> verifyAll(final Wallet wallet, final Pool pool, final String did,
+      List<byte[]> signedMessages, int maxInFlight, BatchResultListener listener) {
+    return new IndyBatch<byte[], SignusResult>(signedMessages, maxInFlight,
+        message -> verifySignatureAsync(wallet, pool, did, message), listener).start();
+  }
+
+  /**
+   * Encrypts the message once the verkey of did is in the wallet
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.signus.SignusApi#encryptAsync(Wallet, Pool, String, String, byte[])
+   */
+  public CompletableFuture<SignusResult> encryptAsync(final Wallet wallet, final Pool pool, final String myDid,
+      final String did, final byte[] message) {
+    return resolveVerkeyAsync(wallet, pool, did)
+        .thenCompose(verkey -> signusApi.encryptAsync(wallet, pool, myDid, did, message));
+  }
+
+  /**
+   * Makes sure the verkey of did is stored in the wallet
+   *
+   * @return A future that returns the verkey, fails with an IndyException when the NYM cannot be read or stored
+   */
+  public CompletableFuture<String> resolveVerkeyAsync(final Wallet wallet, final Pool pool, final String did) {
+    final CacheKey key = new CacheKey(walletKey(wallet), did);
+    Long generation;
+    synchronized (entries) {
+      CacheEntry entry = entries.get(key);
+      if (null != entry) {
+        if (entry.expiresAt - System.nanoTime() > 0) {
+          hitCount.increment();
+          return CompletableFuture.completedFuture(entry.verkey);
+        }
+        entries.remove(key);
+      }
+      generation = loadGenerations.get(key);
+      if (null == generation) {
+        generation = Long.valueOf(++lastLoadGeneration);
+        loadGenerations.put(key, generation);
+      }
+    }
+
+    // a miss after an invalidate does not join a resolution that started before it
+    final Long loadGeneration = generation;
+    return loading.execute(Arrays.asList(key, loadGeneration), () -> resolve(key, loadGeneration, wallet, pool, did));
+  }
+
+  /**
+   * Stores a verkey learned out of band, e.g. from a connection handshake, without asking the ledger
+   *
+   * @return A future that returns a IndyResult of indy_store_their_did
+   */
+  public CompletableFuture<GenericResult> storeAsync(final Wallet wallet, final String did, final String verkey) {
+    return signusApi.storeTheirDidAsync(wallet, IdentityInfo.their(did, verkey)).whenComplete((result, failure) -> {
+      if (null == failure && ErrorCode.Success == result.getErrorCode()) {
+        CacheKey key = new CacheKey(walletKey(wallet), did);
+        synchronized (entries) {
+          // a resolution in progress must not replace this verkey with the one it read before
+          loadGenerations.remove(key);
+          entries.put(key, new CacheEntry(verkey, System.nanoTime() + timeToLiveNanos));
+        }
+      }
+    });
+  }
+
+  /**
+   * Forgets the verkey of did for all wallets, the next use reads its NYM from the ledger again
+   */
+  public void invalidate(String did) {
+    synchronized (entries) {
+      removeMatching(entries.keySet().iterator(), did);
+      removeMatching(loadGenerations.keySet().iterator(), did);
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+      loadGenerations.clear();
+    }
+  }
+
+  public int getSize() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+  public long getMissCount() {
+    return loading.getExecutedCount();
+  }
+  /**
+   * @return number of misses that were served by a resolution already in progress for the same DID
+   */
+  public long getCoalescedCount() {
+    return loading.getCoalescedCount();
+  }
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  /**
+   * GET_NYM, then indy_store_their_did with the verkey found
+   */
+  private CompletableFuture<String> resolve(final CacheKey key, final Long generation, final Wallet wallet, Pool pool,
+      final String did) {
+    CompletableFuture<String> resolved = ledgerApi.buildGetNymRequestAsync(submitterDid, did)
+        .thenCompose(request -> ledgerApi.submitRequestAsync(pool, checked(request).getReturnJson()))
+        .thenCompose(reply -> {
+          final String verkey = verkey(did, LedgerReply.of(checked(reply)));
+          return signusApi.storeTheirDidAsync(wallet, IdentityInfo.their(did, verkey)).thenApply(stored -> {
+            checked(stored);
+            return verkey;
+          });
+        });
+    return resolved.whenComplete((verkey, failure) -> {
+      synchronized (entries) {
+        // not cached when the DID was invalidated while its NYM was on its way
+        if (loadGenerations.remove(key, generation) && null == failure) {
+          entries.put(key, new CacheEntry(verkey, System.nanoTime() + timeToLiveNanos));
+        }
+      }
+    });
+  }
+
+  private static void removeMatching(Iterator<CacheKey> it, String did) {
+    while (it.hasNext()) {
+      if (it.next().did.equals(did)) {
+        it.remove();
+      }
+    }
+  }
+
+  private static String walletKey(Wallet wallet) {
+    return wallet.getWalletHandle() + "\u0000" + wallet.getWalletName();
+  }
+
+  /**
+   * @return the verkey of the NYM in a GET_NYM reply, whose result.data is the NYM as a json string
+   */
+  private String verkey(String did, LedgerReply reply) {
+    if (null == reply || !reply.isWellFormed()) {
+      logger.warn("Unparsable GET_NYM reply for {}", did);
+      throw new CompletionException(new IndyException(ErrorCode.CommonInvalidStructure));
+    }
+    if (!reply.isReply()) {
+      logger.warn("Ledger rejected GET_NYM for {}: {}", did, reply.getReason());
+      throw new CompletionException(new IndyException(ErrorCode.LedgerInvalidTransaction));
+    }
+    NymData nym;
+    try {
+      nym = reply.readData(NymData.CODEC);
+    } catch (IOException e) {
+      logger.warn("Unparsable NYM on the ledger for {}", did);
+      throw new CompletionException(new IndyException(ErrorCode.CommonInvalidStructure));
+    }
+    String verkey = null == nym ? null : nym.getVerkey();
+    if (null == verkey) {
+      logger.warn("No verkey on the ledger for {}", did);
+      throw new CompletionException(new IndyException(ErrorCode.CommonInvalidState));
+    }
+    return verkey;
+  }
+
+  private static <R extends GenericResult> R checked(R result) {
+    if (ErrorCode.Success != result.getErrorCode()) {
+      throw new CompletionException(new IndyException(null == result.getErrorCode() ? ErrorCode.CommonInvalidState : result.getErrorCode()));
+    }
+    return result;
+  }
+
+  private static class CacheEntry {
+    private final String verkey;
+    private final long expiresAt;
+
+    private CacheEntry(String verkey, long expiresAt) {
+      this.verkey = verkey;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private static class CacheKey {
+    private final String wallet;
+    private final String did;
+
+    private CacheKey(String wallet, String did) {
+      this.wallet = wallet;
+      this.did = did;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * wallet.hashCode() + did.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) obj;
+      return wallet.equals(other.wallet) && did.equals(other.did);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.sim;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The distribution the SimulatedNativeApi draws the latency of a call from, i.e. the time until the callback arrives
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public abstract class LatencyDistribution {
+
+  /**
+   * @return the next latency in nanoseconds, never negative
+   */
+  public abstract long nextNanos();
+
+  /**
+   * Callbacks arrive as soon as a callback thread picks them up
+   */
+  public static LatencyDistribution none() {
+    return constant(Duration.ZERO);
+  }
+
+  public static LatencyDistribution constant(Duration latency) {
+    final long nanos = latency.toNanos();
+    return new LatencyDistribution() {
+      @Override
+      public long nextNanos() {
+        return nanos;
+      }
+    };
+  }
+
+  /**
+   * Uniformly distributed between min (inclusive) and max (exclusive)
+   */
+  public static LatencyDistribution uniform(Duration min, Duration max) {
+    final long minNanos = min.toNanos();
+    final long maxNanos = max.toNanos();
+    if (maxNanos <= minNanos) {
+      throw new IllegalArgumentException("max must be greater than min");
+    }
+    return new LatencyDistribution() {
+      @Override
+      public long nextNanos() {
+        return ThreadLocalRandom.current().nextLong(minNanos, maxNanos);
+      }
+    };
+  }
+
+  /**
+   * Exponentially distributed with the given mean, the latency of independent arrivals
+   */
+  public static LatencyDistribution exponential(Duration mean) {
+    final double meanNanos = mean.toNanos();
+    return new LatencyDistribution() {
+      @Override
+      public long nextNanos() {
+        return (long) (-meanNanos * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+      }
+    };
+  }
+
+  /**
+   * Log-normally distributed with the given median, sigma controls the length of the tail (e.g. 0.5).
+   * The usual shape of network round trips: most calls close to the median, a few much slower.
+   */
+  public static LatencyDistribution logNormal(Duration median, final double sigma) {
+    final double mu = Math.log(Math.max(1, median.toNanos()));
+    return new LatencyDistribution() {
+      @Override
+      public long nextNanos() {
+        return (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+      }
+    };
+  }
+}
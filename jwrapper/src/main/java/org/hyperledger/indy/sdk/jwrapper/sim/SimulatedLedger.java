@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.sim;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An in-memory ledger answering submitted requests with replies shaped like the ones of indy-node.
+ * NYM, ATTRIB, SCHEMA, CLAIM_DEF and NODE writes are kept and served to the matching GET requests and GET_TXN.
+ * Signatures are not checked, a write only has to be submitted through sign_and_submit to be accepted.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+class SimulatedLedger {
+  static final String NODE = "0";
+  static final String NYM = "1";
+  static final String GET_TXN = "3";
+  static final String ATTRIB = "100";
+  static final String SCHEMA = "101";
+  static final String CLAIM_DEF = "102";
+  static final String GET_ATTRIB = "104";
+  static final String GET_NYM = "105";
+  static final String GET_SCHEMA = "107";
+  static final String GET_CLAIM_DEF = "108";
+
+  private static final Set<String> WRITE_TYPES = new HashSet<String>(Arrays.asList(NODE, NYM, ATTRIB, SCHEMA, CLAIM_DEF));
+
+  private final ObjectMapper objectMapper;
+  private final AtomicLong seqNoCounter = new AtomicLong();
+  private final ConcurrentMap<Long, ObjectNode> transactions = new ConcurrentHashMap<Long, ObjectNode>();
+  private final ConcurrentMap<String, ObjectNode> state = new ConcurrentHashMap<String, ObjectNode>();
+
+  SimulatedLedger(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * @return the parsed request, null if it is not a json object with an operation
+   */
+  JsonNode parse(String requestJson) {
+    JsonNode request = parseJson(requestJson);
+    return null != request && request.path("operation").isObject() ? request : null;
+  }
+
+  /**
+   * @return the parsed json, null if it cannot be parsed
+   */
+  JsonNode parseJson(String json) {
+    try {
+      return null == json ? null : objectMapper.readTree(json);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  boolean isWrite(JsonNode request) {
+    return WRITE_TYPES.contains(request.path("operation").path("type").asText());
+  }
+
+  int getTransactionCount() {
+    return transactions.size();
+  }
+
+  String reply(JsonNode request, boolean signed) throws JsonProcessingException {
+    JsonNode operation = request.path("operation");
+    String type = operation.path("type").asText();
+    if (WRITE_TYPES.contains(type)) {
+      return signed ? write(request, operation, type) : reject(request, "client request invalid: MissingSignature()");
+    }
+
+    ObjectNode result = newResult(request, operation);
+    switch (type) {
+      case GET_NYM:
+        putData(result, state.get("nym:" + operation.path("dest").asText()), true);
+        break;
+      case GET_ATTRIB:
+        putData(result, state.get("attrib:" + operation.path("dest").asText() + ":" + operation.path("raw").asText()), true);
+        break;
+      case GET_SCHEMA:
+        putData(result, state.get("schema:" + operation.path("dest").asText() + ":" + operation.path("data").path("name").asText()
+            + ":" + operation.path("data").path("version").asText()), false);
+        break;
+      case GET_CLAIM_DEF:
+        putData(result, state.get("claimdef:" + operation.path("origin").asText() + ":" + operation.path("ref").asText()
+            + ":" + operation.path("signature_type").asText()), false);
+        break;
+      case GET_TXN:
+        ObjectNode txn = transactions.get(operation.path("data").asLong());
+        if (null == txn) {
+          result.putNull("data");
+        } else {
+          result.put("data", objectMapper.writeValueAsString(txn));
+        }
+        break;
+      default:
+        result.putNull("data");
+    }
+    return objectMapper.writeValueAsString(reply(result));
+  }
+
+  private String write(JsonNode request, JsonNode operation, String type) throws JsonProcessingException {
+    String identifier = request.path("identifier").asText();
+    long seqNo = seqNoCounter.incrementAndGet();
+    long txnTime = System.currentTimeMillis() / 1000;
+
+    ObjectNode txn = newResult(request, operation);
+    txn.put("seqNo", seqNo);
+    txn.put("txnTime", txnTime);
+    if (request.has("signature")) {
+      txn.set("signature", request.get("signature"));
+    }
+
+    switch (type) {
+      case NYM:
+        String dest = operation.path("dest").asText();
+        ObjectNode nym = objectMapper.createObjectNode();
+        ObjectNode existing = state.get("nym:" + dest);
+        nym.put("dest", dest);
+        nym.put("identifier", null == existing ? identifier : existing.path("data").path("identifier").asText());
+        nym.set("role", operation.has("role") ? operation.get("role") : null == existing ? null : existing.path("data").get("role"));
+        nym.put("seqNo", seqNo);
+        nym.put("txnTime", txnTime);
+        nym.set("verkey", operation.has("verkey") ? operation.get("verkey")
+            : null == existing ? null : existing.path("data").get("verkey"));
+        store("nym:" + dest, nym, seqNo, txnTime);
+        break;
+      case ATTRIB:
+        if (operation.hasNonNull("raw")) {
+          JsonNode raw = parseEmbedded(operation.get("raw"));
+          Iterator<String> names = raw.fieldNames();
+          while (names.hasNext()) {
+            String name = names.next();
+            ObjectNode attribute = objectMapper.createObjectNode();
+            attribute.set(name, raw.get(name));
+            store("attrib:" + operation.path("dest").asText() + ":" + name, attribute, seqNo, txnTime);
+          }
+        }
+        break;
+      case SCHEMA:
+        JsonNode schema = parseEmbedded(operation.path("data"));
+        store("schema:" + identifier + ":" + schema.path("name").asText() + ":" + schema.path("version").asText(),
+            schema, seqNo, txnTime);
+        break;
+      case CLAIM_DEF:
+        store("claimdef:" + identifier + ":" + operation.path("ref").asText() + ":" + operation.path("signature_type").asText(),
+            parseEmbedded(operation.path("data")), seqNo, txnTime);
+        break;
+      default:
+        break;
+    }
+    transactions.put(seqNo, txn);
+    return objectMapper.writeValueAsString(reply(txn));
+  }
+
+  private void store(String key, JsonNode data, long seqNo, long txnTime) {
+    ObjectNode entry = objectMapper.createObjectNode();
+    entry.set("data", data);
+    entry.put("seqNo", seqNo);
+    entry.put("txnTime", txnTime);
+    state.put(key, entry);
+  }
+
+  /**
+   * GET_NYM and GET_ATTRIB return their data as a json string, GET_SCHEMA and GET_CLAIM_DEF as an object
+   */
+  private void putData(ObjectNode result, ObjectNode entry, boolean asString) throws JsonProcessingException {
+    if (null == entry) {
+      result.putNull("data");
+      return;
+    }
+    if (asString) {
+      result.put("data", objectMapper.writeValueAsString(entry.get("data")));
+    } else {
+      result.set("data", entry.get("data"));
+    }
+    result.set("seqNo", entry.get("seqNo"));
+    result.set("txnTime", entry.get("txnTime"));
+  }
+
+  private JsonNode parseEmbedded(JsonNode node) {
+    if (!node.isTextual()) {
+      return node;
+    }
+    try {
+      return objectMapper.readTree(node.textValue());
+    } catch (IOException e) {
+      return objectMapper.createObjectNode();
+    }
+  }
+
+  private ObjectNode newResult(JsonNode request, JsonNode operation) {
+    ObjectNode result = objectMapper.createObjectNode();
+    result.set("identifier", request.get("identifier"));
+    result.set("reqId", request.get("reqId"));
+    result.setAll((ObjectNode) operation);
+    return result;
+  }
+
+  private ObjectNode reply(ObjectNode result) {
+    ObjectNode reply = objectMapper.createObjectNode();
+    reply.put("op", "REPLY");
+    reply.set("result", result);
+    return reply;
+  }
+
+  private String reject(JsonNode request, String reason) throws JsonProcessingException {
+    ObjectNode nack = objectMapper.createObjectNode();
+    nack.put("op", "REQNACK");
+    nack.set("identifier", request.get("identifier"));
+    nack.set("reqId", request.get("reqId"));
+    nack.put("reason", reason);
+    return objectMapper.writeValueAsString(nack);
+  }
+}
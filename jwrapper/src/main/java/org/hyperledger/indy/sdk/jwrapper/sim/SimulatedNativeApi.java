@@ -0,0 +1,765 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.sim;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.jna.Callback;
+
+/**
+ * A NativeApi implemented in Java that simulates libindy and a pool, for load testing the Java layer without
+ * a Sovrin pool: new IndyNativeApi(new SimulatedNativeApi(config)).
+ *
+ * Pools and wallets are tracked in memory and ledger requests are answered by a {@link SimulatedLedger}.
+ * Every call returns immediately and calls back on one of the callback threads after a latency drawn from the
+ * operation's {@link LatencyDistribution}, failing with the configured rate and error code.
+ * Signus, anoncreds and agent calls are not simulated and return CommonInvalidState, custom wallet types can be
+ * registered but their storage callbacks are never used. A subclass stubbing any of them delivers its callbacks
+ * through callBack(Runnable), which can hold them back so that a test can observe calls in flight.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class SimulatedNativeApi implements NativeApi {
+  private static Logger logger = LoggerFactory.getLogger(SimulatedNativeApi.class);
+
+  public static final String DEFAULT_WALLET_TYPE = "default";
+
+  private final SimulatorConfig config;
+  private final ScheduledExecutorService callbackExecutor;
+  /**
+   * Runs the callbacks handed to callBack(Runnable) one at a time, in the order they were handed over
+   */
+  private final ExecutorService stubCallbackExecutor;
+  // guarded by heldCallbacks
+  private final List<Runnable> heldCallbacks = new ArrayList<Runnable>();
+  private boolean holdCallbacks;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final SimulatedLedger ledger = new SimulatedLedger(objectMapper);
+
+  private final AtomicInteger handleCounter = new AtomicInteger();
+  private final AtomicLong lastReqId = new AtomicLong();
+  private final AtomicLong nextLedgerSlotNanos = new AtomicLong(System.nanoTime());
+
+  private final ConcurrentMap<String, String> poolConfigs = new ConcurrentHashMap<String, String>();
+  private final ConcurrentMap<Integer, String> openPools = new ConcurrentHashMap<Integer, String>();
+  private final Set<String> walletTypes = ConcurrentHashMap.newKeySet();
+  private final ConcurrentMap<String, String> wallets = new ConcurrentHashMap<String, String>();
+  private final ConcurrentMap<Integer, String> openWallets = new ConcurrentHashMap<Integer, String>();
+
+  private final Map<SimulatedOperation, AtomicLong> callCounts = new EnumMap<SimulatedOperation, AtomicLong>(SimulatedOperation.class);
+  private final Map<SimulatedOperation, AtomicLong> failureCounts = new EnumMap<SimulatedOperation, AtomicLong>(SimulatedOperation.class);
+  private final ConcurrentMap<Class<?>, Method> callbackMethods = new ConcurrentHashMap<Class<?>, Method>();
+
+  public SimulatedNativeApi() {
+    this(new SimulatorConfig());
+  }
+
+  public SimulatedNativeApi(SimulatorConfig config) {
+    this.config = config;
+    final AtomicInteger threadCounter = new AtomicInteger();
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(config.getCallbackThreads(), runnable -> {
+      Thread thread = new Thread(runnable, "indy-simulator-callback-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setRemoveOnCancelPolicy(true);
+    this.callbackExecutor = executor;
+    this.stubCallbackExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "indy-simulator-stub-callback");
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (SimulatedOperation operation : SimulatedOperation.values()) {
+      callCounts.put(operation, new AtomicLong());
+      failureCounts.put(operation, new AtomicLong());
+    }
+    walletTypes.add(DEFAULT_WALLET_TYPE);
+  }
+
+  /**
+   * Stops the callback threads, callbacks not delivered yet are dropped
+   */
+  public void shutdown() {
+    callbackExecutor.shutdownNow();
+    stubCallbackExecutor.shutdownNow();
+  }
+
+  /**
+   * While set, the callbacks handed to callBack(Runnable) are held back until releaseCallbacks() is called or the
+   * hold is lifted, lifting it delivers the callbacks held so far
+   */
+  public void setHoldCallbacks(boolean hold) {
+    synchronized (heldCallbacks) {
+      holdCallbacks = hold;
+      if (!hold) {
+        releaseCallbacks();
+      }
+    }
+  }
+
+  /**
+   * Delivers the callbacks held back so far, in the order they were handed over
+   *
+   * @return the number of callbacks delivered
+   */
+  public int releaseCallbacks() {
+    synchronized (heldCallbacks) {
+      int released = heldCallbacks.size();
+      for (Runnable callback : heldCallbacks) {
+        stubCallbackExecutor.execute(callback);
+      }
+      heldCallbacks.clear();
+      return released;
+    }
+  }
+
+  public long getCallCount(SimulatedOperation operation) {
+    return callCounts.get(operation).get();
+  }
+  public long getFailureCount(SimulatedOperation operation) {
+    return failureCounts.get(operation).get();
+  }
+  public int getLedgerTransactionCount() {
+    return ledger.getTransactionCount();
+  }
+
+  // pool.rs
+  @Override
+  public int indy_create_pool_ledger_config(int command_handle, String config_name, String config, Callback cb) {
+    if (null == config_name) {
+      return ErrorCode.CommonInvalidParam2.value();
+    }
+    ErrorCode injected = injectedFailure(SimulatedOperation.POOL);
+    if (null != injected) {
+      return callBack(SimulatedOperation.POOL, cb, command_handle, injected, null);
+    }
+    if (null != poolConfigs.putIfAbsent(config_name, null == config ? "{}" : config)) {
+      return callBack(SimulatedOperation.POOL, cb, command_handle, ErrorCode.CommonInvalidState, null);
+    }
+    return callBack(SimulatedOperation.POOL, cb, command_handle, ErrorCode.Success, null);
+  }
+
+  @Override
+  public int indy_open_pool_ledger(int command_handle, String config_name, String config, Callback cb) {
+    if (null == config_name) {
+      return ErrorCode.CommonInvalidParam2.value();
+    }
+    ErrorCode injected = injectedFailure(SimulatedOperation.POOL);
+    if (null != injected) {
+      return callBack(SimulatedOperation.POOL, cb, command_handle, injected, null);
+    }
+    if (!poolConfigs.containsKey(config_name)) {
+      return callBack(SimulatedOperation.POOL, cb, command_handle, ErrorCode.PoolLedgerNotCreatedError, null);
+    }
+    int handle = handleCounter.incrementAndGet();
+    openPools.put(handle, config_name);
+    return callBack(SimulatedOperation.POOL, cb, command_handle, ErrorCode.Success, handle);
+  }
+
+  @Override
+  public int indy_refresh_pool_ledger(int command_handle, int handle, Callback cb) {
+    ErrorCode injected = injectedFailure(SimulatedOperation.POOL);
+    if (null != injected) {
+      return callBack(SimulatedOperation.POOL, cb, command_handle, injected, null);
+    }
+    ErrorCode error = openPools.containsKey(handle) ? ErrorCode.Success : ErrorCode.PoolLedgerInvalidPoolHandle;
+    return callBack(SimulatedOperation.POOL, cb, command_handle, error, null);
+  }
+
+  @Override
+  public int indy_close_pool_ledger(int command_handle, int handle, Callback cb) {
+    ErrorCode injected = injectedFailure(SimulatedOperation.POOL);
+    if (null != injected) {
+      return callBack(SimulatedOperation.POOL, cb, command_handle, injected, null);
+    }
+    ErrorCode error = null != openPools.remove(handle) ? ErrorCode.Success : ErrorCode.PoolLedgerInvalidPoolHandle;
+    return callBack(SimulatedOperation.POOL, cb, command_handle, error, null);
+  }
+
+  @Override
+  public int indy_delete_pool_ledger_config(int command_handle, String config_name, Callback cb) {
+    if (null == config_name) {
+      return ErrorCode.CommonInvalidParam2.value();
+    }
+    ErrorCode injected = injectedFailure(SimulatedOperation.POOL);
+    if (null != injected) {
+      return callBack(SimulatedOperation.POOL, cb, command_handle, injected, null);
+    }
+    if (openPools.containsValue(config_name)) {
+      return callBack(SimulatedOperation.POOL, cb, command_handle, ErrorCode.CommonInvalidState, null);
+    }
+    ErrorCode error = null != poolConfigs.remove(config_name) ? ErrorCode.Success : ErrorCode.PoolLedgerNotCreatedError;
+    return callBack(SimulatedOperation.POOL, cb, command_handle, error, null);
+  }
+
+  // wallet.rs
+  @Override
+  public int indy_register_wallet_type(int command_handle, String xtype, Callback create, Callback open, Callback set,
+      Callback get, Callback get_not_expired, Callback list, Callback close, Callback delete, Callback free, Callback cb) {
+    if (null == xtype) {
+      return ErrorCode.CommonInvalidParam2.value();
+    }
+    ErrorCode injected = injectedFailure(SimulatedOperation.WALLET);
+    if (null != injected) {
+      return callBack(SimulatedOperation.WALLET, cb, command_handle, injected, null);
+    }
+    ErrorCode error = walletTypes.add(xtype) ? ErrorCode.Success : ErrorCode.WalletTypeAlreadyRegisteredError;
+    return callBack(SimulatedOperation.WALLET, cb, command_handle, error, null);
+  }
+
+  @Override
+  public int indy_create_wallet(int command_handle, String pool_name, String name, String xtype, String config,
+      String credentials, Callback cb) {
+    if (null == pool_name) {
+      return ErrorCode.CommonInvalidParam2.value();
+    }
+    if (null == name) {
+      return ErrorCode.CommonInvalidParam3.value();
+    }
+    ErrorCode injected = injectedFailure(SimulatedOperation.WALLET);
+    if (null != injected) {
+      return callBack(SimulatedOperation.WALLET, cb, command_handle, injected, null);
+    }
+    if (!walletTypes.contains(null == xtype ? DEFAULT_WALLET_TYPE : xtype)) {
+      return callBack(SimulatedOperation.WALLET, cb, command_handle, ErrorCode.WalletUnknownTypeError, null);
+    }
+    ErrorCode error = null == wallets.putIfAbsent(name, pool_name) ? ErrorCode.Success : ErrorCode.WalletAlreadyExistsError;
+    return callBack(SimulatedOperation.WALLET, cb, command_handle, error, null);
+  }
+
+  @Override
+  public int indy_open_wallet(int command_handle, String name, String runtime_config, String credentials, Callback cb) {
+    if (null == name) {
+      return ErrorCode.CommonInvalidParam2.value();
+    }
+    ErrorCode injected = injectedFailure(SimulatedOperation.WALLET);
+    if (null != injected) {
+      return callBack(SimulatedOperation.WALLET, cb, command_handle, injected, null);
+    }
+    if (!wallets.containsKey(name)) {
+      return callBack(SimulatedOperation.WALLET, cb, command_handle, ErrorCode.WalletNotFoundError, null);
+    }
+    synchronized (openWallets) {
+      if (openWallets.containsValue(name)) {
+        return callBack(SimulatedOperation.WALLET, cb, command_handle, ErrorCode.WalletAlreadyOpenedError, null);
+      }
+      int handle = handleCounter.incrementAndGet();
+      openWallets.put(handle, name);
+      return callBack(SimulatedOperation.WALLET, cb, command_handle, ErrorCode.Success, handle);
+    }
+  }
+
+  @Override
+  public int indy_close_wallet(int command_handle, int handle, Callback cb) {
+    ErrorCode injected = injectedFailure(SimulatedOperation.WALLET);
+    if (null != injected) {
+      return callBack(SimulatedOperation.WALLET, cb, command_handle, injected, null);
+    }
+    ErrorCode error = null != openWallets.remove(handle) ? ErrorCode.Success : ErrorCode.WalletInvalidHandle;
+    return callBack(SimulatedOperation.WALLET, cb, command_handle, error, null);
+  }
+
+  @Override
+  public int indy_delete_wallet(int command_handle, String name, String credentials, Callback cb) {
+    if (null == name) {
+      return ErrorCode.CommonInvalidParam2.value();
+    }
+    ErrorCode injected = injectedFailure(SimulatedOperation.WALLET);
+    if (null != injected) {
+      return callBack(SimulatedOperation.WALLET, cb, command_handle, injected, null);
+    }
+    synchronized (openWallets) {
+      if (openWallets.containsValue(name)) {
+        return callBack(SimulatedOperation.WALLET, cb, command_handle, ErrorCode.CommonInvalidState, null);
+      }
+      ErrorCode error = null != wallets.remove(name) ? ErrorCode.Success : ErrorCode.WalletNotFoundError;
+      return callBack(SimulatedOperation.WALLET, cb, command_handle, error, null);
+    }
+  }
+
+  // ledger.rs
+  @Override
+  public int indy_sign_and_submit_request(int command_handle, int pool_handle, int wallet_handle, String submitter_did,
+      String request_json, Callback cb) {
+    if (null == submitter_did) {
+      return ErrorCode.CommonInvalidParam4.value();
+    }
+    if (!openWallets.containsKey(wallet_handle)) {
+      return callBack(SimulatedOperation.LEDGER_WRITE, cb, command_handle, ErrorCode.WalletInvalidHandle, null);
+    }
+    return submit(command_handle, pool_handle, request_json, true, cb);
+  }
+
+  @Override
+  public int indy_submit_request(int command_handle, int pool_handle, String request_json, Callback cb) {
+    return submit(command_handle, pool_handle, request_json, false, cb);
+  }
+
+  private int submit(int command_handle, int pool_handle, String request_json, boolean signed, Callback cb) {
+    if (null == request_json) {
+      return ErrorCode.CommonInvalidParam3.value();
+    }
+    JsonNode request = ledger.parse(request_json);
+    if (null == request) {
+      return callBack(SimulatedOperation.LEDGER_READ, cb, command_handle, ErrorCode.CommonInvalidStructure, null);
+    }
+    SimulatedOperation operation = ledger.isWrite(request) ? SimulatedOperation.LEDGER_WRITE : SimulatedOperation.LEDGER_READ;
+    ErrorCode injected = injectedFailure(operation);
+    if (null != injected) {
+      return callBack(operation, cb, command_handle, injected, null);
+    }
+    if (!openPools.containsKey(pool_handle)) {
+      return callBack(operation, cb, command_handle, ErrorCode.PoolLedgerInvalidPoolHandle, null);
+    }
+    try {
+      return callBack(operation, cb, command_handle, ErrorCode.Success, ledger.reply(request, signed));
+    } catch (JsonProcessingException e) {
+      logger.error("Simulated ledger failed to reply to: {}", request_json, e);
+      return callBack(operation, cb, command_handle, ErrorCode.CommonInvalidState, null);
+    }
+  }
+
+  @Override
+  public int indy_build_get_ddo_request(int command_handle, String submitter_did, String target_did, Callback cb) {
+    return build(command_handle, submitter_did, cb, operation("120").put("dest", target_did));
+  }
+
+  @Override
+  public int indy_build_nym_request(int command_handle, String submitter_did, String target_did, String verkey,
+      String alias, String role, Callback cb) {
+    ObjectNode operation = operation(SimulatedLedger.NYM).put("dest", target_did);
+    putIfNotNull(operation, "verkey", verkey);
+    putIfNotNull(operation, "alias", alias);
+    putIfNotNull(operation, "role", role);
+    return build(command_handle, submitter_did, cb, operation);
+  }
+
+  @Override
+  public int indy_build_attrib_request(int command_handle, String submitter_did, String target_did, String hash,
+      String raw, String enc, Callback cb) {
+    ObjectNode operation = operation(SimulatedLedger.ATTRIB).put("dest", target_did);
+    putIfNotNull(operation, "hash", hash);
+    putIfNotNull(operation, "raw", raw);
+    putIfNotNull(operation, "enc", enc);
+    return build(command_handle, submitter_did, cb, operation);
+  }
+
+  @Override
+  public int indy_build_get_attrib_request(int command_handle, String submitter_did, String target_did, String data,
+      Callback cb) {
+    return build(command_handle, submitter_did, cb, operation(SimulatedLedger.GET_ATTRIB).put("dest", target_did).put("raw", data));
+  }
+
+  @Override
+  public int indy_build_get_nym_request(int command_handle, String submitter_did, String target_did, Callback cb) {
+    return build(command_handle, submitter_did, cb, operation(SimulatedLedger.GET_NYM).put("dest", target_did));
+  }
+
+  @Override
+  public int indy_build_schema_request(int command_handle, String submitter_did, String data, Callback cb) {
+    return build(command_handle, submitter_did, cb, operation(SimulatedLedger.SCHEMA).put("data", data));
+  }
+
+  @Override
+  public int indy_build_get_schema_request(int command_handle, String submitter_did, String dest, String data,
+      Callback cb) {
+    ObjectNode operation = operation(SimulatedLedger.GET_SCHEMA).put("dest", dest);
+    JsonNode dataNode = ledger.parseJson(data);
+    if (null == dataNode) {
+      return ErrorCode.CommonInvalidStructure.value();
+    }
+    operation.set("data", dataNode);
+    return build(command_handle, submitter_did, cb, operation);
+  }
+
+  @Override
+  public int indy_build_claim_def_txn(int command_handle, String submitter_did, int xref, String signature_type,
+      String data, Callback cb) {
+    ObjectNode operation = operation(SimulatedLedger.CLAIM_DEF).put("ref", xref);
+    operation.put("data", data).put("signature_type", signature_type);
+    return build(command_handle, submitter_did, cb, operation);
+  }
+
+  @Override
+  public int indy_build_get_claim_def_txn(int command_handle, String submitter_did, int xref, String signature_type,
+      String origin, Callback cb) {
+    ObjectNode operation = operation(SimulatedLedger.GET_CLAIM_DEF).put("ref", xref);
+    operation.put("signature_type", signature_type).put("origin", origin);
+    return build(command_handle, submitter_did, cb, operation);
+  }
+
+  @Override
+  public int indy_build_node_request(int command_handle, String submitter_did, String target_did, String data,
+      Callback cb) {
+    ObjectNode operation = operation(SimulatedLedger.NODE).put("dest", target_did);
+    JsonNode dataNode = ledger.parseJson(data);
+    if (null == dataNode) {
+      return ErrorCode.CommonInvalidStructure.value();
+    }
+    operation.set("data", dataNode);
+    return build(command_handle, submitter_did, cb, operation);
+  }
+
+  @Override
+  public int indy_build_get_txn_request(int command_handle, String submitter_did, int data, Callback cb) {
+    return build(command_handle, submitter_did, cb, operation(SimulatedLedger.GET_TXN).put("data", data));
+  }
+
+  private ObjectNode operation(String type) {
+    return objectMapper.createObjectNode().put("type", type);
+  }
+
+  private static void putIfNotNull(ObjectNode node, String field, String value) {
+    if (null != value) {
+      node.put(field, value);
+    }
+  }
+
+  private int build(int command_handle, String submitter_did, Callback cb, ObjectNode operation) {
+    if (null == submitter_did) {
+      return ErrorCode.CommonInvalidParam2.value();
+    }
+    ErrorCode injected = injectedFailure(SimulatedOperation.LEDGER_BUILD);
+    if (null != injected) {
+      return callBack(SimulatedOperation.LEDGER_BUILD, cb, command_handle, injected, null);
+    }
+    ObjectNode request = objectMapper.createObjectNode();
+    request.put("reqId", nextReqId());
+    request.put("identifier", submitter_did);
+    request.set("operation", operation);
+    try {
+      return callBack(SimulatedOperation.LEDGER_BUILD, cb, command_handle, ErrorCode.Success,
+          objectMapper.writeValueAsString(request));
+    } catch (JsonProcessingException e) {
+      logger.error("Failed to build simulated request", e);
+      return ErrorCode.CommonInvalidState.value();
+    }
+  }
+
+  private long nextReqId() {
+    long now = System.currentTimeMillis() * 1000000L;
+    while (true) {
+      long last = lastReqId.get();
+      long next = now > last ? now : last + 1;
+      if (lastReqId.compareAndSet(last, next)) {
+        return next;
+      }
+    }
+  }
+
+  // signus.rs
+  @Override
+  public int indy_create_and_store_my_did(int command_handle, int wallet_handle, String did_json, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_replace_keys(int command_handle, int wallet_handle, String did, String identity_json, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_store_their_did(int command_handle, int wallet_handle, String identity_json, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_sign(int command_handle, int wallet_handle, String did, String msg, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_verify_signature(int command_handle, int wallet_handle, int pool_handle, String did,
+      String signed_msg, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_encrypt(int command_handle, int wallet_handle, int pool_handle, String myDid, String did, String msg,
+      Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_decrypt(int command_handle, int wallet_handle, String myDid, String did, String encrypted_msg,
+      String nonce, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_sign(int command_handle, int wallet_handle, String did, byte[] msg, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_verify_signature(int command_handle, int wallet_handle, int pool_handle, String did,
+      byte[] signed_msg, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_encrypt(int command_handle, int wallet_handle, int pool_handle, String myDid, String did, byte[] msg,
+      Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_decrypt(int command_handle, int wallet_handle, String myDid, String did, byte[] encrypted_msg,
+      byte[] nonce, Callback cb) {
+    return notSimulated();
+  }
+
+  // anoncreds.rs
+  @Override
+  public int indy_issuer_create_and_store_claim_def(int command_handle, int wallet_handle, String issuer_did,
+      String schema_json, String signature_type, boolean create_non_revoc, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_issuer_create_and_store_revoc_reg(int command_handle, int wallet_handle, String issuer_did,
+      int schema_seq_no, int max_claim_num, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_issuer_create_claim(int command_handle, int wallet_handle, String claim_req_json, String claim_json,
+      int revoc_reg_seq_no, int user_revoc_index, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_issuer_revoke_claim(int command_handle, int wallet_handle, int revoc_reg_seq_no, int user_revoc_index,
+      Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_prover_store_claim_offer(int command_handle, int wallet_handle, String claim_offer_json, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_prover_get_claim_offers(int command_handle, int wallet_handle, String filter_json, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_prover_create_master_secret(int command_handle, int wallet_handle, String master_secret_name,
+      Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_prover_create_and_store_claim_req(int command_handle, int wallet_handle, String prover_did,
+      String claim_offer_json, String claim_def_json, String master_secret_name, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_prover_store_claim(int command_handle, int wallet_handle, String claims_json, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_prover_get_claims(int command_handle, int wallet_handle, String filter_json, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_prover_get_claims_for_proof_req(int command_handle, int wallet_handle, String proof_request_json,
+      Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_prover_create_proof(int command_handle, int wallet_handle, String proof_req_json,
+      String requested_claims_json, String schemas_json, String master_secret_name, String claim_defs_json,
+      String revoc_regs_json, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_verifier_verify_proof(int command_handle, String proof_request_json, String proof_json,
+      String schemas_json, String claim_defs_jsons, String revoc_regs_json, Callback cb) {
+    return notSimulated();
+  }
+
+  // agent.rs
+  @Override
+  public int indy_agent_connect(int command_handle, int pool_handle, int wallet_handle, String sender_did,
+      String receiver_did, Callback connection_cb, Callback message_cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_agent_listen(int command_handle, String endpoint, Callback listener_cb, Callback connection_cb,
+      Callback message_cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_agent_add_identity(int command_handle, int listener_handle, int pool_handle, int wallet_handle,
+      String did, Callback add_identity_cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_agent_remove_identity(int command_handle, int listener_handle, int wallet_handle, String did,
+      Callback rm_identity_cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_agent_send(int command_handle, int connection_handle, String message, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_agent_close_connection(int command_handle, int connection_handle, Callback cb) {
+    return notSimulated();
+  }
+  @Override
+  public int indy_agent_close_listener(int command_handle, int listener_handle, Callback cb) {
+    return notSimulated();
+  }
+
+  private static int notSimulated() {
+    return ErrorCode.CommonInvalidState.value();
+  }
+
+  /**
+   * Delivers a callback of a call a subclass stubs, on a thread of the simulator and after the callbacks handed over
+   * before it, or once released while callbacks are held
+   *
+   * @return a future that completes once the callback has run
+   */
+  protected CompletableFuture<Void> callBack(final Runnable callback) {
+    final CompletableFuture<Void> delivered = new CompletableFuture<Void>();
+    Runnable delivery = () -> {
+      try {
+        callback.run();
+        delivered.complete(null);
+      } catch (RuntimeException e) {
+        logger.error("Stubbed callback failed", e);
+        delivered.completeExceptionally(e);
+      }
+    };
+    synchronized (heldCallbacks) {
+      if (holdCallbacks) {
+        heldCallbacks.add(delivery);
+      } else {
+        stubCallbackExecutor.execute(delivery);
+      }
+    }
+    return delivered;
+  }
+
+  /**
+   * Counts the call and decides whether it fails
+   *
+   * @return the error code to fail the call with, null when it goes ahead
+   */
+  private ErrorCode injectedFailure(SimulatedOperation operation) {
+    callCounts.get(operation).incrementAndGet();
+    double rate = config.getFailureRate(operation);
+    if (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate) {
+      return config.getFailureErrorCode(operation);
+    }
+    return null;
+  }
+
+  /**
+   * Schedules the callback after the simulated latency
+   *
+   * @param value the handle or json the callback returns on success
+   * @return the return value of the native call, always Success as the outcome is reported through the callback
+   */
+  private int callBack(SimulatedOperation operation, final Callback cb, final int commandHandle, final ErrorCode error,
+      final Object value) {
+    if (ErrorCode.Success != error) {
+      failureCounts.get(operation).incrementAndGet();
+    }
+    long delayNanos = config.getLatency(operation).nextNanos();
+    if (SimulatedOperation.LEDGER_READ == operation || SimulatedOperation.LEDGER_WRITE == operation) {
+      delayNanos += queueingDelayNanos();
+    }
+    callbackExecutor.schedule(() -> invoke(cb, commandHandle, error, value), delayNanos, TimeUnit.NANOSECONDS);
+    return ErrorCode.Success.value();
+  }
+
+  /**
+   * Hands out the ledger's processing slots at the configured rate, a request waits for the next free slot
+   */
+  private long queueingDelayNanos() {
+    double rate = config.getLedgerRequestsPerSecond();
+    if (rate <= 0) {
+      return 0;
+    }
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    long now = System.nanoTime();
+    while (true) {
+      long slot = nextLedgerSlotNanos.get();
+      long start = slot - now > 0 ? slot : now;
+      if (nextLedgerSlotNanos.compareAndSet(slot, start + intervalNanos)) {
+        return start - now;
+      }
+    }
+  }
+
+  /**
+   * Calls the callback's callback method the way JNA would: command handle, error code and, on success,
+   * the returned handle or json in the parameter of matching type. Unmatched parameters get 0 or null.
+   */
+  private void invoke(Callback cb, int commandHandle, ErrorCode error, Object value) {
+    try {
+      Method method = callbackMethods.computeIfAbsent(cb.getClass(), SimulatedNativeApi::findCallbackMethod);
+      Class<?>[] types = method.getParameterTypes();
+      Object[] args = new Object[types.length];
+      args[0] = commandHandle;
+      args[1] = error.value();
+      boolean valueUsed = ErrorCode.Success != error || null == value;
+      for (int i = 2; i < types.length; i++) {
+        if (!valueUsed && (value instanceof Integer ? int.class == types[i] : types[i].isInstance(value))) {
+          args[i] = value;
+          valueUsed = true;
+        } else if (int.class == types[i]) {
+          args[i] = 0;
+        } else if (long.class == types[i]) {
+          args[i] = 0L;
+        } else if (boolean.class == types[i]) {
+          args[i] = false;
+        }
+      }
+      method.invoke(cb, args);
+    } catch (Exception e) {
+      logger.error("Failed to deliver simulated callback for cmdHandle: {}", commandHandle, e);
+    }
+  }
+
+  private static Method findCallbackMethod(Class<?> callbackClass) {
+    for (Method method : callbackClass.getMethods()) {
+      if ("callback".equals(method.getName()) && method.getParameterTypes().length >= 2) {
+        method.setAccessible(true);
+        return method;
+      }
+    }
+    throw new IllegalArgumentException("No callback method on " + callbackClass.getName());
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.sim;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+
+/**
+ * Settings of a {@link SimulatedNativeApi}
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class SimulatorConfig {
+
+  /**
+   * Number of threads the callbacks are delivered on, libindy uses one per subsystem
+   */
+  private int callbackThreads = 4;
+
+  /**
+   * Maximum rate at which the simulated pool processes read and write requests together, 0 for no limit.
+   * Requests beyond the rate queue up and see the queueing delay on top of their latency.
+   */
+  private double ledgerRequestsPerSecond;
+
+  private final Map<SimulatedOperation, LatencyDistribution> latency =
+      new EnumMap<SimulatedOperation, LatencyDistribution>(SimulatedOperation.class);
+
+  /**
+   * Probability between 0 and 1 that a call fails with the operation's failure error code
+   */
+  private final Map<SimulatedOperation, Double> failureRate = new EnumMap<SimulatedOperation, Double>(SimulatedOperation.class);
+  private final Map<SimulatedOperation, ErrorCode> failureErrorCode = new EnumMap<SimulatedOperation, ErrorCode>(SimulatedOperation.class);
+
+  public SimulatorConfig() {
+    super();
+    latency.put(SimulatedOperation.POOL, LatencyDistribution.constant(Duration.ofMillis(50)));
+    latency.put(SimulatedOperation.WALLET, LatencyDistribution.constant(Duration.ofMillis(2)));
+    latency.put(SimulatedOperation.LEDGER_BUILD, LatencyDistribution.none());
+    latency.put(SimulatedOperation.LEDGER_READ, LatencyDistribution.logNormal(Duration.ofMillis(40), 0.5));
+    latency.put(SimulatedOperation.LEDGER_WRITE, LatencyDistribution.logNormal(Duration.ofMillis(400), 0.5));
+    for (SimulatedOperation operation : SimulatedOperation.values()) {
+      failureRate.put(operation, 0.0);
+    }
+    failureErrorCode.put(SimulatedOperation.POOL, ErrorCode.PoolLedgerTerminated);
+    failureErrorCode.put(SimulatedOperation.WALLET, ErrorCode.CommonIOError);
+    failureErrorCode.put(SimulatedOperation.LEDGER_BUILD, ErrorCode.CommonInvalidStructure);
+    failureErrorCode.put(SimulatedOperation.LEDGER_READ, ErrorCode.LedgerNoConsensusError);
+    failureErrorCode.put(SimulatedOperation.LEDGER_WRITE, ErrorCode.LedgerNoConsensusError);
+  }
+
+  public int getCallbackThreads() {
+    return callbackThreads;
+  }
+  public void setCallbackThreads(int callbackThreads) {
+    this.callbackThreads = callbackThreads;
+  }
+
+  public double getLedgerRequestsPerSecond() {
+    return ledgerRequestsPerSecond;
+  }
+  public void setLedgerRequestsPerSecond(double ledgerRequestsPerSecond) {
+    this.ledgerRequestsPerSecond = ledgerRequestsPerSecond;
+  }
+
+  public LatencyDistribution getLatency(SimulatedOperation operation) {
+    return latency.get(operation);
+  }
+  public void setLatency(SimulatedOperation operation, LatencyDistribution distribution) {
+    latency.put(operation, distribution);
+  }
+
+  public double getFailureRate(SimulatedOperation operation) {
+    return failureRate.get(operation);
+  }
+  public void setFailureRate(SimulatedOperation operation, double rate) {
+    if (rate < 0 || rate > 1) {
+      throw new IllegalArgumentException("rate must be between 0 and 1");
+    }
+    failureRate.put(operation, rate);
+  }
+
+  public ErrorCode getFailureErrorCode(SimulatedOperation operation) {
+    return failureErrorCode.get(operation);
+  }
+  public void setFailureErrorCode(SimulatedOperation operation, ErrorCode errorCode) {
+    failureErrorCode.put(operation, errorCode);
+  }
+}
@@ -20,22 +20,29 @@
  */
 package org.hyperledger.indy.sdk.jwrapper.wallet;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
 import org.hyperledger.indy.sdk.jwrapper.GenericResult;
 import org.hyperledger.indy.sdk.jwrapper.IIndyApi;
-import org.hyperledger.indy.sdk.jwrapper.IndyCallback;
+import org.hyperledger.indy.sdk.jwrapper.IndyCommandDispatcher;
 import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
 import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi.NativeApi;
 import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.wallet.spi.WalletStorageFactory;
+import org.hyperledger.indy.sdk.jwrapper.wallet.spi.WalletTypeAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.sun.jna.Callback;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * A class that holds all Wallet related API's
@@ -43,12 +50,72 @@ import com.sun.jna.Callback;
  */
 public class WalletApi implements IIndyApi {
   private static Logger logger = LoggerFactory.getLogger(WalletApi.class);
-  private AtomicInteger cmdHandleCounter;
-  private NativeApi nativeApiInstance;
+
+  /**
+   * The wallet types registered with every native library, keyed by the NativeApi instance so that separate
+   * libraries, e.g. simulators, each have their own. libindy keeps calling the callbacks of a registered wallet type
+   * until the process exits, so the adapters are never released
+   */
+  private static final ConcurrentMap<NativeApi, ConcurrentMap<String, WalletTypeAdapter>> registeredWalletTypes =
+      new ConcurrentHashMap<NativeApi, ConcurrentMap<String, WalletTypeAdapter>>();
+
+  private IndyCommandDispatcher dispatcher;
+  private IndyNativeApi apiInstance;
+  private ObjectMapper objectMapper;
+
+  private final List<Consumer<Wallet>> closeListeners = new CopyOnWriteArrayList<Consumer<Wallet>>();
 
   public WalletApi(IndyNativeApi apiInstance) {
-    this.nativeApiInstance = apiInstance.getNativeApiInstance();
-    this.cmdHandleCounter = apiInstance.getCmdHandleCounter();
+    this.apiInstance = apiInstance;
+    this.dispatcher = apiInstance.getDispatcher();
+    this.objectMapper = apiInstance.getObjectMapper();
+  }
+
+  /**
+   * A asynchronous register wallet type API, wallets whose Wallet.getWalletType() is walletType are
+   * from then on stored by the given factory instead of libindy's default SQLite storage
+   *
+   * @param walletType the name of the custom wallet type
+   * @param factory the Java implementation of the wallet type
+   * @return A future that returns a IndyResult, WalletTypeAlreadyRegisteredError if the type was registered before
+   */
+  public CompletableFuture<GenericResult> registerWalletTypeAsync(String walletType, WalletStorageFactory factory) {
+    final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
+    GenericResult iResult = new GenericResult();
+
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    final ConcurrentMap<String, WalletTypeAdapter> registered = registeredWalletTypes.computeIfAbsent(nativeApi,
+        library -> new ConcurrentHashMap<String, WalletTypeAdapter>());
+    WalletTypeAdapter adapter = new WalletTypeAdapter(walletType, factory, objectMapper);
+    if (null != registered.putIfAbsent(walletType, adapter)) {
+      iResult.setErrorCode(ErrorCode.WalletTypeAlreadyRegisteredError);
+      future.complete(iResult);
+      return future;
+    }
+
+    int cmdHandle = dispatcher.register(future, iResult);
+
+    int rc = nativeApi.indy_register_wallet_type(cmdHandle, walletType, adapter.getCreateCallback(),
+        adapter.getOpenCallback(), adapter.getSetCallback(), adapter.getGetCallback(), adapter.getGetNotExpiredCallback(),
+        adapter.getListCallback(), adapter.getCloseCallback(), adapter.getDeleteCallback(), adapter.getFreeCallback(),
+        dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    // libindy only keeps the callbacks of a type it registered
+    return future.whenComplete((result, failure) -> {
+      if (null != failure || ErrorCode.Success != result.getErrorCode()) {
+        registered.remove(walletType, adapter);
+      }
+    });
+  }
+
+  /**
+   * A synchronous register wallet type API
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#registerWalletTypeAsync(String, WalletStorageFactory)
+   */
+  public GenericResult registerWalletType(String walletType, WalletStorageFactory factory)
+      throws InterruptedException, ExecutionException {
+    return registerWalletTypeAsync(walletType, factory).get();
   }
   
   /**
@@ -61,17 +128,28 @@ public class WalletApi implements IIndyApi {
    *                         Wallet object for security reasons
    * @return A future that returns a IndyResult
    */
-  public Future<GenericResult> createWalletAsync(Pool pool, Wallet wallet, String walletCredentialsJson) {
+  public CompletableFuture<GenericResult> createWalletAsync(Pool pool, Wallet wallet, String walletCredentialsJson) {
+    return createWalletAsync(pool, wallet, walletCredentialsJson, null);
+  }
+
+  /**
+   * A asynchronous create wallet API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#createWalletAsync(Pool, Wallet, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> createWalletAsync(Pool pool, Wallet wallet, String walletCredentialsJson,
+      Duration timeout) {
     final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
     GenericResult iResult = new GenericResult();
     
-    int cmdHandle = cmdHandleCounter.incrementAndGet();
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
     
-    Callback callback = new IndyCallback.SimpleCallback(future, iResult);
-    
-    int rc = nativeApiInstance.indy_create_wallet(cmdHandle, pool.getPoolName(), wallet.getWalletName(),
-        wallet.getWalletType(), wallet.getWalletConfigJson(), walletCredentialsJson, callback);
-    iResult.setReturnValue(rc);
+    int rc = nativeApi.indy_create_wallet(cmdHandle, pool.getPoolName(), wallet.getWalletName(),
+        wallet.getWalletType(), wallet.getWalletConfigJson(), walletCredentialsJson, dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
     return future;
   }
   
@@ -81,11 +159,20 @@ public class WalletApi implements IIndyApi {
    * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#createWalletAsync()
    */
   public Wallet createWallet(Pool pool, Wallet wallet, String walletCredentialsJson) throws InterruptedException, ExecutionException {
+    return onWalletCreated(wallet, createWalletAsync(pool, wallet, walletCredentialsJson).get());
+  }
 
-    final Future<GenericResult> future = createWalletAsync(pool, wallet, walletCredentialsJson);
+  /**
+   * A synchronous create wallet API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#createWalletAsync(Pool, Wallet, String, Duration)
+   */
+  public Wallet createWallet(Pool pool, Wallet wallet, String walletCredentialsJson, Duration timeout) 
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return onWalletCreated(wallet, IndyCommandDispatcher.await(createWalletAsync(pool, wallet, walletCredentialsJson, timeout)));
+  }
 
-    GenericResult r = future.get();
-    
+  private Wallet onWalletCreated(Wallet wallet, GenericResult r) {
     if (r.getErrorCode().equals(ErrorCode.Success)) {
       wallet.setStatus(WalletStatus.CREATED);
       return wallet;
@@ -104,17 +191,27 @@ public class WalletApi implements IIndyApi {
    *                         Wallet object for security reasons
    * @return A future that returns a IndyResult which will also contain wallet handle
    */
-  public Future<GenericResult> openWalletAsync(Wallet wallet, String walletCredentialsJson) {
+  public CompletableFuture<GenericResult> openWalletAsync(Wallet wallet, String walletCredentialsJson) {
+    return openWalletAsync(wallet, walletCredentialsJson, null);
+  }
+
+  /**
+   * A asynchronous open wallet API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#openWalletAsync(Wallet, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> openWalletAsync(Wallet wallet, String walletCredentialsJson, Duration timeout) {
     final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
     GenericResult iResult = new GenericResult();
     
-    int cmdHandle = cmdHandleCounter.incrementAndGet();
-    
-    Callback callback = new IndyCallback.HandleReturningCallback(future, iResult);
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
     
-    int rc = nativeApiInstance.indy_open_wallet(cmdHandle, wallet.getWalletName(),
-        wallet.getWalletConfigJson(), walletCredentialsJson, callback);
-    iResult.setReturnValue(rc);
+    int rc = nativeApi.indy_open_wallet(cmdHandle, wallet.getWalletName(),
+        wallet.getWalletConfigJson(), walletCredentialsJson, dispatcher.getHandleReturningCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
     return future;
   }
   
@@ -124,9 +221,20 @@ public class WalletApi implements IIndyApi {
    * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#openWalletAsync()
    */
   public Wallet openWallet(Wallet wallet, String walletCredentialsJson) throws InterruptedException, ExecutionException {
-    final Future<GenericResult> future = openWalletAsync(wallet, walletCredentialsJson);
-    GenericResult r = future.get();
-    
+    return onWalletOpened(wallet, openWalletAsync(wallet, walletCredentialsJson).get());
+  }
+
+  /**
+   * A synchronous open wallet API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#openWalletAsync(Wallet, String, Duration)
+   */
+  public Wallet openWallet(Wallet wallet, String walletCredentialsJson, Duration timeout) 
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return onWalletOpened(wallet, IndyCommandDispatcher.await(openWalletAsync(wallet, walletCredentialsJson, timeout)));
+  }
+
+  private Wallet onWalletOpened(Wallet wallet, GenericResult r) {
     if (r.getErrorCode().equals(ErrorCode.Success)) {
       wallet.setWalletHandle(r.getReturnHandle());
       wallet.setStatus(WalletStatus.OPEN);
@@ -143,17 +251,55 @@ public class WalletApi implements IIndyApi {
    * @param wallet walletHandle returned by openWallet()
    * @return A future that returns a IndyResult
    */
-  public Future<GenericResult> closeWalletAsync(Wallet wallet) {
+  public CompletableFuture<GenericResult> closeWalletAsync(Wallet wallet) {
+    return closeWalletAsync(wallet, null);
+  }
+
+  /**
+   * A asynchronous close wallet API with a deadline
+   *
+   * @param wallet walletHandle returned by openWallet()
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   * @return A future that returns a IndyResult
+   */
+  public CompletableFuture<GenericResult> closeWalletAsync(Wallet wallet, Duration timeout) {
     final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
     GenericResult iResult = new GenericResult();
     
-    int cmdHandle = cmdHandleCounter.incrementAndGet();
-   
-    Callback callback = new IndyCallback.SimpleCallback(future, iResult);
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
  
-    int rc = nativeApiInstance.indy_close_wallet(cmdHandle, wallet.getWalletHandle(), callback);
-    iResult.setReturnValue(rc);
-    return future;
+    int rc = nativeApi.indy_close_wallet(cmdHandle, wallet.getWalletHandle(), dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
+    // the listeners have run by the time the caller sees the wallet closed
+    return future.whenComplete((result, failure) -> {
+      if (null == failure && ErrorCode.Success == result.getErrorCode()) {
+        notifyClosed(wallet);
+      }
+    });
+  }
+
+  /**
+   * Registers a listener called once a wallet was closed through this WalletApi, e.g. to drop what was
+   * cached for its handle as libindy hands the handle out again
+   */
+  public void addCloseListener(Consumer<Wallet> listener) {
+    closeListeners.add(listener);
+  }
+
+  public void removeCloseListener(Consumer<Wallet> listener) {
+    closeListeners.remove(listener);
+  }
+
+  private void notifyClosed(Wallet wallet) {
+    for (Consumer<Wallet> listener : closeListeners) {
+      try {
+        listener.accept(wallet);
+      } catch (RuntimeException e) {
+        logger.warn("Close listener failed for wallet: {}", wallet.getWalletName(), e);
+      }
+    }
   }
   
   /**
@@ -162,9 +308,20 @@ public class WalletApi implements IIndyApi {
    * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#closeWalletAsync()
    */
   public Wallet closeWallet(Wallet wallet) throws InterruptedException, ExecutionException {
-    final Future<GenericResult> future = closeWalletAsync(wallet);
-    GenericResult r = future.get();
-    
+    return onWalletClosed(wallet, closeWalletAsync(wallet).get());
+  }
+
+  /**
+   * A synchronous close wallet API that gives up after the given timeout
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#closeWalletAsync(Wallet, Duration)
+   */
+  public Wallet closeWallet(Wallet wallet, Duration timeout) 
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return onWalletClosed(wallet, IndyCommandDispatcher.await(closeWalletAsync(wallet, timeout)));
+  }
+
+  private Wallet onWalletClosed(Wallet wallet, GenericResult r) {
     if (r.getErrorCode().equals(ErrorCode.Success)) {
       wallet.setStatus(WalletStatus.CLOSED);
       return wallet;
@@ -181,16 +338,27 @@ public class WalletApi implements IIndyApi {
    *                         pass null when using default type
    * @return A future that returns a IndyResult
    */
-  public Future<GenericResult> deleteWalletAsync(String walletName, String walletCredentialsJson) {
+  public CompletableFuture<GenericResult> deleteWalletAsync(String walletName, String walletCredentialsJson) {
+    return deleteWalletAsync(walletName, walletCredentialsJson, null);
+  }
+
+  /**
+   * A asynchronous delete wallet API with a deadline
+   *
+   * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#deleteWalletAsync(String, String)
+   * @param timeout the returned future fails with a TimeoutException if libindy has not called back by then,
+   *                null to wait forever
+   */
+  public CompletableFuture<GenericResult> deleteWalletAsync(String walletName, String walletCredentialsJson,
+      Duration timeout) {
     final CompletableFuture<GenericResult> future = new CompletableFuture<GenericResult>();
     GenericResult iResult = new GenericResult();
     
-    int cmdHandle = cmdHandleCounter.incrementAndGet();
-   
-    Callback callback = new IndyCallback.SimpleCallback(future, iResult);
+    NativeApi nativeApi = apiInstance.getNativeApiInstance();
+    int cmdHandle = dispatcher.register(future, iResult, timeout);
  
-    int rc = nativeApiInstance.indy_delete_wallet(cmdHandle, walletName, walletCredentialsJson, callback);
-    iResult.setReturnValue(rc);
+    int rc = nativeApi.indy_delete_wallet(cmdHandle, walletName, walletCredentialsJson, dispatcher.getSimpleCallback());
+    dispatcher.completeReturnValue(cmdHandle, rc);
     return future;
   }
   
@@ -201,7 +369,16 @@ public class WalletApi implements IIndyApi {
    */
   public GenericResult deleteWallet(String walletName, String walletCredentialsJson) 
       throws InterruptedException, ExecutionException {
-    final Future<GenericResult> future = deleteWalletAsync(walletName, walletCredentialsJson);
-    return future.get();
+    return deleteWalletAsync(walletName, walletCredentialsJson).get();
+  }
+
+  /**
+   * A synchronous delete wallet API that gives up after the given timeout
+   * 
+   * @see org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi#deleteWalletAsync(String, String, Duration)
+   */
+  public GenericResult deleteWallet(String walletName, String walletCredentialsJson, Duration timeout) 
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return IndyCommandDispatcher.await(deleteWalletAsync(walletName, walletCredentialsJson, timeout));
   }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet;
+
+import java.io.IOException;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.json.JsonCodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The config json of the default wallet type, and of wallet types following it, i.e. {"freshness_time":..},
+ * passed as Wallet.setWalletConfigJson() or as runtime config. A null freshness time is left out, the wallet
+ * type's default applies then.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class WalletConfig {
+  public static final WalletConfig DEFAULT = new WalletConfig(null);
+
+  public static final JsonCodec<WalletConfig> CODEC = new JsonCodec<WalletConfig>() {
+    @Override
+    public void write(JsonGenerator generator, WalletConfig value) throws IOException {
+      generator.writeStartObject();
+      if (null != value.freshnessTime) {
+        generator.writeNumberField("freshness_time", value.freshnessTime);
+      }
+      generator.writeEndObject();
+    }
+
+    @Override
+    public WalletConfig read(JsonParser parser) throws IOException {
+      Long freshnessTime = null;
+      String name;
+      while (null != (name = IndyJson.nextMember(parser))) {
+        JsonToken token = parser.getCurrentToken();
+        if ("freshness_time".equals(name) && JsonToken.VALUE_NUMBER_INT == token) {
+          freshnessTime = parser.getLongValue();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return new WalletConfig(freshnessTime);
+    }
+  };
+
+  private final Long freshnessTime;
+
+  /**
+   * @param freshnessTime seconds a wallet entry is considered fresh, null for the wallet type's default
+   */
+  public WalletConfig(Long freshnessTime) {
+    this.freshnessTime = freshnessTime;
+  }
+
+  public Long getFreshnessTime() {
+    return freshnessTime;
+  }
+
+  @Override
+  public String toString() {
+    return "WalletConfig [freshnessTime=" + freshnessTime + "]";
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A reference to an open wallet handle borrowed from a {@link WalletManager}, the handle stays open at least
+ * until the lease is closed. Do not close the wallet itself through the WalletApi.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class WalletLease implements AutoCloseable {
+  private final WalletManager manager;
+  private final WalletManager.ManagedWallet managedWallet;
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  WalletLease(WalletManager manager, WalletManager.ManagedWallet managedWallet) {
+    this.manager = manager;
+    this.managedWallet = managedWallet;
+  }
+
+  public Wallet getWallet() {
+    return managedWallet.getWallet();
+  }
+
+  public int getWalletHandle() {
+    return managedWallet.getWallet().getWalletHandle();
+  }
+
+  /**
+   * Hands the wallet back to the manager, calling this more than once has no effect
+   */
+  @Override
+  public void close() {
+    if (released.compareAndSet(false, true)) {
+      manager.release(managedWallet);
+    }
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps wallet handles open across requests so that indy_open_wallet / indy_close_wallet are not paid per request.
+ *
+ * Handles are keyed by wallet name, as libindy opens a wallet only once, together with a SHA-256 digest of the
+ * credentials they were opened with, the credentials themselves are never kept. An acquire with other credentials
+ * waits for an idle handle to be closed and reopens the wallet, it fails with WalletAlreadyOpenedError while the
+ * handle is leased. Callers borrow a handle with acquire() and give it back by closing the returned {@link WalletLease}, a
+ * handle is reference counted and only closed once it has not been leased for idleTimeout. When more than
+ * maxOpenWallets handles are open the least recently used idle handles are closed first. Concurrent acquires of
+ * a wallet that is not open yet share a single indy_open_wallet call.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class WalletManager {
+  private static Logger logger = LoggerFactory.getLogger(WalletManager.class);
+
+  private final WalletApi walletApi;
+  private final int maxOpenWallets;
+  private final long idleTimeoutNanos;
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * The handles per wallet name
+   */
+  private final ConcurrentMap<String, ManagedWallet> wallets = new ConcurrentHashMap<String, ManagedWallet>();
+  /**
+   * Close calls still in flight per wallet name, a wallet is only reopened once its previous handle is closed.
+   * A close is registered before its wallet leaves the wallets map, so an acquire never misses it.
+   */
+  private final ConcurrentMap<String, CompletableFuture<Void>> pendingCloses = new ConcurrentHashMap<String, CompletableFuture<Void>>();
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder openCount = new LongAdder();
+  private final LongAdder openLatencyNanos = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  public WalletManager(WalletApi walletApi, int maxOpenWallets, Duration idleTimeout) {
+    this.walletApi = walletApi;
+    this.maxOpenWallets = maxOpenWallets;
+    this.idleTimeoutNanos = idleTimeout.toNanos();
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread t = new Thread(runnable, "indy-wallet-manager");
+      t.setDaemon(true);
+      return t;
+    });
+    long period = Math.max(1, idleTimeout.toMillis() / 2);
+    scheduler.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Borrows an open handle of the wallet, opening it if needed
+   *
+   * @param wallet a created Wallet, only its name, type and config are used
+   * @param walletCredentialsJson Wallet credentials json, pass null when using default type
+   * @return a future that returns a lease on the open wallet, close the lease once done with the wallet
+   */
+  public CompletableFuture<WalletLease> acquire(Wallet wallet, String walletCredentialsJson) {
+    String key = wallet.getWalletName();
+    String credentialsDigest = digest(walletCredentialsJson);
+    while (true) {
+      ManagedWallet managed = wallets.get(key);
+      boolean created = false;
+      if (null == managed) {
+        ManagedWallet candidate = new ManagedWallet(key, credentialsDigest, copyOf(wallet));
+        managed = wallets.putIfAbsent(key, candidate);
+        if (null == managed) {
+          managed = candidate;
+          created = true;
+        }
+      }
+      if (!managed.credentialsDigest.equals(credentialsDigest)) {
+        if (closeIfIdle(managed, 0)) {
+          continue;
+        }
+        synchronized (managed) {
+          if (managed.closed) {
+            continue;
+          }
+        }
+        CompletableFuture<WalletLease> failed = new CompletableFuture<WalletLease>();
+        failed.completeExceptionally(new IndyException(ErrorCode.WalletAlreadyOpenedError));
+        return failed;
+      }
+      synchronized (managed) {
+        if (managed.closed) {
+          continue;
+        }
+        managed.refCount++;
+      }
+      if (created) {
+        missCount.increment();
+        open(managed, walletCredentialsJson);
+        trimToSize();
+      } else {
+        hitCount.increment();
+      }
+      final ManagedWallet leased = managed;
+      return managed.opened.thenApply(w -> new WalletLease(this, leased));
+    }
+  }
+
+  /**
+   * Opens the wallet ahead of time so the first request does not pay for it, the handle is subject to
+   * idle eviction like any other
+   */
+  public CompletableFuture<Void> preload(Wallet wallet, String walletCredentialsJson) {
+    return acquire(wallet, walletCredentialsJson).thenAccept(WalletLease::close);
+  }
+
+  /**
+   * Closes all idle handles and stops the eviction thread, handles still leased are closed when released
+   */
+  public void shutdown() {
+    scheduler.shutdownNow();
+    for (ManagedWallet managed : wallets.values()) {
+      closeIfIdle(managed, 0);
+    }
+  }
+
+  public int getOpenWalletCount() {
+    return wallets.size();
+  }
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+  public long getMissCount() {
+    return missCount.sum();
+  }
+  public double getHitRate() {
+    long hits = hitCount.sum();
+    long total = hits + missCount.sum();
+    return 0 == total ? 0 : (double) hits / total;
+  }
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+  /**
+   * @return the average time indy_open_wallet took to call back, in milliseconds
+   */
+  public double getAverageOpenLatencyMillis() {
+    long opens = openCount.sum();
+    return 0 == opens ? 0 : openLatencyNanos.sum() / 1000000.0 / opens;
+  }
+
+  void release(ManagedWallet managed) {
+    boolean closeNow;
+    synchronized (managed) {
+      managed.refCount--;
+      managed.lastUsedNanos = System.nanoTime();
+      closeNow = 0 == managed.refCount && scheduler.isShutdown();
+    }
+    if (closeNow) {
+      closeIfIdle(managed, 0);
+    }
+  }
+
+  private void open(final ManagedWallet managed, final String walletCredentialsJson) {
+    CompletableFuture<Void> previousClose = pendingCloses.get(managed.key);
+    CompletableFuture<Void> ready = null == previousClose ? CompletableFuture.completedFuture(null) : previousClose;
+
+    ready.thenCompose(ignored -> {
+      managed.openStartNanos = System.nanoTime();
+      return walletApi.openWalletAsync(managed.wallet, walletCredentialsJson);
+    }).whenComplete((result, failure) -> {
+      if (null == failure && ErrorCode.Success == result.getErrorCode()) {
+        openCount.increment();
+        openLatencyNanos.add(System.nanoTime() - managed.openStartNanos);
+        managed.wallet.setWalletHandle(result.getReturnHandle());
+        managed.wallet.setStatus(WalletStatus.OPEN);
+        managed.opened.complete(managed.wallet);
+        return;
+      }
+      synchronized (managed) {
+        managed.closed = true;
+      }
+      wallets.remove(managed.key, managed);
+      if (null != failure) {
+        managed.opened.completeExceptionally(failure);
+      } else {
+        ErrorCode errorCode = null != result.getErrorCode() ? result.getErrorCode() : ErrorCode.CommonInvalidState;
+        managed.opened.completeExceptionally(new IndyException(errorCode));
+      }
+    });
+  }
+
+  private void evictIdle() {
+    try {
+      for (ManagedWallet managed : wallets.values()) {
+        closeIfIdle(managed, idleTimeoutNanos);
+      }
+    } catch (RuntimeException e) {
+      logger.error("Failed to evict idle wallets", e);
+    }
+  }
+
+  /**
+   * Closes the least recently used idle wallets while more than maxOpenWallets are open
+   */
+  private void trimToSize() {
+    while (wallets.size() > maxOpenWallets) {
+      ManagedWallet lru = null;
+      for (ManagedWallet managed : wallets.values()) {
+        synchronized (managed) {
+          if (0 == managed.refCount && managed.opened.isDone() && (null == lru || managed.lastUsedNanos < lru.lastUsedNanos)) {
+            lru = managed;
+          }
+        }
+      }
+      if (null == lru || !closeIfIdle(lru, 0)) {
+        return;
+      }
+    }
+  }
+
+  private boolean closeIfIdle(final ManagedWallet managed, long minIdleNanos) {
+    final CompletableFuture<Void> closing = new CompletableFuture<Void>();
+    synchronized (managed) {
+      if (managed.closed || 0 != managed.refCount || !managed.opened.isDone()
+          || System.nanoTime() - managed.lastUsedNanos < minIdleNanos) {
+        return false;
+      }
+      managed.closed = true;
+      if (!managed.opened.isCompletedExceptionally()) {
+        pendingCloses.put(managed.key, closing);
+      }
+    }
+    wallets.remove(managed.key, managed);
+    if (managed.opened.isCompletedExceptionally()) {
+      return true;
+    }
+    evictionCount.increment();
+    walletApi.closeWalletAsync(managed.wallet).whenComplete((result, failure) -> {
+      if (null == failure && ErrorCode.Success == result.getErrorCode()) {
+        managed.wallet.setStatus(WalletStatus.CLOSED);
+      } else {
+        logger.warn("Failed to close wallet: {}", managed.key);
+      }
+      pendingCloses.remove(managed.key, closing);
+      closing.complete(null);
+    });
+    return true;
+  }
+
+  private static Wallet copyOf(Wallet wallet) {
+    Wallet copy = new Wallet(wallet.getWalletName());
+    copy.setWalletType(wallet.getWalletType());
+    copy.setWalletConfigJson(wallet.getWalletConfigJson());
+    return copy;
+  }
+
+  private static String digest(String walletCredentialsJson) {
+    if (null == walletCredentialsJson) {
+      return "";
+    }
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(walletCredentialsJson.getBytes(StandardCharsets.UTF_8));
+      StringBuilder sb = new StringBuilder(64);
+      for (byte b : digest) {
+        sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  static class ManagedWallet {
+    private final String key;
+    private final String credentialsDigest;
+    private final Wallet wallet;
+    private final CompletableFuture<Wallet> opened = new CompletableFuture<Wallet>();
+    private int refCount;
+    private boolean closed;
+    private long lastUsedNanos = System.nanoTime();
+    private long openStartNanos;
+
+    private ManagedWallet(String key, String credentialsDigest, Wallet wallet) {
+      this.key = key;
+      this.credentialsDigest = credentialsDigest;
+      this.wallet = wallet;
+    }
+
+    Wallet getWallet() {
+      return wallet;
+    }
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A WalletStorage keeping its records in a memory-mapped, append-only file with an OffHeapIndex over the latest
+ * record of every key. Setting a key appends a record, older records of the key stay in the file but are no longer indexed.
+ *
+ * A record is laid out as: int key length + 1, int value length, long set time in millis, key bytes, value bytes (UTF-8).
+ * The key length is written last, a record whose key length is still zero was never completed and ends the file.
+ * Reads run concurrently under a read lock, sets are serialized.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class MappedWalletStorage implements WalletStorage {
+  private static Logger logger = LoggerFactory.getLogger(MappedWalletStorage.class);
+
+  private static final int HEADER_SIZE = 16;
+  private static final int VALUE_LENGTH_OFFSET = 4;
+  private static final int TIME_OFFSET = 8;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final MappedByteBuffer data;
+  private final OffHeapIndex index;
+  private final long freshnessMillis;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private int writePosition;
+  private boolean closed;
+
+  /**
+   * Maps the file and rebuilds the index from the records it holds
+   *
+   * @param capacity the size of the mapping, the most bytes the file can ever hold
+   * @param freshnessMillis how long a value counts as not expired for getNotExpired()
+   * @throws IndyException CommonIOError if a record in the file runs past the end of the mapping
+   */
+  public MappedWalletStorage(Path file, int capacity, long freshnessMillis) throws IOException, IndyException {
+    this.file = file;
+    this.freshnessMillis = freshnessMillis;
+    this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      this.data = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    this.index = new OffHeapIndex(1024);
+    try {
+      recover();
+    } catch (IndyException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private void recover() throws IndyException {
+    int position = 0;
+    while (position + HEADER_SIZE <= data.capacity()) {
+      int keyLength = data.getInt(position) - 1;
+      if (keyLength < 0) {
+        break;
+      }
+      int valueLength = data.getInt(position + VALUE_LENGTH_OFFSET);
+      // lengths from a corrupt file must not send the reads below past the mapping
+      if (valueLength < 0 || (long) position + HEADER_SIZE + keyLength + valueLength > data.capacity()) {
+        logger.error("Wallet file {} has a corrupt record at offset {}", file, position);
+        throw new IndyException(ErrorCode.CommonIOError);
+      }
+      final byte[] key = read(position + HEADER_SIZE, keyLength);
+      index.put(OffHeapIndex.hash(new String(key, StandardCharsets.UTF_8)), position, offset -> keyEquals(offset, key));
+      position += HEADER_SIZE + keyLength + valueLength;
+    }
+    writePosition = position;
+    logger.debug("Recovered {} keys from wallet file: {}", index.size(), file);
+  }
+
+  @Override
+  public void set(String key, String value) throws IndyException {
+    final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+    lock.writeLock().lock();
+    try {
+      checkOpen();
+      int position = writePosition;
+      long end = (long) position + HEADER_SIZE + keyBytes.length + valueBytes.length;
+      if (end > data.capacity()) {
+        logger.error("Wallet file {} is full, capacity: {} bytes", file, data.capacity());
+        throw new IndyException(ErrorCode.CommonIOError);
+      }
+      data.putInt(position + VALUE_LENGTH_OFFSET, valueBytes.length);
+      data.putLong(position + TIME_OFFSET, System.currentTimeMillis());
+      ByteBuffer target = data.duplicate();
+      target.position(position + HEADER_SIZE);
+      target.put(keyBytes);
+      target.put(valueBytes);
+      data.putInt(position, keyBytes.length + 1);
+
+      index.put(OffHeapIndex.hash(key), position, offset -> keyEquals(offset, keyBytes));
+      writePosition = (int) end;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public String get(String key) throws IndyException {
+    return get(key, false);
+  }
+
+  @Override
+  public String getNotExpired(String key) throws IndyException {
+    return get(key, true);
+  }
+
+  private String get(String key, boolean notExpired) throws IndyException {
+    final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    lock.readLock().lock();
+    try {
+      checkOpen();
+      long offset = index.find(OffHeapIndex.hash(key), candidate -> keyEquals(candidate, keyBytes));
+      if (offset < 0) {
+        throw new IndyException(ErrorCode.WalletNotFoundError);
+      }
+      int position = (int) offset;
+      if (notExpired && data.getLong(position + TIME_OFFSET) + freshnessMillis < System.currentTimeMillis()) {
+        throw new IndyException(ErrorCode.WalletNotFoundError);
+      }
+      return new String(read(position + HEADER_SIZE + keyBytes.length, data.getInt(position + VALUE_LENGTH_OFFSET)),
+          StandardCharsets.UTF_8);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Map<String, String> list(String keyPrefix) throws IndyException {
+    final Map<String, String> values = new TreeMap<String, String>();
+    final String prefix = null == keyPrefix ? "" : keyPrefix;
+    lock.readLock().lock();
+    try {
+      checkOpen();
+      index.forEach(offset -> {
+        int position = (int) offset;
+        int keyLength = data.getInt(position) - 1;
+        String key = new String(read(position + HEADER_SIZE, keyLength), StandardCharsets.UTF_8);
+        if (key.startsWith(prefix)) {
+          values.put(key, new String(read(position + HEADER_SIZE + keyLength, data.getInt(position + VALUE_LENGTH_OFFSET)),
+              StandardCharsets.UTF_8));
+        }
+      });
+      return values;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Flushes the mapping and closes the file. The mapping itself is released once it is garbage collected.
+   */
+  @Override
+  public void close() throws IndyException {
+    lock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      data.force();
+      channel.close();
+    } catch (IOException e) {
+      logger.error("Failed to close wallet file: {}", file, e);
+      throw new IndyException(ErrorCode.CommonIOError);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return the number of distinct keys stored
+   */
+  public int getKeyCount() {
+    lock.readLock().lock();
+    try {
+      return index.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return the number of bytes of the file used by records, including superseded ones
+   */
+  public int getUsedBytes() {
+    lock.readLock().lock();
+    try {
+      return writePosition;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void checkOpen() throws IndyException {
+    if (closed) {
+      throw new IndyException(ErrorCode.WalletInvalidHandle);
+    }
+  }
+
+  private boolean keyEquals(long recordOffset, byte[] key) {
+    int position = (int) recordOffset;
+    if (data.getInt(position) - 1 != key.length) {
+      return false;
+    }
+    int keyStart = position + HEADER_SIZE;
+    for (int i = 0; i < key.length; i++) {
+      if (data.get(keyStart + i) != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private byte[] read(int position, int length) {
+    byte[] bytes = new byte[length];
+    ByteBuffer source = data.duplicate();
+    source.position(position);
+    source.get(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet.spi;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.hyperledger.indy.sdk.jwrapper.wallet.WalletConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates MappedWalletStorage wallets, one file named after the wallet in the given directory.
+ * Like the default wallet type the freshness_time (in seconds) used by get_not_expired is read from
+ * the runtime config, then the wallet config, and defaults to 1000 seconds.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public class MappedWalletStorageFactory implements WalletStorageFactory {
+  private static Logger logger = LoggerFactory.getLogger(MappedWalletStorageFactory.class);
+
+  public static final int DEFAULT_CAPACITY = 64 * 1024 * 1024;
+  private static final long DEFAULT_FRESHNESS_SECONDS = 1000;
+  private static final String FILE_SUFFIX = ".wallet";
+
+  private final Path directory;
+  private final int capacity;
+
+  public MappedWalletStorageFactory(Path directory) {
+    this(directory, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity the most bytes a single wallet file can hold
+   */
+  public MappedWalletStorageFactory(Path directory, int capacity) {
+    this.directory = directory;
+    this.capacity = capacity;
+  }
+
+  @Override
+  public void create(String name, String config, String credentials) throws IndyException {
+    Path file = walletFile(name);
+    try {
+      Files.createDirectories(directory);
+      Files.createFile(file);
+    } catch (FileAlreadyExistsException e) {
+      throw new IndyException(ErrorCode.WalletAlreadyExistsError);
+    } catch (IOException e) {
+      logger.error("Failed to create wallet file: {}", file, e);
+      throw new IndyException(ErrorCode.CommonIOError);
+    }
+  }
+
+  @Override
+  public WalletStorage open(String name, String config, String runtimeConfig, String credentials) throws IndyException {
+    Path file = walletFile(name);
+    if (!Files.exists(file)) {
+      throw new IndyException(ErrorCode.WalletNotFoundError);
+    }
+    long freshnessSeconds = freshnessTime(runtimeConfig, freshnessTime(config, DEFAULT_FRESHNESS_SECONDS));
+    try {
+      return new MappedWalletStorage(file, capacity, TimeUnit.SECONDS.toMillis(freshnessSeconds));
+    } catch (IOException e) {
+      logger.error("Failed to open wallet file: {}", file, e);
+      throw new IndyException(ErrorCode.CommonIOError);
+    }
+  }
+
+  @Override
+  public void delete(String name, String config, String credentials) throws IndyException {
+    Path file = walletFile(name);
+    try {
+      Files.delete(file);
+    } catch (NoSuchFileException e) {
+      throw new IndyException(ErrorCode.WalletNotFoundError);
+    } catch (IOException e) {
+      logger.error("Failed to delete wallet file: {}", file, e);
+      throw new IndyException(ErrorCode.CommonIOError);
+    }
+  }
+
+  private Path walletFile(String name) throws IndyException {
+    if (null == name || name.isEmpty() || name.contains("/") || name.contains("\\") || name.startsWith(".")) {
+      throw new IndyException(ErrorCode.CommonInvalidStructure);
+    }
+    return directory.resolve(name + FILE_SUFFIX);
+  }
+
+  private long freshnessTime(String configJson, long defaultValue) throws IndyException {
+    if (null == configJson || configJson.isEmpty()) {
+      return defaultValue;
+    }
+    try {
+      Long freshness = IndyJson.decode(WalletConfig.CODEC, configJson).getFreshnessTime();
+      return null != freshness ? freshness.longValue() : defaultValue;
+    } catch (IOException e) {
+      throw new IndyException(ErrorCode.CommonInvalidStructure);
+    }
+  }
+}
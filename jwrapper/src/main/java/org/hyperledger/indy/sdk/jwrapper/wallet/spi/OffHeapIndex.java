@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet.spi;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.LongConsumer;
+
+/**
+ * An open addressing hash table kept in a direct buffer, mapping a key hash to the offset of the record holding the key.
+ * Every slot is 16 bytes: the record offset plus one (zero marks a free slot) and the key hash, so the index
+ * produces no garbage and no per entry objects regardless of the number of records.
+ * Keys are not stored, a KeyMatcher compares the key of a candidate record instead.
+ *
+ * Not thread safe for writes, readers may run concurrently with each other but not with put().
+ *
+ * @version 1.0 17-Oct-2026
+ */
+class OffHeapIndex {
+  private static final int SLOT_SIZE = 16;
+  private static final int HASH_OFFSET = 8;
+
+  interface KeyMatcher {
+    boolean matches(long recordOffset);
+  }
+
+  private ByteBuffer slots;
+  private int mask;
+  private int size;
+
+  OffHeapIndex(int expectedEntries) {
+    int capacity = 16;
+    while (capacity * 3 < expectedEntries * 4) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  static int hash(String key) {
+    int h = key.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * @return the offset of the record holding the key, -1 if there is none
+   */
+  long find(int hash, KeyMatcher matcher) {
+    int i = hash & mask;
+    while (true) {
+      int slot = i * SLOT_SIZE;
+      long stored = slots.getLong(slot);
+      if (0 == stored) {
+        return -1;
+      }
+      if (slots.getInt(slot + HASH_OFFSET) == hash && matcher.matches(stored - 1)) {
+        return stored - 1;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  /**
+   * Points the key to the given record, replacing the record an earlier put() pointed it to
+   */
+  void put(int hash, long recordOffset, KeyMatcher matcher) {
+    if ((size + 1) * 4L > (mask + 1) * 3L) {
+      grow();
+    }
+    int i = hash & mask;
+    while (true) {
+      int slot = i * SLOT_SIZE;
+      long stored = slots.getLong(slot);
+      if (0 == stored) {
+        slots.putInt(slot + HASH_OFFSET, hash);
+        slots.putLong(slot, recordOffset + 1);
+        size++;
+        return;
+      }
+      if (slots.getInt(slot + HASH_OFFSET) == hash && matcher.matches(stored - 1)) {
+        slots.putLong(slot, recordOffset + 1);
+        return;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  void forEach(LongConsumer recordOffsetConsumer) {
+    for (int i = 0; i <= mask; i++) {
+      long stored = slots.getLong(i * SLOT_SIZE);
+      if (0 != stored) {
+        recordOffsetConsumer.accept(stored - 1);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  private void allocate(int capacity) {
+    slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE).order(ByteOrder.nativeOrder());
+    mask = capacity - 1;
+  }
+
+  private void grow() {
+    ByteBuffer old = this.slots;
+    int oldCapacity = mask + 1;
+    allocate(oldCapacity << 1);
+    for (int i = 0; i < oldCapacity; i++) {
+      long stored = old.getLong(i * SLOT_SIZE);
+      if (0 != stored) {
+        int hash = old.getInt(i * SLOT_SIZE + HASH_OFFSET);
+        int j = hash & mask;
+        while (0 != slots.getLong(j * SLOT_SIZE)) {
+          j = (j + 1) & mask;
+        }
+        slots.putInt(j * SLOT_SIZE + HASH_OFFSET, hash);
+        slots.putLong(j * SLOT_SIZE, stored);
+      }
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet.spi;
+
+import java.util.Map;
+
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+
+/**
+ * The records of one opened wallet of a custom wallet type, libindy stores all wallet content as key/value strings.
+ * Implementations are called from libindy's worker threads and must be thread safe.
+ * Failures are reported with an IndyException carrying the ErrorCode handed back to libindy,
+ * e.g. WalletNotFoundError for a key that does not exist.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public interface WalletStorage {
+
+  void set(String key, String value) throws IndyException;
+
+  String get(String key) throws IndyException;
+
+  /**
+   * Same as get() but a value that was set longer ago than the wallet's freshness time is reported as not found
+   */
+  String getNotExpired(String key) throws IndyException;
+
+  /**
+   * @return all keys starting with keyPrefix and their values
+   */
+  Map<String, String> list(String keyPrefix) throws IndyException;
+
+  void close() throws IndyException;
+}
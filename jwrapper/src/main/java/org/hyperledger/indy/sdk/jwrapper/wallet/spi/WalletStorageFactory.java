@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet.spi;
+
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+
+/**
+ * A custom wallet type implemented in Java, registered with WalletApi.registerWalletTypeAsync().
+ * Wallets created with Wallet.setWalletType() set to the registered type name are then handled by this factory.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public interface WalletStorageFactory {
+
+  /**
+   * Creates the storage of a new wallet, WalletAlreadyExistsError if it exists already
+   */
+  void create(String name, String config, String credentials) throws IndyException;
+
+  /**
+   * Opens the storage of an existing wallet, WalletNotFoundError if it does not exist
+   */
+  WalletStorage open(String name, String config, String runtimeConfig, String credentials) throws IndyException;
+
+  /**
+   * Removes the storage of a wallet, WalletNotFoundError if it does not exist
+   */
+  void delete(String name, String config, String credentials) throws IndyException;
+}
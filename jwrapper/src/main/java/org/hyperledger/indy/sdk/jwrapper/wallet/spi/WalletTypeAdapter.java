@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet.spi;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.jna.Callback;
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
+
+/**
+ * Bridges the wallet type callbacks of indy_register_wallet_type to a WalletStorageFactory.
+ * An instance is handed to libindy once and referenced by it for the life of the process, so the
+ * registering side has to keep it reachable, otherwise the callbacks would be garbage collected.
+ *
+ * Values returned to libindy by get, get_not_expired and list live in native memory owned by this
+ * adapter until libindy hands them back through the free callback.
+ *
+ * @version 1.0 17-Oct-2026
+ */
+public final class WalletTypeAdapter {
+  private static Logger logger = LoggerFactory.getLogger(WalletTypeAdapter.class);
+
+  private final String walletType;
+  private final WalletStorageFactory factory;
+  private final ObjectMapper objectMapper;
+
+  private final AtomicInteger handleCounter = new AtomicInteger();
+  private final ConcurrentMap<Integer, WalletStorage> openStorages = new ConcurrentHashMap<Integer, WalletStorage>();
+  private final ConcurrentMap<Long, Memory> returnedValues = new ConcurrentHashMap<Long, Memory>();
+
+  private final CreateCallback createCallback = new CreateCallback();
+  private final OpenCallback openCallback = new OpenCallback();
+  private final SetCallback setCallback = new SetCallback();
+  private final GetCallback getCallback = new GetCallback(false);
+  private final GetCallback getNotExpiredCallback = new GetCallback(true);
+  private final ListCallback listCallback = new ListCallback();
+  private final CloseCallback closeCallback = new CloseCallback();
+  private final DeleteCallback deleteCallback = new DeleteCallback();
+  private final FreeCallback freeCallback = new FreeCallback();
+
+  public WalletTypeAdapter(String walletType, WalletStorageFactory factory, ObjectMapper objectMapper) {
+    this.walletType = walletType;
+    this.factory = factory;
+    this.objectMapper = objectMapper;
+  }
+
+  public String getWalletType() {
+    return walletType;
+  }
+  public Callback getCreateCallback() {
+    return createCallback;
+  }
+  public Callback getOpenCallback() {
+    return openCallback;
+  }
+  public Callback getSetCallback() {
+    return setCallback;
+  }
+  public Callback getGetCallback() {
+    return getCallback;
+  }
+  public Callback getGetNotExpiredCallback() {
+    return getNotExpiredCallback;
+  }
+  public Callback getListCallback() {
+    return listCallback;
+  }
+  public Callback getCloseCallback() {
+    return closeCallback;
+  }
+  public Callback getDeleteCallback() {
+    return deleteCallback;
+  }
+  public Callback getFreeCallback() {
+    return freeCallback;
+  }
+
+  /**
+   * @return the number of wallets of this type currently open
+   */
+  public int getOpenCount() {
+    return openStorages.size();
+  }
+
+  /**
+   * @return the number of values handed to libindy that it did not free yet
+   */
+  public int getUnfreedValueCount() {
+    return returnedValues.size();
+  }
+
+  private WalletStorage storage(int handle) throws IndyException {
+    WalletStorage storage = openStorages.get(handle);
+    if (null == storage) {
+      throw new IndyException(ErrorCode.WalletInvalidHandle);
+    }
+    return storage;
+  }
+
+  private Pointer toNative(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    Memory memory = new Memory(bytes.length + 1);
+    memory.write(0, bytes, 0, bytes.length);
+    memory.setByte(bytes.length, (byte) 0);
+    returnedValues.put(Pointer.nativeValue(memory), memory);
+    return memory;
+  }
+
+  private String toValuesJson(Map<String, String> values) throws Exception {
+    StringWriter writer = new StringWriter(256);
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+    generator.writeStartObject();
+    generator.writeArrayFieldStart("values");
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      generator.writeStartObject();
+      generator.writeStringField("key", entry.getKey());
+      generator.writeStringField("value", entry.getValue());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+    generator.close();
+    return writer.toString();
+  }
+
+  private int failed(String operation, Exception e) {
+    if (e instanceof IndyException) {
+      return ((IndyException) e).getErrorValue();
+    }
+    logger.error("Wallet type {} failed to {}", walletType, operation, e);
+    return ErrorCode.CommonInvalidState.value();
+  }
+
+  class CreateCallback implements Callback {
+    public int callback(String name, String config, String credentials) {
+      try {
+        factory.create(name, config, credentials);
+        return ErrorCode.Success.value();
+      } catch (Exception e) {
+        return failed("create", e);
+      }
+    }
+  }
+
+  class OpenCallback implements Callback {
+    public int callback(String name, String config, String runtimeConfig, String credentials, Pointer handlePtr) {
+      try {
+        WalletStorage storage = factory.open(name, config, runtimeConfig, credentials);
+        int handle = handleCounter.incrementAndGet();
+        openStorages.put(handle, storage);
+        handlePtr.setInt(0, handle);
+        return ErrorCode.Success.value();
+      } catch (Exception e) {
+        return failed("open", e);
+      }
+    }
+  }
+
+  class SetCallback implements Callback {
+    public int callback(int handle, String key, String value) {
+      try {
+        storage(handle).set(key, value);
+        return ErrorCode.Success.value();
+      } catch (Exception e) {
+        return failed("set", e);
+      }
+    }
+  }
+
+  class GetCallback implements Callback {
+    private final boolean notExpired;
+
+    GetCallback(boolean notExpired) {
+      this.notExpired = notExpired;
+    }
+
+    public int callback(int handle, String key, Pointer valuePtr) {
+      try {
+        WalletStorage storage = storage(handle);
+        String value = notExpired ? storage.getNotExpired(key) : storage.get(key);
+        valuePtr.setPointer(0, toNative(value));
+        return ErrorCode.Success.value();
+      } catch (Exception e) {
+        return failed("get", e);
+      }
+    }
+  }
+
+  class ListCallback implements Callback {
+    public int callback(int handle, String keyPrefix, Pointer valuesJsonPtr) {
+      try {
+        valuesJsonPtr.setPointer(0, toNative(toValuesJson(storage(handle).list(keyPrefix))));
+        return ErrorCode.Success.value();
+      } catch (Exception e) {
+        return failed("list", e);
+      }
+    }
+  }
+
+  class CloseCallback implements Callback {
+    public int callback(int handle) {
+      try {
+        WalletStorage storage = openStorages.remove(handle);
+        if (null == storage) {
+          return ErrorCode.WalletInvalidHandle.value();
+        }
+        storage.close();
+        return ErrorCode.Success.value();
+      } catch (Exception e) {
+        return failed("close", e);
+      }
+    }
+  }
+
+  class DeleteCallback implements Callback {
+    public int callback(String name, String config, String credentials) {
+      try {
+        factory.delete(name, config, credentials);
+        return ErrorCode.Success.value();
+      } catch (Exception e) {
+        return failed("delete", e);
+      }
+    }
+  }
+
+  class FreeCallback implements Callback {
+    public int callback(int handle, Pointer value) {
+      if (null != value) {
+        returnedValues.remove(Pointer.nativeValue(value));
+      }
+      return ErrorCode.Success.value();
+    }
+  }
+}
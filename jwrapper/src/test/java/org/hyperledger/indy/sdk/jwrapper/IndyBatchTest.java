@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndyBatchTest {
+  private List<String> submitted;
+  private List<CompletableFuture<GenericResult>> commands;
+  private AtomicInteger inFlight;
+  private AtomicInteger maxInFlight;
+
+  @Before
+  public void setUp() {
+    submitted = new ArrayList<String>();
+    commands = new ArrayList<CompletableFuture<GenericResult>>();
+    inFlight = new AtomicInteger();
+    maxInFlight = new AtomicInteger();
+  }
+
+  private Function<String, CompletableFuture<GenericResult>> command() {
+    return request -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      submitted.add(request);
+      CompletableFuture<GenericResult> command = new CompletableFuture<GenericResult>();
+      commands.add(command);
+      return command.whenComplete((result, failure) -> inFlight.decrementAndGet());
+    };
+  }
+
+  private static GenericResult result(String returnJson) {
+    GenericResult result = new GenericResult();
+    result.setErrorCode(ErrorCode.Success);
+    result.setReturnJson(returnJson);
+    return result;
+  }
+
+  @Test
+  public void windowIsRespected() throws Exception {
+    List<String> requests = Arrays.asList("a", "b", "c", "d", "e");
+    new IndyBatch<String, GenericResult>(requests, 2, command(), null).start();
+    assertEquals(Arrays.asList("a", "b"), submitted);
+
+    commands.get(1).complete(result("b"));
+    assertEquals(Arrays.asList("a", "b", "c"), submitted);
+    commands.get(0).complete(result("a"));
+    commands.get(2).complete(result("c"));
+    assertEquals(requests, submitted);
+    commands.get(4).complete(result("e"));
+    commands.get(3).complete(result("d"));
+
+    assertEquals(2, maxInFlight.get());
+    assertEquals(0, inFlight.get());
+  }
+
+  @Test
+  public void resultsComeBackInRequestOrder() throws Exception {
+    List<String> requests = Arrays.asList("a", "b", "c", "d");
+    final List<Integer> notified = new ArrayList<Integer>();
+    List<CompletableFuture<GenericResult>> results = new IndyBatch<String, GenericResult>(requests, 4, command(),
+        (index, result, failure) -> notified.add(Integer.valueOf(index))).start();
+
+    for (int i = requests.size() - 1; i >= 0; i--) {
+      commands.get(i).complete(result(requests.get(i)));
+    }
+
+    for (int i = 0; i < requests.size(); i++) {
+      assertEquals(requests.get(i), results.get(i).get(1, TimeUnit.SECONDS).getReturnJson());
+    }
+    assertEquals(Arrays.asList(3, 2, 1, 0), notified);
+  }
+
+  @Test
+  public void failedSubmitsDoNotStallTheBatch() throws Exception {
+    List<String> requests = Arrays.asList("a", "b", "c");
+    List<CompletableFuture<GenericResult>> results = new IndyBatch<String, GenericResult>(requests, 1, request -> {
+      if ("a".equals(request)) {
+        throw new IllegalStateException("refused");
+      }
+      return CompletableFuture.completedFuture(result(request));
+    }, null).start();
+
+    try {
+      results.get(0).get(1, TimeUnit.SECONDS);
+      fail("a refused submit succeeded");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    assertEquals("b", results.get(1).get(1, TimeUnit.SECONDS).getReturnJson());
+    assertEquals("c", results.get(2).get(1, TimeUnit.SECONDS).getReturnJson());
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class IndyRequestCoalescerTest {
+  private IndyRequestCoalescer coalescer;
+  private AtomicInteger issued;
+  private CompletableFuture<GenericResult> command;
+
+  @Before
+  public void setUp() {
+    coalescer = new IndyRequestCoalescer(new ObjectMapper());
+    issued = new AtomicInteger();
+    command = new CompletableFuture<GenericResult>();
+  }
+
+  private Supplier<CompletableFuture<GenericResult>> command() {
+    return () -> {
+      issued.incrementAndGet();
+      return command;
+    };
+  }
+
+  @Test
+  public void equalKeysShareOneCommand() throws Exception {
+    Object key = coalescer.key("indy_submit_request", 1, "{}");
+    CompletableFuture<GenericResult> first = coalescer.execute(key, command());
+    CompletableFuture<GenericResult> second = coalescer.execute(coalescer.key("indy_submit_request", 1, "{}"), command());
+
+    assertEquals(1, issued.get());
+    assertNotSame(first, second);
+    GenericResult result = new GenericResult();
+    command.complete(result);
+    assertSame(result, first.get(1, TimeUnit.SECONDS));
+    assertSame(result, second.get(1, TimeUnit.SECONDS));
+    assertEquals(1, coalescer.getExecutedCount());
+    assertEquals(1, coalescer.getCoalescedCount());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  @Test
+  public void failureReachesEveryCaller() throws Exception {
+    CompletableFuture<GenericResult> first = coalescer.execute("key", command());
+    CompletableFuture<GenericResult> second = coalescer.execute("key", command());
+    command.completeExceptionally(new IndyException(ErrorCode.PoolLedgerTerminated));
+
+    for (CompletableFuture<GenericResult> future : Arrays.asList(first, second)) {
+      try {
+        future.get(1, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException e) {
+        assertEquals(ErrorCode.PoolLedgerTerminated, ((IndyException) e.getCause()).getErrorCode());
+      }
+    }
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  @Test
+  public void cancellingOneCallerLeavesTheOthers() throws Exception {
+    CompletableFuture<GenericResult> first = coalescer.execute("key", command());
+    CompletableFuture<GenericResult> second = coalescer.execute("key", command());
+
+    assertTrue(first.cancel(false));
+    assertFalse(second.isDone());
+    assertFalse(command.isCancelled());
+    assertEquals(1, coalescer.getInFlightCount());
+
+    GenericResult result = new GenericResult();
+    command.complete(result);
+    assertSame(result, second.get(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void commandAbandonedByAllCallersIsIssuedAgain() throws Exception {
+    coalescer.execute("key", command()).cancel(false);
+    assertEquals(0, coalescer.getInFlightCount());
+
+    CompletableFuture<GenericResult> again = coalescer.execute("key", command());
+    assertEquals(2, issued.get());
+    command.complete(new GenericResult());
+    again.get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void timeoutAppliesToItsCallerOnly() throws Exception {
+    CompletableFuture<GenericResult> patient = coalescer.execute("key", command());
+    CompletableFuture<GenericResult> hasty = coalescer.execute("key", command(), Duration.ofMillis(20));
+
+    try {
+      hasty.get(1, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutException);
+    }
+    assertFalse(patient.isDone());
+    command.complete(new GenericResult());
+    patient.get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void commandThrowingFailsTheCaller() throws Exception {
+    CompletableFuture<GenericResult> future = coalescer.execute("key", () -> {
+      throw new IllegalStateException("not ready");
+    });
+    assertTrue(future.isCompletedExceptionally());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  @Test
+  public void canonicalJsonIgnoresMemberOrderAndWhitespace() {
+    assertEquals(coalescer.canonicalJson("{\"b\":1,\"a\":{\"d\":2,\"c\":3}}"),
+        coalescer.canonicalJson("{ \"a\" : { \"c\" : 3, \"d\" : 2 }, \"b\" : 1 }"));
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyCallback;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyFlow;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.jna.Callback;
+
+public class AgentApiTest {
+
+  /**
+   * The simulator answering connect and close, the messages are delivered by the test
+   */
+  private static class AgentNativeApi extends SimulatedNativeApi {
+    private final AtomicInteger lastHandle = new AtomicInteger();
+    private volatile AgentCallback.MessageCallback messageCallback;
+    private volatile String earlyMessage;
+    private volatile ErrorCode connectError = ErrorCode.Success;
+
+    private AgentNativeApi() {
+      super(new SimulatorConfig());
+    }
+
+    @Override
+    public int indy_agent_connect(final int command_handle, int pool_handle, int wallet_handle, String sender_did,
+        String receiver_did, final Callback connection_cb, Callback message_cb) {
+      messageCallback = (AgentCallback.MessageCallback) message_cb;
+      final int handle = lastHandle.incrementAndGet();
+      final String message = earlyMessage;
+      final ErrorCode error = connectError;
+      callBack(() -> {
+        if (null != message) {
+          messageCallback.callback(handle, ErrorCode.Success.value(), message);
+        }
+        ((IndyCallback.HandleReturningCallback) connection_cb).callback(command_handle, error.value(),
+            ErrorCode.Success == error ? handle : 0);
+      });
+      return ErrorCode.Success.value();
+    }
+
+    @Override
+    public int indy_agent_close_connection(final int command_handle, int connection_handle, final Callback cb) {
+      callBack(() -> ((IndyCallback.SimpleCallback) cb).callback(command_handle, ErrorCode.Success.value()));
+      return ErrorCode.Success.value();
+    }
+
+    private void deliver(final int connectionHandle, final String message) throws Exception {
+      callBack(() -> messageCallback.callback(connectionHandle, ErrorCode.Success.value(), message))
+          .get(1, TimeUnit.SECONDS);
+    }
+  }
+
+  private static class RecordingSubscriber implements IndyFlow.Subscriber<AgentMessage> {
+    private final List<String> messages = new ArrayList<String>();
+    private boolean completed;
+
+    @Override
+    public void onSubscribe(IndyFlow.Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+    @Override
+    public void onNext(AgentMessage item) {
+      messages.add(item.getMessage());
+    }
+    @Override
+    public void onError(Throwable throwable) {
+    }
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+
+  private AgentNativeApi nativeApi;
+  private AgentApi agentApi;
+  private Pool pool;
+  private Wallet wallet;
+
+  @Before
+  public void setUp() {
+    nativeApi = new AgentNativeApi();
+    AgentStreamConfig config = new AgentStreamConfig();
+    config.setDeliveryExecutor(Runnable::run);
+    agentApi = new AgentApi(new IndyNativeApi(nativeApi), config);
+    pool = new Pool("pool");
+    wallet = new Wallet("wallet");
+  }
+
+  @After
+  public void tearDown() {
+    nativeApi.shutdown();
+  }
+
+  private AgentConnection connect() throws Exception {
+    return agentApi.connectAsync(pool, wallet, "sender", "receiver").get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void messageBeforeConnectReturnedIsKept() throws Exception {
+    nativeApi.earlyMessage = "early";
+    AgentConnection connection = connect();
+    nativeApi.deliver(connection.getConnectionHandle(), "late");
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    connection.getMessages().subscribe(subscriber);
+    assertEquals(2, subscriber.messages.size());
+    assertEquals("early", subscriber.messages.get(0));
+    assertEquals(1, agentApi.getOpenStreamCount());
+  }
+
+  @Test
+  public void messageAfterCloseIsDropped() throws Exception {
+    AgentConnection connection = connect();
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    connection.getMessages().subscribe(subscriber);
+    agentApi.closeConnection(connection);
+
+    nativeApi.deliver(connection.getConnectionHandle(), "stray");
+    assertEquals(0, subscriber.messages.size());
+    assertEquals(true, subscriber.completed);
+    assertEquals(0, agentApi.getOpenStreamCount());
+  }
+
+  @Test
+  public void failedConnectLeavesNoStream() throws Exception {
+    nativeApi.earlyMessage = "early";
+    nativeApi.connectError = ErrorCode.CommonIOError;
+    try {
+      connect();
+      fail();
+    } catch (ExecutionException e) {
+      assertEquals(ErrorCode.CommonIOError, ((IndyException) e.getCause()).getErrorCode());
+    }
+    assertEquals(0, agentApi.getOpenStreamCount());
+  }
+}
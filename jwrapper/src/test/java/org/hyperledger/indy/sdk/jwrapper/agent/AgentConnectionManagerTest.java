@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyCallback;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.jna.Callback;
+
+public class AgentConnectionManagerTest {
+
+  /**
+   * The simulator answering connect, send and close, sends on the failing connection handle fail
+   */
+  private static class AgentNativeApi extends SimulatedNativeApi {
+    private final AtomicInteger lastHandle = new AtomicInteger();
+    private final Map<String, Integer> sentOn = new ConcurrentHashMap<String, Integer>();
+    private volatile int failingHandle;
+
+    private AgentNativeApi() {
+      super(new SimulatorConfig());
+    }
+
+    @Override
+    public int indy_agent_connect(final int command_handle, int pool_handle, int wallet_handle, String sender_did,
+        String receiver_did, final Callback connection_cb, Callback message_cb) {
+      final int handle = lastHandle.incrementAndGet();
+      callBack(() -> ((IndyCallback.HandleReturningCallback) connection_cb).callback(command_handle,
+          ErrorCode.Success.value(), handle));
+      return ErrorCode.Success.value();
+    }
+
+    @Override
+    public int indy_agent_send(final int command_handle, final int connection_handle, final String message,
+        final Callback cb) {
+      callBack(() -> {
+        ErrorCode error = connection_handle == failingHandle ? ErrorCode.CommonIOError : ErrorCode.Success;
+        if (ErrorCode.Success == error) {
+          sentOn.put(message, Integer.valueOf(connection_handle));
+        }
+        ((IndyCallback.SimpleCallback) cb).callback(command_handle, error.value());
+      });
+      return ErrorCode.Success.value();
+    }
+
+    @Override
+    public int indy_agent_close_connection(final int command_handle, int connection_handle, final Callback cb) {
+      callBack(() -> ((IndyCallback.SimpleCallback) cb).callback(command_handle, ErrorCode.Success.value()));
+      return ErrorCode.Success.value();
+    }
+  }
+
+  private AgentNativeApi nativeApi;
+  private AgentConnectionManager manager;
+
+  @Before
+  public void setUp() {
+    nativeApi = new AgentNativeApi();
+    manager = new AgentConnectionManager(new AgentApi(new IndyNativeApi(nativeApi)), new Pool("pool"),
+        new Wallet("wallet"), 1, Duration.ofMinutes(1));
+  }
+
+  @After
+  public void tearDown() {
+    manager.shutdown();
+    nativeApi.shutdown();
+  }
+
+  @Test
+  public void sendsShareOneConnection() throws Exception {
+    List<CompletableFuture<GenericResult>> results = manager.sendBatch("sender", "receiver",
+        Arrays.asList("a", "b", "c"), null);
+    for (CompletableFuture<GenericResult> result : results) {
+      assertEquals(ErrorCode.Success, result.get(1, TimeUnit.SECONDS).getErrorCode());
+    }
+    assertEquals(1, manager.getMissCount());
+    assertEquals(3, manager.getSentCount());
+    assertEquals(1, manager.getOpenConnectionCount());
+  }
+
+  @Test
+  public void queuedMessagesMoveToANewConnectionAfterAFailedSend() throws Exception {
+    nativeApi.failingHandle = 1;
+    final CountDownLatch notified = new CountDownLatch(4);
+    List<CompletableFuture<GenericResult>> results = manager.sendBatch("sender", "receiver",
+        Arrays.asList("a", "b", "c", "d"), (index, result, failure) -> notified.countDown());
+
+    assertEquals(ErrorCode.CommonIOError, results.get(0).get(1, TimeUnit.SECONDS).getErrorCode());
+    for (CompletableFuture<GenericResult> result : results.subList(1, 4)) {
+      assertEquals(ErrorCode.Success, result.get(1, TimeUnit.SECONDS).getErrorCode());
+    }
+    for (String message : Arrays.asList("b", "c", "d")) {
+      assertEquals(Integer.valueOf(2), nativeApi.sentOn.get(message));
+    }
+    assertEquals(1, manager.getFailedCount());
+    assertEquals(3, manager.getSentCount());
+    assertTrue(notified.await(1, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void sendsAfterShutdownAreRefused() throws Exception {
+    assertEquals(ErrorCode.Success, manager.sendAsync("sender", "receiver", "a").get(1, TimeUnit.SECONDS)
+        .getErrorCode());
+    manager.shutdown();
+    manager.sendAsync("sender", "other", "b");
+  }
+}
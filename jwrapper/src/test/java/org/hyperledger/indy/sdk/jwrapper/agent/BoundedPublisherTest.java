@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.agent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.hyperledger.indy.sdk.jwrapper.IndyFlow;
+import org.junit.Test;
+
+public class BoundedPublisherTest {
+  private static final Executor SAME_THREAD = Runnable::run;
+
+  private static class RecordingSubscriber implements IndyFlow.Subscriber<String> {
+    private final List<String> items = new ArrayList<String>();
+    private IndyFlow.Subscription subscription;
+    private Throwable error;
+    private boolean completed;
+
+    @Override
+    public void onSubscribe(IndyFlow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+    @Override
+    public void onNext(String item) {
+      items.add(item);
+    }
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+
+  private static BoundedPublisher<String> publisher(int capacity, OverflowPolicy overflowPolicy) {
+    return new BoundedPublisher<String>(capacity, overflowPolicy, SAME_THREAD);
+  }
+
+  @Test
+  public void deliversOnlyWhatWasRequested() {
+    BoundedPublisher<String> publisher = publisher(8, OverflowPolicy.DROP_NEWEST);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    publisher.offer("a");
+    publisher.offer("b");
+    publisher.offer("c");
+    assertTrue(subscriber.items.isEmpty());
+
+    subscriber.subscription.request(2);
+    assertEquals(Arrays.asList("a", "b"), subscriber.items);
+    assertEquals(1, publisher.getBufferedCount());
+
+    subscriber.subscription.request(5);
+    publisher.offer("d");
+    assertEquals(Arrays.asList("a", "b", "c", "d"), subscriber.items);
+    assertEquals(0, publisher.getBufferedCount());
+  }
+
+  @Test
+  public void buffersItemsOfferedBeforeSubscribing() {
+    BoundedPublisher<String> publisher = publisher(8, OverflowPolicy.DROP_NEWEST);
+    publisher.offer("a");
+    publisher.complete();
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    assertFalse(subscriber.completed);
+
+    subscriber.subscription.request(1);
+    assertEquals(Arrays.asList("a"), subscriber.items);
+    assertTrue(subscriber.completed);
+  }
+
+  @Test
+  public void cancelStopsDeliveryAndDropsBufferedItems() {
+    BoundedPublisher<String> publisher = publisher(8, OverflowPolicy.DROP_NEWEST);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.subscription.request(1);
+    publisher.offer("a");
+    publisher.offer("b");
+
+    subscriber.subscription.cancel();
+    assertFalse(publisher.offer("c"));
+    subscriber.subscription.request(10);
+    assertEquals(Arrays.asList("a"), subscriber.items);
+    assertEquals(0, publisher.getBufferedCount());
+    assertEquals(2, publisher.getDroppedCount());
+    assertFalse(subscriber.completed);
+    assertNull(subscriber.error);
+  }
+
+  @Test
+  public void dropNewestKeepsTheBufferedItems() {
+    BoundedPublisher<String> publisher = publisher(2, OverflowPolicy.DROP_NEWEST);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    assertTrue(publisher.offer("a"));
+    assertTrue(publisher.offer("b"));
+    assertFalse(publisher.offer("c"));
+
+    subscriber.subscription.request(10);
+    assertEquals(Arrays.asList("a", "b"), subscriber.items);
+    assertEquals(1, publisher.getDroppedCount());
+  }
+
+  @Test
+  public void dropOldestKeepsTheLatestItems() {
+    BoundedPublisher<String> publisher = publisher(2, OverflowPolicy.DROP_OLDEST);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    publisher.offer("a");
+    publisher.offer("b");
+    assertTrue(publisher.offer("c"));
+
+    subscriber.subscription.request(10);
+    assertEquals(Arrays.asList("b", "c"), subscriber.items);
+    assertEquals(1, publisher.getDroppedCount());
+  }
+
+  @Test
+  public void failPolicySignalsOverflow() {
+    BoundedPublisher<String> publisher = publisher(2, OverflowPolicy.FAIL);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    publisher.offer("a");
+    publisher.offer("b");
+    assertFalse(publisher.offer("c"));
+
+    assertTrue(subscriber.error instanceof StreamOverflowException);
+    assertTrue(subscriber.items.isEmpty());
+    assertEquals(3, publisher.getDroppedCount());
+  }
+
+  @Test
+  public void nonPositiveRequestFailsTheStream() {
+    BoundedPublisher<String> publisher = publisher(2, OverflowPolicy.DROP_NEWEST);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.subscription.request(0);
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+  }
+
+  @Test
+  public void secondSubscriberIsRejected() {
+    BoundedPublisher<String> publisher = publisher(2, OverflowPolicy.DROP_NEWEST);
+    publisher.subscribe(new RecordingSubscriber());
+    RecordingSubscriber second = new RecordingSubscriber();
+    publisher.subscribe(second);
+    assertTrue(second.error instanceof IllegalStateException);
+  }
+}
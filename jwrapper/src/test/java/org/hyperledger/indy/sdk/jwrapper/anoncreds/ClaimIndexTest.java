@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyCallback;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.pool.PoolApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.jna.Callback;
+
+public class ClaimIndexTest {
+  private static final String CLAIM = "{\"claim_uuid\":\"c1\",\"attrs\":{\"name\":\"Alex\"},"
+      + "\"schema_seq_no\":1,\"issuer_did\":\"NcYxiDXkpYi6ov5FcYDi1e\"}";
+
+  /**
+   * The simulator with one claim in every wallet, indy_prover_get_claims is held while hold is set
+   */
+  private static class ClaimsNativeApi extends SimulatedNativeApi {
+
+    private ClaimsNativeApi() {
+      super(new SimulatorConfig());
+    }
+
+    @Override
+    public int indy_prover_get_claims(final int command_handle, int wallet_handle, String filter_json,
+        final Callback cb) {
+      callBack(() -> ((IndyCallback.JsonReturningCallback) cb).callback(command_handle, ErrorCode.Success.value(),
+          "[" + CLAIM + "]"));
+      return ErrorCode.Success.value();
+    }
+  }
+
+  private ClaimsNativeApi nativeApi;
+  private IndyNativeApi apiInstance;
+  private WalletApi walletApi;
+  private ProverApi proverApi;
+  private ClaimIndex claimIndex;
+
+  @Before
+  public void setUp() {
+    nativeApi = new ClaimsNativeApi();
+    apiInstance = new IndyNativeApi(nativeApi);
+    walletApi = new WalletApi(apiInstance);
+    proverApi = new ProverApi(apiInstance);
+    claimIndex = new ClaimIndex(apiInstance, proverApi, walletApi);
+    proverApi.setClaimIndex(claimIndex);
+  }
+
+  @After
+  public void tearDown() {
+    nativeApi.shutdown();
+  }
+
+  private static Wallet wallet(String name, int walletHandle) {
+    Wallet wallet = new Wallet(name);
+    wallet.setWalletHandle(walletHandle);
+    return wallet;
+  }
+
+  private GenericResult claims(Wallet wallet) throws Exception {
+    return proverApi.getClaimsAsync(wallet, "{}").get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void walletReusingAHandleIsIndexedOnItsOwn() throws Exception {
+    claims(wallet("alice", 1));
+    claims(wallet("bob", 1));
+    claims(wallet("alice", 1));
+    assertEquals(2, claimIndex.getMissCount());
+    assertEquals(1, claimIndex.getHitCount());
+  }
+
+  @Test
+  public void closingTheWalletDropsItsIndex() throws Exception {
+    Pool pool = new Pool("pool");
+    pool.setSandboxFile("/tmp/pool.txn");
+    new PoolApi(apiInstance).createPoolLedgerConfig(pool);
+    Wallet wallet = walletApi.openWallet(walletApi.createWallet(pool, new Wallet("closing"), null), null);
+    assertEquals(ErrorCode.Success, claims(wallet).getErrorCode());
+    assertEquals(1, claimIndex.getSize(wallet));
+    walletApi.closeWallet(wallet);
+    assertEquals(-1, claimIndex.getSize(wallet));
+  }
+
+  @Test
+  public void queriesWaitingForTheFirstReadAreCoalesced() throws Exception {
+    Wallet wallet = wallet("alice", 1);
+    nativeApi.setHoldCallbacks(true);
+    CompletableFuture<GenericResult> first = proverApi.getClaimsAsync(wallet, "{}");
+    CompletableFuture<GenericResult> second = proverApi.getClaimsAsync(wallet, "{}");
+    assertFalse(second.isDone());
+    nativeApi.setHoldCallbacks(false);
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+    claims(wallet);
+    assertEquals(1, claimIndex.getMissCount());
+    assertEquals(1, claimIndex.getCoalescedCount());
+    assertEquals(1, claimIndex.getHitCount());
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.jna.Callback;
+
+public class IssuerApiTest {
+  private static final String ISSUER_DID = "NcYxiDXkpYi6ov5FcYDi1e";
+  private static final int SCHEMA_SEQ_NO = 1;
+
+  /**
+   * The simulator answering the issuer calls the revocation registry lanes make
+   */
+  private static class IssuerNativeApi extends SimulatedNativeApi {
+    private final AtomicInteger registriesCreated = new AtomicInteger();
+    private volatile ErrorCode revocRegError = ErrorCode.Success;
+    private volatile ErrorCode claimError = ErrorCode.Success;
+
+    private IssuerNativeApi() {
+      super(new SimulatorConfig());
+    }
+
+    @Override
+    public int indy_issuer_create_and_store_revoc_reg(final int command_handle, int wallet_handle, String issuer_did,
+        int schema_seq_no, int max_claim_num, final Callback cb) {
+      final ErrorCode error = revocRegError;
+      if (ErrorCode.Success == error) {
+        registriesCreated.incrementAndGet();
+      }
+      callBack(() -> ((AnoncredsCallback.RevocRegCallback) cb).callback(command_handle, error.value(),
+          "{}", "uuid-" + registriesCreated.get()));
+      return ErrorCode.Success.value();
+    }
+
+    @Override
+    public int indy_issuer_create_claim(final int command_handle, int wallet_handle, String claim_req_json,
+        String claim_json, int revoc_reg_seq_no, int user_revoc_index, final Callback cb) {
+      final ErrorCode error = claimError;
+      callBack(() -> ((AnoncredsCallback.ClaimCallback) cb).callback(command_handle,
+          error.value(), "{}", claim_json));
+      return ErrorCode.Success.value();
+    }
+  }
+
+  private IssuerNativeApi nativeApi;
+  private IssuerApi issuerApi;
+  private Wallet wallet;
+  private final AtomicInteger lastRevocRegSeqNo = new AtomicInteger(100);
+
+  @Before
+  public void setUp() {
+    nativeApi = new IssuerNativeApi();
+    RevocationConfig revocationConfig = new RevocationConfig((w, did, schemaSeqNo, revocReg) ->
+        CompletableFuture.completedFuture(lastRevocRegSeqNo.incrementAndGet()));
+    revocationConfig.setMaxClaimNum(10);
+    revocationConfig.setPreCreateRemaining(3);
+    issuerApi = new IssuerApi(new IndyNativeApi(nativeApi), revocationConfig);
+    wallet = new Wallet("issuer");
+    wallet.setWalletHandle(1);
+  }
+
+  @After
+  public void tearDown() {
+    nativeApi.shutdown();
+  }
+
+  private RevocationIndex issue() throws Exception {
+    AnoncredsResult result = issuerApi.issueClaimAsync(wallet, ISSUER_DID, SCHEMA_SEQ_NO, "{}", "{}")
+        .get(5, TimeUnit.SECONDS);
+    assertEquals(ErrorCode.Success, result.getErrorCode());
+    return result.getRevocationIndex();
+  }
+
+  @Test
+  public void claimsRollOverToTheNextRegistry() throws Exception {
+    for (int i = 1; i <= 25; i++) {
+      RevocationIndex index = issue();
+      assertEquals(101 + (i - 1) / 10, index.getRevocRegSeqNo());
+      assertEquals(1 + (i - 1) % 10, index.getUserRevocIndex());
+    }
+    assertEquals(3, issuerApi.getRegistriesCreated());
+    assertEquals(103, issuerApi.getRevocationRegistry(wallet, ISSUER_DID, SCHEMA_SEQ_NO).getRevocRegSeqNo());
+  }
+
+  @Test
+  public void concurrentClaimsGetDistinctIndices() throws Exception {
+    List<CompletableFuture<AnoncredsResult>> results = new ArrayList<CompletableFuture<AnoncredsResult>>();
+    for (int i = 0; i < 95; i++) {
+      results.add(issuerApi.issueClaimAsync(wallet, ISSUER_DID, SCHEMA_SEQ_NO, "{}", "{}"));
+    }
+    Set<String> indices = new HashSet<String>();
+    for (CompletableFuture<AnoncredsResult> result : results) {
+      RevocationIndex index = result.get(5, TimeUnit.SECONDS).getRevocationIndex();
+      assertTrue(index.getUserRevocIndex() >= 1 && index.getUserRevocIndex() <= 10);
+      assertTrue(indices.add(index.getRevocRegSeqNo() + "/" + index.getUserRevocIndex()));
+    }
+    assertEquals(10, issuerApi.getRegistriesCreated());
+  }
+
+  @Test
+  public void failedRegistryCreationIsRetried() throws Exception {
+    nativeApi.revocRegError = ErrorCode.CommonInvalidState;
+    try {
+      issue();
+      fail();
+    } catch (ExecutionException e) {
+      assertEquals(ErrorCode.CommonInvalidState, ((IndyException) e.getCause()).getErrorCode());
+    }
+    nativeApi.revocRegError = ErrorCode.Success;
+    assertNotNull(issue());
+    assertEquals(1, issuerApi.getRegistriesCreated());
+  }
+
+  @Test
+  public void registeredRegistryIsContinued() throws Exception {
+    issuerApi.registerRevocationRegistry(wallet, ISSUER_DID, SCHEMA_SEQ_NO, new RevocationRegistry(7, null, 10, 4));
+    RevocationIndex index = issue();
+    assertEquals(7, index.getRevocRegSeqNo());
+    assertEquals(5, index.getUserRevocIndex());
+    assertEquals(0, issuerApi.getRegistriesCreated());
+  }
+
+  @Test
+  public void issueGivesUpWhileTheRegistryIsPublished() throws Exception {
+    IssuerApi stalledIssuerApi = new IssuerApi(new IndyNativeApi(nativeApi),
+        new RevocationConfig((w, did, schemaSeqNo, revocReg) -> new CompletableFuture<Integer>()));
+    try {
+      stalledIssuerApi.issueClaim(wallet, ISSUER_DID, SCHEMA_SEQ_NO, "{}", "{}", Duration.ofMillis(50));
+      fail();
+    } catch (TimeoutException e) {
+      assertEquals(1, nativeApi.registriesCreated.get());
+    }
+  }
+
+  @Test
+  public void refusedClaimReleasesItsIndex() throws Exception {
+    issue();
+    nativeApi.claimError = ErrorCode.CommonInvalidStructure;
+    AnoncredsResult refused = issuerApi.issueClaimAsync(wallet, ISSUER_DID, SCHEMA_SEQ_NO, "{}", "{}")
+        .get(5, TimeUnit.SECONDS);
+    assertEquals(ErrorCode.CommonInvalidStructure, refused.getErrorCode());
+    assertEquals(2, refused.getRevocationIndex().getUserRevocIndex());
+    assertEquals(1, issuerApi.getRevocationRegistry(wallet, ISSUER_DID, SCHEMA_SEQ_NO).getIssuedCount());
+    nativeApi.claimError = ErrorCode.Success;
+    assertEquals(2, issue().getUserRevocIndex());
+    assertEquals(3, issue().getUserRevocIndex());
+  }
+
+  @Test
+  public void callerHoldingAStaleFullRegistryDoesNotCreateAnother() throws Exception {
+    final CountDownLatch staleRead = new CountDownLatch(1);
+    final CountDownLatch movedOn = new CountDownLatch(1);
+    issuerApi.registerRevocationRegistry(wallet, ISSUER_DID, SCHEMA_SEQ_NO, new RevocationRegistry(7, null, 10, 10) {
+      private final AtomicInteger calls = new AtomicInteger();
+
+      @Override
+      public int allocate() {
+        if (1 == calls.incrementAndGet()) {
+          // the first caller finds the registry full only after the lane moved on to the next one
+          staleRead.countDown();
+          try {
+            movedOn.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return super.allocate();
+      }
+    });
+    ExecutorService staleIssuer = Executors.newSingleThreadExecutor();
+    try {
+      Future<CompletableFuture<AnoncredsResult>> stale = staleIssuer.submit(
+          () -> issuerApi.issueClaimAsync(wallet, ISSUER_DID, SCHEMA_SEQ_NO, "{}", "{}"));
+      assertTrue(staleRead.await(5, TimeUnit.SECONDS));
+      RevocationIndex index = issue();
+      assertEquals(101, index.getRevocRegSeqNo());
+      assertEquals(1, index.getUserRevocIndex());
+      movedOn.countDown();
+      index = stale.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS).getRevocationIndex();
+      assertEquals(101, index.getRevocRegSeqNo());
+      assertEquals(2, index.getUserRevocIndex());
+      assertEquals(1, issuerApi.getRegistriesCreated());
+    } finally {
+      staleIssuer.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyCallback;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.jna.Callback;
+
+public class ProverApiTest {
+  private static final String CLAIM = "{\"claim_uuid\":\"c1\",\"attrs\":{\"name\":\"Alex\"},"
+      + "\"schema_seq_no\":1,\"issuer_did\":\"NcYxiDXkpYi6ov5FcYDi1e\"}";
+
+  /**
+   * A simulator that never answers indy_prover_get_claim_offers nor indy_prover_get_claims_for_proof_req,
+   * and holds indy_prover_get_claims until released
+   */
+  private static class ProverNativeApi extends SimulatedNativeApi {
+
+    private ProverNativeApi() {
+      super(new SimulatorConfig());
+      setHoldCallbacks(true);
+    }
+
+    @Override
+    public int indy_prover_get_claim_offers(int command_handle, int wallet_handle, String filter_json, Callback cb) {
+      return ErrorCode.Success.value();
+    }
+
+    @Override
+    public int indy_prover_get_claims_for_proof_req(int command_handle, int wallet_handle, String proof_request_json,
+        Callback cb) {
+      return ErrorCode.Success.value();
+    }
+
+    @Override
+    public int indy_prover_get_claims(final int command_handle, int wallet_handle, String filter_json,
+        final Callback cb) {
+      callBack(() -> ((IndyCallback.JsonReturningCallback) cb).callback(command_handle, ErrorCode.Success.value(),
+          "[" + CLAIM + "]"));
+      return ErrorCode.Success.value();
+    }
+  }
+
+  private ProverNativeApi nativeApi;
+  private IndyNativeApi apiInstance;
+  private ProverApi proverApi;
+  private Wallet wallet;
+
+  @Before
+  public void setUp() {
+    nativeApi = new ProverNativeApi();
+    apiInstance = new IndyNativeApi(nativeApi);
+    proverApi = new ProverApi(apiInstance);
+    wallet = new Wallet("prover");
+    wallet.setWalletHandle(1);
+  }
+
+  @After
+  public void tearDown() {
+    nativeApi.shutdown();
+  }
+
+  @Test
+  public void commandGivesUpAfterTimeout() throws Exception {
+    try {
+      proverApi.getClaimOffers(wallet, "{}", Duration.ofMillis(50));
+      fail();
+    } catch (TimeoutException e) {
+      assertEquals(0, apiInstance.getDispatcher().getPendingCount());
+    }
+  }
+
+  @Test
+  public void indexedQueryDeadlineDoesNotFailTheSharedLoad() throws Exception {
+    proverApi.setClaimIndex(new ClaimIndex(apiInstance, proverApi));
+    CompletableFuture<GenericResult> waiting = proverApi.getClaimsAsync(wallet, "{}");
+    try {
+      proverApi.getClaims(wallet, "{}", Duration.ofMillis(50));
+      fail();
+    } catch (TimeoutException e) {
+      assertTrue(!waiting.isDone());
+    }
+    nativeApi.releaseCallbacks();
+    GenericResult claims = waiting.get(5, TimeUnit.SECONDS);
+    assertEquals(ErrorCode.Success, claims.getErrorCode());
+    assertTrue(claims.getReturnJson().contains("\"c1\""));
+    assertEquals(1, proverApi.getClaimIndex().getMissCount());
+  }
+
+  @Test
+  public void unansweredProofRequestLookupTimesOutTheProof() throws Exception {
+    try {
+      proverApi.createProof(wallet, null, "{\"requested_attrs\":{}}", "ms", Duration.ofMillis(50));
+      fail();
+    } catch (TimeoutException e) {
+      // the claims lookup of the pipeline is never answered
+    } catch (ExecutionException e) {
+      fail(e.getCause().toString());
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.anoncreds;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.jna.Callback;
+
+public class VerifierApiTest {
+
+  /**
+   * A simulator that holds every proof verification until released, then finds the proof valid
+   */
+  private static class VerifierNativeApi extends SimulatedNativeApi {
+
+    private VerifierNativeApi() {
+      super(new SimulatorConfig());
+      setHoldCallbacks(true);
+    }
+
+    @Override
+    public int indy_verifier_verify_proof(final int command_handle, String proof_request_json, String proof_json,
+        String schemas_json, String claim_defs_jsons, String revoc_regs_json, final Callback cb) {
+      callBack(() -> ((AnoncredsCallback.VerifyCallback) cb).callback(command_handle, ErrorCode.Success.value(),
+          (byte) 1));
+      return ErrorCode.Success.value();
+    }
+  }
+
+  private VerifierNativeApi nativeApi;
+  private IndyNativeApi apiInstance;
+  private VerifierApi verifierApi;
+
+  @Before
+  public void setUp() {
+    nativeApi = new VerifierNativeApi();
+    apiInstance = new IndyNativeApi(nativeApi);
+    verifierApi = new VerifierApi(apiInstance);
+  }
+
+  @After
+  public void tearDown() {
+    nativeApi.shutdown();
+  }
+
+  @Test
+  public void verifyProofGivesUpAfterTimeout() throws Exception {
+    try {
+      verifierApi.verifyProof("{}", "{}", "{}", "{}", "{}", Duration.ofMillis(50));
+      fail();
+    } catch (TimeoutException e) {
+      assertEquals(0, apiInstance.getDispatcher().getPendingCount());
+    }
+  }
+
+  @Test
+  public void deadlineOfOneCallerDoesNotFailTheSharedVerification() throws Exception {
+    CompletableFuture<AnoncredsResult> waiting = verifierApi.verifyAsync("{}", "{}", "{}", "{}", "{}");
+    CompletableFuture<AnoncredsResult> impatient = verifierApi.verifyAsync("{}", "{}", "{}", "{}", "{}",
+        Duration.ofMillis(50));
+    try {
+      impatient.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutException);
+    }
+    assertFalse(waiting.isDone());
+    assertEquals(1, verifierApi.getCoalescedCount());
+    assertEquals(1, nativeApi.releaseCallbacks());
+    assertTrue(waiting.get(5, TimeUnit.SECONDS).isValid());
+    assertEquals(1, verifierApi.getCachedCount());
+  }
+
+  @Test
+  public void cancellingOneCallerDoesNotCancelTheOthers() throws Exception {
+    CompletableFuture<AnoncredsResult> first = verifierApi.verifyAsync("{}", "{}", "{}", "{}", "{}");
+    CompletableFuture<AnoncredsResult> second = verifierApi.verifyAsync("{}", "{}", "{}", "{}", "{}");
+    assertTrue(second.cancel(false));
+    assertFalse(first.isDone());
+    assertEquals(1, nativeApi.releaseCallbacks());
+    assertTrue(first.get(5, TimeUnit.SECONDS).isValid());
+    assertEquals(1, verifierApi.getMissCount());
+    assertEquals(1, verifierApi.getCoalescedCount());
+  }
+}
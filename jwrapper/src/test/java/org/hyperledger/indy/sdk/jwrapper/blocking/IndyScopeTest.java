@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.blocking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.hyperledger.indy.sdk.jwrapper.blocking.IndyScope.State;
+import org.hyperledger.indy.sdk.jwrapper.blocking.IndyScope.Subtask;
+import org.junit.Test;
+
+public class IndyScopeTest {
+
+  private static Object sleepForever() throws InterruptedException {
+    new CountDownLatch(1).await();
+    return null;
+  }
+
+  @Test
+  public void joinWaitsForAllSubtasks() {
+    try (IndyScope scope = new IndyScope()) {
+      Subtask<String> first = scope.fork(() -> "a");
+      Subtask<Integer> second = scope.fork(() -> {
+        Thread.sleep(20);
+        return 2;
+      });
+      scope.join();
+      assertEquals("a", first.get());
+      assertEquals(Integer.valueOf(2), second.get());
+      assertEquals(State.SUCCESS, second.state());
+    }
+  }
+
+  @Test
+  public void failureCancelsTheSiblings() {
+    IllegalStateException boom = new IllegalStateException("boom");
+    IndyScope scope = new IndyScope();
+    Subtask<Object> slow = scope.fork(IndyScopeTest::sleepForever);
+    Subtask<Object> failing = scope.fork(() -> {
+      throw boom;
+    });
+    try {
+      scope.join();
+      fail();
+    } catch (IllegalStateException e) {
+      assertSame(boom, e);
+    } finally {
+      scope.close();
+    }
+    assertEquals(State.FAILED, failing.state());
+    assertSame(boom, failing.exception());
+    assertEquals(State.CANCELLED, slow.state());
+  }
+
+  @Test
+  public void joinTimeoutCancelsTheScope() {
+    try (IndyScope scope = new IndyScope()) {
+      Subtask<Object> slow = scope.fork(IndyScopeTest::sleepForever);
+      try {
+        scope.join(Duration.ofMillis(20));
+        fail();
+      } catch (TimeoutException e) {
+        assertEquals(State.CANCELLED, slow.state());
+      }
+      assertEquals(State.CANCELLED, scope.fork(() -> "late").state());
+    }
+  }
+
+  @Test
+  public void onlyTheOwnerMayFork() throws Exception {
+    try (IndyScope scope = new IndyScope()) {
+      CompletableFuture<Subtask<String>> forked = CompletableFuture.supplyAsync(() -> scope.fork(() -> "x"));
+      try {
+        forked.get(1, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException e) {
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+      }
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hyperledger.indy.sdk.jwrapper.anoncreds.ClaimOffer;
+import org.hyperledger.indy.sdk.jwrapper.anoncreds.ClaimReference;
+import org.hyperledger.indy.sdk.jwrapper.anoncreds.ClaimsForProofRequest;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerReply;
+import org.hyperledger.indy.sdk.jwrapper.ledger.NymData;
+import org.hyperledger.indy.sdk.jwrapper.wallet.WalletConfig;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+
+public class IndyJsonTest {
+  private static final String ISSUER_DID = "NcYxiDXkpYi6ov5FcYDi1e";
+
+  @Test
+  public void claimOffersAreDecodedFromTheirArray() throws Exception {
+    String json = "[" + IndyJson.encode(ClaimOffer.CODEC, new ClaimOffer(ISSUER_DID, 1))
+        + ",{\"issuer_did\":\"" + ISSUER_DID + "\",\"schema_seq_no\":2}]";
+    List<ClaimOffer> offers = IndyJson.decodeList(ClaimOffer.CODEC, json);
+    assertEquals(2, offers.size());
+    assertEquals(ISSUER_DID, offers.get(0).getIssuerDid());
+    assertEquals(1, offers.get(0).getSchemaSeqNo());
+    assertEquals(2, offers.get(1).getSchemaSeqNo());
+  }
+
+  @Test
+  public void claimInfoIsReadWithoutItsAttributes() throws Exception {
+    ClaimReference claim = IndyJson.decode(ClaimReference.CODEC, "{\"claim_uuid\":\"c1\","
+        + "\"attrs\":{\"name\":\"Alex\",\"age\":\"28\"},\"schema_seq_no\":3,\"issuer_did\":\"" + ISSUER_DID + "\"}");
+    assertEquals("c1", claim.getClaimUuid());
+    assertEquals(3, claim.getSchemaSeqNo());
+    assertEquals(ISSUER_DID, claim.getIssuerDid());
+  }
+
+  @Test
+  public void claimsForProofRequestAreReadAsReferences() throws Exception {
+    String claim = "{\"claim_uuid\":\"c1\",\"attrs\":{\"age\":\"28\"},\"schema_seq_no\":3,\"issuer_did\":\""
+        + ISSUER_DID + "\"}";
+    ClaimsForProofRequest matches = IndyJson.decode(ClaimsForProofRequest.CODEC,
+        "{\"attrs\":{\"attr1_uuid\":[" + claim + "],\"attr2_uuid\":[]},\"predicates\":{\"predicate1_uuid\":[" + claim
+            + "]}}");
+    assertEquals(Arrays.asList("attr1_uuid", "attr2_uuid"), Arrays.asList(matches.getAttrs().keySet().toArray()));
+    assertEquals("c1", matches.getAttrs().get("attr1_uuid").get(0).getClaimUuid());
+    assertEquals(0, matches.getAttrs().get("attr2_uuid").size());
+    assertEquals(3, matches.getPredicates().get("predicate1_uuid").get(0).getSchemaSeqNo());
+
+    try {
+      IndyJson.decode(ClaimsForProofRequest.CODEC, "{\"attrs\":5,\"predicates\":{}}");
+      fail();
+    } catch (JsonParseException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void listsAreEncodedAsArrays() throws Exception {
+    String json = IndyJson.encodeList(ClaimOffer.CODEC, Arrays.asList(new ClaimOffer(ISSUER_DID, 1),
+        new ClaimOffer(ISSUER_DID, 2)));
+    assertEquals(2, IndyJson.decodeList(ClaimOffer.CODEC, json).get(1).getSchemaSeqNo());
+    assertEquals("[]", IndyJson.encodeList(ClaimOffer.CODEC, Arrays.<ClaimOffer>asList()));
+  }
+
+  @Test
+  public void walletConfigLeavesOutTheDefault() throws Exception {
+    assertEquals("{}", IndyJson.encode(WalletConfig.CODEC, WalletConfig.DEFAULT));
+    assertEquals("{\"freshness_time\":600}", IndyJson.encode(WalletConfig.CODEC, new WalletConfig(600L)));
+    assertEquals(Long.valueOf(600),
+        IndyJson.decode(WalletConfig.CODEC, "{\"freshness_time\":600}").getFreshnessTime());
+    assertNull(IndyJson.decode(WalletConfig.CODEC, "{\"freshness_time\":\"soon\"}").getFreshnessTime());
+  }
+
+  @Test
+  public void nymDataIsReadFromAGetNymReply() throws Exception {
+    String data = IndyJson.encode(NymData.CODEC,
+        new NymData(ISSUER_DID, "V4SGRU86Z58d6TV7PBUe6f", null, "~CoRER63DVYnWZtK8uAzNbx"));
+    String reply = "{\"op\":\"REPLY\",\"result\":{\"type\":\"105\",\"seqNo\":7,\"data\":"
+        + IndyJson.encode(new StringCodec(), data) + "}}";
+    NymData nym = new LedgerReply(reply).readData(NymData.CODEC);
+    assertEquals(ISSUER_DID, nym.getDest());
+    assertNull(nym.getRole());
+    assertEquals("~CoRER63DVYnWZtK8uAzNbx", nym.getVerkey());
+    LedgerReply unknown = new LedgerReply("{\"op\":\"REPLY\",\"result\":{\"type\":\"105\",\"data\":null}}");
+    assertNull(unknown.readData(NymData.CODEC));
+  }
+
+  @Test
+  public void anythingButAnObjectIsRejected() throws Exception {
+    for (String json : new String[] { "null", "[]", "5", "{\"issuer_did\":\"x\"" }) {
+      try {
+        IndyJson.decode(ClaimOffer.CODEC, json);
+        fail(json);
+      } catch (JsonParseException e) {
+        // expected
+      }
+    }
+  }
+
+  /**
+   * Writes a json string, as the ledger wraps GET_NYM data
+   */
+  private static class StringCodec implements JsonCodec<String> {
+    @Override
+    public void write(JsonGenerator generator, String value) throws IOException {
+      generator.writeString(value);
+    }
+
+    @Override
+    public String read(JsonParser parser) throws IOException {
+      return parser.getValueAsString();
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.ledger;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.pool.PoolApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.LatencyDistribution;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedOperation;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LedgerReadCacheTest {
+  private SimulatorConfig config;
+  private SimulatedNativeApi sim;
+  private IndyNativeApi api;
+  private Pool pool;
+
+  @Before
+  public void setUp() throws Exception {
+    config = new SimulatorConfig();
+    sim = new SimulatedNativeApi(config);
+    api = new IndyNativeApi(sim);
+    PoolApi poolApi = new PoolApi(api);
+    pool = new Pool("pool");
+    pool.setSandboxFile("/tmp/pool.txn");
+    poolApi.createPoolLedgerConfig(pool);
+    poolApi.openPoolLedger(pool);
+  }
+
+  @After
+  public void tearDown() {
+    sim.shutdown();
+  }
+
+  @Test
+  public void invalidateDuringLoadKeepsTheReplyOutOfTheCache() throws Exception {
+    config.setLatency(SimulatedOperation.LEDGER_READ, LatencyDistribution.constant(Duration.ofMillis(200)));
+    LedgerReadCache cache = new LedgerReadCache(api, new LedgerApi(api));
+
+    CompletableFuture<GenericResult> beforeWrite = cache.getNym(pool, "submitter", "target");
+    cache.invalidate(LedgerReadType.GET_NYM, pool, "target");
+    // a miss after the invalidate does not join the load that started before it
+    CompletableFuture<GenericResult> afterWrite = cache.getNym(pool, "submitter", "target");
+
+    assertEquals(ErrorCode.Success, beforeWrite.get(1, TimeUnit.SECONDS).getErrorCode());
+    assertEquals(ErrorCode.Success, afterWrite.get(1, TimeUnit.SECONDS).getErrorCode());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(0, cache.getCoalescedCount());
+    // only the load started after the invalidate was cached
+    assertEquals(1, cache.getSize());
+    cache.getNym(pool, "submitter", "target").get(1, TimeUnit.SECONDS);
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void invalidatedLoadIsNotCached() throws Exception {
+    config.setLatency(SimulatedOperation.LEDGER_READ, LatencyDistribution.constant(Duration.ofMillis(200)));
+    LedgerReadCache cache = new LedgerReadCache(api, new LedgerApi(api));
+
+    CompletableFuture<GenericResult> beforeWrite = cache.getNym(pool, "submitter", "target");
+    cache.invalidate(LedgerReadType.GET_NYM, pool, "target");
+
+    assertEquals(ErrorCode.Success, beforeWrite.get(1, TimeUnit.SECONDS).getErrorCode());
+    assertEquals(0, cache.getSize());
+    cache.getNym(pool, "submitter", "target").get(1, TimeUnit.SECONDS);
+    assertEquals(2, cache.getMissCount());
+    assertEquals(0, cache.getHitCount());
+  }
+
+  @Test
+  public void expiredRepliesAreLoadedAgain() throws Exception {
+    LedgerCacheConfig cacheConfig = new LedgerCacheConfig();
+    cacheConfig.setTimeToLive(LedgerReadType.GET_NYM, Duration.ofMillis(100));
+    LedgerReadCache cache = new LedgerReadCache(api, new LedgerApi(api), cacheConfig);
+
+    cache.getNym(pool, "submitter", "target").get(1, TimeUnit.SECONDS);
+    cache.getNym(pool, "submitter", "target").get(1, TimeUnit.SECONDS);
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+
+    Thread.sleep(150);
+    cache.getNym(pool, "submitter", "target").get(1, TimeUnit.SECONDS);
+    assertEquals(2, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getSize());
+  }
+}
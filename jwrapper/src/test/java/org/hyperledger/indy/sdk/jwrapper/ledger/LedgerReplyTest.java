@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.ledger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LedgerReplyTest {
+
+  private static LedgerReply reply(String data) {
+    return new LedgerReply("{\"op\":\"REPLY\",\"result\":{\"type\":\"105\",\"seqNo\":7,\"txnTime\":1500000000,"
+        + "\"data\":" + data + ",\"reqId\":1}}");
+  }
+
+  @Test
+  public void dataSentAsAStringIsUnwrapped() throws Exception {
+    LedgerReply reply = reply("\"{\\\"dest\\\":\\\"did\\\",\\\"verkey\\\":\\\"key\\\"}\"");
+    assertTrue(reply.isReply());
+    assertTrue(reply.hasData());
+    assertEquals("{\"dest\":\"did\",\"verkey\":\"key\"}", reply.getDataJson());
+    assertEquals("key", reply.readData("verkey"));
+    assertEquals("key", reply.readData(NymData.CODEC).getVerkey());
+    assertEquals(Long.valueOf(7), reply.getSeqNo());
+    assertEquals(Long.valueOf(1500000000), reply.getTxnTime());
+  }
+
+  @Test
+  public void dataSentAsAnObjectIsCutOutOfTheReply() throws Exception {
+    LedgerReply reply = reply("{\"dest\":\"did\",\"verkey\":\"key\",\"nested\":{\"data\":[1,2]}}");
+    assertTrue(reply.hasData());
+    assertEquals("{\"dest\":\"did\",\"verkey\":\"key\",\"nested\":{\"data\":[1,2]}}", reply.getDataJson());
+    assertEquals("key", reply.readData("verkey"));
+    assertEquals("[1,2]", reply.readData("nested", "data"));
+    assertEquals("did", reply.readData(NymData.CODEC).getDest());
+    assertEquals("105", reply.getType());
+  }
+
+  @Test
+  public void emptyDataIsNoData() throws Exception {
+    for (String data : new String[] { "null", "\"\"", "{}", "[]" }) {
+      LedgerReply reply = reply(data);
+      assertTrue(data, reply.isWellFormed());
+      assertFalse(data, reply.hasData());
+      assertNull(data, reply.readData("verkey"));
+      assertNull(data, reply.readData(NymData.CODEC));
+    }
+    LedgerReply missing = new LedgerReply("{\"op\":\"REPLY\",\"result\":{\"type\":\"105\"}}");
+    assertFalse(missing.hasData());
+    assertNull(missing.getDataJson());
+    assertNull(missing.readData(NymData.CODEC));
+  }
+
+  @Test
+  public void rejectionsCarryTheirReason() throws Exception {
+    LedgerReply reply = new LedgerReply("{\"op\":\"REJECT\",\"reason\":\"client request invalid\"}");
+    assertTrue(reply.isWellFormed());
+    assertFalse(reply.isReply());
+    assertEquals("client request invalid", reply.getReason());
+    assertNull(reply.readData("verkey"));
+    assertFalse(new LedgerReply("not json").isWellFormed());
+  }
+}
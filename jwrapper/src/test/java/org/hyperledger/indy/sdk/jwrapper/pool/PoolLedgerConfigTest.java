@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.pool;
+
+import static org.junit.Assert.assertEquals;
+
+import org.hyperledger.indy.sdk.jwrapper.json.IndyJson;
+import org.junit.Test;
+
+public class PoolLedgerConfigTest {
+
+  @Test
+  public void createConfigRoundTrips() throws Exception {
+    CreatePoolLedgerConfig config = new CreatePoolLedgerConfig("/tmp/pool.txn");
+    String json = IndyJson.encode(CreatePoolLedgerConfig.CODEC, config);
+    assertEquals("{\"genesis_txn\":\"/tmp/pool.txn\"}", json);
+    assertEquals(config, IndyJson.decode(CreatePoolLedgerConfig.CODEC, json));
+  }
+
+  @Test
+  public void openConfigRoundTrips() throws Exception {
+    OpenPoolLedgerConfig config = new OpenPoolLedgerConfig();
+    config.setRefreshOnOpen(true);
+    config.setAutoRefreshTime(60);
+    config.setNetworkTimeout(20);
+    String json = IndyJson.encode(OpenPoolLedgerConfig.CODEC, config);
+    assertEquals("{\"refreshOnOpen\":true,\"autoRefreshTime\":60,\"networkTimeout\":20}", json);
+    assertEquals(config, IndyJson.decode(OpenPoolLedgerConfig.CODEC, json));
+  }
+
+  @Test
+  public void unknownMembersAreSkipped() throws Exception {
+    OpenPoolLedgerConfig config = IndyJson.decode(OpenPoolLedgerConfig.CODEC,
+        "{\"extra\":{\"nested\":[1,2]},\"networkTimeout\":5}");
+    assertEquals(5, config.getNetworkTimeout());
+    assertEquals(0, config.getAutoRefreshTime());
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.GenericResult;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.LatencyDistribution;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedOperation;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PoolManagerTest {
+  private SimulatorConfig config;
+  private SimulatedNativeApi sim;
+  private PoolManager manager;
+  private Pool pool;
+  private PoolHealth health;
+
+  @Before
+  public void setUp() throws Exception {
+    config = new SimulatorConfig();
+    sim = new SimulatedNativeApi(config);
+    IndyNativeApi api = new IndyNativeApi(sim);
+    PoolApi poolApi = new PoolApi(api);
+    pool = new Pool("pool");
+    pool.setSandboxFile("/tmp/pool.txn");
+    poolApi.createPoolLedgerConfig(pool);
+
+    manager = new PoolManager(poolApi, new LedgerApi(api));
+    manager.setRefreshInterval(null);
+    manager.setFailureThreshold(2);
+    health = manager.addPool(pool);
+    long deadline = System.currentTimeMillis() + 5000;
+    while (null == manager.getBestPool()) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("pool was never opened");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  @After
+  public void tearDown() {
+    manager.shutdown();
+    sim.shutdown();
+  }
+
+  @Test
+  public void invalidRequestsLeaveThePoolRoutable() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      try {
+        manager.submitRequestAsync(null).get(1, TimeUnit.SECONDS);
+        fail("a null request was submitted");
+      } catch (ExecutionException e) {
+        // refused by the native call itself
+      }
+      GenericResult malformed = manager.submitRequestAsync("not json").get(1, TimeUnit.SECONDS);
+      assertEquals(ErrorCode.CommonInvalidStructure, malformed.getErrorCode());
+    }
+
+    assertEquals(0, health.getFailureCount());
+    assertEquals(0, health.getConsecutiveFailures());
+    assertSame(pool, manager.getBestPool());
+  }
+
+  @Test
+  public void timeoutsCountAgainstThePool() throws Exception {
+    config.setLatency(SimulatedOperation.LEDGER_READ, LatencyDistribution.constant(Duration.ofSeconds(1)));
+    manager.setRequestTimeout(Duration.ofMillis(20));
+    try {
+      manager.submitRequestAsync("{\"reqId\":1,\"operation\":{\"type\":\"105\",\"dest\":\"did\"}}")
+          .get(1, TimeUnit.SECONDS);
+      fail("the request did not time out");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutException);
+    }
+    assertEquals(1, health.getFailureCount());
+    assertNotNull(manager.getBestPool());
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.signus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.jna.Callback;
+import com.sun.jna.Memory;
+
+public class SignusApiTest {
+
+  /**
+   * The simulator signing a message by prefixing it with the handle of the wallet, callbacks are held while hold is set
+   */
+  private static class SigningNativeApi extends SimulatedNativeApi {
+    private final List<byte[]> messages = Collections.synchronizedList(new ArrayList<byte[]>());
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger maxOutstanding = new AtomicInteger();
+
+    private SigningNativeApi() {
+      super(new SimulatorConfig());
+    }
+
+    @Override
+    public int indy_sign(final int command_handle, final int wallet_handle, String did, final byte[] msg,
+        final Callback cb) {
+      messages.add(msg);
+      maxOutstanding.accumulateAndGet(outstanding.incrementAndGet(), Math::max);
+      callBack(() -> {
+        outstanding.decrementAndGet();
+        String message = new String(msg, 0, msg.length - 1, StandardCharsets.UTF_8);
+        ((SignusCallback.MessageCallback) cb).callback(command_handle, ErrorCode.Success.value(),
+            string(wallet_handle + ":" + message));
+      });
+      return ErrorCode.Success.value();
+    }
+
+    private static Memory string(String value) {
+      byte[] bytes = SignusApi.encode(value);
+      Memory memory = new Memory(bytes.length);
+      memory.write(0, bytes, 0, bytes.length);
+      return memory;
+    }
+  }
+
+  private SigningNativeApi nativeApi;
+  private SignusApi signusApi;
+
+  @Before
+  public void setUp() {
+    nativeApi = new SigningNativeApi();
+    signusApi = new SignusApi(new IndyNativeApi(nativeApi));
+  }
+
+  @After
+  public void tearDown() {
+    nativeApi.shutdown();
+  }
+
+  private static Wallet wallet(int walletHandle) {
+    Wallet wallet = new Wallet("wallet" + walletHandle);
+    wallet.setWalletHandle(walletHandle);
+    return wallet;
+  }
+
+  private static List<byte[]> encoded(String... messages) {
+    List<byte[]> encoded = new ArrayList<byte[]>();
+    for (String message : messages) {
+      encoded.add(SignusApi.encode(message));
+    }
+    return encoded;
+  }
+
+  private static String signed(CompletableFuture<SignusResult> result) throws Exception {
+    return new String(result.get(5, TimeUnit.SECONDS).getMessage(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void signAllKeepsTheWindowAndTheOrder() throws Exception {
+    nativeApi.setHoldCallbacks(true);
+    List<CompletableFuture<SignusResult>> results = signusApi.signAll(wallet(1), "did",
+        encoded("a", "b", "c", "d", "e"), 2);
+    assertEquals(2, nativeApi.messages.size());
+
+    nativeApi.setHoldCallbacks(false);
+    List<String> signed = new ArrayList<String>();
+    for (CompletableFuture<SignusResult> result : results) {
+      signed.add(signed(result));
+    }
+    assertEquals(Arrays.asList("1:a", "1:b", "1:c", "1:d", "1:e"), signed);
+    assertEquals(2, nativeApi.maxOutstanding.get());
+  }
+
+  @Test
+  public void signAllSpreadsTheMessagesOverTheWallets() throws Exception {
+    List<CompletableFuture<SignusResult>> results = signusApi.signAll(Arrays.asList(wallet(1), wallet(2), wallet(3)),
+        "did", encoded("a", "b", "c", "d"), 4, null);
+    List<String> signed = new ArrayList<String>();
+    for (CompletableFuture<SignusResult> result : results) {
+      signed.add(signed(result));
+    }
+    assertEquals(Arrays.asList("1:a", "2:b", "3:c", "1:d"), signed);
+  }
+
+  @Test
+  public void encodedMessagesAreNotCopied() throws Exception {
+    byte[] message = SignusApi.encode("a");
+    assertEquals("1:a", signed(signusApi.signAsync(wallet(1), "did", message)));
+    assertSame(message, nativeApi.messages.get(0));
+  }
+}
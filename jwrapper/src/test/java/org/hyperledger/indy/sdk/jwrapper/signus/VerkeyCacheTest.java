@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.signus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyCallback;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.ledger.LedgerApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.pool.PoolApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.hyperledger.indy.sdk.jwrapper.wallet.Wallet;
+import org.hyperledger.indy.sdk.jwrapper.wallet.WalletApi;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.jna.Callback;
+
+public class VerkeyCacheTest {
+
+  /**
+   * The simulator storing their DIDs and finding every signature valid, callbacks are held while hold is set
+   */
+  private static class SignusNativeApi extends SimulatedNativeApi {
+    private final List<String> storedIdentities = Collections.synchronizedList(new ArrayList<String>());
+
+    private SignusNativeApi() {
+      super(new SimulatorConfig());
+    }
+
+    @Override
+    public int indy_store_their_did(final int command_handle, int wallet_handle, String identity_json,
+        final Callback cb) {
+      storedIdentities.add(identity_json);
+      callBack(() -> ((IndyCallback.SimpleCallback) cb).callback(command_handle, ErrorCode.Success.value()));
+      return ErrorCode.Success.value();
+    }
+
+    @Override
+    public int indy_verify_signature(final int command_handle, int wallet_handle, int pool_handle, String did,
+        byte[] signed_msg, final Callback cb) {
+      callBack(() -> ((SignusCallback.VerifyCallback) cb).callback(command_handle, ErrorCode.Success.value(),
+          (byte) 1));
+      return ErrorCode.Success.value();
+    }
+  }
+
+  private SignusNativeApi nativeApi;
+  private LedgerApi ledgerApi;
+  private Pool pool;
+  private Wallet wallet;
+  private VerkeyCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    nativeApi = new SignusNativeApi();
+    IndyNativeApi apiInstance = new IndyNativeApi(nativeApi);
+    PoolApi poolApi = new PoolApi(apiInstance);
+    pool = new Pool("pool");
+    pool.setSandboxFile("/tmp/pool.txn");
+    poolApi.createPoolLedgerConfig(pool);
+    poolApi.openPoolLedger(pool);
+    WalletApi walletApi = new WalletApi(apiInstance);
+    wallet = walletApi.openWallet(walletApi.createWallet(pool, new Wallet("wallet"), null), null);
+
+    ledgerApi = new LedgerApi(apiInstance);
+    writeNym("did", "verkey1");
+    cache = new VerkeyCache(new SignusApi(apiInstance), ledgerApi, "submitter", 10, Duration.ofMinutes(1));
+  }
+
+  @After
+  public void tearDown() {
+    nativeApi.shutdown();
+  }
+
+  private void writeNym(String did, String verkey) throws Exception {
+    String request = ledgerApi.buildNymRequest("submitter", did, verkey, null, null).getReturnJson();
+    assertEquals(ErrorCode.Success, ledgerApi.signAndSubmitRequest(pool, wallet, "submitter", request).getErrorCode());
+  }
+
+  @Test
+  public void verkeyIsStoredOnce() throws Exception {
+    byte[] message = SignusApi.encode("signed");
+    assertTrue(cache.verifySignatureAsync(wallet, pool, "did", message).get(5, TimeUnit.SECONDS).isValid());
+    assertTrue(cache.verifySignatureAsync(wallet, pool, "did", message).get(5, TimeUnit.SECONDS).isValid());
+
+    assertEquals(1, nativeApi.storedIdentities.size());
+    assertTrue(nativeApi.storedIdentities.get(0).contains("verkey1"));
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void walletsReusingAHandleAreCachedOnTheirOwn() throws Exception {
+    Wallet other = new Wallet("other");
+    other.setWalletHandle(wallet.getWalletHandle());
+    assertEquals("verkey1", cache.resolveVerkeyAsync(wallet, pool, "did").get(5, TimeUnit.SECONDS));
+    assertEquals("verkey1", cache.resolveVerkeyAsync(other, pool, "did").get(5, TimeUnit.SECONDS));
+    assertEquals(2, cache.getMissCount());
+    assertEquals(2, nativeApi.storedIdentities.size());
+  }
+
+  private void awaitStored(int count) throws Exception {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (nativeApi.storedIdentities.size() < count) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("the verkey was never stored");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  public void invalidateDuringResolutionKeepsTheOldVerkeyOutOfTheCache() throws Exception {
+    nativeApi.setHoldCallbacks(true);
+    CompletableFuture<String> beforeRotation = cache.resolveVerkeyAsync(wallet, pool, "did");
+    awaitStored(1);
+
+    writeNym("did", "verkey2");
+    cache.invalidate("did");
+    nativeApi.setHoldCallbacks(false);
+
+    assertEquals("verkey1", beforeRotation.get(5, TimeUnit.SECONDS));
+    assertEquals(0, cache.getSize());
+    assertEquals("verkey2", cache.resolveVerkeyAsync(wallet, pool, "did").get(5, TimeUnit.SECONDS));
+    assertEquals("verkey2", cache.resolveVerkeyAsync(wallet, pool, "did").get(5, TimeUnit.SECONDS));
+    assertEquals(2, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void missAfterInvalidateDoesNotJoinTheResolutionInProgress() throws Exception {
+    nativeApi.setHoldCallbacks(true);
+    CompletableFuture<String> beforeRotation = cache.resolveVerkeyAsync(wallet, pool, "did");
+    awaitStored(1);
+
+    writeNym("did", "verkey2");
+    cache.invalidate("did");
+    CompletableFuture<String> afterRotation = cache.resolveVerkeyAsync(wallet, pool, "did");
+    awaitStored(2);
+    assertEquals(0, cache.getCoalescedCount());
+    nativeApi.setHoldCallbacks(false);
+
+    assertEquals("verkey1", beforeRotation.get(5, TimeUnit.SECONDS));
+    assertEquals("verkey2", afterRotation.get(5, TimeUnit.SECONDS));
+    assertEquals(1, cache.getSize());
+  }
+}
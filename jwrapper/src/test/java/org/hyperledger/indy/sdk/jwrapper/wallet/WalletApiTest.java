@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet;
+
+import static org.junit.Assert.assertEquals;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedOperation;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WalletApiTest {
+  private SimulatorConfig config;
+  private SimulatedNativeApi sim;
+  private WalletApi walletApi;
+
+  @Before
+  public void setUp() {
+    config = new SimulatorConfig();
+    sim = new SimulatedNativeApi(config);
+    walletApi = new WalletApi(new IndyNativeApi(sim));
+  }
+
+  @After
+  public void tearDown() {
+    sim.shutdown();
+  }
+
+  @Test
+  public void failedRegistrationCanBeRetried() throws Exception {
+    config.setFailureRate(SimulatedOperation.WALLET, 1);
+    config.setFailureErrorCode(SimulatedOperation.WALLET, ErrorCode.CommonIOError);
+    assertEquals(ErrorCode.CommonIOError, walletApi.registerWalletType("retried", null).getErrorCode());
+
+    config.setFailureRate(SimulatedOperation.WALLET, 0);
+    assertEquals(ErrorCode.Success, walletApi.registerWalletType("retried", null).getErrorCode());
+    assertEquals(ErrorCode.WalletTypeAlreadyRegisteredError,
+        walletApi.registerWalletType("retried", null).getErrorCode());
+  }
+
+  @Test
+  public void typesAreRegisteredPerNativeLibrary() throws Exception {
+    assertEquals(ErrorCode.Success, walletApi.registerWalletType("shared", null).getErrorCode());
+
+    SimulatedNativeApi other = new SimulatedNativeApi(new SimulatorConfig());
+    try {
+      WalletApi otherApi = new WalletApi(new IndyNativeApi(other));
+      assertEquals(ErrorCode.Success, otherApi.registerWalletType("shared", null).getErrorCode());
+      assertEquals(ErrorCode.WalletTypeAlreadyRegisteredError, otherApi.registerWalletType("shared", null).getErrorCode());
+    } finally {
+      other.shutdown();
+    }
+  }
+}
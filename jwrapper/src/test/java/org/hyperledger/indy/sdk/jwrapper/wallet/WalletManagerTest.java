@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.hyperledger.indy.sdk.jwrapper.IndyNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.pool.Pool;
+import org.hyperledger.indy.sdk.jwrapper.pool.PoolApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.LatencyDistribution;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedNativeApi;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatedOperation;
+import org.hyperledger.indy.sdk.jwrapper.sim.SimulatorConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WalletManagerTest {
+  private SimulatedNativeApi sim;
+  private WalletApi walletApi;
+  private Pool pool;
+
+  @Before
+  public void setUp() throws Exception {
+    SimulatorConfig config = new SimulatorConfig();
+    config.setLatency(SimulatedOperation.WALLET,
+        LatencyDistribution.uniform(Duration.ofMillis(0), Duration.ofMillis(2)));
+    sim = new SimulatedNativeApi(config);
+    IndyNativeApi api = new IndyNativeApi(sim);
+    walletApi = new WalletApi(api);
+    pool = new Pool("pool");
+    pool.setSandboxFile("/tmp/pool.txn");
+    new PoolApi(api).createPoolLedgerConfig(pool);
+  }
+
+  @After
+  public void tearDown() {
+    sim.shutdown();
+  }
+
+  private Wallet wallet(String name) throws Exception {
+    return walletApi.createWallet(pool, new Wallet(name), null);
+  }
+
+  @Test
+  public void concurrentAcquiresShareOneHandle() throws Exception {
+    Wallet wallet = wallet("shared");
+    WalletManager manager = new WalletManager(walletApi, 4, Duration.ofMinutes(1));
+    long walletCalls = sim.getCallCount(SimulatedOperation.WALLET);
+
+    List<CompletableFuture<WalletLease>> leases = new ArrayList<CompletableFuture<WalletLease>>();
+    for (int i = 0; i < 16; i++) {
+      leases.add(manager.acquire(wallet, null));
+    }
+    int handle = leases.get(0).get(1, TimeUnit.SECONDS).getWalletHandle();
+    for (CompletableFuture<WalletLease> lease : leases) {
+      assertEquals(handle, lease.get(1, TimeUnit.SECONDS).getWalletHandle());
+      lease.get().close();
+    }
+    assertEquals(walletCalls + 1, sim.getCallCount(SimulatedOperation.WALLET));
+    assertEquals(1, manager.getMissCount());
+    assertEquals(15, manager.getHitCount());
+    manager.shutdown();
+  }
+
+  @Test
+  public void concurrentAcquireAndCloseNeverOpensAWalletTwice() throws Exception {
+    final Wallet[] wallets = { wallet("w0"), wallet("w1"), wallet("w2") };
+    final WalletManager manager = new WalletManager(walletApi, 1, Duration.ofMillis(2));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> workers = new ArrayList<Future<?>>();
+      for (int t = 0; t < 8; t++) {
+        workers.add(executor.submit(() -> {
+          for (int i = 0; i < 200; i++) {
+            Wallet wallet = wallets[ThreadLocalRandom.current().nextInt(wallets.length)];
+            manager.acquire(wallet, null).get(5, TimeUnit.SECONDS).close();
+          }
+          return null;
+        }));
+      }
+      for (Future<?> worker : workers) {
+        worker.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+      manager.shutdown();
+    }
+    assertTrue(manager.getEvictionCount() > 0);
+  }
+
+  @Test
+  public void leasedWalletRejectsOtherCredentials() throws Exception {
+    Wallet wallet = wallet("leased");
+    WalletManager manager = new WalletManager(walletApi, 4, Duration.ofMinutes(1));
+    WalletLease lease = manager.acquire(wallet, null).get(1, TimeUnit.SECONDS);
+    try {
+      manager.acquire(wallet, "{\"key\":\"other\"}").get(1, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertEquals(ErrorCode.WalletAlreadyOpenedError, ((IndyException) e.getCause()).getErrorCode());
+    } finally {
+      lease.close();
+    }
+    manager.shutdown();
+  }
+
+  @Test
+  public void idleWalletIsReopenedWithOtherCredentials() throws Exception {
+    Wallet wallet = wallet("idle");
+    WalletManager manager = new WalletManager(walletApi, 4, Duration.ofMinutes(1));
+    manager.acquire(wallet, null).get(1, TimeUnit.SECONDS).close();
+    manager.acquire(wallet, "{\"key\":\"other\"}").get(1, TimeUnit.SECONDS).close();
+    assertEquals(2, manager.getMissCount());
+    assertEquals(1, manager.getEvictionCount());
+    manager.shutdown();
+  }
+
+  @Test
+  public void shutdownClosesIdleWallets() throws Exception {
+    Wallet wallet = wallet("closed");
+    WalletManager manager = new WalletManager(walletApi, 4, Duration.ofMinutes(1));
+    manager.acquire(wallet, null).get(1, TimeUnit.SECONDS).close();
+    WalletLease leased = manager.acquire(wallet("leased"), null).get(1, TimeUnit.SECONDS);
+
+    manager.shutdown();
+    assertEquals(1, manager.getOpenWalletCount());
+    leased.close();
+    assertEquals(0, manager.getOpenWalletCount());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017 Evernym Inc
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to 
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, 
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL 
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER 
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.hyperledger.indy.sdk.jwrapper.wallet.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.hyperledger.indy.sdk.jwrapper.ErrorCode;
+import org.hyperledger.indy.sdk.jwrapper.IndyException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MappedWalletStorageTest {
+  private Path file;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("wallet", ".dat");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void recordsSurviveReopening() throws Exception {
+    MappedWalletStorage storage = new MappedWalletStorage(file, 4096, 60000);
+    storage.set("key", "first");
+    storage.set("key", "second");
+    storage.set("other", "value");
+    storage.close();
+
+    storage = new MappedWalletStorage(file, 4096, 60000);
+    assertEquals("second", storage.get("key"));
+    assertEquals("value", storage.get("other"));
+    assertEquals(2, storage.getKeyCount());
+    storage.close();
+  }
+
+  @Test
+  public void recordRunningPastTheMappingFailsTheOpen() throws Exception {
+    ByteBuffer record = ByteBuffer.allocate(16);
+    record.putInt(4).putInt(Integer.MAX_VALUE - 64).putLong(0);
+    Files.write(file, record.array());
+    try {
+      new MappedWalletStorage(file, 4096, 60000);
+      fail();
+    } catch (IndyException e) {
+      assertEquals(ErrorCode.CommonIOError, e.getErrorCode());
+    }
+  }
+}